@@ -0,0 +1,109 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Stored scores of benchmarks, keyed by benchmark name with its parameters. All benchmarks measure average time per
+ * operation, so higher score is slower. Current score regresses when even its lower error bound is slower than upper
+ * error bound of baseline score increased by tolerance, so noise of both measurements is not reported.
+ */
+public class BenchmarkBaseline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkBaseline.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * @param error half-width of confidence interval reported by JMH
+     */
+    public record Score(double score, double error, String unit) { }
+
+    /**
+     * @param change relative change of current score against baseline score, 0.5 is 50 % slower
+     */
+    public record Regression(String benchmark, Score baseline, Score current, double change) { }
+
+    private final Map<String, Score> scores;
+
+    public BenchmarkBaseline(Map<String, Score> scores) {
+        this.scores = new TreeMap<>(scores);
+    }
+
+    public Map<String, Score> getScores() {
+        return scores;
+    }
+
+    /**
+     * @return {@code benchmark} or {@code benchmark:param1=value1,param2=value2} with parameters sorted by name
+     */
+    public static String key(String benchmark, Map<String, String> params) {
+        if (params.isEmpty()) {
+            return benchmark;
+        }
+        return benchmark + ":" + new TreeMap<>(params).entrySet().stream()
+                .map(param -> param.getKey() + "=" + param.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    public List<Regression> compare(Map<String, Score> current, double tolerance) {
+        List<Regression> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score baseline = scores.get(entry.getKey());
+            Score score = entry.getValue();
+            if (baseline == null) {
+                LOGGER.warn("[Benchmark] {} has no baseline score", entry.getKey());
+            } else if (!baseline.unit().equals(score.unit())) {
+                LOGGER.warn("[Benchmark] {} is measured in {} but baseline in {}, baseline has to be updated", entry.getKey(),
+                        score.unit(), baseline.unit());
+            } else {
+                double change = (score.score() - baseline.score()) / baseline.score();
+                LOGGER.info("[Benchmark] {} {} {} (baseline {}, {}%)", entry.getKey(), String.format("%.3f", score.score()),
+                        score.unit(), String.format("%.3f", baseline.score()), String.format("%+.1f", 100 * change));
+                if (score.score() - score.error() > (baseline.score() + baseline.error()) * (1 + tolerance)) {
+                    regressions.add(new Regression(entry.getKey(), baseline, score, change));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    public static BenchmarkBaseline load(Path file) {
+        try {
+            return new BenchmarkBaseline(MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Score>>() { }));
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to read benchmark baseline %s: %s", file, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    public void store(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            MAPPER.writeValue(file.toFile(), scores);
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to store benchmark baseline %s: %s", file, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+}
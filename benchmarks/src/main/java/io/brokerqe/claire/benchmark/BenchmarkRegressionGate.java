@@ -0,0 +1,105 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs benchmarks and compares their scores with stored baseline, failing on any regression. Configured by system
+ * properties
+ * <ul>
+ *   <li>{@code benchmark.baseline} - baseline file, {@code baseline/jmh-baseline.json} by default</li>
+ *   <li>{@code benchmark.tolerance} - allowed slowdown, {@code 0.2} (20 %) by default</li>
+ *   <li>{@code benchmark.updateBaseline} - store current scores as baseline instead of comparing them, also creates
+ *   missing baseline</li>
+ *   <li>{@code benchmark.result} - JMH json result file, {@code target/jmh-result.json} by default</li>
+ * </ul>
+ * Optional argument is a regular expression of benchmarks to run. Baseline depends on hardware, it has to be recorded
+ * on the machine running the gate by {@code make benchmark_baseline}, it is not committed. Missing baseline fails the
+ * gate before any benchmark is run, so the gate can't pass without comparison.
+ */
+public final class BenchmarkRegressionGate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkRegressionGate.class);
+
+    private BenchmarkRegressionGate() {
+        super();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Path baselineFile = Path.of(System.getProperty("benchmark.baseline", "baseline/jmh-baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.2"));
+        boolean updateBaseline = Boolean.parseBoolean(System.getProperty("benchmark.updateBaseline", "false"));
+        String include = args.length > 0 ? args[0] : BenchmarkRegressionGate.class.getPackageName() + ".*Benchmark";
+        if (!updateBaseline && !Files.exists(baselineFile)) {
+            String errMsg = String.format("Benchmark baseline %s does not exist, record it on this machine by make benchmark_baseline",
+                    baselineFile.toAbsolutePath());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("benchmark.result", "target/jmh-result.json"))
+                .build()).run();
+        Map<String, BenchmarkBaseline.Score> current = getScores(results);
+
+        if (updateBaseline) {
+            Map<String, BenchmarkBaseline.Score> scores = new HashMap<>();
+            if (Files.exists(baselineFile)) {
+                // partial run updates only its benchmarks
+                scores.putAll(BenchmarkBaseline.load(baselineFile).getScores());
+            }
+            scores.putAll(current);
+            new BenchmarkBaseline(scores).store(baselineFile);
+            LOGGER.info("[Benchmark] Stored {} scores as baseline {}", current.size(), baselineFile);
+            return;
+        }
+
+        List<BenchmarkBaseline.Regression> regressions = BenchmarkBaseline.load(baselineFile).compare(current, tolerance);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> LOGGER.error("[Benchmark] {} regressed by {}%: {} -> {} {}", regression.benchmark(),
+                    String.format("%.1f", 100 * regression.change()), String.format("%.3f", regression.baseline().score()),
+                    String.format("%.3f", regression.current().score()), regression.current().unit()));
+            String errMsg = String.format("%d benchmarks regressed over %.0f%% against baseline %s", regressions.size(),
+                    100 * tolerance, baselineFile);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        LOGGER.info("[Benchmark] No regression of {} benchmarks against baseline {}", current.size(), baselineFile);
+    }
+
+    private static Map<String, BenchmarkBaseline.Score> getScores(Collection<RunResult> results) {
+        Map<String, BenchmarkBaseline.Score> scores = new HashMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Map<String, String> benchmarkParams = new HashMap<>();
+            for (String key : params.getParamsKeys()) {
+                benchmarkParams.put(key, params.getParam(key));
+            }
+            Result<?> primary = result.getPrimaryResult();
+            scores.put(BenchmarkBaseline.key(params.getBenchmark(), benchmarkParams),
+                    new BenchmarkBaseline.Score(primary.getScore(), primary.getScoreError(), primary.getScoreUnit()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import io.brokerqe.claire.clients.bundled.ArtemisCommand;
+import io.brokerqe.claire.clients.bundled.BundledArtemisClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table parsing of {@code artemis queue stat}, polled by tests waiting for queue counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BundledArtemisClientBenchmark {
+
+    private BundledArtemisClient queueStat;
+
+    @Setup
+    public void setup() {
+        queueStat = new BundledArtemisClient(Fixtures.deployableClient(Fixtures.read(Fixtures.ARTEMIS_QUEUE_STAT)),
+                ArtemisCommand.QUEUE_STAT, Map.of());
+    }
+
+    @Benchmark
+    public Object parseQueueStat() {
+        return queueStat.executeCommand(true);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import io.brokerqe.claire.Environment;
+import io.brokerqe.claire.security.CertificateManager;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key pair generation (RSA 4096) and self signed certificate creation of every secured test. Single key pair takes
+ * hundreds of milliseconds with high variance, hence longer iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CertificateManagerBenchmark {
+
+    private KeyPair keyPair;
+    private String distinguishedName;
+
+    @Setup
+    public void setup() throws IOException {
+        // certificates directory of CertificateManager is taken from environment of test suite
+        Environment environment = Mockito.mock(Environment.class, Mockito.withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+        Mockito.doReturn(Files.createTempDirectory("claire-benchmark").toString()).when(environment).getTmpDirLocation();
+        environment.set(environment);
+        keyPair = CertificateManager.createKeyPairGenerator();
+        distinguishedName = CertificateManager.generateArtemisCloudDN("benchmark", "localhost");
+    }
+
+    @Benchmark
+    public KeyPair createKeyPair() {
+        return CertificateManager.createKeyPairGenerator();
+    }
+
+    @Benchmark
+    public X509Certificate generateCertificate() {
+        return CertificateManager.generate(keyPair, CertificateManager.SIGNATURE_ALGORITHM, distinguishedName, 30);
+    }
+}
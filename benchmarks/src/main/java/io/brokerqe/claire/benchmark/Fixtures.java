@@ -0,0 +1,70 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import io.brokerqe.claire.CommandResult;
+import io.brokerqe.claire.clients.DeployableClient;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.executor.Executor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Client outputs used as input of benchmarks, stored in {@code src/main/resources/fixtures}.
+ * <ul>
+ *   <li>{@link #QPID_JMS_RECEIVER} - 1000 messages received by qpid-jms cli client with {@code --log-msgs json}</li>
+ *   <li>{@link #ARTEMIS_QUEUE_STAT} - {@code artemis queue stat} table of 64 queues</li>
+ *   <li>{@link #PROMETHEUS_METRICS} - {@code /metrics} of broker with metrics plugin and 63 queues</li>
+ * </ul>
+ */
+public final class Fixtures {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Fixtures.class);
+
+    public static final String QPID_JMS_RECEIVER = "qpid-jms-receiver.jsonl";
+    public static final String ARTEMIS_QUEUE_STAT = "artemis-queue-stat.txt";
+    public static final String PROMETHEUS_METRICS = "prometheus-metrics.txt";
+    public static final String CLIENT_NAME = "benchmark-client";
+
+    private Fixtures() {
+        super();
+    }
+
+    public static String read(String fixture) {
+        try (InputStream input = Fixtures.class.getResourceAsStream("/fixtures/" + fixture)) {
+            if (input == null) {
+                String errMsg = String.format("Fixture %s does not exist", fixture);
+                LOGGER.error(errMsg);
+                throw new ClaireRuntimeException(errMsg);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to read fixture %s: %s", fixture, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    /**
+     * Client whose every executed command prints {@code stdout}. Stub only mocks do not record invocations, so memory
+     * does not grow with number of benchmark operations.
+     */
+    @SuppressWarnings("unchecked")
+    public static DeployableClient<?, ?> deployableClient(String stdout) {
+        Executor executor = Mockito.mock(Executor.class, Mockito.withSettings().stubOnly());
+        Mockito.when(executor.executeCommand(Mockito.anyLong(), Mockito.any(String[].class)))
+                .thenReturn(new CommandResult(0, stdout, ""));
+        DeployableClient<?, ?> deployableClient = Mockito.mock(DeployableClient.class, Mockito.withSettings().stubOnly());
+        Mockito.when(deployableClient.getExecutor()).thenReturn(executor);
+        Mockito.when(deployableClient.getContainerName()).thenReturn(CLIENT_NAME);
+        Mockito.when(deployableClient.getExecutableHome()).thenReturn("/opt/amq-broker/bin");
+        return deployableClient;
+    }
+}
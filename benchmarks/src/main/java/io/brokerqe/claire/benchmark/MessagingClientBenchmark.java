@@ -0,0 +1,68 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import io.brokerqe.claire.clients.container.AmqpQpidClient;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Output parsing of JMS cli clients ({@code BaseJMSClient.parseMessages} through {@link AmqpQpidClient#receiveMessages()})
+ * and comparison of sent and received messages ({@code SystemtestClient.compareMessages}). Received messages are in
+ * reversed order, as comparison looks up every sent message id in received ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagingClientBenchmark {
+
+    @Param({"100", "1000"})
+    int messages;
+
+    private AmqpQpidClient client;
+    private List<JSONObject> sentMessages;
+    private List<JSONObject> receivedMessages;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        List<String> lines = Fixtures.read(Fixtures.QPID_JMS_RECEIVER).lines().limit(messages).toList();
+        client = new AmqpQpidClient(Fixtures.deployableClient(String.join("\n", lines)), "localhost", "5672",
+                "benchmark-queue", "benchmark-queue", messages);
+        client.receiveMessages();
+        sentMessages = (List<JSONObject>) client.getReceivedMessages();
+        receivedMessages = new ArrayList<>(sentMessages);
+        Collections.reverse(receivedMessages);
+    }
+
+    @Benchmark
+    public Object parseMessages() {
+        client.receiveMessages();
+        return client.getReceivedMessages();
+    }
+
+    @Benchmark
+    public boolean compareMessages() {
+        return client.compareMessages(sentMessages, receivedMessages);
+    }
+}
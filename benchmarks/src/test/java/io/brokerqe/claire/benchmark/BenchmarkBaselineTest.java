@@ -0,0 +1,55 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.benchmark;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class BenchmarkBaselineTest {
+
+    @Test
+    void keyContainsSortedParameters() {
+        Assertions.assertThat(BenchmarkBaseline.key("a.B.c", Map.of())).isEqualTo("a.B.c");
+        Assertions.assertThat(BenchmarkBaseline.key("a.B.c", Map.of("size", "16", "count", "100")))
+                .isEqualTo("a.B.c:count=100,size=16");
+    }
+
+    @Test
+    void slowdownOverToleranceAndErrorIsRegression() {
+        BenchmarkBaseline baseline = new BenchmarkBaseline(Map.of(
+                "parse", new BenchmarkBaseline.Score(100, 5, "us/op"),
+                "compare", new BenchmarkBaseline.Score(100, 5, "us/op"),
+                "generate", new BenchmarkBaseline.Score(100, 5, "us/op"),
+                "keys", new BenchmarkBaseline.Score(100, 5, "ms/op")));
+
+        List<BenchmarkBaseline.Regression> regressions = baseline.compare(Map.of(
+                // within tolerance of 20 %
+                "parse", new BenchmarkBaseline.Score(120, 1, "us/op"),
+                // over tolerance, but within error
+                "compare", new BenchmarkBaseline.Score(130, 10, "us/op"),
+                "generate", new BenchmarkBaseline.Score(150, 5, "us/op"),
+                // different unit is not compared
+                "keys", new BenchmarkBaseline.Score(500, 5, "us/op"),
+                "new", new BenchmarkBaseline.Score(1000, 5, "us/op")), 0.2);
+
+        Assertions.assertThat(regressions).hasSize(1);
+        Assertions.assertThat(regressions.get(0).benchmark()).isEqualTo("generate");
+        Assertions.assertThat(regressions.get(0).change()).isEqualTo(0.5);
+    }
+
+    @Test
+    void storedBaselineIsLoaded(@TempDir Path tempDir) {
+        Path file = tempDir.resolve("baseline").resolve("jmh-baseline.json");
+        new BenchmarkBaseline(Map.of("parse", new BenchmarkBaseline.Score(1.5, 0.1, "us/op"))).store(file);
+
+        Assertions.assertThat(BenchmarkBaseline.load(file).getScores())
+                .containsExactly(Map.entry("parse", new BenchmarkBaseline.Score(1.5, 0.1, "us/op")));
+    }
+}
@@ -27,6 +27,7 @@ public interface Constants {
     String TAG_TLS = "tls";
     String TAG_RAPIDAST = "rapidast";
     String TAG_UPGRADE = "upgrade";
+    String TAG_PERFORMANCE = "performance";
 
     // Environment Variables
     String EV_LOCAL_EXEC = "TEST_LOCAL_EXEC";
@@ -50,6 +51,7 @@ public interface Constants {
     String EV_LOGS_LOCATION = "LOGS_LOCATION";
     String EV_TMP_LOCATION = "TMP_LOCATION";
     String EV_TEST_FAIL_ABORT_COUNT = "TEST_FAIL_ABORT_COUNT";
+    String EV_TRACE_TEST_PHASES = "TRACE_TEST_PHASES";
     String EV_DUMP_ENABLED = "DUMP_ENABLED";
     String EV_DUMP_LOCATION = "DUMP_LOCATION";
     String EV_DUMP_FORMAT = "DUMP_FORMAT";
@@ -57,6 +59,12 @@ public interface Constants {
     String EV_PLAYWRIGHT_DEBUG = "PLAYWRIGHT_DEBUG";
     String EV_CLUSTER_OPERATOR_MANAGED = "CLUSTER_OPERATOR_MANAGED";
     String EV_COLLECT_TEST_DATA = "COLLECT_TEST_DATA";
+    String EV_COLLECT_TEST_DATA_MODE = "COLLECT_TEST_DATA_MODE";
+    String PROP_COLLECT_TEST_DATA_MODE = "collect.test.data.mode";
+    String EV_COLLECT_TEST_DATA_SKIP = "COLLECT_TEST_DATA_SKIP";
+    String PROP_COLLECT_TEST_DATA_SKIP = "collect.test.data.skip";
+    String EV_COLLECT_TEST_DATA_TRUNCATE_SIZE = "COLLECT_TEST_DATA_TRUNCATE_SIZE";
+    String PROP_COLLECT_TEST_DATA_TRUNCATE_SIZE = "collect.test.data.truncate_size";
     String EV_JDBC_DATA = "JDBC_DATA";
     String PROP_JDBC_DATA = "jdbc.data";
     String EV_RAPIDAST_SA_FILE = "RAPIDAST_SA_FILE";
@@ -113,6 +121,9 @@ public interface Constants {
     String PROJECT_DIR = PROJECT_USER_DIR + "/..";
     String STANDALONE_MODULE = PROJECT_DIR + "/standalone-suite";
     String OPERATOR_MODULE = PROJECT_DIR + "/operator-suite";
+    String COMMON_MODULE = PROJECT_DIR + "/common";
+    // test resources shared by both suites
+    String COMMON_TEST_RESOURCES_DIR = COMMON_MODULE + "/src/test/resources";
     String PROJECT_TEST_DIR = PROJECT_USER_DIR + "/src/test";
     String LOGS_DEFAULT_DIR = PROJECT_USER_DIR + "/test-logs";
     String TMP_DEFAULT_DIR = PROJECT_USER_DIR + "/test-tmp";
@@ -135,6 +146,9 @@ public interface Constants {
     String STANDALONE_MODULE_PROPERTIES_FILE = "standalone.properties";
 
     boolean DEFAULT_LOG_CONTAINERS = false;
+    String COLLECT_TEST_DATA_MODE_COPY = "copy";
+    String COLLECT_TEST_DATA_MODE_SNAPSHOT = "snapshot";
+    String DEFAULT_COLLECT_TEST_DATA_MODE = COLLECT_TEST_DATA_MODE_SNAPSHOT;
     String EV_LOG_CONTAINERS = "LOG_CONTAINERS";
     String PROP_LOG_CONTAINERS = "log.containers";
     String DEFAULT_ARTEMIS_CONTAINER_IMAGE = "quay.io/rhmessagingqe/claire-standalone-artemis:fedora";
@@ -144,6 +158,10 @@ public interface Constants {
     String EV_ARTEMIS_CONTAINER_JAVA_HOME = "ARTEMIS_CONTAINER_JAVA_HOME";
     String PROP_ARTEMIS_CONTAINER_JAVA_HOME = "artemis.container.java.home";
 
+    String DEFAULT_ARTEMIS_DISTRIBUTION_STORE = TMP_DIR_SYSTEM + "/claire-artemis-distributions";
+    String EV_ARTEMIS_DISTRIBUTION_STORE = "ARTEMIS_DISTRIBUTION_STORE";
+    String PROP_ARTEMIS_DISTRIBUTION_STORE = "artemis.distribution.store";
+
     String DEFAULT_NFS_SERVER_CONTAINER_IMAGE = "quay.io/rhmessagingqe/claire-nfs-server:fedora";
     String EV_NFS_SERVER_CONTAINER_IMAGE = "NFS_SERVER_CONTAINER_IMAGE";
     String PROP_NFS_SERVER_CONTAINER_IMAGE = "nfsserver.container.image";
@@ -156,6 +174,13 @@ public interface Constants {
     String EV_ZOOKEEPER_CONTAINER_IMAGE = "ZOOKEEPER_CONTAINER_IMAGE";
     String PROP_ZOOKEEPER_CONTAINER_IMAGE = "zookeeper.container.image";
 
+    String DEFAULT_KEYCLOAK_CONTAINER_IMAGE = "quay.io/keycloak/keycloak:" + DEFAULT_KEYCLOAK_VERSION;
+    String EV_KEYCLOAK_CONTAINER_IMAGE = "KEYCLOAK_CONTAINER_IMAGE";
+    String PROP_KEYCLOAK_CONTAINER_IMAGE = "keycloak.container.image";
+
+    String EV_OPENLDAP_CONTAINER_IMAGE = "OPENLDAP_CONTAINER_IMAGE";
+    String PROP_OPENLDAP_CONTAINER_IMAGE = "openldap.container.image";
+
     String DEFAULT_YACFG_ARTEMIS_PROFILE = "claire-default-profile-%ARTEMIS_VERSION%.yaml.jinja2";
     String EV_YACFG_ARTEMIS_PROFILE = "YACFG_ARTEMIS_PROFILE";
     String PROP_YACFG_ARTEMIS_PROFILE = "yacfg.artemis.profile";
@@ -41,6 +41,7 @@ public abstract class Environment {
     private static Environment environment;
 
     protected int minFailedTestsAbort;
+    protected boolean traceTestPhases;
     protected String databaseFile;
     protected String rapiDastSaFile;
     protected String testUpgradePlan;
@@ -105,6 +106,10 @@ public abstract class Environment {
         return minFailedTestsAbort;
     }
 
+    public boolean isTraceTestPhases() {
+        return traceTestPhases;
+    }
+
     public String getArtemisMajorMinorMicroVersion(String strVersion) {
         return strVersion.replaceAll("(^[0-9]+\\.[0-9]+\\.[0-9]+).*", "$1");
     }
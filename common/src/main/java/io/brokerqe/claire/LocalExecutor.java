@@ -6,6 +6,7 @@ package io.brokerqe.claire;
 
 import io.brokerqe.claire.exception.ClaireNotImplementedException;
 import io.brokerqe.claire.executor.Executor;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -36,6 +37,11 @@ public class LocalExecutor implements Executor {
     }
 
     public CommandResult executeCommand(long maxExecSeconds, File directory, String... cmd) {
+        return TestPhaseTracer.trace(TestPhaseTracer.Phase.CLIENT, TestPhaseTracer.commandName(cmd),
+                () -> runCommand(maxExecSeconds, directory, cmd));
+    }
+
+    private CommandResult runCommand(long maxExecSeconds, File directory, String... cmd) {
         ProcessBuilder builder = new ProcessBuilder(cmd);
         builder.redirectErrorStream(false); // Separate stdout and stderr
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Receives log of pod or container line by line from a follow stream and matches every line only once against
+ * registered patterns, so waiting for a log message costs only the new lines instead of downloading and searching
+ * the whole log on each poll. Suites create it for pods ({@code KubeClient.watchLogsFromPod})
+ * and containers ({@code AbstractGenericContainer.watchLogs}); closing the watcher closes the stream.
+ * <pre>
+ * try (LogWatcher log = container.watchLogs()) {
+ *     LogWatcher.LogEvent lock = log.watch("AMQ221035");
+ *     // trigger failover
+ *     lock.await(1, Constants.DURATION_1_MINUTE);
+ * }
+ * </pre>
+ */
+public class LogWatcher implements Consumer<String>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogWatcher.class);
+    // lines kept for patterns registered after the line was received
+    private static final int MAX_HISTORY_LINES = 10_000;
+    private static final int MAX_MATCHES = 1_000;
+
+    private final String name;
+    private final Deque<String> history = new ArrayDeque<>();
+    private final List<LogEvent> events = new CopyOnWriteArrayList<>();
+    private final List<AutoCloseable> sources = new ArrayList<>();
+    private final AtomicLong lineCount = new AtomicLong();
+
+    public LogWatcher(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Stream (or anything else) to be closed together with this watcher.
+     */
+    public synchronized LogWatcher withSource(AutoCloseable source) {
+        sources.add(source);
+        return this;
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        lineCount.incrementAndGet();
+        history.addLast(line);
+        if (history.size() > MAX_HISTORY_LINES) {
+            history.removeFirst();
+        }
+        for (LogEvent event : events) {
+            event.offer(line);
+        }
+    }
+
+    public long getLineCount() {
+        return lineCount.get();
+    }
+
+    public LogEvent watch(String regex) {
+        return watch(Pattern.compile(regex), true);
+    }
+
+    /**
+     * @param includeHistory match also already received lines (up to last {@value #MAX_HISTORY_LINES})
+     */
+    public synchronized LogEvent watch(Pattern pattern, boolean includeHistory) {
+        LogEvent event = new LogEvent(pattern);
+        if (includeHistory) {
+            history.forEach(event::offer);
+        }
+        events.add(event);
+        return event;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (AutoCloseable source : sources) {
+            try {
+                source.close();
+            } catch (Exception e) {
+                LOGGER.warn("[{}] Unable to close log stream: {}", name, e.getMessage());
+            }
+        }
+        sources.clear();
+        events.clear();
+        history.clear();
+    }
+
+    /**
+     * Lines matching registered pattern.
+     */
+    public final class LogEvent {
+        private final Pattern pattern;
+        private final List<String> matches = new ArrayList<>();
+        private final AtomicLong count = new AtomicLong();
+
+        private LogEvent(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        private void offer(String line) {
+            if (pattern.matcher(line).find()) {
+                LOGGER.trace("[{}] Matched '{}': {}", name, pattern, line);
+                count.incrementAndGet();
+                synchronized (matches) {
+                    if (matches.size() < MAX_MATCHES) {
+                        matches.add(line);
+                    }
+                }
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public List<String> getMatches() {
+            synchronized (matches) {
+                return new ArrayList<>(matches);
+            }
+        }
+
+        public LogEvent await(long expectedCount, long timeoutMs) {
+            TestUtils.waitFor(String.format("[%s] '%s' to be logged %d times", name, pattern, expectedCount),
+                    Constants.DURATION_100_MILLISECONDS, timeoutMs, () -> getCount() >= expectedCount);
+            return this;
+        }
+
+        /**
+         * Wait until {@code condition} holds for matched lines (e.g. distinct pods mentioned in them).
+         */
+        public LogEvent await(String description, Predicate<List<String>> condition, long timeoutMs) {
+            TestUtils.waitFor(String.format("[%s] %s", name, description), Constants.DURATION_100_MILLISECONDS, timeoutMs,
+                    () -> condition.test(getMatches()));
+            return this;
+        }
+    }
+}
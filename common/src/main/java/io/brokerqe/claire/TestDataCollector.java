@@ -4,6 +4,7 @@
  */
 package io.brokerqe.claire;
 
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
@@ -26,35 +27,35 @@ public abstract class TestDataCollector implements TestExecutionExceptionHandler
     @Override
     public void handleBeforeAllMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
         prepareCollectLogProperties(context, throwable);
-        collectTestData();
+        collectTracedTestData();
         throw throwable;
     }
 
     @Override
     public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
         prepareCollectLogProperties(context, throwable);
-        collectTestData();
+        collectTracedTestData();
         throw throwable;
     }
 
     @Override
     public void handleAfterEachMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
         prepareCollectLogProperties(context, throwable);
-        collectTestData();
+        collectTracedTestData();
         throw throwable;
     }
 
     @Override
     public void handleAfterAllMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
         prepareCollectLogProperties(context, throwable);
-        collectTestData();
+        collectTracedTestData();
         throw throwable;
     }
 
     @Override
     public void handleTestExecutionException(ExtensionContext extensionContext, Throwable throwable) throws Throwable {
         prepareCollectLogProperties(extensionContext, throwable);
-        collectTestData();
+        collectTracedTestData();
         throw throwable;
     }
 
@@ -117,6 +118,10 @@ public abstract class TestDataCollector implements TestExecutionExceptionHandler
     }
 
 
+    private void collectTracedTestData() {
+        TestPhaseTracer.trace(TestPhaseTracer.Phase.DATA_COLLECTION, testClass + "." + testMethod, this::collectTestData);
+    }
+
     abstract void collectTestData();
 
 }
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.exception.WaitException;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import io.brokerqe.claire.security.CertificateManager;
 import net.datafaker.Faker;
 import net.lingala.zip4j.ZipFile;
@@ -208,6 +209,11 @@ public final class TestUtils {
     }
 
     public static long waitFor(String description, long pollIntervalMs, long timeoutMs, BooleanSupplier ready, Runnable onTimeout) {
+        return TestPhaseTracer.trace(TestPhaseTracer.Phase.WAIT, description,
+                () -> waitForCondition(description, pollIntervalMs, timeoutMs, ready, onTimeout));
+    }
+
+    private static long waitForCondition(String description, long pollIntervalMs, long timeoutMs, BooleanSupplier ready, Runnable onTimeout) {
         LOGGER.debug("[" + (char) 27 + "[34m" + "WAIT" + (char) 27 + "[0m] {}", description);
         long deadline = System.currentTimeMillis() + timeoutMs + Environment.get().getCustomExtraDelay();
 
@@ -271,7 +277,7 @@ public final class TestUtils {
 
     public static void threadSleep(long sleepTime) {
         LOGGER.trace("Sleeping for {}ms", sleepTime);
-        try {
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.WAIT, "sleep " + TestPhaseTracer.callerName(TestUtils.class))) {
             Thread.sleep(sleepTime);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
@@ -4,6 +4,10 @@
  */
 package io.brokerqe.claire.clients;
 
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+
+import java.util.function.BooleanSupplier;
 
 public interface MessagingClient {
 
@@ -15,6 +19,16 @@ public interface MessagingClient {
     int sendMessages();
     int receiveMessages();
     void subscribe();
+
+    /**
+     * Subscribe and wait until {@code subscriberReady} (broker side check, e.g. consumer count of queue) passes.
+     */
+    default void subscribe(BooleanSupplier subscriberReady) {
+        subscribe();
+        if (subscriberReady != null) {
+            TestUtils.waitFor("subscriber to be ready", Constants.DURATION_500_MILLISECONDS, Constants.DURATION_1_MINUTE, subscriberReady);
+        }
+    }
     void unsubscribe();
     int receiveMessages(long duration);
     Object getSentMessages();
@@ -0,0 +1,127 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.clients;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.executor.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Background subscriber started by a messaging client. Instead of sleeping for a fixed time after start,
+ * subscriber is considered ready once its output matches {@code readyPattern} (e.g. MQTT SUBACK)
+ * or once the provided broker side check (e.g. consumer count on the queue) passes.
+ * Subscriber process id is printed by wrapping shell, so it can be stopped without searching for it.
+ */
+public class SubscriptionHandle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionHandle.class);
+    static final String PID_MARKER = "CLAIRE_SUBSCRIBER_PID=";
+
+    private final DeployableClient deployableClient;
+    private final String clientName;
+    private final Executor executor;
+    private final Pattern readyPattern;
+    private final long fallbackDelay;
+    private final CompletableFuture<Long> ready = new CompletableFuture<>();
+    private volatile String pid;
+    private long startTime;
+
+    /**
+     * @param deployableClient client deployment on which subscriber is executed
+     * @param readyPattern pattern of subscriber output line signalling established subscription, may be null
+     * @param fallbackDelay time to sleep, when readiness can not be detected neither by output nor by broker check
+     */
+    public SubscriptionHandle(DeployableClient deployableClient, Pattern readyPattern, long fallbackDelay) {
+        this.deployableClient = deployableClient;
+        this.clientName = deployableClient.getContainerName();
+        this.executor = deployableClient.getExecutor();
+        this.readyPattern = readyPattern;
+        this.fallbackDelay = fallbackDelay;
+    }
+
+    public void start(String... command) {
+        startTime = System.currentTimeMillis();
+        if (executor.isOutputStreamingSupported()) {
+            executor.execBackgroundCommand(this::processOutputLine, wrapCommand(command));
+        } else {
+            executor.execBackgroundCommand(command);
+        }
+    }
+
+    static String[] wrapCommand(String... command) {
+        return Stream.concat(Stream.of("sh", "-c", "echo " + PID_MARKER + "$$; exec \"$@\"", "sh"), Arrays.stream(command))
+                .toArray(String[]::new);
+    }
+
+    void processOutputLine(String line) {
+        if (line.startsWith(PID_MARKER)) {
+            pid = line.substring(PID_MARKER.length()).trim();
+        } else if (readyPattern != null && !ready.isDone() && readyPattern.matcher(line).find()) {
+            ready.complete(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Wait until subscriber signals readiness by its output or until {@code brokerReadiness} passes.
+     * @param brokerReadiness broker side check of subscription, may be null
+     * @param timeout maximal time to wait for readiness
+     */
+    public void awaitReady(BooleanSupplier brokerReadiness, long timeout) {
+        boolean outputReadiness = readyPattern != null && executor.isOutputStreamingSupported();
+        if (!outputReadiness && brokerReadiness == null) {
+            if (fallbackDelay > 0) {
+                LOGGER.debug("[{}][SUBSCRIBE] Unable to detect subscriber readiness, sleeping for {}ms", clientName, fallbackDelay);
+                TestUtils.threadSleep(fallbackDelay);
+            }
+            return;
+        }
+        TestUtils.waitFor("[" + clientName + "] subscriber to be ready", Constants.DURATION_100_MILLISECONDS, timeout,
+                () -> ready.isDone() || brokerReadiness != null && brokerReadiness.getAsBoolean());
+        LOGGER.debug("[{}][SUBSCRIBE] Subscriber ready after {}ms", clientName, System.currentTimeMillis() - startTime);
+    }
+
+    public boolean isReady() {
+        return ready.isDone();
+    }
+
+    public boolean isFinished() {
+        return executor.isBackgroundCommandFinished();
+    }
+
+    public String getOutput(int timeout) {
+        return stripMarkers(executor.getBackgroundCommandData(timeout));
+    }
+
+    static String stripMarkers(String output) {
+        if (output == null || !output.contains(PID_MARKER)) {
+            return output;
+        }
+        return output.lines().filter(line -> !line.startsWith(PID_MARKER)).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Stop subscriber process (and its direct children, as client executables are often wrapper scripts).
+     * @return false if process id of subscriber is not known
+     */
+    public boolean stop() {
+        if (pid == null) {
+            return false;
+        }
+        String killCmd = String.format("for stat in /proc/[0-9]*/stat; do set -- $(cat $stat 2>/dev/null); " +
+                "[ \"$4\" = \"%s\" ] && kill $1; done; kill %s 2>/dev/null || true", pid, pid);
+        deployableClient.getExecutor().executeCommand("sh", "-c", killCmd);
+        LOGGER.debug("[{}][UNSUBSCRIBE] Stopped subscriber with pid {}", clientName, pid);
+        return true;
+    }
+}
@@ -21,6 +21,9 @@ public class BundledClientOptions {
     Boolean multicast = false;
     Protocol protocol;
     int timeout = 90;
+    int sleep = 0;
+    int messageSize = 0;
+    int transactionBatchSize = 0;
     public boolean disableOutput;
 
     public BundledClientOptions withDeployableClient(DeployableClient deployableClient) {
@@ -82,6 +85,30 @@ public class BundledClientOptions {
         return this;
     }
 
+    /**
+     * @param sleep milliseconds to wait between each message, paces the client to roughly {@code 1000 / sleep} msg/s
+     */
+    public BundledClientOptions withSleep(int sleep) {
+        this.sleep = sleep;
+        return this;
+    }
+
+    /**
+     * @param messageSize bytes of each message, producer sends BytesMessage of this size instead of default text message
+     */
+    public BundledClientOptions withMessageSize(int messageSize) {
+        this.messageSize = messageSize;
+        return this;
+    }
+
+    /**
+     * @param transactionBatchSize commit every N messages instead of sending each message synchronously
+     */
+    public BundledClientOptions withTransactionBatchSize(int transactionBatchSize) {
+        this.transactionBatchSize = transactionBatchSize;
+        return this;
+    }
+
     public BundledClientOptions withDisabledOutput(boolean disableOutput) {
         this.disableOutput = disableOutput;
         return this;
@@ -133,4 +160,16 @@ public class BundledClientOptions {
     public int getTimeout() {
         return timeout;
     }
+
+    public int getSleep() {
+        return sleep;
+    }
+
+    public int getMessageSize() {
+        return messageSize;
+    }
+
+    public int getTransactionBatchSize() {
+        return transactionBatchSize;
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 public abstract class BundledMessagingClient implements MessagingClient {
 
@@ -37,6 +38,9 @@ public abstract class BundledMessagingClient implements MessagingClient {
     private int sentMessages = 0;
     private Executor subscriberExecutor;
     private int timeout;
+    private int sleep;
+    private int messageSize;
+    private int transactionBatchSize;
     private boolean disableOutput;
     private CommandResult commandResult;
 
@@ -53,6 +57,9 @@ public abstract class BundledMessagingClient implements MessagingClient {
         this.persistenceDisabled = options.persistenceDisabled;
         this.isMulticast = options.multicast;
         this.timeout = options.timeout;
+        this.sleep = options.sleep;
+        this.messageSize = options.messageSize;
+        this.transactionBatchSize = options.transactionBatchSize;
         this.disableOutput = options.disableOutput;
     }
 
@@ -141,6 +148,18 @@ public abstract class BundledMessagingClient implements MessagingClient {
             command += " --non-persistent";
         }
 
+        if (sleep > 0) {
+            command += " --sleep " + sleep;
+        }
+
+        if (messageSize > 0 && clientType.equals(PRODUCER)) {
+            command += " --message-size " + messageSize;
+        }
+
+        if (transactionBatchSize > 0) {
+            command += " --txt-size " + transactionBatchSize;
+        }
+
         return command.split(" ");
     }
     @Override
@@ -148,7 +167,9 @@ public abstract class BundledMessagingClient implements MessagingClient {
         String cmdOutput;
         String[] command = constructClientCommand(PRODUCER);
         try {
-            commandResult = deployableClient.getExecutor().executeCommand(Constants.DURATION_3_MINUTES, command);
+            // client timeout may be prolonged for big loads, do not kill it before it ends on its own
+            long executionTimeout = Math.max(Constants.DURATION_3_MINUTES, TimeUnit.SECONDS.toMillis(timeout + 10L));
+            commandResult = deployableClient.getExecutor().executeCommand(executionTimeout, command);
             cmdOutput = commandResult.stdout;
             LOGGER.debug("[{}] {}", deployableClient.getContainerName(), cmdOutput);
             return parseMessageCount(cmdOutput, PRODUCER);
@@ -8,7 +8,6 @@ import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.clients.DeployableClient;
 import io.brokerqe.claire.clients.MessagingClient;
 import io.brokerqe.claire.clients.MessagingClientException;
-import io.brokerqe.claire.executor.Executor;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -27,7 +26,6 @@ public class AmqpProtonCppClient extends SystemtestClient {
     private List<JSONObject> sentMessages;
     private List<JSONObject> receivedMessages;
 
-    private Executor subscriberExecWatch;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AmqpProtonCppClient.class);
 
@@ -165,7 +163,7 @@ public class AmqpProtonCppClient extends SystemtestClient {
 
     @Override
     public int receiveMessages(long duration) {
-        if (subscriberExecWatch != null) {
+        if (subscription != null) {
             // executed client on background
             return getSubscribedMessages();
         } else {
@@ -199,19 +197,18 @@ public class AmqpProtonCppClient extends SystemtestClient {
     }
 
     @Override
-    public void subscribe() {
+    protected String[] constructSubscriberCommand() {
         String[] command;
         if (receiverOptions != null) {
             command = constructClientCommand(MessagingClient.RECEIVER, receiverOptions);
         } else {
             command = constructClientCommand(MessagingClient.RECEIVER, Map.of(), 60);
         }
-        subscriberExecWatch = deployableClient.getExecutor();
-        subscriberExecWatch.execBackgroundCommand(command);
+        return command;
     }
 
     public int getSubscribedMessages() {
-        String cmdOutput = subscriberExecWatch.getBackgroundCommandData(5);
+        String cmdOutput = subscription.getOutput(5);
         this.receivedMessages = parseMessages(cmdOutput);
         return receivedMessages.size();
     }
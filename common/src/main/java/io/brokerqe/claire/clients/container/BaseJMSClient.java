@@ -9,7 +9,6 @@ import io.brokerqe.claire.clients.DeployableClient;
 import io.brokerqe.claire.clients.MessagingClient;
 import io.brokerqe.claire.clients.MessagingClientException;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
-import io.brokerqe.claire.executor.Executor;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -36,7 +35,6 @@ public abstract class BaseJMSClient extends SystemtestClient {
     String clientDestination;
     private int messageCount;
     private boolean secured;
-    private Executor subscriberExecWatch;
     private List<JSONObject> sentMessages;
     private List<JSONObject> receivedMessages;
     private String username;
@@ -107,7 +105,7 @@ public abstract class BaseJMSClient extends SystemtestClient {
     }
 
     public int receiveMessages(long duration) {
-        if (subscriberExecWatch != null) {
+        if (subscription != null) {
             // executed client on background
             return getSubscribedMessages();
         } else {
@@ -165,19 +163,18 @@ public abstract class BaseJMSClient extends SystemtestClient {
     }
 
     @Override
-    public void subscribe() {
+    protected String[] constructSubscriberCommand() {
         String[] command;
         if (receiverOptions != null) {
             command = constructClientCommandOptions(MessagingClient.RECEIVER);
         } else {
             command = constructClientCommand(MessagingClient.RECEIVER, 60);
         }
-        subscriberExecWatch = deployableClient.getExecutor();
-        subscriberExecWatch.execBackgroundCommand(command);
+        return command;
     }
 
     public int getSubscribedMessages() {
-        String cmdOutput = subscriberExecWatch.getBackgroundCommandData(5);
+        String cmdOutput = subscription.getOutput(5);
         this.receivedMessages = parseMessages(cmdOutput);
         LOGGER.debug("[{}][RX] \n{}", deployableClient.getContainerName(), cmdOutput);
         return receivedMessages.size();
@@ -9,7 +9,6 @@ import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.clients.DeployableClient;
 import io.brokerqe.claire.clients.MessagingClient;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
-import io.brokerqe.claire.executor.Executor;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -19,11 +18,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 
 public abstract class MqttClient extends SystemtestClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MqttClient.class);
+    private static final Pattern SUBACK_PATTERN = Pattern.compile("received SUBACK");
     protected Map<String, String> testOptions = null;
     private String destinationUrl;
     private String destinationPort;
@@ -39,7 +40,6 @@ public abstract class MqttClient extends SystemtestClient {
     private String keystore;
     private String saslMechanism;
     private boolean secured;
-    private Executor subscriberExecutor;
     private List<JSONObject> sentMessages;
     private List<JSONObject> receivedMessages;
     private final String identifierSender = TestUtils.generateRandomName();
@@ -132,7 +132,7 @@ public abstract class MqttClient extends SystemtestClient {
 
     @Override
     public int receiveMessages(long duration) {
-        if (subscriberExecutor != null) {
+        if (subscription != null) {
             // executed client on background
             return getSubscribedMessages();
         } else {
@@ -147,26 +147,36 @@ public abstract class MqttClient extends SystemtestClient {
     }
 
     @Override
-    public void subscribe() {
+    protected String[] constructSubscriberCommand() {
         String[] command;
         if (receiverOptions != null) {
             command = constructClientCommandOptions(MessagingClient.RECEIVER);
         } else {
             command = constructClientCommand(MessagingClient.RECEIVER, 60);
         }
-        subscriberExecutor = deployableClient.getExecutor();
-        subscriberExecutor.execBackgroundCommand(command);
-        LOGGER.debug("[{}][SUBSCRIBE] Sleeping for while to ensure subscriber is connected before moving forward", deployableClient.getContainerName());
-        TestUtils.threadSleep(Constants.DURATION_5_SECONDS);
+        return command;
+    }
+
+    @Override
+    protected Pattern getSubscriberReadyPattern() {
+        // client is executed in debug mode, which prints SUBACK once subscription is confirmed by broker
+        return SUBACK_PATTERN;
+    }
+
+    @Override
+    protected long getSubscriberFallbackDelay() {
+        return Constants.DURATION_5_SECONDS;
     }
 
     @Override
     public void unsubscribe() {
-        String[] command = {"sh", "-lc",
-                String.format("for proc in /proc/[0-9]*/cmdline; " +
-                        "do echo $(basename $(dirname $proc)) $(cat $proc | tr \"\\0\" \" \"); done | " +
-                        "grep %s | grep -v grep | cut -d ' ' -f 1 | xargs kill", identifierReceiver)};
-        deployableClient.getExecutor().executeCommand(command);
+        if (subscription == null || !subscription.stop()) {
+            String[] command = {"sh", "-lc",
+                    String.format("for proc in /proc/[0-9]*/cmdline; " +
+                            "do echo $(basename $(dirname $proc)) $(cat $proc | tr \"\\0\" \" \"); done | " +
+                            "grep %s | grep -v grep | cut -d ' ' -f 1 | xargs kill", identifierReceiver)};
+            deployableClient.getExecutor().executeCommand(command);
+        }
         LOGGER.debug("[{}][UNSUBSCRIBE] MQTT Client with {}", deployableClient.getContainerName(), identifierReceiver);
     }
 
@@ -221,7 +231,7 @@ public abstract class MqttClient extends SystemtestClient {
     }
 
     public int getSubscribedMessages() {
-        String cmdOutput = subscriberExecutor.getBackgroundCommandData(5);
+        String cmdOutput = subscription.getOutput(5);
         this.receivedMessages = parseMessages(cmdOutput, RECEIVER);
         return receivedMessages.size();
     }
@@ -4,8 +4,10 @@
  */
 package io.brokerqe.claire.clients.container;
 
+import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.clients.DeployableClient;
 import io.brokerqe.claire.clients.MessagingClient;
+import io.brokerqe.claire.clients.SubscriptionHandle;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -13,12 +15,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
 
 public abstract class SystemtestClient implements MessagingClient {
 
     protected DeployableClient deployableClient;
     protected Map<String, String> senderOptions = null;
     protected Map<String, String> receiverOptions = null;
+    protected SubscriptionHandle subscription;
     Logger logger = LoggerFactory.getLogger(MessagingClient.class);
 
     public boolean compareMessages(Object sentMessagesObject, Object receivedMessagesObject) {
@@ -59,9 +64,40 @@ public abstract class SystemtestClient implements MessagingClient {
         }
     }
 
+    protected abstract String[] constructSubscriberCommand();
+
+    /**
+     * @return pattern of subscriber output line which signals established subscription, null if client does not print any
+     */
+    protected Pattern getSubscriberReadyPattern() {
+        return null;
+    }
+
+    /**
+     * @return time to sleep after subscribe, when subscriber readiness can not be detected
+     */
+    protected long getSubscriberFallbackDelay() {
+        return 0;
+    }
+
+    @Override
+    public void subscribe() {
+        subscribe(null);
+    }
+
+    @Override
+    public void subscribe(BooleanSupplier subscriberReady) {
+        subscription = new SubscriptionHandle(deployableClient, getSubscriberReadyPattern(), getSubscriberFallbackDelay());
+        subscription.start(constructSubscriberCommand());
+        subscription.awaitReady(subscriberReady, Constants.DURATION_1_MINUTE);
+    }
+
     @Override
     public void unsubscribe() {
+        if (subscription != null && subscription.stop()) {
+            return;
+        }
         logger.warn("[{}] Unsubscribe not supported for systemtests-clients (only mqtt client)", deployableClient.getContainerName());
-        throw new UnsupportedOperationException("[" + deployableClient.getContainerName() + "] Unsubscribe not supported on systemtest clients clients");
+        throw new UnsupportedOperationException("[" + deployableClient.getContainerName() + "] Unsubscribe not supported on systemtest clients clients without known subscriber process");
     }
 }
@@ -8,6 +8,8 @@ import io.brokerqe.claire.CommandResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Consumer;
+
 public interface Executor {
 
     Logger LOGGER = LoggerFactory.getLogger(Executor.class);
@@ -18,4 +20,16 @@ public interface Executor {
     String getBackgroundCommandData(int waitTime);
     String getCommandData(long timeout);
 
+    /**
+     * Execute command on background and hand over every stdout line to {@code outputLineConsumer} as soon as it is printed.
+     * Executors not supporting output streaming execute plain background command (see {@link #isOutputStreamingSupported()}).
+     */
+    default void execBackgroundCommand(Consumer<String> outputLineConsumer, String... cmd) {
+        execBackgroundCommand(cmd);
+    }
+
+    default boolean isOutputStreamingSupported() {
+        return false;
+    }
+
 }
\ No newline at end of file
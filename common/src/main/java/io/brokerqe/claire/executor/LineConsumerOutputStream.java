@@ -0,0 +1,62 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.executor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * OutputStream which hands over every complete line written into it to provided consumer.
+ * Used to react on output of (background) commands while they are still running.
+ */
+public class LineConsumerOutputStream extends OutputStream {
+
+    private final Consumer<String> lineConsumer;
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+
+    public LineConsumerOutputStream(Consumer<String> lineConsumer) {
+        this.lineConsumer = lineConsumer;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (b == '\n') {
+            flushLine();
+        } else {
+            lineBuffer.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        int lineStart = offset;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n') {
+                lineBuffer.write(bytes, lineStart, i - lineStart);
+                flushLine();
+                lineStart = i + 1;
+            }
+        }
+        lineBuffer.write(bytes, lineStart, offset + length - lineStart);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (lineBuffer.size() > 0) {
+            flushLine();
+        }
+    }
+
+    private void flushLine() {
+        String line = lineBuffer.toString(StandardCharsets.UTF_8);
+        lineBuffer.reset();
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        lineConsumer.accept(line);
+    }
+}
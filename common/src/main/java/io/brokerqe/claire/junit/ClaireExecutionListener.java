@@ -11,6 +11,9 @@ import io.brokerqe.claire.Environment;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
@@ -21,8 +24,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public abstract class ClaireExecutionListener implements TestExecutionListener, TestWatcher {
@@ -33,6 +38,8 @@ public abstract class ClaireExecutionListener implements TestExecutionListener,
     private static int totalTestCount;
     private static int currentTestCounter = 1;
     private static int failedTestCounter = 0;
+    // traced test classes and tests by their unique id
+    private static final Map<String, TestPhaseTracer.Span> EXECUTION_SPANS = new ConcurrentHashMap<>();
 
     public static boolean isAbortTestExecution() {
         return abortTestExecution;
@@ -70,6 +77,41 @@ public abstract class ClaireExecutionListener implements TestExecutionListener,
     public void testPlanExecutionStarted(TestPlan testPlan) {
         createTestPlan(testPlan);
         setupEnvironment();
+        TestPhaseTracer.setEnabled(Environment.get().isTraceTestPhases());
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TestPhaseTracer.writeTrace(Environment.get().getLogsDirLocation());
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.getSource().orElse(null) instanceof ClassSource classSource) {
+            TestPhaseTracer.setCurrentTest(classSource.getJavaClass().getSimpleName());
+            EXECUTION_SPANS.put(testIdentifier.getUniqueId(), TestPhaseTracer.start(TestPhaseTracer.Phase.CLASS, classSource.getJavaClass().getSimpleName()));
+        } else if (testIdentifier.isTest() && testIdentifier.getSource().orElse(null) instanceof MethodSource methodSource) {
+            String className = methodSource.getClassName().substring(methodSource.getClassName().lastIndexOf('.') + 1);
+            String testName = className + "." + methodSource.getMethodName();
+            if (!testIdentifier.getDisplayName().startsWith(methodSource.getMethodName())) {
+                // parameterized and repeated tests
+                testName += " " + testIdentifier.getDisplayName();
+            }
+            TestPhaseTracer.setCurrentTest(testName);
+            EXECUTION_SPANS.put(testIdentifier.getUniqueId(), TestPhaseTracer.start(TestPhaseTracer.Phase.TEST, testName));
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        TestPhaseTracer.Span span = EXECUTION_SPANS.remove(testIdentifier.getUniqueId());
+        if (span != null) {
+            span.close();
+        }
+        if (testIdentifier.isTest() && testIdentifier.getSource().orElse(null) instanceof MethodSource methodSource) {
+            // spans of @AfterAll and following @BeforeEach belong to the class
+            TestPhaseTracer.setCurrentTest(methodSource.getClassName().substring(methodSource.getClassName().lastIndexOf('.') + 1));
+        }
     }
 
     abstract protected void setupEnvironment();
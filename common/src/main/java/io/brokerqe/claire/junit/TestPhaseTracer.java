@@ -0,0 +1,262 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.junit;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Records where the wall-clock time of test execution goes. Every traced action is a span of some {@link Phase},
+ * spans of one thread nest (test contains deploy, deploy contains readiness wait and so on).
+ * At the end of test plan, spans are written as Chrome trace event json (open in chrome://tracing or ui.perfetto.dev)
+ * together with plain text summary ranking the slowest waits of whole suite.
+ * Tracing is disabled until {@link #setEnabled(boolean)} is called by the execution listener.
+ */
+public final class TestPhaseTracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestPhaseTracer.class);
+    public static final String TRACE_FILE = "test-phases-trace.json";
+    public static final String SUMMARY_FILE = "test-phases-summary.txt";
+    // hard limit, so long executions do not exhaust memory
+    private static final int MAX_EVENTS = 500_000;
+    private static final int RANKING_SIZE = 25;
+    private static final long ORIGIN_NANOS = System.nanoTime();
+    private static final long ORIGIN_EPOCH_US = System.currentTimeMillis() * 1000;
+
+    private static final Queue<Event> EVENTS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger EVENT_COUNT = new AtomicInteger();
+    private static volatile boolean enabled = false;
+    private static volatile String currentTest = "";
+
+    public enum Phase {
+        CLASS, TEST, DEPLOY, WAIT, CLIENT, DATA_COLLECTION, TEARDOWN
+    }
+
+    record Event(Phase phase, String name, String test, long startUs, long durationUs, long threadId, String threadName) { }
+
+    private TestPhaseTracer() {
+        super();
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TestPhaseTracer.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setCurrentTest(String testName) {
+        currentTest = testName == null ? "" : testName;
+    }
+
+    public static Span start(Phase phase, String name) {
+        return new Span(phase, name);
+    }
+
+    public static <T> T trace(Phase phase, String name, Supplier<T> action) {
+        try (Span ignored = start(phase, name)) {
+            return action.get();
+        }
+    }
+
+    public static void trace(Phase phase, String name, Runnable action) {
+        try (Span ignored = start(phase, name)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Short, stable name of executed command - program name and its sub-commands without options and paths,
+     * e.g. {@code timeout 90s /opt/amq/bin/artemis producer --url ...} is {@code artemis producer}.
+     */
+    public static String commandName(String... cmd) {
+        List<String> parts = new ArrayList<>();
+        for (String part : cmd) {
+            if (part == null || part.isBlank() || parts.isEmpty() && (part.equals("timeout") || part.matches("\\d+[smh]?"))) {
+                continue;
+            }
+            if (part.startsWith("-") || parts.size() == 3) {
+                break;
+            }
+            parts.add(part.contains("/") ? part.substring(part.lastIndexOf('/') + 1) : part);
+        }
+        return parts.isEmpty() ? "command" : String.join(" ", parts);
+    }
+
+    /**
+     * Name of the first method outside of given helper classes, used to name spans which have no description.
+     */
+    public static String callerName(Class<?>... skippedClasses) {
+        List<String> skipped = new ArrayList<>(List.of(TestPhaseTracer.class.getName()));
+        for (Class<?> skippedClass : skippedClasses) {
+            skipped.add(skippedClass.getName());
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !skipped.contains(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    static List<Event> getEvents() {
+        return new ArrayList<>(EVENTS);
+    }
+
+    static void reset() {
+        EVENTS.clear();
+        EVENT_COUNT.set(0);
+        currentTest = "";
+    }
+
+    private static void record(Event event) {
+        if (EVENT_COUNT.incrementAndGet() > MAX_EVENTS) {
+            if (EVENT_COUNT.get() == MAX_EVENTS + 1) {
+                LOGGER.warn("[Trace] Limit of {} traced spans reached, further spans are dropped", MAX_EVENTS);
+            }
+            return;
+        }
+        EVENTS.add(event);
+    }
+
+    /**
+     * Writes Chrome trace event json and summary into {@code directory}.
+     */
+    public static void writeTrace(String directory) {
+        if (!enabled || EVENTS.isEmpty()) {
+            return;
+        }
+        TestUtils.createDirectory(directory);
+        String traceFile = directory + Constants.FILE_SEPARATOR + TRACE_FILE;
+        List<Event> events = getEvents();
+        try (JsonGenerator json = new JsonFactory().createGenerator(new File(traceFile), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("displayTimeUnit", "ms");
+            json.writeArrayFieldStart("traceEvents");
+            Map<Long, String> threads = new LinkedHashMap<>();
+            for (Event event : events) {
+                threads.putIfAbsent(event.threadId(), event.threadName());
+                json.writeStartObject();
+                json.writeStringField("name", event.name());
+                json.writeStringField("cat", event.phase().name().toLowerCase(Locale.ROOT));
+                json.writeStringField("ph", "X");
+                json.writeNumberField("ts", event.startUs());
+                json.writeNumberField("dur", event.durationUs());
+                json.writeNumberField("pid", 1);
+                json.writeNumberField("tid", event.threadId());
+                json.writeObjectFieldStart("args");
+                json.writeStringField("test", event.test());
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            for (Map.Entry<Long, String> thread : threads.entrySet()) {
+                json.writeStartObject();
+                json.writeStringField("name", "thread_name");
+                json.writeStringField("ph", "M");
+                json.writeNumberField("pid", 1);
+                json.writeNumberField("tid", thread.getKey());
+                json.writeObjectFieldStart("args");
+                json.writeStringField("name", thread.getValue());
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            LOGGER.error("[Trace] Unable to write test phases trace {}: {}", traceFile, e.getMessage());
+            return;
+        }
+        String summary = getSummary(events);
+        try {
+            // overwrite, previous execution could use the same logs directory
+            Files.writeString(Path.of(directory, SUMMARY_FILE), summary, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.error("[Trace] Unable to write test phases summary into {}: {}", directory, e.getMessage());
+        }
+        LOGGER.info("[Trace] Test phases trace stored in {}{}{}", traceFile, Constants.LINE_SEPARATOR, summary);
+    }
+
+    /**
+     * Time spent in each phase (nested spans are counted in each of their phases) and slowest waits aggregated by name.
+     */
+    static String getSummary(List<Event> events) {
+        StringBuilder summary = new StringBuilder("Time per phase:");
+        Map<Phase, LongSummaryStatistics> perPhase = new EnumMap<>(Phase.class);
+        events.forEach(event -> perPhase.computeIfAbsent(event.phase(), key -> new LongSummaryStatistics()).accept(event.durationUs() / 1000));
+        perPhase.forEach((phase, stats) -> summary.append(String.format("%n  %-16s count=%d total=%dms max=%dms",
+                phase, stats.getCount(), stats.getSum(), stats.getMax())));
+
+        summary.append(Constants.LINE_SEPARATOR).append("Slowest waits by total time:");
+        Map<String, LongSummaryStatistics> waits = events.stream()
+                .filter(event -> event.phase() == Phase.WAIT)
+                .collect(Collectors.groupingBy(Event::name, Collectors.summarizingLong(event -> event.durationUs() / 1000)));
+        waits.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongSummaryStatistics> entry) -> entry.getValue().getSum()).reversed())
+                .limit(RANKING_SIZE)
+                .forEach(entry -> summary.append(String.format("%n  total=%dms count=%d max=%dms %s", entry.getValue().getSum(),
+                        entry.getValue().getCount(), entry.getValue().getMax(), entry.getKey())));
+
+        summary.append(Constants.LINE_SEPARATOR).append("Slowest single spans:");
+        events.stream()
+                .filter(event -> event.phase() != Phase.CLASS && event.phase() != Phase.TEST)
+                .sorted(Comparator.comparingLong(Event::durationUs).reversed())
+                .limit(RANKING_SIZE)
+                .forEach(event -> summary.append(String.format("%n  %dms %s %s (%s)", event.durationUs() / 1000, event.phase(),
+                        event.name(), event.test())));
+        return summary.toString();
+    }
+
+    /**
+     * Traced action, closing records it. Spans created while tracing is disabled are no-op.
+     */
+    public static final class Span implements AutoCloseable {
+        private final Phase phase;
+        private final String name;
+        private final long startNanos;
+        private final boolean active;
+
+        private Span(Phase phase, String name) {
+            this.phase = phase;
+            this.name = name;
+            this.active = enabled;
+            this.startNanos = active ? System.nanoTime() : 0;
+        }
+
+        @Override
+        public void close() {
+            if (!active) {
+                return;
+            }
+            long endNanos = System.nanoTime();
+            Thread thread = Thread.currentThread();
+            record(new Event(phase, name, currentTest, ORIGIN_EPOCH_US + (startNanos - ORIGIN_NANOS) / 1000,
+                    (endNanos - startNanos) / 1000, thread.getId(), thread.getName()));
+        }
+    }
+}
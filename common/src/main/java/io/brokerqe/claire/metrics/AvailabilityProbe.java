@@ -0,0 +1,224 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Availability of a broker (or broker pair) during one upgrade hop as seen by continuously running clients.
+ * Successful sends, send errors and receptions are counted per second. Seconds before upgrade started give baseline
+ * throughput, seconds from upgrade start to the end of measurement are evaluated against it
+ * <ul>
+ *   <li>unavailable second - no successful send, consecutive ones form an error window</li>
+ *   <li>dip second - fewer successful sends than {@link #DIP_THRESHOLD} of baseline</li>
+ *   <li>availability - percentage of evaluated seconds which were not unavailable</li>
+ * </ul>
+ * Messages sent with sequence are also checked for loss, reconnects are counted as reported by client.
+ */
+public class AvailabilityProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityProbe.class);
+
+    public static final String SEQUENCE_PROPERTY = "claireSequence";
+    public static final double DIP_THRESHOLD = 0.5;
+    private static final long SECOND_MS = 1000;
+
+    /**
+     * Error window in milliseconds relative to upgrade start.
+     */
+    public record Window(long startMs, long endMs) {
+        public long durationMs() {
+            return endMs - startMs;
+        }
+    }
+
+    /**
+     * @param parameters upgrade hop (from, to versions), topology and client options
+     * @param upgradeDurationMs time from upgrade start to all brokers being upgraded and ready
+     * @param evaluatedSeconds seconds from upgrade start to the end of measurement
+     * @param availabilityPercent percentage of evaluated seconds with at least one successful send
+     */
+    public record Result(String scenario, Map<String, String> parameters, long upgradeDurationMs, long evaluatedSeconds,
+                         long sent, long received, long errors, long reconnects, long lost,
+                         double baselinePerSecond, long minPerSecond, long dipSeconds, long unavailableSeconds,
+                         long longestErrorWindowMs, List<Window> errorWindows, double availabilityPercent) implements ScenarioResult { }
+
+    private final String scenario;
+    // second -> count
+    private final Map<Long, LongAdder> successes = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> receptions = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> acknowledgedSequences = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> receivedSequences = new ConcurrentHashMap<>();
+    private final AtomicLong reconnects = new AtomicLong();
+    private volatile long startTimeMs = -1;
+    private volatile long upgradeStartTimeMs = -1;
+    private volatile long upgradeFinishTimeMs = -1;
+    private volatile long finishTimeMs = -1;
+
+    public AvailabilityProbe(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void started(long timeMs) {
+        startTimeMs = timeMs;
+    }
+
+    public void upgradeStarted(long timeMs) {
+        upgradeStartTimeMs = timeMs;
+    }
+
+    public void upgradeFinished(long timeMs) {
+        upgradeFinishTimeMs = timeMs;
+    }
+
+    public void finished(long timeMs) {
+        finishTimeMs = timeMs;
+    }
+
+    /**
+     * Successful operation without sequence, e.g. a passed health check.
+     */
+    public void succeeded(long timeMs) {
+        count(successes, timeMs);
+    }
+
+    public void acknowledged(long sequence, long timeMs) {
+        acknowledgedSequences.put(sequence, Boolean.TRUE);
+        count(successes, timeMs);
+    }
+
+    public void failed(long timeMs) {
+        count(errors, timeMs);
+    }
+
+    public void received(long sequence, long timeMs) {
+        receivedSequences.put(sequence, Boolean.TRUE);
+        count(receptions, timeMs);
+    }
+
+    public void reconnected() {
+        reconnects.incrementAndGet();
+    }
+
+    private static void count(Map<Long, LongAdder> counts, long timeMs) {
+        counts.computeIfAbsent(timeMs / SECOND_MS, second -> new LongAdder()).increment();
+    }
+
+    private static long countIn(Map<Long, LongAdder> counts, long second) {
+        LongAdder count = counts.get(second);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static long total(Map<Long, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getReceived() {
+        return total(receptions);
+    }
+
+    public long getLost() {
+        return acknowledgedSequences.keySet().stream().filter(sequence -> !receivedSequences.containsKey(sequence)).count();
+    }
+
+    /**
+     * Mean successes per second over whole seconds before upgrade started.
+     */
+    public double getBaselinePerSecond() {
+        if (startTimeMs < 0 || upgradeStartTimeMs < 0) {
+            return 0;
+        }
+        // skip first partial second, clients are still connecting
+        long first = startTimeMs / SECOND_MS + 1;
+        long last = upgradeStartTimeMs / SECOND_MS;
+        if (last <= first) {
+            return 0;
+        }
+        long sum = 0;
+        for (long second = first; second < last; second++) {
+            sum += countIn(successes, second);
+        }
+        return (double) sum / (last - first);
+    }
+
+    /**
+     * Whole seconds from upgrade start until the end of measurement, the last partial second is not evaluated.
+     */
+    private long[] evaluatedRange() {
+        if (upgradeStartTimeMs < 0 || finishTimeMs < 0) {
+            return new long[] {0, 0};
+        }
+        return new long[] {upgradeStartTimeMs / SECOND_MS, finishTimeMs / SECOND_MS};
+    }
+
+    public List<Window> getErrorWindows() {
+        long[] range = evaluatedRange();
+        List<Window> windows = new ArrayList<>();
+        long windowStart = -1;
+        for (long second = range[0]; second < range[1]; second++) {
+            boolean unavailable = countIn(successes, second) == 0;
+            if (unavailable && windowStart < 0) {
+                windowStart = second;
+            } else if (!unavailable && windowStart >= 0) {
+                windows.add(toWindow(windowStart, second));
+                windowStart = -1;
+            }
+        }
+        if (windowStart >= 0) {
+            windows.add(toWindow(windowStart, range[1]));
+        }
+        return windows;
+    }
+
+    private Window toWindow(long startSecond, long endSecond) {
+        return new Window(Math.max(0, startSecond * SECOND_MS - upgradeStartTimeMs), endSecond * SECOND_MS - upgradeStartTimeMs);
+    }
+
+    public Result getResult(Map<String, String> parameters) {
+        long[] range = evaluatedRange();
+        long evaluatedSeconds = range[1] - range[0];
+        double baseline = getBaselinePerSecond();
+        long dipSeconds = 0;
+        long unavailableSeconds = 0;
+        long minPerSecond = evaluatedSeconds > 0 ? Long.MAX_VALUE : 0;
+        for (long second = range[0]; second < range[1]; second++) {
+            long perSecond = countIn(successes, second);
+            minPerSecond = Math.min(minPerSecond, perSecond);
+            if (perSecond == 0) {
+                unavailableSeconds++;
+            }
+            if (perSecond < baseline * DIP_THRESHOLD) {
+                dipSeconds++;
+            }
+        }
+        List<Window> windows = getErrorWindows();
+        long longestWindow = windows.stream().mapToLong(Window::durationMs).max().orElse(0);
+        long upgradeDuration = upgradeStartTimeMs < 0 || upgradeFinishTimeMs < 0 ? -1 : upgradeFinishTimeMs - upgradeStartTimeMs;
+        double availability = evaluatedSeconds > 0 ? 100.0 * (evaluatedSeconds - unavailableSeconds) / evaluatedSeconds : 0;
+        return new Result(scenario, new TreeMap<>(parameters), upgradeDuration, evaluatedSeconds, total(successes),
+                getReceived(), total(errors), reconnects.get(), getLost(), baseline, minPerSecond, dipSeconds,
+                unavailableSeconds, longestWindow, windows, availability);
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Availability] {} {}: upgrade={}ms availability={}% unavailable={}s/{}s longestErrorWindow={}ms " +
+                        "baseline={}/s min={}/s dips={}s errors={} reconnects={} sent={} received={} lost={}",
+                result.scenario(), result.parameters(), result.upgradeDurationMs(), String.format("%.2f", result.availabilityPercent()),
+                result.unavailableSeconds(), result.evaluatedSeconds(), result.longestErrorWindowMs(),
+                String.format("%.1f", result.baselinePerSecond()), result.minPerSecond(), result.dipSeconds(), result.errors(),
+                result.reconnects(), result.sent(), result.received(), result.lost());
+        ResultStore.append(resultsFile, result);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Timeline of HA failover as seen by continuously running clients. Producer records the time every message with
+ * a unique sequence was acknowledged by broker, consumer the time every message was received. Together with the time
+ * of failure injection and of backup activation this gives
+ * <ul>
+ *   <li>last acknowledged send before failure</li>
+ *   <li>backup activation after failure</li>
+ *   <li>first acknowledged send and first receive after failure</li>
+ *   <li>lost (acknowledged, never received) and duplicate (received more than once) messages</li>
+ * </ul>
+ * All offsets are in milliseconds relative to failure injection, -1 when event did not happen.
+ */
+public class FailoverProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailoverProbe.class);
+
+    public static final String SEQUENCE_PROPERTY = "claireSequence";
+    private static final int MAX_REPORTED_LOST = 100;
+
+    /**
+     * @param parameters topology, failure type and client options
+     * @param lastAckBeforeMs time from the last acknowledged send to failure (how long before failure producer stalled)
+     * @param sendOutageMs pause between the last acknowledged send before failure and the first one after it
+     * @param receiveOutageMs pause between the last received message before failure and the first one after it
+     */
+    public record Result(String scenario, Map<String, String> parameters, long acknowledged, long received,
+                         long lastAckBeforeMs, long backupActivationMs, long firstSendAfterMs, long firstReceiveAfterMs,
+                         long sendOutageMs, long receiveOutageMs, long lost, long duplicates, List<Long> lostSequences) implements ScenarioResult { }
+
+    private final String scenario;
+    // sequence -> time of acknowledgement
+    private final Map<Long, Long> acknowledged = new ConcurrentHashMap<>();
+    // sequence -> number of receptions
+    private final Map<Long, Integer> receptions = new ConcurrentHashMap<>();
+    // time -> sequence, ordered for gap computation
+    private final ConcurrentSkipListMap<Long, Long> ackTimes = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Long> receiveTimes = new ConcurrentSkipListMap<>();
+    private volatile long failureTimeMs = -1;
+    private volatile long backupActiveTimeMs = -1;
+
+    public FailoverProbe(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void failureInjected(long timeMs) {
+        failureTimeMs = timeMs;
+    }
+
+    public void backupActivated(long timeMs) {
+        backupActiveTimeMs = timeMs;
+    }
+
+    public void acknowledged(long sequence, long timeMs) {
+        acknowledged.put(sequence, timeMs);
+        // several events in one millisecond keep the first sequence, it is enough for gaps
+        ackTimes.putIfAbsent(timeMs, sequence);
+    }
+
+    public void received(long sequence, long timeMs) {
+        receptions.merge(sequence, 1, Integer::sum);
+        receiveTimes.putIfAbsent(timeMs, sequence);
+    }
+
+    public long getAcknowledged() {
+        return acknowledged.size();
+    }
+
+    public long getReceived() {
+        return receptions.size();
+    }
+
+    public List<Long> getLostSequences() {
+        return acknowledged.keySet().stream().filter(sequence -> !receptions.containsKey(sequence)).sorted().toList();
+    }
+
+    public long getDuplicates() {
+        return receptions.values().stream().mapToLong(count -> count - 1).sum();
+    }
+
+    public long getLastAckBefore() {
+        if (failureTimeMs < 0) {
+            return -1;
+        }
+        Long lastAck = ackTimes.floorKey(failureTimeMs);
+        return lastAck == null ? -1 : failureTimeMs - lastAck;
+    }
+
+    public long getBackupActivation() {
+        return offset(backupActiveTimeMs);
+    }
+
+    public long getFirstSendAfter() {
+        return firstAfter(ackTimes);
+    }
+
+    public long getFirstReceiveAfter() {
+        return firstAfter(receiveTimes);
+    }
+
+    public long getSendOutage() {
+        return outage(ackTimes);
+    }
+
+    public long getReceiveOutage() {
+        return outage(receiveTimes);
+    }
+
+    private long offset(long timeMs) {
+        return failureTimeMs < 0 || timeMs < 0 ? -1 : timeMs - failureTimeMs;
+    }
+
+    private long firstAfter(ConcurrentSkipListMap<Long, Long> times) {
+        if (failureTimeMs < 0) {
+            return -1;
+        }
+        Long first = times.higherKey(failureTimeMs);
+        return first == null ? -1 : first - failureTimeMs;
+    }
+
+    /**
+     * Gap between the last event before failure and the first one after it.
+     */
+    private long outage(ConcurrentSkipListMap<Long, Long> times) {
+        if (failureTimeMs < 0) {
+            return -1;
+        }
+        Long before = times.floorKey(failureTimeMs);
+        Long after = times.higherKey(failureTimeMs);
+        if (before == null || after == null) {
+            return -1;
+        }
+        return after - before;
+    }
+
+    public Result getResult(Map<String, String> parameters) {
+        List<Long> lost = getLostSequences();
+        return new Result(scenario, new TreeMap<>(parameters), getAcknowledged(), getReceived(), getLastAckBefore(),
+                getBackupActivation(), getFirstSendAfter(), getFirstReceiveAfter(), getSendOutage(), getReceiveOutage(),
+                lost.size(), getDuplicates(), lost.subList(0, Math.min(MAX_REPORTED_LOST, lost.size())));
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Failover] {} {}: acked={} received={} lastAckBefore={}ms backupActive=+{}ms firstSend=+{}ms firstReceive=+{}ms " +
+                        "sendOutage={}ms receiveOutage={}ms lost={} duplicates={}", result.scenario(), result.parameters(),
+                result.acknowledged(), result.received(), result.lastAckBeforeMs(), result.backupActivationMs(), result.firstSendAfterMs(),
+                result.firstReceiveAfterMs(), result.sendOutageMs(), result.receiveOutageMs(), result.lost(), result.duplicates());
+        if (result.lost() > 0) {
+            LOGGER.warn("[Failover] {} lost sequences (first {}): {}", result.scenario(), MAX_REPORTED_LOST, result.lostSequences());
+        }
+        ResultStore.append(resultsFile, result);
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares journal types of a broker running the same {@code artemis perf client} workload.
+ * <ul>
+ *   <li>throughput - messages received per second as reported by perf client</li>
+ *   <li>latency - aggregated perf client latencies in microseconds, e.g. {@code end_to_end_p99}</li>
+ *   <li>cpu and disk - cpu time and bytes written by broker (and database of JDBC journal) container during the workload,
+ *   read from its cgroup (v2 or v1) by {@link #CGROUP_STATS_COMMAND}, -1 when not available</li>
+ * </ul>
+ * Results are stored as json lines, one {@link Result} per journal and workload, {@link #writeReport(List, String)}
+ * renders them as one table with journals of the same workload next to each other.
+ */
+public class JournalProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalProbe.class);
+
+    /**
+     * Prints every available cgroup file prefixed by its name, to be executed by {@code sh -c} in a container.
+     */
+    public static final String CGROUP_STATS_COMMAND = "for f in cpu.stat io.stat cpuacct/cpuacct.usage blkio/blkio.throttle.io_service_bytes; "
+            + "do [ -f /sys/fs/cgroup/$f ] && echo \"# $f\" && cat /sys/fs/cgroup/$f; done; true";
+    public static final String END_TO_END = "end_to_end";
+    private static final String LATENCY_KEY = "_latency_us_";
+
+    public record ResourceUsage(long cpuMicros, long diskWrittenBytes) {
+
+        public static final ResourceUsage UNKNOWN = new ResourceUsage(-1, -1);
+
+        /**
+         * @return usage since {@code before}, unknown values stay -1
+         */
+        public ResourceUsage since(ResourceUsage before) {
+            return new ResourceUsage(difference(cpuMicros, before.cpuMicros()),
+                    difference(diskWrittenBytes, before.diskWrittenBytes()));
+        }
+
+        private static long difference(long after, long before) {
+            return after < 0 || before < 0 ? -1 : after - before;
+        }
+    }
+
+    /**
+     * @param journalActual journal type reported by broker, ASYNCIO falls back to NIO without libaio
+     * @param parameters workload configuration, e.g. producers, consumers, message size
+     * @param latencyUs latency percentiles in microseconds keyed by latency type and percentile
+     * @param database database of JDBC journal, {@code null} for file journals
+     */
+    public record Result(String journal, String journalActual, String workload, String database, Map<String, String> parameters,
+                         long sent, long received, double throughput, Map<String, Double> latencyUs, long brokerCpuMicros,
+                         long brokerDiskWrittenBytes, long databaseCpuMicros, long databaseDiskWrittenBytes, long durationMs) {
+
+        /**
+         * @return -1 if latency was not reported
+         */
+        public double getLatency(String type, String percentile) {
+            return latencyUs.getOrDefault(type + "_" + percentile, -1.0);
+        }
+    }
+
+    private final String journal;
+    private final String workload;
+    private final String database;
+    private ResourceUsage brokerBefore = ResourceUsage.UNKNOWN;
+    private ResourceUsage databaseBefore = ResourceUsage.UNKNOWN;
+    private ResourceUsage brokerUsage = ResourceUsage.UNKNOWN;
+    private ResourceUsage databaseUsage = ResourceUsage.UNKNOWN;
+    private long startTimeMs = -1;
+    private long durationMs = -1;
+
+    public JournalProbe(String journal, String workload, String database) {
+        this.journal = journal;
+        this.workload = workload;
+        this.database = database;
+    }
+
+    /**
+     * @param brokerStats output of {@link #CGROUP_STATS_COMMAND} in broker container
+     * @param databaseStats output of {@link #CGROUP_STATS_COMMAND} in database container, {@code null} without database
+     */
+    public void started(String brokerStats, String databaseStats) {
+        startTimeMs = System.currentTimeMillis();
+        brokerBefore = parseCgroupStats(brokerStats);
+        databaseBefore = parseCgroupStats(databaseStats);
+    }
+
+    public void finished(String brokerStats, String databaseStats) {
+        durationMs = System.currentTimeMillis() - startTimeMs;
+        brokerUsage = parseCgroupStats(brokerStats).since(brokerBefore);
+        databaseUsage = parseCgroupStats(databaseStats).since(databaseBefore);
+    }
+
+    public ResourceUsage getBrokerUsage() {
+        return brokerUsage;
+    }
+
+    public ResourceUsage getDatabaseUsage() {
+        return databaseUsage;
+    }
+
+    /**
+     * @param perfOutput parsed summary of {@code artemis perf client}
+     */
+    public Result getResult(String journalActual, Map<String, String> parameters, Map<String, String> perfOutput) {
+        long sent = parseLong(perfOutput.get("total_sent"));
+        long received = parseLong(perfOutput.get("total_received"));
+        long totalTimeMs = parseLong(perfOutput.get("total_time_(ms)"));
+        if (totalTimeMs <= 0) {
+            // includes client start, so it is lower than the real throughput
+            totalTimeMs = durationMs;
+        }
+        double throughput = received < 0 || totalTimeMs <= 0 ? -1 : received * 1000.0 / totalTimeMs;
+        return new Result(journal, journalActual, workload, database, new TreeMap<>(parameters), sent, received, throughput,
+                parseLatencies(perfOutput), brokerUsage.cpuMicros(), brokerUsage.diskWrittenBytes(), databaseUsage.cpuMicros(),
+                databaseUsage.diskWrittenBytes(), durationMs);
+    }
+
+    /**
+     * Cgroup v2 {@code cpu.stat} (usage_usec) and {@code io.stat} (wbytes of all devices) take precedence over cgroup v1
+     * {@code cpuacct.usage} (nanoseconds) and {@code blkio.throttle.io_service_bytes} (Write of all devices).
+     */
+    public static ResourceUsage parseCgroupStats(String output) {
+        if (output == null) {
+            return ResourceUsage.UNKNOWN;
+        }
+        long cpuV2 = -1;
+        long cpuV1 = -1;
+        long diskV2 = -1;
+        long diskV1 = -1;
+        String file = "";
+        for (String line : output.split("\n")) {
+            line = line.trim();
+            if (line.startsWith("# ")) {
+                file = line.substring(2);
+                continue;
+            }
+            String[] columns = line.split("\\s+");
+            switch (file) {
+                case "cpu.stat" -> {
+                    if (columns.length == 2 && columns[0].equals("usage_usec")) {
+                        cpuV2 = parseLong(columns[1]);
+                    }
+                }
+                case "io.stat" -> {
+                    for (String column : columns) {
+                        if (column.startsWith("wbytes=")) {
+                            diskV2 = Math.max(diskV2, 0) + parseLong(column.substring("wbytes=".length()));
+                        }
+                    }
+                }
+                case "cpuacct/cpuacct.usage" -> {
+                    if (!line.isEmpty()) {
+                        cpuV1 = parseLong(line) / 1000;
+                    }
+                }
+                case "blkio/blkio.throttle.io_service_bytes" -> {
+                    if (columns.length == 3 && columns[1].equals("Write")) {
+                        diskV1 = Math.max(diskV1, 0) + parseLong(columns[2]);
+                    }
+                }
+                default -> LOGGER.trace("[Journal] Ignoring cgroup line {}", line);
+            }
+        }
+        // io.stat is empty until the first write
+        if (diskV2 < 0 && output.contains("# io.stat")) {
+            diskV2 = 0;
+        }
+        return new ResourceUsage(cpuV2 >= 0 ? cpuV2 : cpuV1, diskV2 >= 0 ? diskV2 : diskV1);
+    }
+
+    /**
+     * @return e.g. {@code aggregated_end_to_end_latency_us_99.90} as {@code end_to_end_p99.9},
+     * {@code aggregated_send_latency_us_max} as {@code send_max}
+     */
+    public static Map<String, Double> parseLatencies(Map<String, String> perfOutput) {
+        Map<String, Double> latencies = new TreeMap<>();
+        perfOutput.forEach((key, value) -> {
+            int index = key.indexOf(LATENCY_KEY);
+            if (index < 0) {
+                return;
+            }
+            String type = key.substring(0, index).replaceFirst("^aggregated_", "");
+            String percentile = key.substring(index + LATENCY_KEY.length());
+            try {
+                percentile = "p" + new BigDecimal(percentile).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                LOGGER.trace("[Journal] Latency {} is not a percentile", percentile);
+            }
+            try {
+                latencies.put(type + "_" + percentile, Double.parseDouble(value.replaceAll("[^0-9.]", "")));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("[Journal] Unable to parse latency {}={}", key, value);
+            }
+        });
+        return latencies;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.debug("[Journal] Unable to parse {} as number", value);
+            return -1;
+        }
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Journal] {} ({}) {}: received={} throughput={} msg/s e2e p50={}us p99={}us broker cpu={}us disk={}B database cpu={}us disk={}B",
+                result.journal(), result.journalActual(), result.workload(), result.received(),
+                String.format("%.1f", result.throughput()), result.getLatency(END_TO_END, "p50"), result.getLatency(END_TO_END, "p99"),
+                result.brokerCpuMicros(), result.brokerDiskWrittenBytes(), result.databaseCpuMicros(), result.databaseDiskWrittenBytes());
+        ResultStore.append(resultsFile, result);
+    }
+
+    /**
+     * Markdown table of all results, grouped by workload in order of their first result. Disk bytes per message include
+     * database writes of JDBC journal.
+     */
+    public static String getReport(List<Result> results) {
+        Map<String, List<Result>> workloads = new LinkedHashMap<>();
+        results.forEach(result -> workloads.computeIfAbsent(result.workload(), key -> new ArrayList<>()).add(result));
+        StringBuilder report = new StringBuilder()
+                .append("| workload | journal | actual | msg/s | e2e p50 us | e2e p99 us | e2e p99.9 us | e2e max us ")
+                .append("| broker cpu s | broker disk MiB | database cpu s | database disk MiB | disk B/msg |")
+                .append(System.lineSeparator())
+                .append("|---|---|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|")
+                .append(System.lineSeparator());
+        for (List<Result> workloadResults : workloads.values()) {
+            for (Result result : workloadResults) {
+                String journalName = result.database() == null ? result.journal() : result.journal() + " " + result.database();
+                long diskWritten = Math.max(result.brokerDiskWrittenBytes(), 0) + Math.max(result.databaseDiskWrittenBytes(), 0);
+                report.append("| ").append(result.workload())
+                        .append(" | ").append(journalName)
+                        .append(" | ").append(result.journalActual())
+                        .append(" | ").append(format(result.throughput(), 1))
+                        .append(" | ").append(format(result.getLatency(END_TO_END, "p50"), 0))
+                        .append(" | ").append(format(result.getLatency(END_TO_END, "p99"), 0))
+                        .append(" | ").append(format(result.getLatency(END_TO_END, "p99.9"), 0))
+                        .append(" | ").append(format(result.getLatency(END_TO_END, "max"), 0))
+                        .append(" | ").append(format(result.brokerCpuMicros(), 1_000_000.0))
+                        .append(" | ").append(format(result.brokerDiskWrittenBytes(), 1024.0 * 1024))
+                        .append(" | ").append(format(result.databaseCpuMicros(), 1_000_000.0))
+                        .append(" | ").append(format(result.databaseDiskWrittenBytes(), 1024.0 * 1024))
+                        .append(" | ").append(result.brokerDiskWrittenBytes() < 0 || result.received() <= 0 ? "-"
+                                : format((double) diskWritten / result.received(), 0))
+                        .append(" |").append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    public static void writeReport(List<Result> results, String reportFile) {
+        try {
+            Files.writeString(Path.of(reportFile), getReport(results), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to store journal report into %s: %s", reportFile, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        LOGGER.info("[Journal] Stored comparison of {} results into {}", results.size(), reportFile);
+    }
+
+    private static String format(double value, int decimals) {
+        return value < 0 ? "-" : String.format("%." + decimals + "f", value);
+    }
+
+    private static String format(long value, double unit) {
+        return value < 0 ? "-" : String.format("%.2f", value / unit);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects durations of named actions (e.g. web console create queue, JMX browse, client reconnect, mirror catch-up),
+ * so responsiveness of the system under load can be measured and compared by percentiles.
+ * Latencies are in milliseconds unless other unit is given.
+ */
+public class LatencyRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatencyRecorder.class);
+
+    /**
+     * Percentiles reported by {@link #getPercentiles(String)} with their names.
+     */
+    public static final Map<String, Double> PERCENTILES = percentiles();
+
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final String description;
+    private final String unit;
+
+    public LatencyRecorder(String description) {
+        this(description, "ms");
+    }
+
+    public LatencyRecorder(String description, String unit) {
+        this.description = description;
+        this.unit = unit;
+    }
+
+    public void measure(String action, Runnable runnable) {
+        measure(action, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public <T> T measure(String action, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(action, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * {@link #measure(String, Supplier)} always records milliseconds, other units have to be recorded directly.
+     */
+    public void record(String action, long latency) {
+        LOGGER.trace("[{}] {} took {}{}", description, action, latency, unit);
+        latencies.computeIfAbsent(action, key -> Collections.synchronizedList(new ArrayList<>())).add(latency);
+    }
+
+    public List<Long> getLatencies(String action) {
+        List<Long> actionLatencies = latencies.getOrDefault(action, List.of());
+        synchronized (actionLatencies) {
+            return new ArrayList<>(actionLatencies);
+        }
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return latency under which {@code percentile} of recorded actions finished, -1 if action was not recorded
+     */
+    public long getPercentile(String action, double percentile) {
+        return nearestRank(getLatencies(action), percentile);
+    }
+
+    /**
+     * @return {@link #PERCENTILES} of action keyed by their names, empty if action was not recorded
+     */
+    public Map<String, Long> getPercentiles(String action) {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        List<Long> values = getLatencies(action);
+        if (!values.isEmpty()) {
+            PERCENTILES.forEach((name, percentile) -> percentiles.put(name, nearestRank(values, percentile)));
+        }
+        return percentiles;
+    }
+
+    public Set<String> getActions() {
+        return new TreeSet<>(latencies.keySet());
+    }
+
+    /**
+     * Nearest-rank percentile of any values, {@code values} are not modified.
+     * @param percentile value between 0 and 100
+     * @return -1 if {@code values} are empty
+     */
+    public static long nearestRank(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        // multiply first, 0.99 * 1000 is not exactly 990
+        int index = (int) Math.ceil(percentile * sorted.size() / 100.0) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    /**
+     * Nearest-rank percentile is distinct from maximum only with at least {@code 100 / (100 - percentile)} samples,
+     * e.g. 20 for p95 and 100 for p99.
+     * @return percentile as {@link #getPercentile(String, double)}, -1 if there is not enough samples of action for it
+     */
+    public long getTailPercentile(String action, double percentile) {
+        if (getLatencies(action).size() < Math.ceil(100 / (100 - percentile))) {
+            return -1;
+        }
+        return getPercentile(action, percentile);
+    }
+
+    public Map<String, LongSummaryStatistics> getStatistics() {
+        Map<String, LongSummaryStatistics> statistics = new TreeMap<>();
+        for (String action : latencies.keySet()) {
+            statistics.put(action, getLatencies(action).stream().mapToLong(Long::longValue).summaryStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Tail percentiles without enough samples are reported as {@code -}, they would be just the maximum.
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder(description + " [" + unit + "]");
+        getStatistics().forEach((action, stats) -> summary.append(String.format("%n  %-28s count=%d min=%d avg=%.0f p50=%d p95=%s p99=%s max=%d",
+                action, stats.getCount(), stats.getMin(), stats.getAverage(), getPercentile(action, 50),
+                formatTailPercentile(action, 95), formatTailPercentile(action, 99), stats.getMax())));
+        return summary.toString();
+    }
+
+    private String formatTailPercentile(String action, double percentile) {
+        long value = getTailPercentile(action, percentile);
+        return value < 0 ? "-" : String.valueOf(value);
+    }
+
+    public void logSummary() {
+        if (latencies.isEmpty()) {
+            return;
+        }
+        LOGGER.info(getSummary());
+    }
+
+    public void reset() {
+        latencies.clear();
+    }
+
+    private static Map<String, Double> percentiles() {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", 50.0);
+        percentiles.put("p90", 90.0);
+        percentiles.put("p99", 99.0);
+        percentiles.put("p99.9", 99.9);
+        percentiles.put("max", 100.0);
+        return Collections.unmodifiableMap(percentiles);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures message migration of scaledown - time from scaling the broker down until drainer of each removed pod
+ * finished and how many stored messages per second were moved to remaining pods.
+ * Results are stored as json lines, one {@link Result} per executed scenario. Result of the same scenario with the same
+ * parameters from previous run is the baseline it is compared to, so regressions of drain time are visible in the log.
+ */
+public class MigrationProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MigrationProbe.class);
+
+    /**
+     * @param parameters scenario configuration, e.g. pods before and after scaledown, queues, message count and size
+     * @param preloadedMessages messages stored on all pods before scaledown
+     * @param drainedMessages messages stored on removed pods before scaledown, these had to be migrated
+     * @param messagesAfter messages counted on remaining pods after scaledown
+     * @param drainTimePerPodMs time from scaledown until drainer of the pod finished
+     * @param totalDrainTimeMs time from scaledown until the last drainer finished
+     * @param migrationRate drained messages per second of total drain time
+     */
+    public record Result(String scenario, Map<String, String> parameters, long preloadedMessages, long drainedMessages,
+                         long messagesAfter, Map<String, Long> drainTimePerPodMs, long totalDrainTimeMs, double migrationRate,
+                         Map<String, Long> messagesPerQueue) implements ScenarioResult { }
+
+    private final String scenario;
+    private final Map<String, Long> drainFinishedTimeMs = new ConcurrentHashMap<>();
+    private volatile long scaledownTimeMs = -1;
+
+    public MigrationProbe(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void scaledownStarted() {
+        scaledownStarted(System.currentTimeMillis());
+    }
+
+    public void scaledownStarted(long timeMs) {
+        scaledownTimeMs = timeMs;
+    }
+
+    /**
+     * Record time when drainer of the pod finished, only first record of each pod is kept.
+     */
+    public void drainFinished(String pod, long timeMs) {
+        drainFinishedTimeMs.putIfAbsent(pod, timeMs);
+    }
+
+    public void drainFinished(Map<String, Long> podFinishedTimesMs) {
+        podFinishedTimesMs.forEach(this::drainFinished);
+    }
+
+    public Map<String, Long> getDrainTimePerPod() {
+        Map<String, Long> drainTimes = new TreeMap<>();
+        if (scaledownTimeMs >= 0) {
+            drainFinishedTimeMs.forEach((pod, finished) -> drainTimes.put(pod, finished - scaledownTimeMs));
+        }
+        return drainTimes;
+    }
+
+    /**
+     * @return -1 if scaledown was not started or no drainer finished
+     */
+    public long getTotalDrainTime() {
+        return getDrainTimePerPod().values().stream().mapToLong(Long::longValue).max().orElse(-1);
+    }
+
+    public double getMigrationRate(long drainedMessages) {
+        long totalDrainTime = getTotalDrainTime();
+        if (totalDrainTime < 0) {
+            return -1;
+        }
+        return drainedMessages * 1000.0 / Math.max(1, totalDrainTime);
+    }
+
+    public Result getResult(Map<String, String> parameters, long preloadedMessages, long drainedMessages, Map<String, Long> messagesPerQueue) {
+        long messagesAfter = messagesPerQueue.values().stream().mapToLong(Long::longValue).sum();
+        return new Result(scenario, new TreeMap<>(parameters), preloadedMessages, drainedMessages, messagesAfter,
+                getDrainTimePerPod(), getTotalDrainTime(), getMigrationRate(drainedMessages), new TreeMap<>(messagesPerQueue));
+    }
+
+    /**
+     * Log the result compared to its baseline from the file (if any) and append it to the file.
+     */
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Migration] {} {}: preloaded={} drained={} after={} totalDrainTime={}ms rate={} msg/s drainTimes={}",
+                result.scenario(), result.parameters(), result.preloadedMessages(), result.drainedMessages(),
+                result.messagesAfter(), result.totalDrainTimeMs(), String.format("%.1f", result.migrationRate()),
+                result.drainTimePerPodMs());
+        ResultStore.findBaseline(ResultStore.read(resultsFile, Result.class), result).ifPresent(baseline -> LOGGER.info(
+                "[Migration] {} baseline totalDrainTime={}ms rate={} msg/s, change of drain time {}%", result.scenario(),
+                baseline.totalDrainTimeMs(), String.format("%.1f", baseline.migrationRate()),
+                String.format("%+.1f", (result.totalDrainTimeMs() - baseline.totalDrainTimeMs()) * 100.0
+                        / Math.max(1, baseline.totalDrainTimeMs()))));
+        ResultStore.append(resultsFile, result);
+    }
+}
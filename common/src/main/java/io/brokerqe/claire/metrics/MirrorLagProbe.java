@@ -0,0 +1,151 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how far mirror (DR) broker trails the source (prod) broker.
+ * <ul>
+ *   <li>end-to-end lag - time between stamping message on prod and receiving it on DR, when test owns both clients</li>
+ *   <li>catch-up lag - time until DR counter reaches value which prod counter had in given moment, computed only
+ *   from periodic management samples, so it works also with clients which can't stamp messages (bundled clients)</li>
+ *   <li>backlog of mirror store-and-forward queue on prod over time</li>
+ * </ul>
+ */
+public class MirrorLagProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MirrorLagProbe.class);
+
+    public static final String SENT_TIME_PROPERTY = "claireSentTime";
+    public static final String E2E_LAG = "e2e-lag";
+    public static final String CATCH_UP_LAG = "catch-up-lag";
+
+    /**
+     * @param produced messages added on prod (queue messages added or producer counter)
+     * @param mirrored messages which reached DR (queue messages added or consumer counter)
+     * @param snfBacklog message count of mirror store-and-forward queue on prod
+     */
+    public record Sample(long timeMs, long produced, long mirrored, long snfBacklog) {
+        public static Sample now(long produced, long mirrored, long snfBacklog) {
+            return new Sample(System.currentTimeMillis(), produced, mirrored, snfBacklog);
+        }
+    }
+
+    private final LatencyRecorder recorder;
+    private final List<Sample> samples = new ArrayList<>();
+    private ScheduledExecutorService sampler;
+
+    public MirrorLagProbe(String description) {
+        recorder = new LatencyRecorder(description);
+    }
+
+    /**
+     * Sent time is expected in {@link #SENT_TIME_PROPERTY} message property, both clients have to run on the same host.
+     */
+    public void recordMessageLag(long sentTimeMs, long receivedTimeMs) {
+        recorder.record(E2E_LAG, receivedTimeMs - sentTimeMs);
+    }
+
+    public synchronized void addSample(Sample sample) {
+        LOGGER.trace("[Mirror] {}", sample);
+        samples.add(sample);
+    }
+
+    public synchronized List<Sample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    /**
+     * Periodically call {@code sampleSupplier} on background until {@link #stopSampling()} is called.
+     * Failed samples are only logged, as management might be temporarily unavailable under load.
+     */
+    public void startSampling(long periodMs, Supplier<Sample> sampleSupplier) {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claire-mirror-lag-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(() -> {
+            try {
+                addSample(sampleSupplier.get());
+            } catch (RuntimeException e) {
+                LOGGER.warn("[Mirror] Unable to take sample: {}", e.getMessage());
+            }
+        }, 0, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stopSampling() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            try {
+                sampler.awaitTermination(Constants.DURATION_10_SECONDS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sampler = null;
+        }
+    }
+
+    /**
+     * For every sample find first later sample, where DR caught up with prod and record the time difference.
+     * Resolution is given by sampling period. Samples never caught up are not recorded.
+     */
+    public void computeCatchUpLags() {
+        List<Sample> timeline = getSamples();
+        for (int i = 0; i < timeline.size(); i++) {
+            Sample sample = timeline.get(i);
+            if (sample.produced() == 0) {
+                continue;
+            }
+            for (int j = i; j < timeline.size(); j++) {
+                if (timeline.get(j).mirrored() >= sample.produced()) {
+                    recorder.record(CATCH_UP_LAG, timeline.get(j).timeMs() - sample.timeMs());
+                    break;
+                }
+            }
+        }
+    }
+
+    public long getPercentile(String lagType, double percentile) {
+        return recorder.getPercentile(lagType, percentile);
+    }
+
+    public long getRecordedCount(String lagType) {
+        return recorder.getLatencies(lagType).size();
+    }
+
+    public long getMaxSnfBacklog() {
+        return getSamples().stream().mapToLong(Sample::snfBacklog).max().orElse(-1);
+    }
+
+    public String getSummary() {
+        return String.format("%s%n  max mirror SNF backlog=%d messages in %d samples", recorder.getSummary(), getMaxSnfBacklog(), getSamples().size());
+    }
+
+    /**
+     * Store summary and all samples as csv (relative time in ms, produced, mirrored, snf backlog).
+     */
+    public void writeReport(String summaryFile, String samplesCsvFile) {
+        TestUtils.createFile(summaryFile, getSummary());
+        List<Sample> timeline = getSamples();
+        StringBuilder csv = new StringBuilder("time_ms,produced,mirrored,snf_backlog");
+        long start = timeline.isEmpty() ? 0 : timeline.get(0).timeMs();
+        timeline.forEach(sample -> csv.append(String.format("%n%d,%d,%d,%d", sample.timeMs() - start, sample.produced(),
+                sample.mirrored(), sample.snfBacklog())));
+        TestUtils.createFile(samplesCsvFile, csv.toString());
+        LOGGER.info("[Mirror] {}", getSummary());
+    }
+}
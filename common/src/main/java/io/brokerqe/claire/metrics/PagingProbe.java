@@ -0,0 +1,224 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Paging stress as seen by clients and by periodic broker samples of the paged address. Clients record every sent and
+ * received message, samples record queue depth, number of page files, address size and global memory usage. This gives
+ * <ul>
+ *   <li>time to enter paging, peak page count and rate of page file creation until the peak</li>
+ *   <li>address size and global memory usage watermarks</li>
+ *   <li>consumer catch-up time - from the last sent message to the last received one</li>
+ *   <li>throughput collapses - at least {@link #COLLAPSE_MIN_SECONDS} consecutive seconds in which producer or consumer
+ *   rate fell under {@link #COLLAPSE_RATIO} of its median rate</li>
+ * </ul>
+ * All times are in milliseconds relative to {@link #started}, -1 when event did not happen.
+ */
+public class PagingProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagingProbe.class);
+
+    public static final String PRODUCER = "producer";
+    public static final String CONSUMER = "consumer";
+    public static final double COLLAPSE_RATIO = 0.1;
+    public static final int COLLAPSE_MIN_SECONDS = 3;
+    private static final long SECOND_MS = 1000;
+
+    /**
+     * Broker side view of paged address at {@code timeMs}.
+     */
+    public record Sample(long timeMs, long messageCount, long pages, long addressSize, long globalUsage, long globalMaxSize) { }
+
+    /**
+     * Throughput collapse of producers or consumers in milliseconds relative to start.
+     */
+    public record Collapse(String client, long startMs, long endMs) { }
+
+    /**
+     * @param parameters journal location, message size, rates and address settings
+     * @param pagingStartMs time of the first sample with at least one page file
+     * @param pageFilesPerSecond page files created per second from paging start until the peak page count
+     * @param catchUpMs time from the last sent message until the last received one
+     */
+    public record Result(String scenario, Map<String, String> parameters, long durationMs, long sent, long received,
+                         long sentBytes, double producerPerSecond, double consumerPerSecond, long pagingStartMs, long maxPages,
+                         double pageFilesPerSecond, long maxAddressSize, double maxGlobalUsagePercent, long catchUpMs,
+                         List<Collapse> collapses, boolean throughputCollapsed) implements ScenarioResult { }
+
+    private final String scenario;
+    // client -> second -> messages
+    private final Map<String, Map<Long, LongAdder>> rates = Map.of(
+            PRODUCER, new ConcurrentHashMap<>(),
+            CONSUMER, new ConcurrentHashMap<>());
+    private final ConcurrentSkipListMap<Long, Sample> samples = new ConcurrentSkipListMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final AtomicLong lastSentMs = new AtomicLong(-1);
+    private final AtomicLong lastReceivedMs = new AtomicLong(-1);
+    private volatile long startTimeMs = -1;
+    private volatile long finishTimeMs = -1;
+
+    public PagingProbe(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void started(long timeMs) {
+        startTimeMs = timeMs;
+    }
+
+    public void finished(long timeMs) {
+        finishTimeMs = timeMs;
+    }
+
+    public void sent(long bytes, long timeMs) {
+        sent.increment();
+        sentBytes.add(bytes);
+        lastSentMs.accumulateAndGet(timeMs, Math::max);
+        count(PRODUCER, timeMs);
+    }
+
+    public void received(long timeMs) {
+        received.increment();
+        lastReceivedMs.accumulateAndGet(timeMs, Math::max);
+        count(CONSUMER, timeMs);
+    }
+
+    public void sample(Sample sample) {
+        samples.put(sample.timeMs(), sample);
+    }
+
+    private void count(String client, long timeMs) {
+        rates.get(client).computeIfAbsent(timeMs / SECOND_MS, second -> new LongAdder()).increment();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getMaxPages() {
+        return samples.values().stream().mapToLong(Sample::pages).max().orElse(0);
+    }
+
+    public long getPagingStart() {
+        return samples.values().stream().filter(sample -> sample.pages() > 0).findFirst()
+                .map(sample -> offset(sample.timeMs())).orElse(-1L);
+    }
+
+    /**
+     * Page files created per second between the first paged sample and the first sample with peak page count.
+     */
+    public double getPageFilesPerSecond() {
+        Sample first = samples.values().stream().filter(sample -> sample.pages() > 0).findFirst().orElse(null);
+        long maxPages = getMaxPages();
+        Sample peak = samples.values().stream().filter(sample -> sample.pages() == maxPages).findFirst().orElse(null);
+        if (first == null || peak == null || peak.timeMs() <= first.timeMs()) {
+            return 0;
+        }
+        return (peak.pages() - first.pages()) * (double) SECOND_MS / (peak.timeMs() - first.timeMs());
+    }
+
+    public double getMaxGlobalUsagePercent() {
+        return samples.values().stream().filter(sample -> sample.globalMaxSize() > 0)
+                .mapToDouble(sample -> 100.0 * sample.globalUsage() / sample.globalMaxSize()).max().orElse(0);
+    }
+
+    public long getCatchUp() {
+        long lastSent = lastSentMs.get();
+        long lastReceived = lastReceivedMs.get();
+        return lastSent < 0 || lastReceived < 0 ? -1 : Math.max(0, lastReceived - lastSent);
+    }
+
+    /**
+     * Seconds of {@code client} activity (from its first to its last message) with rate under {@link #COLLAPSE_RATIO}
+     * of its median rate, grouped to consecutive windows of at least {@link #COLLAPSE_MIN_SECONDS}. Not evaluated when
+     * the median rate is too low for a whole message to fit under the threshold.
+     */
+    public List<Collapse> getCollapses(String client) {
+        Map<Long, LongAdder> perSecond = rates.get(client);
+        List<Collapse> collapses = new ArrayList<>();
+        if (perSecond.size() < 2) {
+            return collapses;
+        }
+        long first = perSecond.keySet().stream().mapToLong(Long::longValue).min().orElse(0);
+        long last = perSecond.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        // first and last seconds are partial
+        long[] counts = new long[(int) (last - first - 1)];
+        for (int i = 0; i < counts.length; i++) {
+            LongAdder count = perSecond.get(first + 1 + i);
+            counts[i] = count == null ? 0 : count.sum();
+        }
+        if (counts.length == 0) {
+            return collapses;
+        }
+        double threshold = LatencyRecorder.nearestRank(Arrays.stream(counts).boxed().toList(), 50) * COLLAPSE_RATIO;
+        if (threshold < 1) {
+            // too few messages per second (large messages) to tell collapse from regular gaps
+            return collapses;
+        }
+        int windowStart = -1;
+        for (int i = 0; i <= counts.length; i++) {
+            boolean collapsed = i < counts.length && counts[i] < threshold;
+            if (collapsed && windowStart < 0) {
+                windowStart = i;
+            } else if (!collapsed && windowStart >= 0) {
+                if (i - windowStart >= COLLAPSE_MIN_SECONDS) {
+                    collapses.add(new Collapse(client, offset((first + 1 + windowStart) * SECOND_MS), offset((first + 1 + i) * SECOND_MS)));
+                }
+                windowStart = -1;
+            }
+        }
+        return collapses;
+    }
+
+    private double meanPerSecond(LongAdder count, long lastMs) {
+        long duration = lastMs - startTimeMs;
+        return startTimeMs < 0 || lastMs < 0 || duration <= 0 ? 0 : count.sum() * (double) SECOND_MS / duration;
+    }
+
+    private long offset(long timeMs) {
+        return startTimeMs < 0 || timeMs < 0 ? -1 : timeMs - startTimeMs;
+    }
+
+    public Result getResult(Map<String, String> parameters) {
+        List<Collapse> collapses = new ArrayList<>(getCollapses(PRODUCER));
+        collapses.addAll(getCollapses(CONSUMER));
+        long maxAddressSize = samples.values().stream().mapToLong(Sample::addressSize).max().orElse(0);
+        long duration = startTimeMs < 0 || finishTimeMs < 0 ? -1 : finishTimeMs - startTimeMs;
+        return new Result(scenario, new TreeMap<>(parameters), duration, getSent(), getReceived(), sentBytes.sum(),
+                meanPerSecond(sent, lastSentMs.get()), meanPerSecond(received, lastReceivedMs.get()), getPagingStart(),
+                getMaxPages(), getPageFilesPerSecond(), maxAddressSize, getMaxGlobalUsagePercent(), getCatchUp(),
+                collapses, !collapses.isEmpty());
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Paging] {} {}: sent={} received={} producer={}/s consumer={}/s pagingStart={}ms maxPages={} pageFiles={}/s " +
+                        "maxAddressSize={} maxGlobalUsage={}% catchUp={}ms", result.scenario(), result.parameters(), result.sent(),
+                result.received(), String.format("%.1f", result.producerPerSecond()), String.format("%.1f", result.consumerPerSecond()),
+                result.pagingStartMs(), result.maxPages(), String.format("%.2f", result.pageFilesPerSecond()), result.maxAddressSize(),
+                String.format("%.1f", result.maxGlobalUsagePercent()), result.catchUpMs());
+        if (result.throughputCollapsed()) {
+            LOGGER.warn("[Paging] {} throughput collapsed: {}", result.scenario(), result.collapses());
+        }
+        ResultStore.append(resultsFile, result);
+    }
+}
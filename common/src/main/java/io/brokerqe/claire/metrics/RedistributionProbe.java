@@ -0,0 +1,140 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how fast clustered brokers move messages to consumers attached to other nodes than messages were produced to.
+ * <ul>
+ *   <li>first message delay - time between attaching consumers and receiving first message</li>
+ *   <li>drain throughput - messages received per second since consumers were attached</li>
+ *   <li>latency - time between stamping message by producer and receiving it, both clients have to run on the same host</li>
+ *   <li>out of order - messages received by a consumer with lower sequence than its previous message</li>
+ * </ul>
+ * Results are stored as json lines, one {@link Result} per executed scenario, so runs of different versions or
+ * configurations can be appended to the same file and compared.
+ */
+public class RedistributionProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedistributionProbe.class);
+
+    public static final String SENT_TIME_PROPERTY = MirrorLagProbe.SENT_TIME_PROPERTY;
+    public static final String SEQUENCE_PROPERTY = "claireSequence";
+    public static final String LATENCY = "latency";
+
+    /**
+     * @param parameters scenario configuration, e.g. nodes, load balancing type, redistribution delay
+     * @param produceRate achieved producer rate in msg/s
+     * @param drainThroughput received msg/s since consumers were attached
+     */
+    public record Result(String scenario, Map<String, String> parameters, long sent, long received, double produceRate,
+                         long firstMessageDelayMs, double drainThroughput, long latencyP50Ms, long latencyP99Ms,
+                         long latencyMaxMs, long outOfOrder, Map<String, Long> receivedPerConsumer) implements ScenarioResult { }
+
+    private final String scenario;
+    private final LatencyRecorder recorder;
+    private final Map<String, AtomicLong> receivedPerConsumer = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSequence = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong outOfOrder = new AtomicLong();
+    private volatile long attachedTimeMs = -1;
+    private volatile long firstReceivedTimeMs = -1;
+    private volatile long lastReceivedTimeMs = -1;
+
+    public RedistributionProbe(String scenario) {
+        this.scenario = scenario;
+        recorder = new LatencyRecorder("Redistribution " + scenario);
+    }
+
+    public void consumersAttached() {
+        consumersAttached(System.currentTimeMillis());
+    }
+
+    public void consumersAttached(long timeMs) {
+        attachedTimeMs = timeMs;
+    }
+
+    public void recordReceived(String consumer, long sequence, long sentTimeMs) {
+        recordReceived(consumer, sequence, sentTimeMs, System.currentTimeMillis());
+    }
+
+    /**
+     * Record one received message, thread safe, expected to be called from message listeners of all consumers.
+     * @param sentTimeMs producer timestamp, negative when message was not stamped
+     */
+    public void recordReceived(String consumer, long sequence, long sentTimeMs, long receivedTimeMs) {
+        synchronized (this) {
+            if (firstReceivedTimeMs < 0) {
+                firstReceivedTimeMs = receivedTimeMs;
+            }
+            lastReceivedTimeMs = Math.max(lastReceivedTimeMs, receivedTimeMs);
+        }
+        received.incrementAndGet();
+        receivedPerConsumer.computeIfAbsent(consumer, key -> new AtomicLong()).incrementAndGet();
+        Long previous = lastSequence.put(consumer, sequence);
+        if (previous != null && previous > sequence) {
+            LOGGER.debug("[Redistribution] {} received sequence {} after {}", consumer, sequence, previous);
+            outOfOrder.incrementAndGet();
+        }
+        if (sentTimeMs >= 0) {
+            recorder.record(LATENCY, receivedTimeMs - sentTimeMs);
+        }
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getOutOfOrder() {
+        return outOfOrder.get();
+    }
+
+    public Map<String, Long> getReceivedPerConsumer() {
+        Map<String, Long> counts = new TreeMap<>();
+        receivedPerConsumer.forEach((consumer, count) -> counts.put(consumer, count.get()));
+        return counts;
+    }
+
+    /**
+     * @return -1 if consumers were not marked as attached or nothing was received
+     */
+    public long getFirstMessageDelay() {
+        if (attachedTimeMs < 0 || firstReceivedTimeMs < 0) {
+            return -1;
+        }
+        return firstReceivedTimeMs - attachedTimeMs;
+    }
+
+    public double getDrainThroughput() {
+        if (attachedTimeMs < 0 || lastReceivedTimeMs < 0) {
+            return -1;
+        }
+        return received.get() * 1000.0 / Math.max(1, lastReceivedTimeMs - attachedTimeMs);
+    }
+
+    public long getLatencyPercentile(double percentile) {
+        return recorder.getPercentile(LATENCY, percentile);
+    }
+
+    public Result getResult(Map<String, String> parameters, long sent, double produceRate) {
+        return new Result(scenario, new TreeMap<>(parameters), sent, getReceived(), produceRate, getFirstMessageDelay(),
+                getDrainThroughput(), getLatencyPercentile(50), getLatencyPercentile(99), getLatencyPercentile(100),
+                getOutOfOrder(), getReceivedPerConsumer());
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Redistribution] {} {}: sent={} received={} firstMessageDelay={}ms drain={} msg/s latency p50={}ms p99={}ms outOfOrder={}",
+                result.scenario(), result.parameters(), result.sent(), result.received(), result.firstMessageDelayMs(),
+                String.format("%.1f", result.drainThroughput()), result.latencyP50Ms(), result.latencyP99Ms(), result.outOfOrder());
+        ResultStore.append(resultsFile, result);
+    }
+}
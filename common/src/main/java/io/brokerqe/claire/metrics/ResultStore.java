@@ -0,0 +1,89 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Results of performance and resilience measurements stored as JSON lines, one result per line. Files are only appended,
+ * so results of repeated runs (e.g. of different versions) stay comparable and can be read back for baselines and reports.
+ */
+public final class ResultStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ResultStore() {
+    }
+
+    public static String toJson(Object result) {
+        try {
+            return MAPPER.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            String errMsg = String.format("Unable to serialize result %s: %s", result, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    public static void append(String resultsFile, Object result) {
+        try {
+            Files.writeString(Path.of(resultsFile), toJson(result) + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to store result into %s: %s", resultsFile, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    /**
+     * @return results in order of appending, empty when {@code resultsFile} does not exist yet
+     */
+    public static <T> List<T> read(String resultsFile, Class<T> type) {
+        List<T> results = new ArrayList<>();
+        if (!Files.exists(Path.of(resultsFile))) {
+            return results;
+        }
+        try {
+            for (String line : Files.readAllLines(Path.of(resultsFile), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    results.add(MAPPER.readValue(line, type));
+                }
+            }
+        } catch (IOException e) {
+            String errMsg = String.format("Unable to read results from %s: %s", resultsFile, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        return results;
+    }
+
+    /**
+     * @return latest of {@code results} with the same scenario and parameters as {@code result}, which is the baseline
+     * the result is compared to
+     */
+    public static <T extends ScenarioResult> Optional<T> findBaseline(List<T> results, ScenarioResult result) {
+        for (int i = results.size() - 1; i >= 0; i--) {
+            if (results.get(i).isSameScenario(result)) {
+                return Optional.of(results.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import java.util.Map;
+
+/**
+ * Result of one executed scenario of a probe, stored by {@link ResultStore}. Results of the same scenario with the same
+ * parameters are comparable between runs (e.g. of different versions), see {@link ResultStore#findBaseline}.
+ */
+public interface ScenarioResult {
+
+    String scenario();
+
+    /**
+     * @return scenario configuration, e.g. message count and size
+     */
+    Map<String, String> parameters();
+
+    default boolean isSameScenario(ScenarioResult other) {
+        return scenario().equals(other.scenario()) && parameters().equals(other.parameters());
+    }
+}
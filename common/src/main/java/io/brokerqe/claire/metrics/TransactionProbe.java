@@ -0,0 +1,168 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures transacted messaging - latency of every commit (local or XA two-phase) and accounting of messages, so
+ * throughput of journals and transaction types can be compared and loss or duplicates found after broker failure.
+ * <ul>
+ *   <li>committed - sent in producer transaction which was successfully committed, these must not be lost</li>
+ *   <li>in-doubt - sent in producer transaction which failed on commit, broker might have stored them or not</li>
+ *   <li>delivered - received in successfully committed consumer transaction, more deliveries of one message are duplicates</li>
+ * </ul>
+ * Every message is identified by unique sequence number set by producer.
+ */
+public class TransactionProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionProbe.class);
+
+    public static final String SEQUENCE_PROPERTY = "claireSequence";
+    public static final String PRODUCER = "producer";
+    public static final String CONSUMER = "consumer";
+
+    /**
+     * @param parameters scenario configuration, e.g. journal, transaction type, batch size, message size, clients
+     * @param commitsPerSecond successful commits of producers and consumers per second; for durable messages every commit
+     *                         is one journal sync, so this is the sync rate of broker journal
+     * @param commitLatencyUs commit latency percentiles of producer and consumer transactions in microseconds
+     * @param lost committed messages never delivered
+     * @param duplicates messages delivered more than once
+     * @param inDoubtDelivered in-doubt messages which were delivered, so broker stored them despite failed commit
+     */
+    public record Result(String scenario, Map<String, String> parameters, long durationMs, long committed, long delivered,
+                         long commits, long rollbacks, double messagesPerSecond, double commitsPerSecond,
+                         Map<String, Map<String, Long>> commitLatencyUs, long inDoubt, long inDoubtDelivered,
+                         long lost, long duplicates) implements ScenarioResult { }
+
+    private final String scenario;
+    private final LatencyRecorder commitLatencies;
+    private final Set<Long> committed = ConcurrentHashMap.newKeySet();
+    private final Set<Long> inDoubt = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> deliveries = new ConcurrentHashMap<>();
+    private final AtomicLong rollbacks = new AtomicLong();
+    // nanoTime can be negative, so null marks not recorded time
+    private volatile Long startTimeNs;
+    private volatile Long finishTimeNs;
+
+    public TransactionProbe(String scenario) {
+        this.scenario = scenario;
+        commitLatencies = new LatencyRecorder("Transaction commit latencies " + scenario, "us");
+    }
+
+    public void started() {
+        startTimeNs = System.nanoTime();
+    }
+
+    public void finished() {
+        finishTimeNs = System.nanoTime();
+    }
+
+    /**
+     * Producer transaction with {@code sequences} was committed in {@code latencyNs}.
+     */
+    public void producerCommitted(Collection<Long> sequences, long latencyNs) {
+        recordCommit(PRODUCER, latencyNs);
+        committed.addAll(sequences);
+    }
+
+    /**
+     * Commit of producer transaction failed, broker might have stored the messages or not.
+     */
+    public void producerCommitFailed(Collection<Long> sequences) {
+        rollbacks.incrementAndGet();
+        inDoubt.addAll(sequences);
+    }
+
+    /**
+     * Consumer transaction with {@code sequences} was committed in {@code latencyNs}.
+     */
+    public void consumerCommitted(Collection<Long> sequences, long latencyNs) {
+        recordCommit(CONSUMER, latencyNs);
+        sequences.forEach(sequence -> deliveries.merge(sequence, 1, Integer::sum));
+    }
+
+    /**
+     * Consumer transaction was rolled back (or its commit failed), messages are expected to be redelivered.
+     */
+    public void consumerCommitFailed() {
+        rollbacks.incrementAndGet();
+    }
+
+    private void recordCommit(String role, long latencyNs) {
+        commitLatencies.record(role, latencyNs / 1000);
+    }
+
+    public long getCommitted() {
+        return committed.size();
+    }
+
+    public long getDelivered() {
+        return deliveries.size();
+    }
+
+    public long getLost() {
+        return committed.stream().filter(sequence -> !deliveries.containsKey(sequence)).count();
+    }
+
+    public long getDuplicates() {
+        return deliveries.values().stream().mapToLong(count -> count - 1).sum();
+    }
+
+    public long getCommits() {
+        return commitLatencies.getStatistics().values().stream().mapToLong(LongSummaryStatistics::getCount).sum();
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return commit latency in microseconds under which {@code percentile} of commits of {@code role} finished, -1 if
+     * there was no commit
+     */
+    public long getCommitLatencyPercentile(String role, double percentile) {
+        return commitLatencies.getPercentile(role, percentile);
+    }
+
+    /**
+     * @return time between {@link #started()} and {@link #finished()} (or now), -1 if not started
+     */
+    public long getDurationMs() {
+        if (startTimeNs == null) {
+            return -1;
+        }
+        long finish = finishTimeNs == null ? System.nanoTime() : finishTimeNs;
+        return (finish - startTimeNs) / 1_000_000;
+    }
+
+    public Result getResult(Map<String, String> parameters) {
+        long durationMs = getDurationMs();
+        double seconds = Math.max(1, durationMs) / 1000.0;
+        Map<String, Map<String, Long>> latencies = new TreeMap<>();
+        for (String role : commitLatencies.getActions()) {
+            latencies.put(role, commitLatencies.getPercentiles(role));
+        }
+        long inDoubtDelivered = inDoubt.stream().filter(deliveries::containsKey).count();
+        return new Result(scenario, new TreeMap<>(parameters), durationMs, getCommitted(), getDelivered(), getCommits(),
+                rollbacks.get(), getDelivered() / seconds, getCommits() / seconds, latencies, inDoubt.size(), inDoubtDelivered,
+                getLost(), getDuplicates());
+    }
+
+    public static void appendResult(String resultsFile, Result result) {
+        LOGGER.info("[Transactions] {} {}: committed={} delivered={} {} msg/s {} commits/s rollbacks={} latency={}us " +
+                        "inDoubt={} (delivered {}) lost={} duplicates={}", result.scenario(), result.parameters(), result.committed(),
+                result.delivered(), String.format("%.1f", result.messagesPerSecond()), String.format("%.1f", result.commitsPerSecond()),
+                result.rollbacks(), result.commitLatencyUs(), result.inDoubt(), result.inDoubtDelivered(), result.lost(), result.duplicates());
+        ResultStore.append(resultsFile, result);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.security;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Client of Keycloak admin REST API. Admin token is obtained once and refreshed only when it is about to expire,
+ * so every call is a single HTTP request instead of {@code kcadm.sh} JVM spawned inside of Keycloak pod.
+ */
+public class KeycloakAdminClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeycloakAdminClient.class);
+    private static final String ADMIN_CLI = "admin-cli";
+    private static final String HIDDEN_SECRET = "**********";
+    private static final long TOKEN_EXPIRATION_MARGIN = Constants.DURATION_5_SECONDS;
+
+    private final String serverUrl;
+    private final String username;
+    private final String password;
+    private final HttpClient httpClient;
+
+    private String accessToken;
+    private String refreshToken;
+    private long accessTokenExpiration;
+    private long refreshTokenExpiration;
+
+    public record Realm(String id, String realm, boolean enabled) { }
+    public record Client(String id, String clientId, List<String> redirectUris) { }
+    public record Credential(String type, String value) { }
+    public record PartialImportResult(int added, int skipped, int overwritten) { }
+    public record SynchronizationResult(int added, int updated, int removed, int failed, String status) { }
+
+    /**
+     * @param serverUrl base url of Keycloak server, e.g. {@code https://keycloak.apps.example.com}
+     *                  (with {@code /auth} suffix for legacy servers)
+     * @param username admin user of master realm
+     * @param password admin password
+     */
+    public KeycloakAdminClient(String serverUrl, String username, String password) {
+        this.serverUrl = serverUrl.replaceAll("/+$", "");
+        this.username = username;
+        this.password = password;
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(Constants.DURATION_10_SECONDS));
+        if (this.serverUrl.startsWith(Constants.HTTPS)) {
+            // keycloak routes use self-signed/router certificates in test environments
+            httpClientBuilder.sslContext(createTrustAllSslContext());
+        }
+        this.httpClient = httpClientBuilder.build();
+    }
+
+    // ========== Realms ==========
+    public Optional<Realm> findRealm(String realm) {
+        HttpResponse<String> response = send("GET", adminPath(realm), null, true);
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        JSONObject json = new JSONObject(response.body());
+        return Optional.of(new Realm(json.optString("id"), json.getString("realm"), json.optBoolean("enabled")));
+    }
+
+    public void createRealm(String realm) {
+        LOGGER.debug("[KC] Creating realm {}", realm);
+        send("POST", "/admin/realms", new JSONObject().put("realm", realm).put("enabled", true).toString(), false);
+    }
+
+    /**
+     * Create realm (if it does not exist yet) and import resources from realm export into it.
+     * Resources which already exist are skipped.
+     */
+    public PartialImportResult importRealm(String realm, String realmJson) {
+        if (findRealm(realm).isEmpty()) {
+            createRealm(realm);
+        }
+        JSONObject importJson = new JSONObject(realmJson).put("ifResourceExists", "SKIP");
+        JSONObject result = new JSONObject(send("POST", adminPath(realm) + "/partialImport", importJson.toString(), false).body());
+        PartialImportResult importResult = new PartialImportResult(result.optInt("added"), result.optInt("skipped"), result.optInt("overwritten"));
+        LOGGER.debug("[KC] Imported realm {}: {}", realm, importResult);
+        return importResult;
+    }
+
+    // ========== Components & user federation ==========
+    /**
+     * @param config component configuration, every value is sent as single item list as Keycloak expects
+     * @return id of created component
+     */
+    public String createComponent(String realm, String name, String providerId, String providerType, String parentId, Map<String, String> config) {
+        JSONObject jsonConfig = new JSONObject();
+        config.forEach((key, value) -> jsonConfig.put(key, new JSONArray().put(value)));
+        JSONObject component = new JSONObject()
+                .put("name", name)
+                .put("providerId", providerId)
+                .put("providerType", providerType)
+                .put("parentId", parentId)
+                .put("config", jsonConfig);
+        HttpResponse<String> response = send("POST", adminPath(realm) + "/components", component.toString(), false);
+        String id = getCreatedId(response);
+        LOGGER.debug("[KC] Created component {} ({}) with id {} in realm {}", name, providerId, id, realm);
+        return id;
+    }
+
+    public String createLdapProvider(String realm, String name, Map<String, String> config) {
+        String parentId = findRealm(realm).orElseThrow(() -> notFound("realm " + realm)).id();
+        return createComponent(realm, name, "ldap", "org.keycloak.storage.UserStorageProvider", parentId, config);
+    }
+
+    public String createLdapMapper(String realm, String ldapProviderId, String name, String mapperType, Map<String, String> config) {
+        return createComponent(realm, name, mapperType, "org.keycloak.storage.ldap.mappers.LDAPStorageMapper", ldapProviderId, config);
+    }
+
+    public SynchronizationResult triggerFullSync(String realm, String storageProviderId) {
+        HttpResponse<String> response = send("POST", adminPath(realm) + "/user-storage/" + encode(storageProviderId) + "/sync?action=triggerFullSync", null, false);
+        JSONObject json = new JSONObject(response.body());
+        SynchronizationResult result = new SynchronizationResult(json.optInt("added"), json.optInt("updated"),
+                json.optInt("removed"), json.optInt("failed"), json.optString("status"));
+        LOGGER.debug("[KC] Full sync of {} in realm {}: {}", storageProviderId, realm, result);
+        return result;
+    }
+
+    // ========== Clients ==========
+    public Optional<Client> findClient(String realm, String clientId) {
+        JSONArray clients = new JSONArray(send("GET", adminPath(realm) + "/clients?clientId=" + encode(clientId), null, false).body());
+        if (clients.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toClient(clients.getJSONObject(0)));
+    }
+
+    public Client getClient(String realm, String clientId) {
+        return findClient(realm, clientId).orElseThrow(() -> notFound("client " + clientId + " in realm " + realm));
+    }
+
+    public void updateRedirectUris(String realm, String clientId, List<String> redirectUris) {
+        String clientPath = adminPath(realm) + "/clients/" + encode(getClient(realm, clientId).id());
+        JSONObject client = new JSONObject(send("GET", clientPath, null, false).body());
+        client.put("redirectUris", new JSONArray(redirectUris));
+        send("PUT", clientPath, client.toString(), false);
+        LOGGER.debug("[KC] Updated redirectUris of client {} in realm {} to {}", clientId, realm, redirectUris);
+    }
+
+    /**
+     * @return client secret, newly generated one if server returns it hidden or empty
+     */
+    public Credential getClientSecret(String realm, String clientId) {
+        String id = getClient(realm, clientId).id();
+        Credential secret = toCredential(send("GET", adminPath(realm) + "/clients/" + encode(id) + "/client-secret", null, false));
+        if (secret.value() == null || secret.value().isEmpty() || secret.value().equals(HIDDEN_SECRET)) {
+            LOGGER.debug("[KC] Generate new {} client-secret as it is empty", clientId);
+            secret = rotateClientSecret(realm, clientId);
+        }
+        return secret;
+    }
+
+    public Credential rotateClientSecret(String realm, String clientId) {
+        String id = getClient(realm, clientId).id();
+        return toCredential(send("POST", adminPath(realm) + "/clients/" + encode(id) + "/client-secret", null, false));
+    }
+
+    // ========== HTTP ==========
+    private HttpResponse<String> send(String method, String path, String body, boolean allowNotFound) {
+        HttpResponse<String> response = doSend(method, path, body);
+        if (response.statusCode() == 401) {
+            LOGGER.debug("[KC] Admin token was rejected, logging in again");
+            invalidateToken();
+            response = doSend(method, path, body);
+        }
+        if (response.statusCode() >= 400 && !(allowNotFound && response.statusCode() == 404)) {
+            String errMsg = String.format("[KC] %s %s failed with status %d: %s", method, path, response.statusCode(), response.body());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        return response;
+    }
+
+    private HttpResponse<String> doSend(String method, String path, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(serverUrl + path))
+                .header("Authorization", "Bearer " + getAccessToken())
+                .timeout(Duration.ofMillis(Constants.DURATION_1_MINUTE));
+        if (body != null) {
+            builder.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        LOGGER.trace("[KC] {} {}", method, path);
+        return execute(builder.build());
+    }
+
+    private synchronized String getAccessToken() {
+        long now = System.currentTimeMillis();
+        if (accessToken != null && now < accessTokenExpiration - TOKEN_EXPIRATION_MARGIN) {
+            return accessToken;
+        }
+        Map<String, String> form;
+        if (refreshToken != null && now < refreshTokenExpiration - TOKEN_EXPIRATION_MARGIN) {
+            form = Map.of("grant_type", "refresh_token", "client_id", ADMIN_CLI, "refresh_token", refreshToken);
+        } else {
+            LOGGER.debug("[KC] Obtaining admin token from {}", serverUrl);
+            form = Map.of("grant_type", "password", "client_id", ADMIN_CLI, "username", username, "password", password);
+        }
+        String formData = form.entrySet().stream()
+                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(serverUrl + "/realms/master/protocol/openid-connect/token"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .timeout(Duration.ofMillis(Constants.DURATION_1_MINUTE))
+                .POST(HttpRequest.BodyPublishers.ofString(formData))
+                .build();
+        HttpResponse<String> response = execute(request);
+        if (response.statusCode() != 200) {
+            String errMsg = String.format("[KC] Unable to obtain admin token (status %d): %s", response.statusCode(), response.body());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        JSONObject token = new JSONObject(response.body());
+        accessToken = token.getString("access_token");
+        refreshToken = token.optString("refresh_token", null);
+        accessTokenExpiration = now + token.optLong("expires_in", 60) * 1000;
+        refreshTokenExpiration = now + token.optLong("refresh_expires_in", 0) * 1000;
+        return accessToken;
+    }
+
+    private synchronized void invalidateToken() {
+        accessToken = null;
+        refreshToken = null;
+    }
+
+    private HttpResponse<String> execute(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            String errMsg = String.format("[KC] Error on calling %s: %s", request.uri(), e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[KC] Interrupted while calling " + request.uri(), e);
+        }
+    }
+
+    private static String getCreatedId(HttpResponse<String> response) {
+        String location = response.headers().firstValue("Location").orElseThrow(() -> {
+            String errMsg = "[KC] Created resource location is missing in response " + response.uri();
+            LOGGER.error(errMsg);
+            return new ClaireRuntimeException(errMsg);
+        });
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    private static Client toClient(JSONObject json) {
+        List<String> redirectUris = new ArrayList<>();
+        JSONArray uris = json.optJSONArray("redirectUris");
+        if (uris != null) {
+            uris.forEach(uri -> redirectUris.add(uri.toString()));
+        }
+        return new Client(json.getString("id"), json.getString("clientId"), redirectUris);
+    }
+
+    private static Credential toCredential(HttpResponse<String> response) {
+        JSONObject json = new JSONObject(response.body());
+        return new Credential(json.optString("type", null), json.optString("value", null));
+    }
+
+    private static String adminPath(String realm) {
+        return "/admin/realms/" + encode(realm);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static ClaireRuntimeException notFound(String what) {
+        String errMsg = "[KC] Unable to find " + what;
+        LOGGER.error(errMsg);
+        return new ClaireRuntimeException(errMsg);
+    }
+
+    private static SSLContext createTrustAllSslContext() {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, CertificateManager.trustAllCertificates, new SecureRandom());
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new ClaireRuntimeException("[KC] Unable to create SSL context", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.webconsole;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import io.brokerqe.claire.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reuses browser process between web console test classes, while every test gets its own isolated {@link BrowserContext}.
+ * Browser is launched lazily on first use and closed by {@link #closeAll()} at the end of test plan execution.
+ * Playwright for Java is not thread safe, so test classes running concurrently (each on its own thread) get own
+ * Playwright &amp; browser, reused by all following test classes executed by that thread.
+ */
+public final class BrowserPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserPool.class);
+    private static final BrowserPool INSTANCE = new BrowserPool();
+
+    private final Map<Thread, PooledBrowser> browsers = new ConcurrentHashMap<>();
+
+    private BrowserPool() {
+    }
+
+    public static BrowserPool getInstance() {
+        return INSTANCE;
+    }
+
+    private record PooledBrowser(Playwright playwright, Browser browser) { }
+
+    private PooledBrowser getPooledBrowser() {
+        PooledBrowser pooledBrowser = browsers.get(Thread.currentThread());
+        if (pooledBrowser == null || !pooledBrowser.browser().isConnected()) {
+            LOGGER.debug("[{}] Launching new browser", Thread.currentThread().getName());
+            Playwright playwright = Playwright.create();
+            BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                    .setHeadless(true);
+            if (Environment.get().isPlaywrightDebug()) {
+                options = new BrowserType.LaunchOptions()
+                        .setHeadless(false)
+                        .setDownloadsPath(Paths.get(Environment.get().getTmpDirLocation()));
+            }
+            pooledBrowser = new PooledBrowser(playwright, playwright.chromium().launch(options));
+            browsers.put(Thread.currentThread(), pooledBrowser);
+        }
+        return pooledBrowser;
+    }
+
+    public Playwright getPlaywright() {
+        return getPooledBrowser().playwright();
+    }
+
+    public Browser getBrowser() {
+        return getPooledBrowser().browser();
+    }
+
+    /**
+     * Close all launched browsers. Called once all tests finished, so none of the browsers is used anymore.
+     */
+    public void closeAll() {
+        browsers.forEach((thread, pooledBrowser) -> {
+            LOGGER.debug("[{}] Closing browser", thread.getName());
+            pooledBrowser.browser().close();
+            pooledBrowser.playwright().close();
+        });
+        browsers.clear();
+    }
+}
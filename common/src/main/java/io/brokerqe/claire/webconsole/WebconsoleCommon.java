@@ -4,24 +4,33 @@
  */
 package io.brokerqe.claire.webconsole;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Mouse;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
 import com.microsoft.playwright.TimeoutError;
 import com.microsoft.playwright.options.AriaRole;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import io.brokerqe.claire.ArtemisVersion;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.Environment;
-import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.metrics.LatencyRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
@@ -37,64 +46,172 @@ public class WebconsoleCommon {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebconsoleCommon.class);
 
-    static Playwright playwright;
-    static Locator.ClickOptions clicker;
-    static Locator.FillOptions filler;
-    static int artemisVersion;
+    // latencies of all console instances are aggregated together (recorder is thread safe)
+    static final LatencyRecorder LATENCY_RECORDER = new LatencyRecorder("Web console action latencies");
+    private static final double DEFAULT_ACTION_TIMEOUT = 5000;
+    // GET .../exec/<mbean>/<operation>/<arguments>, '/' and '!' in mbean are escaped by '!'
+    private static final Pattern JOLOKIA_EXEC_URL_PATTERN = Pattern.compile("/exec/((?:[^/!]|!.)+)/([^/(]+)");
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final double JOLOKIA_RESPONSE_TIMEOUT = Constants.DURATION_30_SECONDS;
 
-    public static void setPlaywright(Playwright pw) {
-        playwright = pw;
+    private final Playwright playwright;
+    private final int artemisVersion;
+    private ArtemisTabs currentTab;
+    private Locator.ClickOptions clicker = new Locator.ClickOptions().setTimeout(DEFAULT_ACTION_TIMEOUT);
+    private Locator.FillOptions filler = new Locator.FillOptions().setTimeout(DEFAULT_ACTION_TIMEOUT);
+
+    /**
+     * Console helpers bound to given Playwright instance (helpers must be used from the thread owning it).
+     */
+    public WebconsoleCommon(Playwright playwright, int artemisVersion) {
+        this.playwright = playwright;
+        this.artemisVersion = artemisVersion;
     }
 
-    public static void setClicker(Locator.ClickOptions clicker1) {
-        clicker = clicker1;
+    public void setClicker(Locator.ClickOptions clicker) {
+        this.clicker = clicker;
     }
 
-    public static Locator.ClickOptions getClicker() {
+    public Locator.ClickOptions getClicker() {
         return clicker;
     }
 
-    public static void setFiller(Locator.FillOptions filler1) {
-        filler = filler1;
+    public void setFiller(Locator.FillOptions filler) {
+        this.filler = filler;
     }
 
-    public static void setArtemisVersion(int artemisVersion1) {
-        artemisVersion = artemisVersion1;
+    public int getArtemisVersion() {
+        return artemisVersion;
     }
 
-    public static int getArtemisVersion() {
-        return artemisVersion;
+    public static LatencyRecorder getLatencyRecorder() {
+        return LATENCY_RECORDER;
     }
 
-    public static void navigateHome(Page page) {
-        page.keyboard().press("Escape");
+    /**
+     * Whether request is jolokia exec of {@code operation} (name without signature) on MBean, whose name contains
+     * {@code mbean} (e.g. {@code queue="q1"}, null matches any MBean). Hawtio sends POST with single or bulk json
+     * request, copied jolokia URLs use GET .../exec/&lt;mbean&gt;/&lt;operation&gt;.
+     */
+    static boolean isJolokiaExec(String method, String url, String postData, String mbean, String operation) {
+        if (!url.contains("jolokia")) {
+            return false;
+        }
+        if ("GET".equals(method)) {
+            Matcher matcher = JOLOKIA_EXEC_URL_PATTERN.matcher(URLDecoder.decode(url, StandardCharsets.UTF_8));
+            return matcher.find() && operation.equals(matcher.group(2))
+                    && (mbean == null || matcher.group(1).replaceAll("!(.)", "$1").contains(mbean));
+        }
+        if (postData == null) {
+            return false;
+        }
+        List<JsonNode> requests = new ArrayList<>();
+        try {
+            JsonNode body = JSON_MAPPER.readTree(postData);
+            if (body.isArray()) {
+                body.forEach(requests::add);
+            } else {
+                requests.add(body);
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.trace("Jolokia request is not json: {}", postData);
+            return false;
+        }
+        return requests.stream().anyMatch(request -> "exec".equalsIgnoreCase(request.path("type").asText())
+                && operation.equals(request.path("operation").asText().replaceFirst("\\(.*", ""))
+                && (mbean == null || request.path("mbean").asText().contains(mbean)));
+    }
+
+    /**
+     * Click on locator and wait until console receives response for jolokia exec of {@code operation} on any MBean,
+     * triggered by the click.
+     */
+    public Response clickAndWaitForJolokiaExec(Page page, Locator locator, String operation) {
+        return clickAndWaitForJolokiaExec(page, locator, null, operation);
+    }
+
+    /**
+     * Click on locator and wait until console receives response for jolokia exec of {@code operation} on MBean
+     * containing {@code mbean} in its name, triggered by the click.
+     */
+    public Response clickAndWaitForJolokiaExec(Page page, Locator locator, String mbean, String operation) {
+        return page.waitForResponse(response -> {
+            Request request = response.request();
+            return isJolokiaExec(request.method(), response.url(), request.postData(), mbean, operation);
+        }, new Page.WaitForResponseOptions().setTimeout(JOLOKIA_RESPONSE_TIMEOUT), () -> locator.click(clicker));
+    }
+
+    /**
+     * Jolokia operation used by console to list items of the currently selected tab (e.g. on search or paging).
+     */
+    public String getListOperation() {
+        if (currentTab == null) {
+            throw new ClaireRuntimeException("No tab was selected by setTab");
+        }
+        return switch (currentTab) {
+            case Connections -> "listConnections";
+            case Sesssions -> "listSessions";
+            case Producers -> "listProducers";
+            case Consumers -> "listConsumers";
+            case Addresses -> "listAddresses";
+            case Queues -> "listQueues";
+            default -> throw new ClaireRuntimeException("Tab " + currentTab + " does not list any items");
+        };
+    }
+
+    static void waitForHidden(Locator locator) {
+        locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.HIDDEN));
+    }
+
+    static void waitForVisible(Locator locator) {
+        locator.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
+    }
+
+    static Locator getHomeButton(Page page) {
         String homeButton;
         if (Environment.get().isUpstreamArtemis()) {
             homeButton = "Artemis Console";
         } else {
             homeButton = "AMQ Broker Console";
         }
-        page.getByRole(AriaRole.IMG, new Page.GetByRoleOptions().setName(homeButton)).click(clicker);
-    }
-
-    public static Page setTab(Page artemisPage, ArtemisTabs tabName) {
-        TestUtils.threadSleep(Constants.DURATION_5_SECONDS);
-        switch (tabName) {
-            // BUGGED!
-            case Status -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Connections")).nth(0).click(clicker);
-            case Connections -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Connections")).nth(1).click(clicker);
-            case Sesssions -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Sessions")).click(clicker);
-            case Producers -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Producers")).click(clicker);
-            case Consumers -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Consumers")).click(clicker);
-            case Addresses -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Addresses")).click(clicker);
-            case Queues -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Queues")).click(clicker);
-            case BrokerDiagram -> artemisPage.getByText("Broker Diagram").click(clicker);
-        }
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
+        return page.getByRole(AriaRole.IMG, new Page.GetByRoleOptions().setName(homeButton));
+    }
+
+    /**
+     * Wait until console shows its main page after login.
+     */
+    public static void waitForLoggedIn(Page page) {
+        waitForVisible(getHomeButton(page));
+    }
+
+    public void navigateHome(Page page) {
+        page.keyboard().press("Escape");
+        getHomeButton(page).click(clicker);
+    }
+
+    public Page setTab(Page artemisPage, ArtemisTabs tabName) {
+        LATENCY_RECORDER.measure("setTab", () -> {
+            Locator tab = switch (tabName) {
+                // BUGGED!
+                case Status -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Connections")).nth(0);
+                case Connections -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Connections")).nth(1);
+                case Sesssions -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Sessions"));
+                case Producers -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Producers"));
+                case Consumers -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Consumers"));
+                case Addresses -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Addresses"));
+                case Queues -> artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Queues"));
+                case BrokerDiagram -> artemisPage.getByText("Broker Diagram");
+            };
+            tab.click(clicker);
+            if (tabName != ArtemisTabs.BrokerDiagram) {
+                artemisPage.waitForCondition(() -> "true".equals(tab.getAttribute("aria-selected")));
+            }
+        });
+        currentTab = tabName;
         return artemisPage;
     }
 
-    public static Page setMenu(Page artemisPage, ArtemisMenu artemisMenu) {
+    public Page setMenu(Page artemisPage, ArtemisMenu artemisMenu) {
         switch (artemisMenu) {
             case Artemis -> clickAddressTabLink(artemisPage, "Artemis");
             case ArtemisJMX -> clickAddressTabLink(artemisPage, "Artemis JMX");
@@ -103,11 +220,11 @@ public class WebconsoleCommon {
             case Pods -> clickAddressTabLink(artemisPage, "Pods");
             case Addresses -> clickAddressTabLink(artemisPage, "Addresses");
         }
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
+        // no explicit wait - following actions wait for their own locators on the newly rendered view
         return artemisPage;
     }
 
-    private static void clickAddressTabLink(Page artemisPage, String tabLinkName) {
+    private void clickAddressTabLink(Page artemisPage, String tabLinkName) {
         try {
             artemisPage.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName(tabLinkName).setExact(true)).click(clicker);
         } catch (TimeoutError e) {
@@ -115,7 +232,7 @@ public class WebconsoleCommon {
         }
     }
 
-    public static void checkVersions(Page artemisPage) {
+    public void checkVersions(Page artemisPage) {
         LOGGER.info("Checking internal versions");
         artemisPage.locator("header").getByRole(AriaRole.BUTTON).nth(1).click(clicker);
         artemisPage.getByText("About").click(clicker);
@@ -133,8 +250,10 @@ public class WebconsoleCommon {
     }
 
     protected static List<Map<String, String>> getTableData(Page page) {
-        List<Locator> rows = page.getByRole(AriaRole.GRID, new Page.GetByRoleOptions().setName(
-                Pattern.compile("Data Table|Column Management Table"))).getByRole(AriaRole.ROW).all();
+        Locator grid = page.getByRole(AriaRole.GRID, new Page.GetByRoleOptions().setName(
+                Pattern.compile("Data Table|Column Management Table")));
+        waitForVisible(grid.first());
+        List<Locator> rows = grid.getByRole(AriaRole.ROW).all();
         List<Map<String, String>> tableData = new ArrayList<>();
         List<String> header = new ArrayList<>();
 
@@ -159,7 +278,7 @@ public class WebconsoleCommon {
         return tableData;
     }
 
-    public static void checkAddressesPresence(Page artemisPage, int expectedAddressCount, String addressPrefix) {
+    public void checkAddressesPresence(Page artemisPage, int expectedAddressCount, String addressPrefix) {
         LOGGER.info("Checking addresses");
         setMenu(artemisPage, ArtemisMenu.Artemis);
         setTab(artemisPage, ArtemisTabs.Addresses);
@@ -180,7 +299,7 @@ public class WebconsoleCommon {
         );
     }
 
-    public static void checkQueuesPresence(Page artemisPage, int expectedQueueCount, String queuePrefix) {
+    public void checkQueuesPresence(Page artemisPage, int expectedQueueCount, String queuePrefix) {
         LOGGER.info("Checking queues");
         setTab(artemisPage, ArtemisTabs.Queues);
         filterBy(artemisPage, "Name", OperationFilter.Contains, queuePrefix, "Name");
@@ -199,7 +318,7 @@ public class WebconsoleCommon {
         );
     }
 
-    public static void checkQueueStats(Page page, String queueName, Map<String, String> expectedParameters) {
+    public void checkQueueStats(Page page, String queueName, Map<String, String> expectedParameters) {
         LOGGER.info("Checking stats of queue: {}", queueName);
         setTab(page, ArtemisTabs.Queues);
         filterBy(page, "Name", OperationFilter.Equals, queueName, "Name");
@@ -216,10 +335,10 @@ public class WebconsoleCommon {
         }
     }
 
-    protected static void configureColumns(Page page, List<String> configureColumns, boolean showColumns) {
+    protected void configureColumns(Page page, List<String> configureColumns, boolean showColumns) {
         LOGGER.info("Show columns [{}]: {} ", showColumns, configureColumns);
         page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Manage Columns")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
+        waitForVisible(page.getByLabel("Manage Columns").getByText(configureColumns.get(0)));
 
         for (String enableColumn : configureColumns) {
             Locator column = page.getByLabel("Manage Columns").getByText(enableColumn);
@@ -231,7 +350,7 @@ public class WebconsoleCommon {
         page.getByText("Save").click(clicker);
     }
 
-    public static void clickBrokerJMXOperations(Page artemisPage, String brokerName) {
+    public void clickBrokerJMXOperations(Page artemisPage, String brokerName) {
         setMenu(artemisPage, ArtemisMenu.ArtemisJMX);
         Locator dropdownExpandButton;
         if (artemisVersion >= ArtemisVersion.VERSION_2_50.getVersionNumber()) {
@@ -246,22 +365,20 @@ public class WebconsoleCommon {
             dropdownExpandButton.click(clicker);
         } catch (TimeoutError e) {
             artemisPage.getByLabel("org.apache.activemq.artemis").click(clicker);
-            TestUtils.threadSleep(Constants.DURATION_1_SECOND);
             dropdownExpandButton.click(clicker);
         }
         artemisPage.getByRole(AriaRole.TAB, new Page.GetByRoleOptions().setName("Operations")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
+        waitForVisible(artemisPage.locator("[id^='operation-execute-']").first());
         playwright.selectors().setTestIdAttribute("aria-labelledby");
     }
 
-    public static void createAddressQueue(Page page, String addressPrefix, String queuePrefix, int count) {
+    public void createAddressQueue(Page page, String addressPrefix, String queuePrefix, int count) {
         for (int i = 0; i < count; i++) {
             createAddressQueueOperation(page, addressPrefix + i, queuePrefix + i);
-            TestUtils.threadSleep(Constants.DURATION_1_SECOND);
         }
     }
 
-    protected static void createAddressQueueOperation(Page page, String addressName, String queueName) {
+    protected void createAddressQueueOperation(Page page, String addressName, String queueName) {
         setMenu(page, ArtemisMenu.Artemis);
         setTab(page, ArtemisTabs.Addresses);
         LOGGER.info("Creating durable anycast address: {} queue: {}", addressName, queueName);
@@ -270,127 +387,134 @@ public class WebconsoleCommon {
         filterClear(page);
     }
 
-    protected static void createAddress(Page artemisPage, String address) {
+    protected void createAddress(Page artemisPage, String address) {
         LOGGER.info("Creating address {}", address);
-        artemisPage.getByText("Create Address").click(clicker);
-        artemisPage.locator("#address-name").fill(address);
-        artemisPage.locator("#ANYCAST").click(clicker);
-        artemisPage.getByLabel("Create Address Address Name").getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Create Address")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-        artemisPage.getByText("Close").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
+        LATENCY_RECORDER.measure("createAddress", () -> {
+            artemisPage.getByText("Create Address").click(clicker);
+            artemisPage.locator("#address-name").fill(address);
+            artemisPage.locator("#ANYCAST").click(clicker);
+            clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByLabel("Create Address Address Name")
+                    .getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Create Address")), "createAddress");
+            closeResultDialog(artemisPage, artemisPage.locator("#address-name"));
+        });
     }
 
-    protected static void createQueue(Page artemisPage, String address, String queue) {
+    protected void createQueue(Page artemisPage, String address, String queue) {
         LOGGER.info("Creating queue {} on address {}", queue, address);
         filterBy(artemisPage, "Name", OperationFilter.Equals, address, null);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
-        artemisPage.getByText("Create Queue").click(clicker);
-        artemisPage.locator("#queue-name").fill(queue);
-        artemisPage.locator("#ANYCAST").click(clicker);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create Queue")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
+        LATENCY_RECORDER.measure("createQueue", () -> {
+            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
+            artemisPage.getByText("Create Queue").click(clicker);
+            artemisPage.locator("#queue-name").fill(queue);
+            artemisPage.locator("#ANYCAST").click(clicker);
+            clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create Queue")), "createQueue");
+            closeResultDialog(artemisPage, artemisPage.locator("#queue-name"));
+        });
+    }
+
+    /**
+     * Close dialog showing result of operation and wait until its form is gone.
+     */
+    private void closeResultDialog(Page artemisPage, Locator dialogFormElement) {
         artemisPage.getByText("Close").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
+        waitForHidden(dialogFormElement);
     }
 
-    public static void deleteAddressQueue(Page artemisPage, String address, String queue, int addressCount) {
+    public void deleteAddressQueue(Page artemisPage, String address, String queue, int addressCount) {
         for (int i = 0; i < addressCount; i++) {
             deleteQueueOperation(artemisPage, address + i, queue + i);
             deleteAddressOperation(artemisPage, address + i);
         }
     }
 
-    public static void deleteAddressOperation(Page artemisPage, String address) {
+    public void deleteAddressOperation(Page artemisPage, String address) {
         LOGGER.info("Deleting address {}", address);
         setMenu(artemisPage, ArtemisMenu.Artemis);
         setTab(artemisPage, ArtemisTabs.Addresses);
-        deleteOperation(artemisPage, address);
+        deleteOperation(artemisPage, address, "deleteAddress");
     }
 
-    public static void deleteQueueOperation(Page artemisPage, String address, String queue) {
+    public void deleteQueueOperation(Page artemisPage, String address, String queue) {
         LOGGER.info("Deleting queue {} on address {}", queue, address);
         setMenu(artemisPage, ArtemisMenu.Artemis);
         setTab(artemisPage, ArtemisTabs.Queues);
-        deleteOperation(artemisPage, queue);
+        deleteOperation(artemisPage, queue, "destroyQueue");
     }
 
-    private static void deleteOperation(Page artemisPage, String queueOrAddress) {
+    private void deleteOperation(Page artemisPage, String queueOrAddress, String operation) {
         filterBy(artemisPage, "Name", OperationFilter.Equals, queueOrAddress, null);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
-        artemisPage.getByText(Pattern.compile("Delete.*")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Confirm")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
+        LATENCY_RECORDER.measure("delete", () -> {
+            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
+            artemisPage.getByText(Pattern.compile("Delete.*")).click(clicker);
+            Locator confirmButton = artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Confirm"));
+            clickAndWaitForJolokiaExec(artemisPage, confirmButton, operation);
+            waitForHidden(confirmButton);
+        });
     }
 
-    public static void createOperationMany(Page page, String brokerName, String addressPrefix, String queuePrefix, int count) {
+    public void createOperationMany(Page page, String brokerName, String addressPrefix, String queuePrefix, int count) {
         for (int i = 0; i < count; i++) {
             createOperationJMX(page, addressPrefix + i, queuePrefix + i, brokerName);
-            TestUtils.threadSleep(Constants.DURATION_1_SECOND);
         }
     }
 
-    public static void createOperationJMX(Page artemisPage, String address, String queue, String brokerName) {
+    public void createOperationJMX(Page artemisPage, String address, String queue, String brokerName) {
         LOGGER.info("[JMX] Creating durable anycast address: {} queue: {}", address, queue);
         clickBrokerJMXOperations(artemisPage, brokerName);
 
-        Locator loc = artemisPage.locator("[id='operation-execute-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)']");
-        artemisPage.getByTestId("operation createQueue(java.lang.String,java.lang.String,boolean,java.lang.String) ex-toggle1").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-
-        try {
-            // address
-            artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-address-0']").fill(address, filler);
-        } catch (Exception e) {
-            // try it again
-            LOGGER.warn("Trying to click again to fill address");
+        LATENCY_RECORDER.measure("createQueueJMX", () -> {
+            Locator loc = artemisPage.locator("[id='operation-execute-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)']");
             artemisPage.getByTestId("operation createQueue(java.lang.String,java.lang.String,boolean,java.lang.String) ex-toggle1").click(clicker);
-            TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
-            artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-address-0']").fill(address);
-        }
-        // queue name
-        artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-name-1']").fill(queue);
-        // durable
-        artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-durable-2']").setChecked(true);
-        // routingType
-        artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-routingType-3']").fill("ANYCAST");
-        loc.getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Execute")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
+
+            try {
+                // address
+                artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-address-0']").fill(address, filler);
+            } catch (Exception e) {
+                // try it again
+                LOGGER.warn("Trying to click again to fill address");
+                artemisPage.getByTestId("operation createQueue(java.lang.String,java.lang.String,boolean,java.lang.String) ex-toggle1").click(clicker);
+                artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-address-0']").fill(address);
+            }
+            // queue name
+            artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-name-1']").fill(queue);
+            // durable
+            artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-durable-2']").setChecked(true);
+            // routingType
+            artemisPage.locator("[id='operation-createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)-arg-form-input-routingType-3']").fill("ANYCAST");
+            clickAndWaitForJolokiaExec(artemisPage, loc.getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Execute")),
+                    "broker=\"" + brokerName + "\"", "createQueue");
+        });
     }
 
-    public static void deleteAddressOperationMany(Page page, String brokerName, String addressPrefix, int count) {
+    public void deleteAddressOperationMany(Page page, String brokerName, String addressPrefix, int count) {
         for (int i = 0; i < count; i++) {
             deleteAddressOperationJMX(page, brokerName, addressPrefix + i);
-            TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
         }
     }
 
-    public static void deleteAddressOperationJMX(Page artemisPage, String brokerName, String address) {
+    public void deleteAddressOperationJMX(Page artemisPage, String brokerName, String address) {
         LOGGER.info("[JMX] Deleting address: {}", address);
         clickBrokerJMXOperations(artemisPage, brokerName);
-        TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
-        Locator loc = artemisPage.locator("[id='operation-execute-deleteAddress(java.lang.String,boolean)']");
-        artemisPage.getByTestId("operation deleteAddress(java.lang.String,boolean) ex-toggle1").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-        try {
-            // name
-            artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-name-0']").fill(address, filler);
-        } catch (Exception e) {
-            // try it again
-            LOGGER.warn("Trying to click again to fill address");
+        LATENCY_RECORDER.measure("deleteAddressJMX", () -> {
+            Locator loc = artemisPage.locator("[id='operation-execute-deleteAddress(java.lang.String,boolean)']");
             artemisPage.getByTestId("operation deleteAddress(java.lang.String,boolean) ex-toggle1").click(clicker);
-            TestUtils.threadSleep(Constants.DURATION_1_SECOND);
-            artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-name-0']").fill(address);
-        }
-        // force
-        artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-force-1']").setChecked(true);
-        loc.getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Execute")).click(clicker);
+            try {
+                // name
+                artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-name-0']").fill(address, filler);
+            } catch (Exception e) {
+                // try it again
+                LOGGER.warn("Trying to click again to fill address");
+                artemisPage.getByTestId("operation deleteAddress(java.lang.String,boolean) ex-toggle1").click(clicker);
+                artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-name-0']").fill(address);
+            }
+            // force
+            artemisPage.locator("[id='operation-deleteAddress(java.lang.String,boolean)-arg-form-input-force-1']").setChecked(true);
+            clickAndWaitForJolokiaExec(artemisPage, loc.getByRole(AriaRole.BUTTON, new Locator.GetByRoleOptions().setName("Execute")),
+                    "broker=\"" + brokerName + "\"", "deleteAddress");
+        });
     }
 
-    public static void filterClear(Page artemisPage) {
+    public void filterClear(Page artemisPage) {
         try {
             artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Reset")).click(clicker);
         } catch (TimeoutError e) {
@@ -398,11 +522,14 @@ public class WebconsoleCommon {
             LOGGER.info("filter \"x\" button removed. Clear text instead");
             artemisPage.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions()).fill("");
         }
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
+        clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")), getListOperation());
+    }
+
+    public void filterBy(Page artemisPage, String predicateFilterName, OperationFilter operation, String objectName, String sortBy) {
+        LATENCY_RECORDER.measure("filter", () -> doFilterBy(artemisPage, predicateFilterName, operation, objectName, sortBy));
     }
 
-    public static void filterBy(Page artemisPage, String predicateFilterName, OperationFilter operation, String objectName, String sortBy) {
+    private void doFilterBy(Page artemisPage, String predicateFilterName, OperationFilter operation, String objectName, String sortBy) {
         String operationName = operation.name().replaceAll("_", " ");
 
 //        Pattern objectFilterPattern = Pattern.compile("^Name$|^ID$");
@@ -410,8 +537,9 @@ public class WebconsoleCommon {
             // click on ObjectFilter nth(0) - default ID was removed in 7.13.1
         artemisPage.locator("div.pf-m-search-filter > button.pf-v5-c-menu-toggle").nth(0).click(clicker);
         // Filter by Name
-        artemisPage.getByRole(AriaRole.OPTION, new Page.GetByRoleOptions().setName(predicateFilterName)).click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
+        Locator predicateOption = artemisPage.getByRole(AriaRole.OPTION, new Page.GetByRoleOptions().setName(predicateFilterName));
+        predicateOption.click(clicker);
+        waitForHidden(predicateOption);
         moveMouseToCorner(artemisPage);
 
         // Filter by operation
@@ -422,32 +550,29 @@ public class WebconsoleCommon {
             LOGGER.warn("Falling back to locator - menu-toggle nth-1");
             artemisPage.locator("div.pf-m-search-filter > button.pf-v5-c-menu-toggle").nth(1).click(clicker);
         }
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
         artemisPage.getByRole(AriaRole.OPTION, new Page.GetByRoleOptions().setName(operationName)).click(clicker);
         moveMouseToCorner(artemisPage);
 
         artemisPage.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions()).fill(objectName);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")).click(clicker);
+        clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")), getListOperation());
 
         // sorting
         if (sortBy != null) {
             LOGGER.info("Sorting by {}", sortBy);
             artemisPage.getByLabel("Options menu").click(clicker);
             artemisPage.getByRole(AriaRole.MENUITEM, new Page.GetByRoleOptions().setName(sortBy)).click(clicker); // sort by QueueCount
-            artemisPage.getByRole(AriaRole.MENUITEM, new Page.GetByRoleOptions().setName("Ascending")).click(clicker); // sort by QueueCount
+            clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByRole(AriaRole.MENUITEM, new Page.GetByRoleOptions().setName("Ascending")), getListOperation()); // sort by QueueCount
             artemisPage.getByLabel("Options menu").click(clicker);
             moveMouseToCorner(artemisPage);
         }
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
         moveMouseToCorner(artemisPage);
     }
 
-    public static void sendMessageQueue(Page artemisPage, String queueName, String msgContent, int count) {
+    public void sendMessageQueue(Page artemisPage, String queueName, String msgContent, int count) {
         setTab(artemisPage, ArtemisTabs.Queues);
         filterBy(artemisPage, "Name", OperationFilter.Equals, queueName, null);
         artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
         artemisPage.getByText("Send Message").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_1_SECOND);
 
         artemisPage.locator("button").filter(new Locator.FilterOptions().setHasText(Pattern.compile("^xml$|^plaintext$"))).click(clicker);
         artemisPage.getByRole(AriaRole.OPTION, new Page.GetByRoleOptions().setName("plaintext")).click(clicker);
@@ -461,16 +586,16 @@ public class WebconsoleCommon {
             try {
                 artemisPage.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Editor content")).fill("");
                 artemisPage.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Editor content")).fill(msgContentTmp, filler);
-                artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Send")).click(clicker);
+                LATENCY_RECORDER.measure("sendMessage", () -> clickAndWaitForJolokiaExec(artemisPage,
+                        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Send")), "queue=\"" + queueName + "\"", "sendMessage"));
             } catch (TimeoutError e) {
                 throw new ClaireRuntimeException("BUG 7.13.1 - Does not work to enter message text data input.");
             }
-            TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
         });
         artemisPage.getByText("Cancel").click(clicker);
     }
 
-    public static List<Map<String, String>> browseMessages(Page page, String queueName) {
+    public List<Map<String, String>> browseMessages(Page page, String queueName) {
         return browseMessages(page, queueName, null, null, null);
     }
 
@@ -479,12 +604,12 @@ public class WebconsoleCommon {
         artemisPage.mouse().click(0, 0, new Mouse.ClickOptions().setClickCount(2));
     }
 
-    public static List<Map<String, String>> browseMessages(Page artemisPage, String queueName, String expMsgContent, Map<String, String> expHeaders, Map<String, String> expProperties) {
+    public List<Map<String, String>> browseMessages(Page artemisPage, String queueName, String expMsgContent, Map<String, String> expHeaders, Map<String, String> expProperties) {
         setTab(artemisPage, ArtemisTabs.Queues);
         filterBy(artemisPage, "Name", OperationFilter.Equals, queueName, null);
         artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Kebab toggle")).click(clicker);
-        artemisPage.getByText("Browse Messages").click(clicker);
-        TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
+        LATENCY_RECORDER.measure("browseMessages", () -> clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByText("Browse Messages"),
+                "queue=\"" + queueName + "\"", "browse"));
         List<Map<String, String>> browsedMessages = getTableData(artemisPage);
         int browsedMessagesSize = browsedMessages.size();
         LOGGER.debug("Browsed messages: \n{}", browsedMessages);
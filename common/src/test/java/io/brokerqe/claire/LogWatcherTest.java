@@ -0,0 +1,52 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire;
+
+import io.brokerqe.claire.executor.LineConsumerOutputStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+class LogWatcherTest {
+
+    @Test
+    void linesFromStreamAreMatchedOnce() {
+        LogWatcher watcher = new LogWatcher("broker");
+        LogWatcher.LogEvent lock = watcher.watch("AMQ221035");
+        LineConsumerOutputStream stream = new LineConsumerOutputStream(watcher);
+
+        byte[] log = "AMQ221034: Waiting\nAMQ221035: Primary Server Obtai".getBytes(StandardCharsets.UTF_8);
+        stream.write(log, 0, log.length);
+        Assertions.assertThat(lock.getCount()).isZero();
+
+        byte[] rest = "ned primary lock\n".getBytes(StandardCharsets.UTF_8);
+        stream.write(rest, 0, rest.length);
+        Assertions.assertThat(lock.getCount()).isEqualTo(1);
+        Assertions.assertThat(lock.getMatches()).containsExactly("AMQ221035: Primary Server Obtained primary lock");
+        Assertions.assertThat(watcher.getLineCount()).isEqualTo(2);
+    }
+
+    @Test
+    void historyIsMatchedOnlyWhenRequested() {
+        LogWatcher watcher = new LogWatcher("operator");
+        watcher.accept("Drain pod my-broker-ss-1 finished.");
+
+        Assertions.assertThat(watcher.watch("Drain pod .* finished").getCount()).isEqualTo(1);
+        Assertions.assertThat(watcher.watch(Pattern.compile("Drain pod .* finished"), false).getCount()).isZero();
+    }
+
+    @Test
+    void closeClosesSources() {
+        AtomicBoolean closed = new AtomicBoolean();
+        LogWatcher watcher = new LogWatcher("container").withSource(() -> closed.set(true));
+
+        watcher.close();
+
+        Assertions.assertThat(closed).isTrue();
+    }
+}
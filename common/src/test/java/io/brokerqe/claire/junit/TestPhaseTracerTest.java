@@ -0,0 +1,77 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.junit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class TestPhaseTracerTest {
+
+    @BeforeEach
+    void setUp() {
+        TestPhaseTracer.reset();
+        TestPhaseTracer.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestPhaseTracer.setEnabled(false);
+        TestPhaseTracer.reset();
+    }
+
+    @Test
+    void commandNameSkipsTimeoutPathsAndOptions() {
+        Assertions.assertThat(TestPhaseTracer.commandName("timeout", "90s", "/opt/amq/bin/artemis", "producer", "--url", "tcp://a:61616"))
+                .isEqualTo("artemis producer");
+        Assertions.assertThat(TestPhaseTracer.commandName("sh", "-c", "ls -l")).isEqualTo("sh");
+        Assertions.assertThat(TestPhaseTracer.commandName()).isEqualTo("command");
+    }
+
+    @Test
+    void nestedSpansAreRecordedWithCurrentTest() {
+        TestPhaseTracer.setCurrentTest("SomeTests.someTest");
+        TestPhaseTracer.trace(TestPhaseTracer.Phase.DEPLOY, "create broker", () ->
+                TestPhaseTracer.trace(TestPhaseTracer.Phase.WAIT, "broker ready", () -> { }));
+
+        Assertions.assertThat(TestPhaseTracer.getEvents())
+                .extracting(TestPhaseTracer.Event::phase, TestPhaseTracer.Event::name, TestPhaseTracer.Event::test)
+                .containsExactly(
+                        Assertions.tuple(TestPhaseTracer.Phase.WAIT, "broker ready", "SomeTests.someTest"),
+                        Assertions.tuple(TestPhaseTracer.Phase.DEPLOY, "create broker", "SomeTests.someTest"));
+        Assertions.assertThat(TestPhaseTracer.getSummary(TestPhaseTracer.getEvents()))
+                .contains("DEPLOY", "Slowest waits by total time:", "broker ready");
+    }
+
+    @Test
+    void disabledTracerRecordsNothing() {
+        TestPhaseTracer.setEnabled(false);
+        Integer result = TestPhaseTracer.trace(TestPhaseTracer.Phase.CLIENT, "artemis producer", () -> 42);
+
+        Assertions.assertThat(result).isEqualTo(42);
+        Assertions.assertThat(TestPhaseTracer.getEvents()).isEmpty();
+    }
+
+    @Test
+    void traceIsWrittenAsChromeTraceEvents(@TempDir Path tempDir) throws IOException {
+        TestPhaseTracer.trace(TestPhaseTracer.Phase.CLIENT, "artemis producer", () -> { });
+
+        TestPhaseTracer.writeTrace(tempDir.toString());
+
+        JsonNode trace = new ObjectMapper().readTree(tempDir.resolve(TestPhaseTracer.TRACE_FILE).toFile());
+        JsonNode event = trace.get("traceEvents").get(0);
+        Assertions.assertThat(event.get("ph").asText()).isEqualTo("X");
+        Assertions.assertThat(event.get("cat").asText()).isEqualTo("client");
+        Assertions.assertThat(event.get("name").asText()).isEqualTo("artemis producer");
+        Assertions.assertThat(tempDir.resolve(TestPhaseTracer.SUMMARY_FILE)).exists();
+    }
+}
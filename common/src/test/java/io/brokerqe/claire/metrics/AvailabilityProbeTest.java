@@ -0,0 +1,86 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class AvailabilityProbeTest {
+
+    /**
+     * 10 msg/s from 0s to 20s, nothing sent between 12s and 15s, 2 msg/s between 15s and 17s.
+     */
+    private AvailabilityProbe upgradedProbe() {
+        AvailabilityProbe probe = new AvailabilityProbe("single");
+        probe.started(0);
+        long sequence = 0;
+        for (long time = 0; time < 20_000; time += 100) {
+            boolean outage = time >= 12_000 && time < 15_000;
+            boolean slow = time >= 15_000 && time < 17_000 && time % 500 != 0;
+            if (!outage && !slow) {
+                probe.acknowledged(sequence, time);
+                probe.received(sequence, time + 10);
+                sequence++;
+            }
+        }
+        probe.upgradeStarted(10_000);
+        probe.upgradeFinished(16_500);
+        probe.finished(20_000);
+        return probe;
+    }
+
+    @Test
+    void errorWindowsAndDipsAreRelativeToUpgrade() {
+        AvailabilityProbe probe = upgradedProbe();
+
+        Assertions.assertThat(probe.getBaselinePerSecond()).isEqualTo(10.0);
+        Assertions.assertThat(probe.getErrorWindows()).containsExactly(new AvailabilityProbe.Window(2000, 5000));
+
+        AvailabilityProbe.Result result = probe.getResult(Map.of());
+        Assertions.assertThat(result.evaluatedSeconds()).isEqualTo(10);
+        Assertions.assertThat(result.unavailableSeconds()).isEqualTo(3);
+        Assertions.assertThat(result.dipSeconds()).isEqualTo(5);
+        Assertions.assertThat(result.minPerSecond()).isZero();
+        Assertions.assertThat(result.longestErrorWindowMs()).isEqualTo(3000);
+        Assertions.assertThat(result.availabilityPercent()).isEqualTo(70.0);
+        Assertions.assertThat(result.upgradeDurationMs()).isEqualTo(6500);
+        Assertions.assertThat(result.lost()).isZero();
+    }
+
+    @Test
+    void windowOpenAtTheEndIsClosedByMeasurementEnd() {
+        AvailabilityProbe probe = new AvailabilityProbe("unfinished");
+        probe.started(0);
+        probe.succeeded(1500);
+        probe.succeeded(2500);
+        probe.upgradeStarted(2200);
+        probe.failed(3500);
+        probe.reconnected();
+        probe.finished(5000);
+
+        AvailabilityProbe.Result result = probe.getResult(Map.of());
+        Assertions.assertThat(result.errorWindows()).containsExactly(new AvailabilityProbe.Window(800, 2800));
+        Assertions.assertThat(result.errors()).isEqualTo(1);
+        Assertions.assertThat(result.reconnects()).isEqualTo(1);
+        Assertions.assertThat(result.upgradeDurationMs()).isEqualTo(-1);
+    }
+
+    @Test
+    void lostMessagesAndEmptyMeasurementAreReported() {
+        AvailabilityProbe probe = upgradedProbe();
+        probe.acknowledged(1000, 19_900);
+
+        AvailabilityProbe.Result result = probe.getResult(Map.of("from", "2.33.0", "to", "2.34.0"));
+        Assertions.assertThat(result.lost()).isEqualTo(1);
+        Assertions.assertThat(result.errorWindows()).hasSize(1);
+        Assertions.assertThat(result.parameters()).containsEntry("from", "2.33.0");
+
+        AvailabilityProbe.Result empty = new AvailabilityProbe("empty").getResult(Map.of());
+        Assertions.assertThat(empty.evaluatedSeconds()).isZero();
+        Assertions.assertThat(empty.availabilityPercent()).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class FailoverProbeTest {
+
+    @Test
+    void gapsAreRelativeToFailure() {
+        FailoverProbe probe = new FailoverProbe("kill");
+        probe.acknowledged(1, 1000);
+        probe.acknowledged(2, 1100);
+        probe.received(1, 1050);
+        probe.received(2, 1150);
+        probe.failureInjected(1200);
+        probe.backupActivated(4200);
+        probe.acknowledged(3, 5000);
+        probe.received(3, 5300);
+
+        Assertions.assertThat(probe.getLastAckBefore()).isEqualTo(100);
+        Assertions.assertThat(probe.getBackupActivation()).isEqualTo(3000);
+        Assertions.assertThat(probe.getFirstSendAfter()).isEqualTo(3800);
+        Assertions.assertThat(probe.getFirstReceiveAfter()).isEqualTo(4100);
+        Assertions.assertThat(probe.getSendOutage()).isEqualTo(3900);
+        Assertions.assertThat(probe.getReceiveOutage()).isEqualTo(4150);
+    }
+
+    @Test
+    void noFailureMeansNoGaps() {
+        FailoverProbe probe = new FailoverProbe("none");
+        probe.acknowledged(1, 1000);
+        probe.received(1, 1000);
+
+        Assertions.assertThat(probe.getLastAckBefore()).isEqualTo(-1);
+        Assertions.assertThat(probe.getBackupActivation()).isEqualTo(-1);
+        Assertions.assertThat(probe.getFirstSendAfter()).isEqualTo(-1);
+        Assertions.assertThat(probe.getSendOutage()).isEqualTo(-1);
+    }
+
+    @Test
+    void lostAndDuplicatesAreReported() {
+        FailoverProbe probe = new FailoverProbe("pause");
+        for (long i = 0; i < 5; i++) {
+            probe.acknowledged(i, 1000 + i);
+        }
+        probe.received(0, 1000);
+        probe.received(1, 1001);
+        probe.received(1, 1500);
+        probe.received(4, 1600);
+        probe.failureInjected(1200);
+
+        FailoverProbe.Result result = probe.getResult(Map.of("topology", "replication"));
+        Assertions.assertThat(result.lost()).isEqualTo(2);
+        Assertions.assertThat(result.lostSequences()).containsExactly(2L, 3L);
+        Assertions.assertThat(result.duplicates()).isEqualTo(1);
+        Assertions.assertThat(result.received()).isEqualTo(3);
+        Assertions.assertThat(result.parameters()).containsEntry("topology", "replication");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class JournalProbeTest {
+
+    private static final Map<String, String> PERF_OUTPUT = Map.of(
+            "result", "success",
+            "total_time_(ms)", "10000",
+            "total_sent", "5000",
+            "total_received", "5000",
+            "aggregated_end_to_end_latency_us_mean", "812",
+            "aggregated_end_to_end_latency_us_50.00", "700",
+            "aggregated_end_to_end_latency_us_99.90", "2400",
+            "aggregated_send_latency_us_max", "9100");
+
+    @Test
+    void cgroupV2StatsArePreferred() {
+        String output = """
+                # cpu.stat
+                usage_usec 2500000
+                user_usec 2000000
+                # io.stat
+                8:0 rbytes=4096 wbytes=1000 rios=1 wios=2 dbytes=0 dios=0
+                259:0 rbytes=0 wbytes=24 rios=0 wios=1 dbytes=0 dios=0
+                """;
+
+        Assertions.assertThat(JournalProbe.parseCgroupStats(output)).isEqualTo(new JournalProbe.ResourceUsage(2_500_000, 1024));
+    }
+
+    @Test
+    void cgroupV1StatsAreConverted() {
+        String output = """
+                # cpuacct/cpuacct.usage
+                3000000000
+                # blkio/blkio.throttle.io_service_bytes
+                8:0 Read 4096
+                8:0 Write 2048
+                8:0 Total 6144
+                8:16 Write 1024
+                Total 7168
+                """;
+
+        Assertions.assertThat(JournalProbe.parseCgroupStats(output)).isEqualTo(new JournalProbe.ResourceUsage(3_000_000, 3072));
+    }
+
+    @Test
+    void missingStatsAreUnknown() {
+        Assertions.assertThat(JournalProbe.parseCgroupStats(null)).isEqualTo(JournalProbe.ResourceUsage.UNKNOWN);
+        Assertions.assertThat(JournalProbe.parseCgroupStats("# cpu.stat\nusage_usec 10\n# io.stat\n"))
+                .isEqualTo(new JournalProbe.ResourceUsage(10, 0));
+        Assertions.assertThat(new JournalProbe.ResourceUsage(10, 100).since(new JournalProbe.ResourceUsage(-1, 40)))
+                .isEqualTo(new JournalProbe.ResourceUsage(-1, 60));
+    }
+
+    @Test
+    void latenciesAreKeyedByTypeAndPercentile() {
+        Assertions.assertThat(JournalProbe.parseLatencies(PERF_OUTPUT)).containsExactly(
+                Map.entry("end_to_end_mean", 812.0),
+                Map.entry("end_to_end_p50", 700.0),
+                Map.entry("end_to_end_p99.9", 2400.0),
+                Map.entry("send_max", 9100.0));
+    }
+
+    @Test
+    void resultContainsUsageDuringWorkload() {
+        JournalProbe probe = new JournalProbe("JDBC", "sync", "postgresql");
+        probe.started("# cpu.stat\nusage_usec 1000\n# io.stat\n8:0 wbytes=100\n", "# cpu.stat\nusage_usec 50\n");
+        probe.finished("# cpu.stat\nusage_usec 4000\n# io.stat\n8:0 wbytes=600\n", "# cpu.stat\nusage_usec 350\n");
+
+        JournalProbe.Result result = probe.getResult("JDBC", Map.of("producers", "1"), PERF_OUTPUT);
+        Assertions.assertThat(result.throughput()).isEqualTo(500.0);
+        Assertions.assertThat(result.brokerCpuMicros()).isEqualTo(3000);
+        Assertions.assertThat(result.brokerDiskWrittenBytes()).isEqualTo(500);
+        Assertions.assertThat(result.databaseCpuMicros()).isEqualTo(300);
+        Assertions.assertThat(result.databaseDiskWrittenBytes()).isEqualTo(-1);
+        Assertions.assertThat(result.getLatency(JournalProbe.END_TO_END, "p50")).isEqualTo(700.0);
+        Assertions.assertThat(result.getLatency(JournalProbe.END_TO_END, "p99")).isEqualTo(-1.0);
+    }
+
+    @Test
+    void reportComparesResultsOfWorkload() {
+        JournalProbe nio = new JournalProbe("NIO", "sync", null);
+        nio.started("# cpu.stat\nusage_usec 0\n# io.stat\n8:0 wbytes=0\n", null);
+        nio.finished("# cpu.stat\nusage_usec 2000000\n# io.stat\n8:0 wbytes=5120000\n", null);
+        JournalProbe aio = new JournalProbe("ASYNCIO", "sync", null);
+        List<JournalProbe.Result> results = List.of(nio.getResult("NIO", Map.of(), PERF_OUTPUT), aio.getResult("NIO", Map.of(), Map.of()));
+
+        List<String> report = JournalProbe.getReport(results).lines().toList();
+        Assertions.assertThat(report).hasSize(4);
+        Assertions.assertThat(report.get(2)).isEqualTo(String.format("| sync | NIO | NIO | %.1f | 700 | - | 2400 | - | %.2f | %.2f | - | - | 1024 |",
+                500.0, 2.0, 5120000 / 1024.0 / 1024));
+        Assertions.assertThat(report.get(3)).startsWith("| sync | ASYNCIO | NIO | - | - |");
+    }
+}
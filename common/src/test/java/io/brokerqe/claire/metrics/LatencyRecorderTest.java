@@ -0,0 +1,50 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+class LatencyRecorderTest {
+
+    @Test
+    void percentilesUseNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder("test", "us");
+        LongStream.rangeClosed(1, 1000).forEach(latency -> recorder.record("commit", latency));
+
+        Assertions.assertThat(recorder.getPercentile("commit", 50)).isEqualTo(500);
+        Assertions.assertThat(recorder.getPercentiles("commit")).containsExactly(
+                Map.entry("p50", 500L),
+                Map.entry("p90", 900L),
+                Map.entry("p99", 990L),
+                Map.entry("p99.9", 999L),
+                Map.entry("max", 1000L));
+        Assertions.assertThat(LatencyRecorder.nearestRank(List.of(3L, 1L, 2L, 4L), 50)).isEqualTo(2);
+        Assertions.assertThat(recorder.getSummary()).startsWith("test [us]");
+    }
+
+    @Test
+    void missingActionHasNoPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder("test");
+
+        Assertions.assertThat(recorder.getPercentile("none", 99)).isEqualTo(-1);
+        Assertions.assertThat(recorder.getPercentiles("none")).isEmpty();
+        Assertions.assertThat(LatencyRecorder.nearestRank(List.of(), 50)).isEqualTo(-1);
+    }
+
+    @Test
+    void tailPercentilesNeedEnoughSamples() {
+        LatencyRecorder recorder = new LatencyRecorder("test");
+        LongStream.rangeClosed(1, 20).forEach(latency -> recorder.record("create", latency));
+
+        Assertions.assertThat(recorder.getTailPercentile("create", 95)).isEqualTo(19);
+        Assertions.assertThat(recorder.getTailPercentile("create", 99)).isEqualTo(-1);
+        Assertions.assertThat(recorder.getSummary()).contains("p95=19 p99=- max=20");
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class MigrationProbeTest {
+
+    @Test
+    void drainTimesAreMeasuredFromScaledown() {
+        MigrationProbe probe = new MigrationProbe("scaledown");
+        probe.scaledownStarted(1000);
+        probe.drainFinished("broker-ss-2", 3000);
+        probe.drainFinished(Map.of("broker-ss-1", 5000L, "broker-ss-2", 9000L));
+
+        Assertions.assertThat(probe.getDrainTimePerPod()).containsExactly(Map.entry("broker-ss-1", 4000L), Map.entry("broker-ss-2", 2000L));
+        Assertions.assertThat(probe.getTotalDrainTime()).isEqualTo(4000);
+        Assertions.assertThat(probe.getMigrationRate(2000)).isEqualTo(500.0);
+    }
+
+    @Test
+    void notStartedScaledownHasNoDrainTime() {
+        MigrationProbe probe = new MigrationProbe("scaledown");
+        probe.drainFinished("broker-ss-1", 3000);
+
+        Assertions.assertThat(probe.getTotalDrainTime()).isEqualTo(-1);
+        Assertions.assertThat(probe.getMigrationRate(100)).isEqualTo(-1);
+    }
+
+    @Test
+    void resultCountsMessagesOfRemainingPods() {
+        MigrationProbe probe = new MigrationProbe("scaledown");
+        probe.scaledownStarted(0);
+        probe.drainFinished("broker-ss-1", 1000);
+        MigrationProbe.Result result = probe.getResult(Map.of("queues", "2"), 40, 20, Map.of("queue0", 20L, "queue1", 20L));
+
+        Assertions.assertThat(result.messagesAfter()).isEqualTo(40);
+        Assertions.assertThat(result.totalDrainTimeMs()).isEqualTo(1000);
+        Assertions.assertThat(result.migrationRate()).isEqualTo(20.0);
+    }
+}
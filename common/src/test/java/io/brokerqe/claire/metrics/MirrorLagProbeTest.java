@@ -0,0 +1,49 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MirrorLagProbeTest {
+
+    @Test
+    void catchUpLagIsTimeUntilMirrorReachesProducedCount() {
+        MirrorLagProbe probe = new MirrorLagProbe("test");
+        probe.addSample(new MirrorLagProbe.Sample(0, 0, 0, 0));
+        probe.addSample(new MirrorLagProbe.Sample(1000, 100, 40, 60));
+        probe.addSample(new MirrorLagProbe.Sample(2000, 200, 100, 100));
+        probe.addSample(new MirrorLagProbe.Sample(3000, 200, 200, 0));
+
+        probe.computeCatchUpLags();
+
+        // 100 produced at 1s mirrored at 2s, 200 produced at 2s and 3s mirrored at 3s
+        Assertions.assertThat(probe.getPercentile(MirrorLagProbe.CATCH_UP_LAG, 0)).isEqualTo(0);
+        Assertions.assertThat(probe.getPercentile(MirrorLagProbe.CATCH_UP_LAG, 100)).isEqualTo(1000);
+        Assertions.assertThat(probe.getMaxSnfBacklog()).isEqualTo(100);
+    }
+
+    @Test
+    void notCaughtUpSamplesAreNotRecorded() {
+        MirrorLagProbe probe = new MirrorLagProbe("test");
+        probe.addSample(new MirrorLagProbe.Sample(0, 50, 10, 40));
+        probe.addSample(new MirrorLagProbe.Sample(500, 80, 30, 50));
+
+        probe.computeCatchUpLags();
+
+        Assertions.assertThat(probe.getRecordedCount(MirrorLagProbe.CATCH_UP_LAG)).isZero();
+        Assertions.assertThat(probe.getPercentile(MirrorLagProbe.CATCH_UP_LAG, 50)).isEqualTo(-1);
+    }
+
+    @Test
+    void messageLagIsRecordedPerMessage() {
+        MirrorLagProbe probe = new MirrorLagProbe("test");
+        probe.recordMessageLag(1000, 1005);
+        probe.recordMessageLag(1000, 1030);
+
+        Assertions.assertThat(probe.getPercentile(MirrorLagProbe.E2E_LAG, 50)).isEqualTo(5);
+        Assertions.assertThat(probe.getPercentile(MirrorLagProbe.E2E_LAG, 100)).isEqualTo(30);
+    }
+}
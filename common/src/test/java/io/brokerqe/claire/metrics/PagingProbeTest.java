@@ -0,0 +1,68 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class PagingProbeTest {
+
+    @Test
+    void pagingWatermarksAndCatchUp() {
+        PagingProbe probe = new PagingProbe("tmpfs");
+        probe.started(0);
+        probe.sample(new PagingProbe.Sample(1000, 100, 0, 500, 500, 10_000));
+        probe.sample(new PagingProbe.Sample(2000, 200, 1, 1000, 1000, 10_000));
+        probe.sample(new PagingProbe.Sample(4000, 400, 9, 1000, 2500, 10_000));
+        probe.sample(new PagingProbe.Sample(5000, 300, 9, 1000, 1000, 10_000));
+        probe.sent(100, 3000);
+        probe.received(4500);
+
+        Assertions.assertThat(probe.getPagingStart()).isEqualTo(2000);
+        Assertions.assertThat(probe.getMaxPages()).isEqualTo(9);
+        Assertions.assertThat(probe.getPageFilesPerSecond()).isEqualTo(4.0);
+        Assertions.assertThat(probe.getMaxGlobalUsagePercent()).isEqualTo(25.0);
+        Assertions.assertThat(probe.getCatchUp()).isEqualTo(1500);
+    }
+
+    @Test
+    void throughputCollapseIsFlagged() {
+        PagingProbe probe = new PagingProbe("disk");
+        probe.started(0);
+        // 100 msg/s for 10 s, 5 msg/s for 4 s, 100 msg/s again for 5 s
+        for (long time = 0; time < 19_000; time += 10) {
+            boolean collapse = time >= 10_000 && time < 14_000;
+            if (!collapse || time % 200 == 0) {
+                probe.sent(1024, time);
+                probe.received(time);
+            }
+        }
+
+        List<PagingProbe.Collapse> collapses = probe.getCollapses(PagingProbe.PRODUCER);
+        Assertions.assertThat(collapses).containsExactly(new PagingProbe.Collapse(PagingProbe.PRODUCER, 10_000, 14_000));
+        Assertions.assertThat(probe.getResult(Map.of()).throughputCollapsed()).isTrue();
+    }
+
+    @Test
+    void slowLargeMessagesAreNotCollapse() {
+        PagingProbe probe = new PagingProbe("large");
+        probe.started(0);
+        for (long time = 0; time < 20_000; time += 2500) {
+            probe.sent(100L * 1024 * 1024, time);
+            probe.received(time + 1000);
+        }
+        probe.finished(22_000);
+
+        PagingProbe.Result result = probe.getResult(Map.of("messageSize", "104857600"));
+        Assertions.assertThat(result.throughputCollapsed()).isFalse();
+        Assertions.assertThat(result.sentBytes()).isEqualTo(8L * 100 * 1024 * 1024);
+        Assertions.assertThat(result.pagingStartMs()).isEqualTo(-1);
+        Assertions.assertThat(result.durationMs()).isEqualTo(22_000);
+        Assertions.assertThat(result.parameters()).containsEntry("messageSize", "104857600");
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class RedistributionProbeTest {
+
+    @Test
+    void delayThroughputAndOrderingAreMeasuredFromAttachTime() {
+        RedistributionProbe probe = new RedistributionProbe("backlog");
+        probe.consumersAttached(1000);
+        probe.recordReceived("node-1", 0, 900, 1200);
+        probe.recordReceived("node-2", 1, 900, 1300);
+        probe.recordReceived("node-1", 3, 950, 1400);
+        probe.recordReceived("node-1", 2, 950, 2000);
+
+        Assertions.assertThat(probe.getFirstMessageDelay()).isEqualTo(200);
+        Assertions.assertThat(probe.getDrainThroughput()).isEqualTo(4.0);
+        Assertions.assertThat(probe.getOutOfOrder()).isEqualTo(1);
+        Assertions.assertThat(probe.getReceivedPerConsumer()).containsExactly(Map.entry("node-1", 3L), Map.entry("node-2", 1L));
+        Assertions.assertThat(probe.getLatencyPercentile(100)).isEqualTo(1050);
+    }
+
+    @Test
+    void notStampedMessagesAreNotInLatency() {
+        RedistributionProbe probe = new RedistributionProbe("operator");
+        probe.recordReceived("pod-1", 0, -1, 1000);
+
+        Assertions.assertThat(probe.getLatencyPercentile(50)).isEqualTo(-1);
+        Assertions.assertThat(probe.getFirstMessageDelay()).isEqualTo(-1);
+    }
+
+    @Test
+    void resultContainsScenarioMeasurements() {
+        RedistributionProbe probe = new RedistributionProbe("live");
+        probe.consumersAttached(0);
+        probe.recordReceived("node-1", 0, 10, 20);
+
+        RedistributionProbe.Result result = probe.getResult(Map.of("redistributionDelay", "0"), 1, 100.0);
+        Assertions.assertThat(result.parameters()).containsEntry("redistributionDelay", "0");
+        Assertions.assertThat(result.latencyP50Ms()).isEqualTo(10);
+        Assertions.assertThat(result.latencyMaxMs()).isEqualTo(10);
+        Assertions.assertThat(result.drainThroughput()).isEqualTo(50.0);
+        Assertions.assertThat(result.receivedPerConsumer()).containsEntry("node-1", 1L);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class ResultStoreTest {
+
+    record Result(String scenario, Map<String, String> parameters, List<Long> latencies, double rate) implements ScenarioResult { }
+
+    @Test
+    void resultsAreAppendedAndReadBackInOrder(@TempDir Path tempDir) throws Exception {
+        String resultsFile = tempDir.resolve("results.jsonl").toString();
+        Result first = new Result("first", Map.of("size", "1024"), List.of(1L, 2L), 10.5);
+        Result second = new Result("second", Map.of(), List.of(), 0);
+
+        ResultStore.append(resultsFile, first);
+        ResultStore.append(resultsFile, second);
+
+        Assertions.assertThat(Files.readAllLines(Path.of(resultsFile))).hasSize(2);
+        Assertions.assertThat(ResultStore.read(resultsFile, Result.class)).containsExactly(first, second);
+    }
+
+    @Test
+    void missingFileHasNoResults(@TempDir Path tempDir) {
+        Assertions.assertThat(ResultStore.read(tempDir.resolve("missing.jsonl").toString(), Result.class)).isEmpty();
+    }
+
+    @Test
+    void invalidLineFails(@TempDir Path tempDir) throws Exception {
+        Path resultsFile = tempDir.resolve("results.jsonl");
+        Files.writeString(resultsFile, "{\"scenario\":\"broken\"\n");
+
+        Assertions.assertThatThrownBy(() -> ResultStore.read(resultsFile.toString(), Result.class))
+                .isInstanceOf(ClaireRuntimeException.class)
+                .hasMessageContaining(resultsFile.toString());
+    }
+
+    @Test
+    void latestResultOfSameScenarioIsBaseline() {
+        Result first = new Result("scaledown", Map.of("queues", "1"), List.of(1000L), 10);
+        Result other = new Result("scaledown", Map.of("queues", "2"), List.of(1000L), 20);
+        Result result = new Result("scaledown", Map.of("queues", "1"), List.of(2000L), 5);
+
+        Assertions.assertThat(ResultStore.findBaseline(List.of(first, other), result)).hasValue(first);
+        Assertions.assertThat(ResultStore.findBaseline(List.of(first, other, result), result)).hasValue(result);
+        Assertions.assertThat(ResultStore.findBaseline(List.of(other), result)).isEmpty();
+    }
+}
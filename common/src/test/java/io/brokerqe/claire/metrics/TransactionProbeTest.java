@@ -0,0 +1,65 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class TransactionProbeTest {
+
+    @Test
+    void commitLatencyPercentilesPerRole() {
+        TransactionProbe probe = new TransactionProbe("local");
+        for (long i = 1; i <= 100; i++) {
+            probe.producerCommitted(List.of(i), i * 1000);
+        }
+        probe.consumerCommitted(List.of(1L), 5000);
+
+        Assertions.assertThat(probe.getCommitLatencyPercentile(TransactionProbe.PRODUCER, 50)).isEqualTo(50);
+        Assertions.assertThat(probe.getCommitLatencyPercentile(TransactionProbe.PRODUCER, 99)).isEqualTo(99);
+        Assertions.assertThat(probe.getCommitLatencyPercentile(TransactionProbe.PRODUCER, 100)).isEqualTo(100);
+        Assertions.assertThat(probe.getCommitLatencyPercentile(TransactionProbe.CONSUMER, 50)).isEqualTo(5);
+        Assertions.assertThat(probe.getCommitLatencyPercentile("unknown", 50)).isEqualTo(-1);
+        Assertions.assertThat(probe.getCommits()).isEqualTo(101);
+    }
+
+    @Test
+    void lostAndDuplicateMessagesAreCounted() {
+        TransactionProbe probe = new TransactionProbe("broker-kill");
+        probe.producerCommitted(List.of(1L, 2L, 3L), 1000);
+        probe.producerCommitFailed(List.of(4L, 5L));
+        probe.consumerCommitted(List.of(1L, 4L), 1000);
+        probe.consumerCommitFailed();
+        probe.consumerCommitted(List.of(1L, 2L), 1000);
+
+        TransactionProbe.Result result = probe.getResult(Map.of("journal", "NIO"));
+        Assertions.assertThat(result.committed()).isEqualTo(3);
+        Assertions.assertThat(result.delivered()).isEqualTo(3);
+        Assertions.assertThat(result.lost()).isEqualTo(1);
+        Assertions.assertThat(result.duplicates()).isEqualTo(1);
+        Assertions.assertThat(result.inDoubt()).isEqualTo(2);
+        Assertions.assertThat(result.inDoubtDelivered()).isEqualTo(1);
+        Assertions.assertThat(result.rollbacks()).isEqualTo(2);
+        Assertions.assertThat(result.durationMs()).isEqualTo(-1);
+    }
+
+    @Test
+    void resultContainsCommitLatencyPercentilesPerRole() {
+        TransactionProbe probe = new TransactionProbe("xa");
+        probe.started();
+        probe.producerCommitted(List.of(1L), 2000);
+        probe.consumerCommitted(List.of(1L), 3000);
+        probe.finished();
+
+        TransactionProbe.Result result = probe.getResult(Map.of("batch", "1"));
+        Assertions.assertThat(result.commitLatencyUs()).containsOnlyKeys(TransactionProbe.CONSUMER, TransactionProbe.PRODUCER);
+        Assertions.assertThat(result.commitLatencyUs().get(TransactionProbe.CONSUMER))
+                .containsEntry("p50", 3L).containsEntry("p99.9", 3L).containsEntry("max", 3L);
+        Assertions.assertThat(result.durationMs()).isGreaterThanOrEqualTo(0);
+    }
+}
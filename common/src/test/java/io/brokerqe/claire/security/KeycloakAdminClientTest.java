@@ -0,0 +1,122 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.assertj.core.api.Assertions;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class KeycloakAdminClientTest {
+
+    private HttpServer server;
+    private KeycloakAdminClient client;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/realms/master/protocol/openid-connect/token", exchange -> {
+            tokenRequests.incrementAndGet();
+            respond(exchange, 200, "{\"access_token\":\"token\",\"expires_in\":60,\"refresh_token\":\"refresh\",\"refresh_expires_in\":1800}");
+        });
+        server.createContext("/admin/realms", exchange -> {
+            String request = exchange.getRequestMethod() + " " + exchange.getRequestURI();
+            requests.add(request);
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            if (!"Bearer token".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, "");
+                return;
+            }
+            switch (request) {
+                case "GET /admin/realms/new" -> respond(exchange, 404, "{\"error\":\"Realm not found.\"}");
+                case "GET /admin/realms/artemis" -> respond(exchange, 200, "{\"id\":\"realm-id\",\"realm\":\"artemis\",\"enabled\":true}");
+                case "POST /admin/realms", "PUT /admin/realms/artemis/clients/c-id" -> respond(exchange, 201, "");
+                case "POST /admin/realms/new/partialImport" -> respond(exchange, 200, "{\"added\":3,\"skipped\":1,\"overwritten\":0}");
+                case "POST /admin/realms/artemis/components" -> {
+                    exchange.getResponseHeaders().add("Location", "http://localhost/admin/realms/artemis/components/ldap-id");
+                    respond(exchange, 201, "");
+                }
+                case "POST /admin/realms/artemis/user-storage/ldap-id/sync?action=triggerFullSync" ->
+                        respond(exchange, 200, "{\"added\":5,\"updated\":0,\"removed\":0,\"failed\":0,\"status\":\"5 imported users\"}");
+                case "GET /admin/realms/artemis/clients?clientId=amq-broker" ->
+                        respond(exchange, 200, "[{\"id\":\"c-id\",\"clientId\":\"amq-broker\",\"redirectUris\":[\"/old/*\"]}]");
+                case "GET /admin/realms/artemis/clients?clientId=missing" -> respond(exchange, 200, "[]");
+                case "GET /admin/realms/artemis/clients/c-id" -> respond(exchange, 200, "{\"id\":\"c-id\",\"clientId\":\"amq-broker\",\"publicClient\":false}");
+                case "GET /admin/realms/artemis/clients/c-id/client-secret" -> respond(exchange, 200, "{\"type\":\"secret\",\"value\":\"**********\"}");
+                case "POST /admin/realms/artemis/clients/c-id/client-secret" -> respond(exchange, 200, "{\"type\":\"secret\",\"value\":\"new-secret\"}");
+                default -> respond(exchange, 500, "unexpected request " + request);
+            }
+        });
+        server.start();
+        client = new KeycloakAdminClient("http://localhost:" + server.getAddress().getPort() + "/", "admin", "admin");
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void importRealmCreatesMissingRealm() {
+        KeycloakAdminClient.PartialImportResult result = client.importRealm("new", "{\"clients\":[]}");
+
+        Assertions.assertThat(result).isEqualTo(new KeycloakAdminClient.PartialImportResult(3, 1, 0));
+        Assertions.assertThat(requests).containsExactly("GET /admin/realms/new", "POST /admin/realms", "POST /admin/realms/new/partialImport");
+        Assertions.assertThat(new JSONObject(requestBodies.get(2)).getString("ifResourceExists")).isEqualTo("SKIP");
+        Assertions.assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void createLdapProviderAndSync() {
+        String ldapId = client.createLdapProvider("artemis", "ldap-amq-broker", Map.of("vendor", "other"));
+        KeycloakAdminClient.SynchronizationResult sync = client.triggerFullSync("artemis", ldapId);
+
+        Assertions.assertThat(ldapId).isEqualTo("ldap-id");
+        JSONObject component = new JSONObject(requestBodies.get(1));
+        Assertions.assertThat(component.getString("parentId")).isEqualTo("realm-id");
+        Assertions.assertThat(component.getJSONObject("config").getJSONArray("vendor").getString(0)).isEqualTo("other");
+        Assertions.assertThat(sync.added()).isEqualTo(5);
+        Assertions.assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void clientLookupsAndSecretRotation() {
+        Assertions.assertThat(client.findClient("artemis", "missing")).isEmpty();
+        Assertions.assertThat(client.getClient("artemis", "amq-broker").redirectUris()).containsExactly("/old/*");
+
+        client.updateRedirectUris("artemis", "amq-broker", List.of("https://route/console/*"));
+        JSONObject updatedClient = new JSONObject(requestBodies.get(requestBodies.size() - 1));
+        Assertions.assertThat(updatedClient.getBoolean("publicClient")).isFalse();
+        Assertions.assertThat(updatedClient.getJSONArray("redirectUris").getString(0)).isEqualTo("https://route/console/*");
+
+        Assertions.assertThat(client.getClientSecret("artemis", "amq-broker").value()).isEqualTo("new-secret");
+        Assertions.assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        // stub server may drop an idle kept-alive connection just when client reuses it for the next request
+        exchange.getResponseHeaders().add("Connection", "close");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.webconsole;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class WebconsoleCommonTest {
+
+    private static final String JOLOKIA_URL = "http://localhost:8161/console/jolokia/?maxDepth=7&maxCollectionSize=50000";
+
+    @Test
+    void postExecMatchesOnlyExpectedOperation() {
+        String body = """
+                {"type":"exec","mbean":"org.apache.activemq.artemis:broker=\\"artemis\\"",
+                 "operation":"createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)","arguments":[]}""";
+
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, null, "createQueue")).isTrue();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, "broker=\"artemis\"", "createQueue")).isTrue();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, null, "deleteAddress")).isFalse();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, "broker=\"other\"", "createQueue")).isFalse();
+    }
+
+    @Test
+    void postBulkMatchesAnyOfItsRequests() {
+        String body = """
+                [{"type":"read","mbean":"org.apache.activemq.artemis:broker=\\"artemis\\"","attribute":"Version"},
+                 {"type":"exec","mbean":"org.apache.activemq.artemis:broker=\\"artemis\\"",
+                  "operation":"listQueues(java.lang.String,int,int)","arguments":["",1,10]}]""";
+
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, null, "listQueues")).isTrue();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, body, null, "listAddresses")).isFalse();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("POST", JOLOKIA_URL, "not json", null, "listQueues")).isFalse();
+    }
+
+    @Test
+    void getExecMatchesOperationAndMbeanOfPath() {
+        String url = "http://localhost:8161/console/jolokia/exec/org.apache.activemq.artemis:broker=!%22artemis!%22/deleteAddress(java.lang.String,boolean)/lala/true";
+
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("GET", url, null, "broker=\"artemis\"", "deleteAddress")).isTrue();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("GET", url, null, null, "createAddress")).isFalse();
+        Assertions.assertThat(WebconsoleCommon.isJolokiaExec("GET", JOLOKIA_URL, null, null, "deleteAddress")).isFalse();
+    }
+}
@@ -78,6 +78,7 @@ public class EnvironmentOperator extends Environment {
         teardownEnv = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_TEARDOWN, "true"));
         playwrightDebug = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_PLAYWRIGHT_DEBUG, "false"));
         minFailedTestsAbort = Integer.parseInt(System.getenv().getOrDefault(Constants.EV_TEST_FAIL_ABORT_COUNT, "4"));
+        traceTestPhases = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_TRACE_TEST_PHASES, "true"));
 
         disabledRandomNs = Boolean.parseBoolean(System.getenv(Constants.EV_DISABLE_RANDOM_NAMESPACES));
         customExtraDelay = Integer.parseInt(System.getenv().getOrDefault(Constants.EV_CUSTOM_EXTRA_DELAY, "0"));
@@ -199,6 +200,7 @@ public class EnvironmentOperator extends Environment {
             envVarsSB.append(Constants.EV_SPP_URL).append("=").append(sppUrl).append(Constants.LINE_SEPARATOR);
         }
         envVarsSB.append(Constants.EV_TEST_FAIL_ABORT_COUNT).append("=").append(minFailedTestsAbort).append(Constants.LINE_SEPARATOR);
+        envVarsSB.append(Constants.EV_TRACE_TEST_PHASES).append("=").append(traceTestPhases).append(Constants.LINE_SEPARATOR);
 
         LOGGER.info(envVarsSB.toString());
     }
@@ -4,7 +4,10 @@
  */
 package io.brokerqe.claire;
 
+import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.executor.ExecutorOperator;
+import io.brokerqe.claire.executor.LineConsumerOutputStream;
+import io.brokerqe.claire.executor.PodFileTransfer;
 import io.brokerqe.claire.helpers.DataStorer;
 import io.brokerqe.claire.security.CertificateManager;
 import io.brokerqe.claire.security.KeyStoreData;
@@ -39,6 +42,8 @@ import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.RollableScalableResource;
 import io.fabric8.openshift.api.model.Route;
@@ -435,26 +440,51 @@ public class KubeClient {
 
     public String executeCommandInPod(Pod pod, String cmd, long timeout) {
         ExecutorOperator executor = new ExecutorOperator(pod);
-        executor.executeCommand(Constants.DURATION_30_SECONDS, "/bin/bash", "-c", String.join(" ", cmd));
-        return executor.getCommandData(timeout);
+        return executor.executeCommand(timeout, "/bin/bash", "-c", String.join(" ", cmd)).stdout;
     }
 
     public void uploadFilesToPod(String namespace, Pod pod, List<String> localSourcePaths, String podDestinationDirPath) {
-        for (String fileToUpload : localSourcePaths) {
-            String filename = Paths.get(fileToUpload).getFileName().toString();
-            uploadFileToPod(namespace, pod, fileToUpload, podDestinationDirPath + "/" + Paths.get(filename));
+        try {
+            uploadToPod(pod, localSourcePaths, podDestinationDirPath, false);
+        } catch (ClaireRuntimeException e) {
+            LOGGER.debug("[{}][{}] Failed to upload files to pod as tar stream. Uploading them one by one", namespace, pod.getMetadata().getName());
+            for (String fileToUpload : localSourcePaths) {
+                String filename = Paths.get(fileToUpload).getFileName().toString();
+                uploadFileToPod(namespace, pod, fileToUpload, podDestinationDirPath + "/" + Paths.get(filename));
+            }
         }
     }
 
     public void uploadFileToPod(String namespace, Pod pod, String localSourcePath, String podDestinationPath) {
         boolean success = getKubernetesClient().pods().inNamespace(namespace).withName(pod.getMetadata().getName()).file(podDestinationPath).upload(Paths.get(localSourcePath));
         if (!success) {
-            LOGGER.debug("[{}][{}] Failed to upload file to pod. Trying bash method using cat & tee", namespace, pod.getMetadata().getName());
-            String fileContent = TestUtils.getFileContentAsBase64(localSourcePath);
-            executeCommandInPod(pod, "echo " + fileContent + " | base64 -d > " + podDestinationPath, Constants.DURATION_30_SECONDS);
+            LOGGER.debug("[{}][{}] Failed to upload file to pod. Trying tar stream method", namespace, pod.getMetadata().getName());
+            new PodFileTransfer(pod, false).uploadFile(Paths.get(localSourcePath), podDestinationPath);
         }
     }
 
+    /**
+     * Upload files and directory trees into pod as single (optionally compressed) tar stream.
+     */
+    public PodFileTransfer.TransferStats uploadToPod(Pod pod, List<String> localSourcePaths, String podDestinationDirPath, boolean compress) {
+        List<Path> localPaths = localSourcePaths.stream().map(Paths::get).toList();
+        return new PodFileTransfer(pod, compress).upload(localPaths, podDestinationDirPath);
+    }
+
+    /**
+     * Download file or directory tree from pod as single (optionally compressed) tar stream.
+     */
+    public PodFileTransfer.TransferStats downloadFromPod(Pod pod, String podSourcePath, Path localDestinationDir, boolean compress) {
+        return new PodFileTransfer(pod, compress).download(podSourcePath, localDestinationDir);
+    }
+
+    /**
+     * Download selected files/directories of pod directory as single (optionally compressed) tar stream.
+     */
+    public PodFileTransfer.TransferStats downloadFromPod(Pod pod, String podSourceDir, List<String> names, Path localDestinationDir, boolean compress) {
+        return new PodFileTransfer(pod, compress).download(podSourceDir, names, localDestinationDir);
+    }
+
     // ==================================
     // ---------> STATEFUL SET <---------
     // ==================================
@@ -971,6 +1001,34 @@ public class KubeClient {
         }
     }
     
+    public LogWatcher watchLogsFromPod(Pod pod) {
+        return watchLogsFromPod(pod, null);
+    }
+
+    /**
+     * Follow log of pod and feed it line by line into returned watcher, so waiting for log messages does not
+     * download whole log repeatedly. Close the watcher to stop following.
+     * @param sinceInstant first log time to receive (pod clock), whole log when null
+     */
+    public LogWatcher watchLogsFromPod(Pod pod, Instant sinceInstant) {
+        LOGGER.debug("[{}] Following logs of {} since {}", pod.getMetadata().getNamespace(), pod.getMetadata().getName(),
+                sinceInstant == null ? "start" : sinceInstant);
+        LogWatcher watcher = new LogWatcher(pod.getMetadata().getName());
+        LineConsumerOutputStream lines = new LineConsumerOutputStream(watcher);
+        PodResource podResource = getKubernetesClient().pods().inNamespace(pod.getMetadata().getNamespace()).resource(pod);
+        LogWatch logWatch;
+        if (sinceInstant == null) {
+            logWatch = podResource.watchLog(lines);
+        } else {
+            // same as in getLogsFromPod, zero seconds would be truncated from the time string
+            if (sinceInstant.atOffset(ZoneOffset.UTC).getSecond() == 0) {
+                sinceInstant = sinceInstant.minusSeconds(1);
+            }
+            logWatch = podResource.sinceTime(sinceInstant.atOffset(ZoneOffset.UTC).toString()).watchLog(lines);
+        }
+        return watcher.withSource(logWatch).withSource(lines);
+    }
+
     public StatefulSet getDefaultArtemisStatefulSet(String brokerName) {
         return getStatefulSet(brokerName + "-ss");
     }
@@ -7,6 +7,7 @@ package io.brokerqe.claire;
 import io.amq.broker.v1beta1.ActiveMQArtemis;
 import io.amq.broker.v1beta1.ActiveMQArtemisAddress;
 import io.amq.broker.v1beta1.ActiveMQArtemisSecurity;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.junit.TestSeparator;
 import io.brokerqe.claire.operator.ArtemisCloudClusterOperator;
 import io.fabric8.kubernetes.api.model.ConfigMap;
@@ -124,18 +125,16 @@ public class OperatorTestDataCollector extends TestDataCollector {
                 String dirName = archiveLocation + Constants.FILE_SEPARATOR + "broker_etc" + Constants.FILE_SEPARATOR + pod.getMetadata().getName();
                 TestUtils.createDirectory(dirName);
 
-                for (String file : fileList) {
-                    String outputFileName = dirName + Constants.FILE_SEPARATOR + file;
-                    String podFileName = amqBrokerEtcHome + file;
-                    kubeClient.getKubernetesClient().pods().inNamespace(pod.getMetadata().getNamespace())
-                         .withName(pod.getMetadata().getName()).file(podFileName).copy(Paths.get(outputFileName));
+                // etc files & /amq/extra/ mounted configuration files (+ possibly /etc/<cr-name>-secret-name), each in single tar stream
+                try {
+                    kubeClient.downloadFromPod(pod, amqBrokerEtcHome, fileList, Paths.get(dirName), true);
+                } catch (ClaireRuntimeException e) {
+                    LOGGER.warn("[{}] Unable to collect all broker etc files from {}: {}", pod.getMetadata().getNamespace(), pod.getMetadata().getName(), e.getMessage());
                 }
-                // collect /amq/extra/ mounted configuration files + possibly /etc/<cr-name>-secret-name
-                String output = kubeClient.executeCommandInPod(pod, "find /amq/extra/ -type f", Constants.DURATION_10_SECONDS);
-                for (String file : output.split("\n")) {
-                    String outputDirName = dirName + Constants.FILE_SEPARATOR + "container" + Constants.FILE_SEPARATOR + Paths.get(file).getFileName();
-                    kubeClient.getKubernetesClient().pods().inNamespace(pod.getMetadata().getNamespace())
-                            .withName(pod.getMetadata().getName()).file(file).copy(Paths.get(outputDirName));
+                try {
+                    kubeClient.downloadFromPod(pod, "/amq/extra", Paths.get(dirName, "container"), true);
+                } catch (ClaireRuntimeException e) {
+                    LOGGER.warn("[{}] Unable to collect /amq/extra files from {}: {}", pod.getMetadata().getNamespace(), pod.getMetadata().getName(), e.getMessage());
                 }
             }
         }
@@ -43,6 +43,7 @@ import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.helpers.DataStorer;
 import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddress;
 import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddressBuilder;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import io.brokerqe.claire.operator.ArtemisCloudClusterOperator;
 import io.brokerqe.claire.operator.ArtemisCloudClusterOperatorFile;
 import io.brokerqe.claire.operator.ArtemisCloudClusterOperatorOlm;
@@ -170,7 +171,7 @@ public class ResourceManager {
             } else {
                 clusterOperator = new ArtemisCloudClusterOperatorFile(namespace, isNamespaced, watchedNamespaces);
             }
-            clusterOperator.deployOperator(true);
+            TestPhaseTracer.trace(TestPhaseTracer.Phase.DEPLOY, "deploy operator " + namespace, () -> clusterOperator.deployOperator(true));
             deployedOperators.add(clusterOperator);
             return clusterOperator;
         } else {
@@ -182,7 +183,7 @@ public class ResourceManager {
     public static ArtemisCloudClusterOperatorOlm deployArtemisClusterOperatorOlm(String namespace, List<String> watchedNamespaces, String channel, String indexImageBundle) {
         if (environmentOperator.isOlmInstallation()) {
             ArtemisCloudClusterOperatorOlm clusterOperator = new ArtemisCloudClusterOperatorOlm(namespace, true, watchedNamespaces, indexImageBundle, channel);
-            clusterOperator.deployOperator(true);
+            TestPhaseTracer.trace(TestPhaseTracer.Phase.DEPLOY, "deploy operator " + namespace, () -> clusterOperator.deployOperator(true));
             deployedOperators.add(clusterOperator);
             return clusterOperator;
         } else {
@@ -209,7 +210,8 @@ public class ResourceManager {
 
     public static void undeployArtemisClusterOperator(ArtemisCloudClusterOperator clusterOperator) {
         if (projectCODeploy) {
-            clusterOperator.undeployOperator(true);
+            TestPhaseTracer.trace(TestPhaseTracer.Phase.TEARDOWN, "undeploy operator " + clusterOperator.getDeploymentNamespace(),
+                    () -> clusterOperator.undeployOperator(true));
             deployedOperators.remove(clusterOperator);
         } else {
             LOGGER.warn("Not undeploying operator! " + "'" + Constants.EV_CLUSTER_OPERATOR_MANAGED + "' is 'false'");
@@ -325,10 +327,12 @@ public class ResourceManager {
             artemisBroker = setupEKSDeployment(artemisBroker, namespace);
         }
 
-        artemisBroker = ResourceManager.getArtemisClient().inNamespace(namespace).resource(artemisBroker).createOrReplace();
-        LOGGER.info("Created ActiveMQArtemis {} in namespace {}", artemisBroker, namespace);
-        if (waitForDeployment) {
-            waitForBrokerDeployment(namespace, artemisBroker, false, null, maxTimeout);
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.DEPLOY, "create broker " + artemisBroker.getMetadata().getName())) {
+            artemisBroker = ResourceManager.getArtemisClient().inNamespace(namespace).resource(artemisBroker).createOrReplace();
+            LOGGER.info("Created ActiveMQArtemis {} in namespace {}", artemisBroker, namespace);
+            if (waitForDeployment) {
+                waitForBrokerDeployment(namespace, artemisBroker, false, null, maxTimeout);
+            }
         }
         ResourceManager.addArtemisBroker(artemisBroker);
         return artemisBroker;
@@ -485,9 +489,11 @@ public class ResourceManager {
 
     public static void deleteArtemis(String namespace, ActiveMQArtemis broker, boolean waitForDeletion, long maxTimeout) {
         String brokerName = broker.getMetadata().getName();
-        ResourceManager.getArtemisClient().inNamespace(namespace).resource(broker).delete();
-        if (waitForDeletion) {
-            waitForBrokerDeletion(namespace, brokerName, maxTimeout);
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.TEARDOWN, "delete broker " + brokerName)) {
+            ResourceManager.getArtemisClient().inNamespace(namespace).resource(broker).delete();
+            if (waitForDeletion) {
+                waitForBrokerDeletion(namespace, brokerName, maxTimeout);
+            }
         }
         ResourceManager.removeArtemisBroker(broker);
         LOGGER.info("[{}] Deleted ActiveMQArtemis {}", namespace, broker.getMetadata().getName());
@@ -558,17 +564,7 @@ public class ResourceManager {
             compoundName += "-" + queueName;
         }
 
-        ActiveMQArtemisAddress artemisAddress = new ActiveMQArtemisAddressBuilder()
-                .editOrNewMetadata()
-                    .withName(compoundName)
-                .endMetadata()
-                .editOrNewSpec()
-                    .withAddressName(addressName)
-                    .withQueueName(queueName)
-                    .withRoutingType(routingType)
-                    .withRemoveFromBrokerOnDelete(true)
-                .endSpec()
-                .build();
+        ActiveMQArtemisAddress artemisAddress = buildArtemisAddress(compoundName, addressName, queueName, routingType);
         artemisAddress = ResourceManager.getArtemisAddressClient().inNamespace(namespace).resource(artemisAddress).createOrReplace();
         // TODO check it programmatically
         try {
@@ -581,6 +577,36 @@ public class ResourceManager {
         return artemisAddress;
     }
 
+    /**
+     * Create address CR (with queue of the same name) for every address name without waiting for each of them.
+     * Addresses are reconciled by operator asynchronously, so caller has to check their presence on broker.
+     */
+    public static List<ActiveMQArtemisAddress> createArtemisAddresses(String namespace, List<String> addressNames, String routingType) {
+        List<ActiveMQArtemisAddress> artemisAddresses = new ArrayList<>();
+        for (String addressName : addressNames) {
+            ActiveMQArtemisAddress artemisAddress = buildArtemisAddress(addressName, addressName, addressName, routingType);
+            artemisAddress = ResourceManager.getArtemisAddressClient().inNamespace(namespace).resource(artemisAddress).createOrReplace();
+            ResourceManager.addArtemisAddress(artemisAddress);
+            artemisAddresses.add(artemisAddress);
+        }
+        LOGGER.info("[{}] Created {} ActiveMQArtemisAddresses", namespace, artemisAddresses.size());
+        return artemisAddresses;
+    }
+
+    private static ActiveMQArtemisAddress buildArtemisAddress(String name, String addressName, String queueName, String routingType) {
+        return new ActiveMQArtemisAddressBuilder()
+                .editOrNewMetadata()
+                    .withName(name)
+                .endMetadata()
+                .editOrNewSpec()
+                    .withAddressName(addressName)
+                    .withQueueName(queueName)
+                    .withRoutingType(routingType)
+                    .withRemoveFromBrokerOnDelete(true)
+                .endSpec()
+                .build();
+    }
+
     public static void deleteArtemisAddress(String namespace, ActiveMQArtemisAddress artemisAddress) {
         ResourceManager.getArtemisAddressClient().inNamespace(namespace).resource(artemisAddress).delete();
         ResourceManager.removeArtemisAddress(artemisAddress);
@@ -845,7 +871,8 @@ public class ResourceManager {
 
     public static Deployment deployClientsContainer(String testNamespace) {
         DeployableClient deployableClient = new CliJavaDeployment(testNamespace);
-        Deployment deployment = (Deployment) deployableClient.deployContainer();
+        Deployment deployment = TestPhaseTracer.trace(TestPhaseTracer.Phase.DEPLOY, "deploy clients " + testNamespace,
+                () -> (Deployment) deployableClient.deployContainer());
         deployedContainers.put(deployment, testNamespace);
         DataStorer.dumpResourceToFile(deployment);
         return deployment;
@@ -1175,13 +1202,15 @@ public class ResourceManager {
     }
 
     public static void undeployAllResources() {
-        ResourceManager.undeployAllClientsContainers();
-        ResourceManager.undeployAllArtemisClusterOperators();
-        ResourceManager.undeployAllArtemisSecurity();
-        ResourceManager.undeployAllArtemisAddress();
-        ResourceManager.undeployAllArtemisBroker();
-        ResourceManager.undeployAllNamespaces();
-        ResourceManager.undeployCustomTools();
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.TEARDOWN, "undeployAllResources")) {
+            ResourceManager.undeployAllClientsContainers();
+            ResourceManager.undeployAllArtemisClusterOperators();
+            ResourceManager.undeployAllArtemisSecurity();
+            ResourceManager.undeployAllArtemisAddress();
+            ResourceManager.undeployAllArtemisBroker();
+            ResourceManager.undeployAllNamespaces();
+            ResourceManager.undeployCustomTools();
+        }
     }
 
     public static void undeployAllArtemisClusterOperators() {
@@ -9,29 +9,31 @@ import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.ResourceManager;
 import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.helpers.DataStorer;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.ExecListener;
 import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 // Base code taken from kubernetes-client example
 // https://github.com/fabric8io/kubernetes-client/blob/master/kubernetes-examples/src/main/java/io/fabric8/kubernetes/examples/ExecuteCommandOnPodExample.java
+// Every command is tracked by its own PodExecution, executor itself keeps only reference to the last (background) one.
 public class ExecutorOperator implements AutoCloseable, Executor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorOperator.class);
 
     private final KubernetesClient client;
-    private SimpleListener listener;
-    private ExecWatch execWatch;
+    private volatile PodExecution lastExecution;
+    private volatile PodExecution backgroundExecution;
     private Pod pod;
 
     public ExecutorOperator() {
@@ -44,28 +46,25 @@ public class ExecutorOperator implements AutoCloseable, Executor {
     }
 
     public String getCommandData(long timeout) {
+        PodExecution execution = lastExecution;
         try {
-            return listener.data.get(timeout, TimeUnit.MILLISECONDS);
+            return execution.completion().get(timeout, TimeUnit.MILLISECONDS).stdout;
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
             throw new RuntimeException(e);
         }
     }
 
-    public void setExecutorWatcher(ExecWatch watcher) {
-        this.execWatch = watcher;
-    }
-
-    public ExecWatch getExecutorWatcher() {
-        return execWatch;
+    public PodExecution getBackgroundExecution() {
+        return backgroundExecution;
     }
 
     @Override
     public void close() {
-        if (listener.data == null || listener.data.isDone()) {
-//            client.close();
-            LOGGER.trace("We should close client, but we're not. (Reusing singleton KubernetesClient)");
+        PodExecution execution = backgroundExecution;
+        if (execution != null && !execution.isDone()) {
+            LOGGER.trace("Not yet closing background command");
         } else {
-            LOGGER.trace("Not yet closing client");
+            LOGGER.trace("We should close client, but we're not. (Reusing singleton KubernetesClient)");
         }
     }
 
@@ -76,107 +75,121 @@ public class ExecutorOperator implements AutoCloseable, Executor {
 
     @Override
     public CommandResult executeCommand(long maxExecMs, String... cmd) {
-        storeCommand(cmd);
         LOGGER.debug("[{}] {} Running command: {}", pod.getMetadata().getNamespace(), pod.getMetadata().getName(), String.join(" ", cmd));
-
-        CompletableFuture<String> data = new CompletableFuture<>();
-        try (ExecWatch execWatch = execCmdOnPod(pod, data, cmd)) {
-            return new CommandResult(0, data.get(maxExecMs, TimeUnit.MILLISECONDS), null);
-        } catch (TimeoutException te) {
-            LOGGER.warn("Command execution timed out after {} ms", maxExecMs, te);
-            return new CommandResult(124, "", "Timeout after " + maxExecMs + "ms");
-        } catch (ExecutionException e) {
-            LOGGER.error("Execution failed while running command", e);
-            return new CommandResult(1, "", e.getMessage());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // restore interrupt status
-            LOGGER.error("Execution interrupted", e);
-            return new CommandResult(130, "", "Interrupted");
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.CLIENT, TestPhaseTracer.commandName(cmd))) {
+            return execute(0, null, null, cmd).await(maxExecMs);
         } catch (Exception e) {
             LOGGER.error("Unexpected error while executing command", e);
             return new CommandResult(1, "", "Unexpected error: " + e.getMessage());
         }
     }
 
-    @Override
-    public void execBackgroundCommand(String... cmd) {
+    /**
+     * Start command in pod and return its handle immediately.
+     * @param deadlineMs time after which command is cancelled, 0 for no deadline
+     * @param stdoutLineConsumer consumer of stdout lines as they are printed, may be null
+     * @param stderrLineConsumer consumer of stderr lines as they are printed, may be null
+     */
+    public PodExecution execute(long deadlineMs, Consumer<String> stdoutLineConsumer, Consumer<String> stderrLineConsumer, String... cmd) {
         storeCommand(cmd);
-        LOGGER.info("[{}] {} Running background command: {}", pod.getMetadata().getNamespace(),
-                pod.getMetadata().getName(), Arrays.toString(cmd).replaceAll(",", ""));
-        CompletableFuture<String> data = new CompletableFuture<>();
-        setExecutorWatcher(execCmdOnPod(pod, data, cmd));
+        PodExecution execution = new PodExecution(getDescription(cmd), stdoutLineConsumer, stderrLineConsumer);
+        ExecWatch execWatch = getPodResource()
+                .writingOutput(execution.getStdoutStream())
+                .writingError(execution.getStderrStream())
+                .usingListener(execution.getListener())
+                .exec(cmd);
+        return start(execution, execWatch, deadlineMs);
     }
 
-    @Override
-    public boolean isBackgroundCommandFinished() {
-        return getExecutorWatcher().exitCode().isDone();
+    /**
+     * Start command in pod with redirected stdin. Caller writes data into {@link PodExecution#getInput()} and closes it.
+     */
+    public PodExecution executeWithInput(long deadlineMs, String... cmd) {
+        storeCommand(cmd);
+        PodExecution execution = new PodExecution(getDescription(cmd), null, null);
+        ExecWatch execWatch = getPodResource()
+                .redirectingInput()
+                .writingOutput(execution.getStdoutStream())
+                .writingError(execution.getStderrStream())
+                .usingListener(execution.getListener())
+                .exec(cmd);
+        return start(execution, execWatch, deadlineMs);
     }
 
-    private String getBackgroundData() {
-        String cmdOutput = null;
-        if (isBackgroundCommandFinished()) {
-            cmdOutput = getCommandData(Constants.DURATION_10_SECONDS);
-            close();
-        }
-        return cmdOutput;
+    /**
+     * Start command in pod with raw stdout. Caller reads data from {@link PodExecution#getOutput()}.
+     */
+    public PodExecution executeWithOutput(long deadlineMs, String... cmd) {
+        storeCommand(cmd);
+        PodExecution execution = new PodExecution(getDescription(cmd), null, null, true);
+        ExecWatch execWatch = getPodResource()
+                .redirectingOutput()
+                .writingError(execution.getStderrStream())
+                .usingListener(execution.getListener())
+                .exec(cmd);
+        return start(execution, execWatch, deadlineMs);
     }
 
-    @Override
-    public String getBackgroundCommandData(int waitSeconds) {
-        String cmdOutput;
-        while ((cmdOutput = getBackgroundData()) == null) {
-            LOGGER.debug("Waiting for command to finish (checking every {}s)", waitSeconds);
-            TestUtils.threadSleep(waitSeconds * 1000L);
-        }
-        LOGGER.debug(cmdOutput);
-        return cmdOutput;
+    private PodResource getPodResource() {
+        return client.pods().inNamespace(pod.getMetadata().getNamespace()).withName(pod.getMetadata().getName());
     }
 
-    private ExecWatch execCmdOnPod(Pod pod, CompletableFuture<String> data, String... command) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        listener = new SimpleListener(data, baos);
-        return client.pods()
-                .inNamespace(pod.getMetadata().getNamespace())
-                .withName(pod.getMetadata().getName())
-                .writingOutput(baos)
-                .writingError(baos)
-                .usingListener(listener)
-                .exec(command);
+    private String getDescription(String... cmd) {
+        return pod.getMetadata().getName() + ": " + String.join(" ", cmd);
     }
 
-    private void storeCommand(String[] cmd) {
-        if (ResourceManager.getEnvironment().isSerializationEnabled()) {
-            String commandToLog = String.format("%s [%s]-[%s]: %s", TestUtils.generateTimestamp(), pod.getMetadata().getNamespace(), pod.getMetadata().getName(), String.join(" ", cmd));
-            DataStorer.storeCommand(commandToLog);
-        }
+    private PodExecution start(PodExecution execution, ExecWatch execWatch, long deadlineMs) {
+        execution.start(execWatch, deadlineMs);
+        lastExecution = execution;
+        return execution;
     }
 
-    static class SimpleListener implements ExecListener {
+    /**
+     * Start command in pod and get future completed with its result (with exit code reported by pod).
+     */
+    public CompletableFuture<CommandResult> executeCommandAsync(long deadlineMs, String... cmd) {
+        LOGGER.debug("[{}] {} Running async command: {}", pod.getMetadata().getNamespace(), pod.getMetadata().getName(), String.join(" ", cmd));
+        return execute(deadlineMs, null, null, cmd).completion();
+    }
 
-        private final CompletableFuture<String> data;
-        private final ByteArrayOutputStream baos;
+    @Override
+    public void execBackgroundCommand(String... cmd) {
+        execBackgroundCommand(null, cmd);
+    }
 
-        public SimpleListener(CompletableFuture<String> data, ByteArrayOutputStream baos) {
-            this.data = data;
-            this.baos = baos;
-        }
+    @Override
+    public boolean isOutputStreamingSupported() {
+        return true;
+    }
 
-        @Override
-        public void onOpen() {
-            LOGGER.trace("Opened executor client, waiting for data... ");
-        }
+    @Override
+    public void execBackgroundCommand(Consumer<String> outputLineConsumer, String... cmd) {
+        LOGGER.info("[{}] {} Running background command: {}", pod.getMetadata().getNamespace(),
+                pod.getMetadata().getName(), Arrays.toString(cmd).replaceAll(",", ""));
+        backgroundExecution = execute(0, outputLineConsumer, null, cmd);
+    }
 
-        @Override
-        public void onFailure(Throwable t, Response failureResponse) {
-            LOGGER.error("Failed with {} message {}", t.getCause(), t.getMessage());
-            data.completeExceptionally(t);
+    @Override
+    public boolean isBackgroundCommandFinished() {
+        return backgroundExecution.isDone();
+    }
+
+    @Override
+    public String getBackgroundCommandData(int waitSeconds) {
+        LOGGER.debug("Waiting for background command to finish");
+        CommandResult result = backgroundExecution.completion().join();
+        if (result.exitCode != 0) {
+            LOGGER.debug("Background command finished with exit code {}: {}", result.exitCode, result.stderr);
         }
+        LOGGER.debug(result.stdout);
+        return result.stdout;
+    }
 
-        @Override
-        public void onClose(int code, String reason) {
-            LOGGER.trace("Exit with: " + code + " and with reason: " + reason);
-            data.complete(baos.toString());
+    private void storeCommand(String[] cmd) {
+        if (ResourceManager.getEnvironment().isSerializationEnabled()) {
+            String commandToLog = String.format("%s [%s]-[%s]: %s", TestUtils.generateTimestamp(), pod.getMetadata().getNamespace(), pod.getMetadata().getName(), String.join(" ", cmd));
+            DataStorer.storeCommand(commandToLog);
         }
     }
 
-}
\ No newline at end of file
+}
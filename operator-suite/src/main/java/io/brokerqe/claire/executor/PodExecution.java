@@ -0,0 +1,257 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.executor;
+
+import io.brokerqe.claire.CommandResult;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Handle of a single command executed in a pod. Every invocation owns its stdout/stderr buffers,
+ * exit code (reported by the exec status channel) and completion future, so any number of commands
+ * can run in parallel on the same pod (and the same {@link ExecutorOperator}).
+ * As before, stdout of the {@link CommandResult} contains both stdout and stderr of command,
+ * stderr alone is in {@link CommandResult#stderr} and {@link #getStderr()}.
+ */
+public class PodExecution implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PodExecution.class);
+    public static final int EXIT_CODE_UNKNOWN = -1;
+    public static final int EXIT_CODE_TIMEOUT = 124;
+    public static final int EXIT_CODE_CANCELLED = 130;
+
+    private static final ScheduledExecutorService DEADLINE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pod-execution-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String description;
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream combined = new ByteArrayOutputStream();
+    private final OutputStream stdoutStream;
+    private final OutputStream stderrStream;
+    private final CompletableFuture<CommandResult> result = new CompletableFuture<>();
+    private volatile int exitCode = EXIT_CODE_UNKNOWN;
+    private final boolean rawOutput;
+    private volatile ExecWatch execWatch;
+    private ScheduledFuture<?> deadline;
+
+    PodExecution(String description, Consumer<String> stdoutLineConsumer, Consumer<String> stderrLineConsumer) {
+        this(description, stdoutLineConsumer, stderrLineConsumer, false);
+    }
+
+    /**
+     * @param rawOutput stdout is read by caller from {@link #getOutput()}, so exec channel is closed only by
+     *                  {@link #await(long)}, {@link #cancel()} or {@link #close()}, not as soon as command exits
+     */
+    PodExecution(String description, Consumer<String> stdoutLineConsumer, Consumer<String> stderrLineConsumer, boolean rawOutput) {
+        this.description = description;
+        this.rawOutput = rawOutput;
+        this.stdoutStream = createStream(stdout, stdoutLineConsumer);
+        this.stderrStream = createStream(stderr, stderrLineConsumer);
+    }
+
+    private OutputStream createStream(ByteArrayOutputStream buffer, Consumer<String> lineConsumer) {
+        OutputStream stream = new TeeOutputStream(buffer, combined);
+        return lineConsumer == null ? stream : new TeeOutputStream(stream, new LineConsumerOutputStream(lineConsumer));
+    }
+
+    OutputStream getStdoutStream() {
+        return stdoutStream;
+    }
+
+    OutputStream getStderrStream() {
+        return stderrStream;
+    }
+
+    ExecListener getListener() {
+        return new ExecListener() {
+            @Override
+            public void onOpen() {
+                LOGGER.trace("[{}] Opened executor client, waiting for data...", description);
+            }
+
+            @Override
+            public void onFailure(Throwable t, Response failureResponse) {
+                LOGGER.error("[{}] Failed with {} message {}", description, t.getCause(), t.getMessage());
+                result.completeExceptionally(t);
+                cancelDeadline();
+            }
+
+            @Override
+            public void onExit(int code, Status status) {
+                LOGGER.trace("[{}] Exit code {} with status {}", description, code, status == null ? null : status.getMessage());
+                exitCode = code;
+                if (!rawOutput) {
+                    // status channel comes after all output, raw stdout is completed only when caller closed its pipe
+                    complete(code, null);
+                }
+            }
+
+            @Override
+            public void onClose(int code, String reason) {
+                LOGGER.trace("[{}] Closed with: {} and with reason: {}", description, code, reason);
+                complete(exitCode, null);
+            }
+        };
+    }
+
+    void start(ExecWatch execWatch, long deadlineMs) {
+        this.execWatch = execWatch;
+        if (result.isDone() && !rawOutput) {
+            // command finished before its watch was handed over
+            closeWatch();
+        }
+        if (deadlineMs > 0 && !result.isDone()) {
+            deadline = DEADLINE_SCHEDULER.schedule(() -> {
+                LOGGER.warn("[{}] Command execution timed out after {} ms", description, deadlineMs);
+                terminate(EXIT_CODE_TIMEOUT, "Timeout after " + deadlineMs + "ms");
+            }, deadlineMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void complete(int code, String extraError) {
+        if (result.isDone()) {
+            return;
+        }
+        closeQuietly(stdoutStream);
+        closeQuietly(stderrStream);
+        String errorOutput = stderr.toString(StandardCharsets.UTF_8);
+        if (extraError != null) {
+            errorOutput = errorOutput.isEmpty() ? extraError : errorOutput + "\n" + extraError;
+        }
+        result.complete(new CommandResult(code, combined.toString(StandardCharsets.UTF_8), errorOutput));
+        cancelDeadline();
+        if (!rawOutput) {
+            closeWatch();
+        }
+    }
+
+    private void terminate(int code, String reason) {
+        complete(code, reason);
+        closeWatch();
+    }
+
+    /**
+     * Closing of exec watch is idempotent, so it is called on every path which finishes command.
+     */
+    private void closeWatch() {
+        ExecWatch watch = execWatch;
+        if (watch != null) {
+            watch.close();
+        }
+    }
+
+    private void cancelDeadline() {
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+    }
+
+    private static void closeQuietly(OutputStream stream) {
+        try {
+            stream.close();
+        } catch (Exception e) {
+            LOGGER.trace("Unable to close output stream {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return future completed once command finishes, is cancelled or reaches its deadline
+     */
+    public CompletableFuture<CommandResult> completion() {
+        return result;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Wait for command to finish. If it does not finish in {@code timeoutMs}, command is cancelled
+     * and result with {@link #EXIT_CODE_TIMEOUT} is returned.
+     */
+    public CommandResult await(long timeoutMs) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("[{}] Command execution timed out after {} ms", description, timeoutMs);
+            terminate(EXIT_CODE_TIMEOUT, "Timeout after " + timeoutMs + "ms");
+            return result.join();
+        } catch (ExecutionException e) {
+            LOGGER.error("[{}] Execution failed while running command", description, e.getCause());
+            return new CommandResult(1, combined.toString(StandardCharsets.UTF_8), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("[{}] Execution interrupted", description, e);
+            terminate(EXIT_CODE_CANCELLED, "Interrupted");
+            return result.join();
+        } finally {
+            closeWatch();
+        }
+    }
+
+    /**
+     * Stop waiting for command and close exec channel. Remote process is not guaranteed to be killed
+     * (depends on whether it reacts on closed stdin/tty).
+     */
+    public void cancel() {
+        LOGGER.debug("[{}] Cancelling command execution", description);
+        terminate(EXIT_CODE_CANCELLED, "Cancelled");
+    }
+
+    /**
+     * @return stdin of command, available only for commands started by {@link ExecutorOperator#executeWithInput}
+     */
+    public OutputStream getInput() {
+        return execWatch.getInput();
+    }
+
+    /**
+     * @return raw stdout of command, available only for commands started by {@link ExecutorOperator#executeWithOutput}
+     */
+    public InputStream getOutput() {
+        return execWatch.getOutput();
+    }
+
+    /**
+     * @return stdout printed so far
+     */
+    public String getStdout() {
+        return stdout.toString(StandardCharsets.UTF_8);
+    }
+
+    public String getStderr() {
+        return stderr.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        if (isDone()) {
+            closeWatch();
+        } else {
+            cancel();
+        }
+    }
+}
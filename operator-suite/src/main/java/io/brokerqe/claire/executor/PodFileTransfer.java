@@ -0,0 +1,228 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.executor;
+
+import io.brokerqe.claire.CommandResult;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk file transfer between host and pod. Files are streamed as one (optionally gzipped) tar archive
+ * over a single exec channel in each direction, so whole directory trees move in one round trip.
+ * Requires {@code tar} (and {@code gzip} for compression) in the pod.
+ */
+public class PodFileTransfer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PodFileTransfer.class);
+    private static final long PROGRESS_LOG_BYTES = 64L * 1024 * 1024;
+
+    private final Pod pod;
+    private final boolean compress;
+    private final long deadlineMs;
+
+    public PodFileTransfer(Pod pod, boolean compress) {
+        this(pod, compress, Constants.DURATION_5_MINUTES);
+    }
+
+    public PodFileTransfer(Pod pod, boolean compress, long deadlineMs) {
+        this.pod = pod;
+        this.compress = compress;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Upload files and directory trees into {@code podDestinationDir}. Every local path keeps its name,
+     * directories are uploaded recursively.
+     */
+    public TransferStats upload(List<Path> localPaths, String podDestinationDir) {
+        return upload(localPaths, null, podDestinationDir);
+    }
+
+    /**
+     * Upload single file into pod under different name.
+     */
+    public TransferStats uploadFile(Path localFile, String podDestinationPath) {
+        Path podPath = Path.of(podDestinationPath);
+        return upload(List.of(localFile), podPath.getFileName().toString(), podPath.getParent().toString());
+    }
+
+    private TransferStats upload(List<Path> localPaths, String singleFileName, String podDestinationDir) {
+        String tarCommand = String.format("mkdir -p '%s' && tar -x%sf - -C '%s'", podDestinationDir, compress ? "z" : "", podDestinationDir);
+        LOGGER.debug("[{}] Uploading {} into {}", pod.getMetadata().getName(), localPaths, podDestinationDir);
+        TransferStats stats = new TransferStats("upload");
+        PodExecution execution = new ExecutorOperator(pod).executeWithInput(deadlineMs, "sh", "-c", tarCommand);
+        try (CountingOutputStream wireStream = new CountingOutputStream(execution.getInput());
+             OutputStream archiveStream = compress ? new GzipCompressorOutputStream(wireStream) : wireStream;
+             TarArchiveOutputStream tarStream = new TarArchiveOutputStream(archiveStream)) {
+            tarStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tarStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (Path localPath : localPaths) {
+                Path baseDir = localPath.toAbsolutePath().getParent();
+                for (Path path : listTree(localPath)) {
+                    String entryName = singleFileName != null ? singleFileName : baseDir.relativize(path.toAbsolutePath()).toString();
+                    TarArchiveEntry entry = tarStream.createArchiveEntry(path, entryName);
+                    tarStream.putArchiveEntry(entry);
+                    if (Files.isRegularFile(path)) {
+                        stats.addFile(Files.copy(path, tarStream));
+                    }
+                    tarStream.closeArchiveEntry();
+                    stats.logProgress(wireStream.getByteCount());
+                }
+            }
+            tarStream.finish();
+            // gzip trailer is written only on finish, count wire bytes once whole archive went through
+            if (archiveStream instanceof GzipCompressorOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            archiveStream.flush();
+            stats.setWireBytes(wireStream.getByteCount());
+        } catch (IOException e) {
+            execution.cancel();
+            String errMsg = String.format("[%s] Unable to upload %s into %s: %s", pod.getMetadata().getName(), localPaths, podDestinationDir, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        checkResult(execution.await(deadlineMs), "upload into " + podDestinationDir);
+        return stats.finish(pod);
+    }
+
+    /**
+     * Download {@code podSourcePath} (file or directory) into {@code localDestinationDir}, keeping its name.
+     */
+    public TransferStats download(String podSourcePath, Path localDestinationDir) {
+        Path sourcePath = Path.of(podSourcePath);
+        return download(sourcePath.getParent().toString(), List.of(sourcePath.getFileName().toString()), localDestinationDir);
+    }
+
+    /**
+     * Download selected files/directories of {@code podSourceDir} into {@code localDestinationDir}.
+     */
+    public TransferStats download(String podSourceDir, List<String> names, Path localDestinationDir) {
+        String quotedNames = names.stream().map(name -> "'" + name + "'").collect(Collectors.joining(" "));
+        String tarCommand = String.format("tar -c%sf - -C '%s' %s", compress ? "z" : "", podSourceDir, quotedNames);
+        LOGGER.debug("[{}] Downloading {} from {} into {}", pod.getMetadata().getName(), names, podSourceDir, localDestinationDir);
+        TransferStats stats = new TransferStats("download");
+        PodExecution execution = new ExecutorOperator(pod).executeWithOutput(deadlineMs, "sh", "-c", tarCommand);
+        Path destination = localDestinationDir.toAbsolutePath().normalize();
+        try (BoundedInputStream wireStream = BoundedInputStream.builder().setInputStream(execution.getOutput()).get();
+             InputStream archiveStream = compress ? new GzipCompressorInputStream(wireStream) : wireStream;
+             TarArchiveInputStream tarStream = new TarArchiveInputStream(archiveStream)) {
+            Files.createDirectories(destination);
+            TarArchiveEntry entry;
+            while ((entry = tarStream.getNextEntry()) != null) {
+                Path target = destination.resolve(entry.getName()).normalize();
+                if (!target.startsWith(destination)) {
+                    throw new IOException("Archive entry outside of destination directory " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else if (entry.isFile()) {
+                    Files.createDirectories(target.getParent());
+                    stats.addFile(Files.copy(tarStream, target, StandardCopyOption.REPLACE_EXISTING));
+                }
+                stats.logProgress(wireStream.getCount());
+            }
+            stats.setWireBytes(wireStream.getCount());
+        } catch (IOException e) {
+            execution.cancel();
+            String errMsg = String.format("[%s] Unable to download %s from %s: %s", pod.getMetadata().getName(), names, podSourceDir, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        checkResult(execution.await(deadlineMs), "download from " + podSourceDir);
+        return stats.finish(pod);
+    }
+
+    private static List<Path> listTree(Path localPath) throws IOException {
+        try (Stream<Path> tree = Files.walk(localPath)) {
+            return tree.sorted().toList();
+        }
+    }
+
+    private void checkResult(CommandResult result, String action) {
+        if (result.exitCode != 0) {
+            String errMsg = String.format("[%s] Tar %s failed with exit code %d: %s", pod.getMetadata().getName(), action, result.exitCode, result.stderr);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+    }
+
+    public static class TransferStats {
+        private final String direction;
+        private final long startTime = System.currentTimeMillis();
+        private long files;
+        private long bytes;
+        private long wireBytes;
+        private long durationMs;
+        private long nextProgressLog = PROGRESS_LOG_BYTES;
+
+        TransferStats(String direction) {
+            this.direction = direction;
+        }
+
+        void addFile(long size) {
+            files++;
+            bytes += size;
+        }
+
+        void setWireBytes(long wireBytes) {
+            this.wireBytes = wireBytes;
+        }
+
+        void logProgress(long transferredBytes) {
+            if (transferredBytes >= nextProgressLog) {
+                LOGGER.debug("[{}] {} files, {} bytes ({} on wire) so far", direction, files, bytes, transferredBytes);
+                nextProgressLog = transferredBytes + PROGRESS_LOG_BYTES;
+            }
+        }
+
+        TransferStats finish(Pod pod) {
+            durationMs = System.currentTimeMillis() - startTime;
+            LOGGER.info("[{}] Finished {} of {} files, {} bytes ({} on wire) in {}ms ({} MB/s)",
+                    pod.getMetadata().getName(), direction, files, bytes, wireBytes, durationMs, String.format("%.2f", getThroughputMBps()));
+            return this;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getWireBytes() {
+            return wireBytes;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public double getThroughputMBps() {
+            return durationMs == 0 ? 0 : bytes / 1024.0 / 1024.0 / (durationMs / 1000.0);
+        }
+    }
+}
@@ -4,6 +4,8 @@
  */
 package io.brokerqe.claire.helpers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.EnvironmentOperator;
 import io.brokerqe.claire.ResourceManager;
@@ -14,23 +16,78 @@ import org.junit.jupiter.api.TestInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Journals deployed resources and executed commands of each test. Callers only snapshot the resource as json
+ * and enqueue it; a background writer appends it to per-test compressed stream (ndjson or yaml documents),
+ * indexes it in {@code manifest.ndjson} and flushes the streams periodically.
+ * Call {@link #flush()} at the end of every test, so nothing is lost when test fails or JVM exits.
+ * <pre>
+ * serialization-dump/ClassName/testMethod/
+ *   resources.yaml.gz   - all resources of test, read by zcat
+ *   manifest.ndjson     - seq, timestamp, kind, namespace, name, uncompressed offset and length of each resource
+ *   commands.log        - executed commands
+ * </pre>
+ */
 public class DataStorer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DataStorer.class);
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long FLUSH_INTERVAL = Constants.DURATION_5_SECONDS;
+    private static final long ENQUEUE_TIMEOUT = Constants.DURATION_10_SECONDS;
+    private static final String RESOURCES_FILE = "resources";
+    private static final String MANIFEST_FILE = "manifest.ndjson";
+    private static final String COMMANDS_FILE = "commands.log";
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
     private static String yamlDirectory = null;
     private static EnvironmentOperator environmentOperator = ResourceManager.getEnvironment();
     private static SerializationFormat dumpFormat;
+    private static BlockingQueue<Entry> queue;
+    private static JournalWriter writer;
+    private static Thread writerThread;
 
-    private static void initializeDumper() {
+    private sealed interface Entry permits ResourceEntry, CommandEntry, Barrier { }
+    private record ResourceEntry(String testDir, String timestamp, String kind, String namespace, String name, String json) implements Entry { }
+    private record CommandEntry(String testDir, String command) implements Entry { }
+    private record Barrier(CountDownLatch done) implements Entry { }
+
+    private static synchronized void initializeDumper() {
+        if (queue != null) {
+            return;
+        }
         if (environmentOperator == null) {
             environmentOperator = ResourceManager.getEnvironment();
         }
         yamlDirectory = environmentOperator.getSerializationDirectory();
         TestUtils.createDirectory(yamlDirectory);
         dumpFormat = environmentOperator.getSerializationFormat();
+        queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        writer = new JournalWriter();
+        writerThread = new Thread(writer, "claire-data-storer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(DataStorer::flush, "claire-data-storer-shutdown"));
     }
 
     public static void dumpResourceToFile(List<HasMetadata> objects) {
@@ -38,45 +95,80 @@ public class DataStorer {
             dumpResourceToFile(object);
         }
     }
+
     public static void dumpResourceToFile(HasMetadata object) {
         if (!environmentOperator.isSerializationEnabled()) {
             return;
         }
-        if (yamlDirectory == null) {
-            initializeDumper();
-        }
-        String testDirName = getTestDirName();
-        TestUtils.createDirectory(testDirName);
-        String objectFilename = testDirName + Constants.FILE_SEPARATOR + object.getKind() + "_" + object.getMetadata().getName() + "_" +
-                TestUtils.generateTimestamp() + "." + dumpFormat.toString().toLowerCase(Locale.ROOT);
-        LOGGER.debug("Dumping object {} to {}", object.getMetadata().getName(), objectFilename);
+        initializeDumper();
+        // snapshot has to be taken now, tests often modify the same object later on
+        String json = Serialization.asJson(object);
+        LOGGER.debug("Dumping object {} {}", object.getKind(), object.getMetadata().getName());
+        enqueue(new ResourceEntry(getTestDirName(), TestUtils.generateTimestamp(), object.getKind(),
+                object.getMetadata().getNamespace(), object.getMetadata().getName(), json));
+    }
 
-        if (dumpFormat.equals(SerializationFormat.YAML)) {
-            dumpResourceAsYaml(object, objectFilename);
-        } else if (dumpFormat.equals(SerializationFormat.JSON)) {
-            dumpResourceAsJson(object, objectFilename);
-        } else {
-            LOGGER.error("Unknown serialization format!");
-        }
+    public static void storeCommand(String commandContent) {
+        initializeDumper();
+        LOGGER.debug("Storing command {}", commandContent);
+        enqueue(new CommandEntry(getTestDirName(), commandContent));
     }
 
-    protected static void dumpResourceAsYaml(HasMetadata object, String objectFilename) {
-        String data = Serialization.asYaml(object);
-        TestUtils.createFile(objectFilename, data);
+    /**
+     * Blocks until all already enqueued data are written and closes all opened streams.
+     */
+    public static void flush() {
+        if (queue == null) {
+            return;
+        }
+        Barrier barrier = new Barrier(new CountDownLatch(1));
+        if (!writerThread.isAlive()) {
+            writeDirectly(barrier);
+            return;
+        }
+        enqueue(barrier);
+        try {
+            if (!barrier.done().await(Constants.DURATION_1_MINUTE, TimeUnit.MILLISECONDS)) {
+                LOGGER.error("[DataStorer] Serialized data were not written in time, {} entries still queued", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("[DataStorer] Interrupted while waiting for serialized data to be written");
+        }
     }
 
-    protected static void dumpResourceAsJson(HasMetadata object, String objectFilename) {
-        String data = Serialization.asJson(object);
-        TestUtils.createFile(objectFilename, data);
+    private static void enqueue(Entry entry) {
+        try {
+            // bounded queue - slow disk throttles test instead of eating memory
+            while (writerThread.isAlive()) {
+                if (queue.offer(entry, ENQUEUE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                LOGGER.warn("[DataStorer] Writer did not take any data in {} ms, {} entries queued", ENQUEUE_TIMEOUT, queue.size());
+            }
+            writeDirectly(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("[DataStorer] Interrupted while storing {}", entry.getClass().getSimpleName());
+        }
     }
 
-    public static void storeCommand(String commandContent) {
-        String testDirName = getTestDirName();
-        TestUtils.createDirectory(testDirName);
-        String commandFilename = testDirName + Constants.FILE_SEPARATOR + "commands.log";
-        TestUtils.createDirectory(testDirName);
-        TestUtils.appendToFile(commandFilename, commandContent + Constants.LINE_SEPARATOR);
-        LOGGER.debug("Storing command {} to {}", commandContent, commandFilename);
+    /**
+     * Fallback when writer thread died, so nothing would ever take data from the queue. Caller writes remaining queued
+     * data and its entry by itself.
+     */
+    private static synchronized void writeDirectly(Entry entry) {
+        LOGGER.error("[DataStorer] Writer thread is not running, writing {} queued entries directly", queue.size());
+        List<Entry> entries = new ArrayList<>();
+        queue.drainTo(entries);
+        entries.add(entry);
+        for (Entry remaining : entries) {
+            try {
+                writer.process(remaining);
+            } catch (RuntimeException e) {
+                LOGGER.error("[DataStorer] Unable to store {}: {}", remaining.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
     }
 
     private static String getTestDirName() {
@@ -90,4 +182,183 @@ public class DataStorer {
         }
         return testDirName;
     }
+
+    /**
+     * Opened append-only streams of one test directory.
+     */
+    private static final class TestStreams {
+        private final String resourcesFileName = RESOURCES_FILE + "." + dumpFormat.toString().toLowerCase(Locale.ROOT) + ".gz";
+        private final String testDir;
+        private OutputStream resources;
+        private OutputStream manifest;
+        private OutputStream commands;
+        private long resourcesOffset;
+        private long sequence;
+
+        private TestStreams(String testDir) {
+            this.testDir = testDir;
+        }
+
+        private void writeResource(ResourceEntry entry) throws IOException {
+            if (resources == null) {
+                String resourcesPath = testDir + Constants.FILE_SEPARATOR + resourcesFileName;
+                if (sequence == 0) {
+                    resourcesOffset = getUncompressedSize(resourcesPath);
+                }
+                // syncFlush makes periodically flushed data readable even if stream is never closed
+                resources = new GZIPOutputStream(new FileOutputStream(resourcesPath, true), 64 * 1024, true);
+                manifest = new BufferedOutputStream(new FileOutputStream(testDir + Constants.FILE_SEPARATOR + MANIFEST_FILE, true));
+            }
+            String document = dumpFormat == SerializationFormat.YAML
+                    ? Serialization.asYaml(JSON_MAPPER.readTree(entry.json()))
+                    : entry.json() + Constants.LINE_SEPARATOR;
+            if (dumpFormat == SerializationFormat.YAML && !document.startsWith("---")) {
+                document = "---" + Constants.LINE_SEPARATOR + document;
+            }
+            byte[] data = document.getBytes(StandardCharsets.UTF_8);
+            resources.write(data);
+
+            ObjectNode index = JSON_MAPPER.createObjectNode()
+                    .put("seq", sequence++)
+                    .put("timestamp", entry.timestamp())
+                    .put("kind", entry.kind())
+                    .put("namespace", entry.namespace())
+                    .put("name", entry.name())
+                    .put("file", resourcesFileName)
+                    .put("offset", resourcesOffset)
+                    .put("length", data.length);
+            manifest.write((JSON_MAPPER.writeValueAsString(index) + Constants.LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+            resourcesOffset += data.length;
+        }
+
+        /**
+         * Offsets continue in stream left by previous run in the same dump directory.
+         */
+        private long getUncompressedSize(String resourcesPath) throws IOException {
+            File resourcesFile = new File(resourcesPath);
+            if (!resourcesFile.exists()) {
+                return 0;
+            }
+            try (InputStream is = new GZIPInputStream(new FileInputStream(resourcesFile))) {
+                return is.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+
+        private void writeCommand(CommandEntry entry) throws IOException {
+            if (commands == null) {
+                commands = new BufferedOutputStream(new FileOutputStream(testDir + Constants.FILE_SEPARATOR + COMMANDS_FILE, true));
+            }
+            commands.write((entry.command() + Constants.LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void flush() throws IOException {
+            for (OutputStream stream : new OutputStream[] {resources, manifest, commands}) {
+                if (stream != null) {
+                    stream.flush();
+                }
+            }
+        }
+
+        /**
+         * Closed streams are reopened in append mode, gzip stream then simply continues with next gzip member.
+         */
+        private void close() throws IOException {
+            for (OutputStream stream : new OutputStream[] {resources, manifest, commands}) {
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+            resources = null;
+            manifest = null;
+            commands = null;
+        }
+    }
+
+    /**
+     * Single consumer of the queue, only this thread touches files and directories (unless it dies, see
+     * {@link #writeDirectly(Entry)}).
+     */
+    private static final class JournalWriter implements Runnable {
+        // directory cache, each test directory is created only once, keeps also manifest position of closed streams
+        private final Map<String, TestStreams> streams = new HashMap<>();
+        private long lastFlush = System.currentTimeMillis();
+
+        @Override
+        public void run() {
+            while (true) {
+                Entry entry;
+                try {
+                    entry = queue.poll(FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    LOGGER.warn("[DataStorer] Writer interrupted, closing streams");
+                    closeAll();
+                    return;
+                }
+                try {
+                    if (entry != null) {
+                        process(entry);
+                    }
+                    if (System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL) {
+                        flushAll();
+                    }
+                } catch (RuntimeException e) {
+                    // e.g. unable to create test directory or to serialize resource, writer has to keep running
+                    LOGGER.error("[DataStorer] Unable to store {}: {}", entry == null ? "data" : entry.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        private void process(Entry entry) {
+            if (entry instanceof Barrier barrier) {
+                try {
+                    closeAll();
+                } finally {
+                    barrier.done().countDown();
+                }
+            } else {
+                write(entry);
+            }
+        }
+
+        private void write(Entry entry) {
+            String testDir = entry instanceof ResourceEntry resource ? resource.testDir() : ((CommandEntry) entry).testDir();
+            try {
+                TestStreams testStreams = streams.get(testDir);
+                if (testStreams == null) {
+                    TestUtils.createDirectory(testDir);
+                    testStreams = new TestStreams(testDir);
+                    streams.put(testDir, testStreams);
+                }
+                if (entry instanceof ResourceEntry resource) {
+                    testStreams.writeResource(resource);
+                } else {
+                    testStreams.writeCommand((CommandEntry) entry);
+                }
+            } catch (IOException e) {
+                LOGGER.error("[DataStorer] Unable to store data into {}: {}", testDir, e.getMessage());
+            }
+        }
+
+        private void flushAll() {
+            for (TestStreams testStreams : streams.values()) {
+                try {
+                    testStreams.flush();
+                } catch (IOException e) {
+                    LOGGER.error("[DataStorer] Unable to flush data of {}: {}", testStreams.testDir, e.getMessage());
+                }
+            }
+            lastFlush = System.currentTimeMillis();
+        }
+
+        private void closeAll() {
+            for (TestStreams testStreams : streams.values()) {
+                try {
+                    testStreams.close();
+                } catch (IOException e) {
+                    LOGGER.error("[DataStorer] Unable to close data of {}: {}", testStreams.testDir, e.getMessage());
+                }
+            }
+            lastFlush = System.currentTimeMillis();
+        }
+    }
 }
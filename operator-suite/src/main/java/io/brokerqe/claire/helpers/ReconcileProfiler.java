@@ -0,0 +1,326 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.helpers;
+
+import io.amq.broker.v1beta1.ActiveMQArtemis;
+import io.amq.broker.v1beta1.activemqartemisstatus.Conditions;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.KubeClient;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.metrics.ResultStore;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetStatus;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Timestamps phases of reconciliation of a single ActiveMQArtemis change from watch events of the CR, its StatefulSet
+ * and broker pods, so the time operator needs for each step is visible, not only that the change eventually happened.
+ * <pre>
+ * try (ReconcileProfiler profiler = ReconcileProfiler.start(namespace, broker, "acceptors", true)) {
+ *     profiler.changeSubmitted();
+ *     broker = ResourceManager.getArtemisClient().inNamespace(namespace).resource(broker).update();
+ *     ReconcileProfiler.Timeline timeline = profiler.awaitReconciled(Constants.DURATION_5_MINUTES);
+ * }
+ * </pre>
+ * Change is reconciled when Ready condition is true for the new generation and StatefulSet has all replicas updated and
+ * ready. Events are offsets in milliseconds from {@link #changeSubmitted()}.
+ */
+public class ReconcileProfiler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReconcileProfiler.class);
+
+    public enum Phase {
+        CHANGE_SUBMITTED,
+        GENERATION_BUMPED,
+        GENERATION_OBSERVED,
+        STATEFULSET_UPDATED,
+        ROLLOUT_STARTED,
+        POD_DELETING,
+        POD_CREATED,
+        POD_READY,
+        CONDITION,
+        RECONCILED
+    }
+
+    public record Event(Phase phase, String detail, long offsetMs) { }
+
+    /**
+     * @param submittedTimeMs epoch time of the change submission, events are relative to it
+     */
+    public record Timeline(String change, String namespace, String broker, Map<String, String> parameters,
+                           long submittedTimeMs, List<Event> events) {
+
+        /**
+         * @return offset of first event of the phase, -1 if it did not happen
+         */
+        public long getOffset(Phase phase) {
+            return events.stream().filter(event -> event.phase() == phase).mapToLong(Event::offsetMs).findFirst().orElse(-1);
+        }
+    }
+
+    private final String namespace;
+    private final String brokerName;
+    private final String statefulSetName;
+    private final String change;
+    private final boolean expectStatefulSetUpdate;
+    private final long initialGeneration;
+    private final long initialStatefulSetGeneration;
+    private final Set<String> initialPodUids = new HashSet<>();
+    private final List<Watch> watches = new ArrayList<>();
+    private final List<Event> events = new ArrayList<>();
+    private final Set<String> recorded = new HashSet<>();
+    private final Map<String, String> conditionStates = new HashMap<>();
+    private long startTimeMs;
+    private long submittedTimeMs = -1;
+    private long targetGeneration = -1;
+    private ActiveMQArtemis lastBroker;
+    private StatefulSet lastStatefulSet;
+
+    private ReconcileProfiler(String namespace, ActiveMQArtemis broker, String change, boolean expectStatefulSetUpdate) {
+        this.namespace = namespace;
+        this.expectStatefulSetUpdate = expectStatefulSetUpdate;
+        this.brokerName = broker.getMetadata().getName();
+        this.statefulSetName = brokerName + "-ss";
+        this.change = change;
+        KubeClient kubeClient = ResourceManager.getKubeClient();
+        ActiveMQArtemis current = ResourceManager.getArtemisClient().inNamespace(namespace).withName(brokerName).get();
+        initialGeneration = getGeneration(current);
+        StatefulSet statefulSet = kubeClient.getStatefulSet(namespace, statefulSetName);
+        initialStatefulSetGeneration = getGeneration(statefulSet);
+        kubeClient.listPodsByPrefixName(namespace, statefulSetName).forEach(pod -> initialPodUids.add(pod.getMetadata().getUid()));
+        lastBroker = current;
+        lastStatefulSet = statefulSet;
+        if (current != null && current.getStatus() != null && current.getStatus().getConditions() != null) {
+            current.getStatus().getConditions().forEach(condition -> conditionStates.put(condition.getType(), describe(condition)));
+        }
+    }
+
+    /**
+     * Start watching broker CR, its StatefulSet and pods. Has to be called before the change is submitted.
+     * @param change short description of the change, e.g. acceptors, size 1->3
+     * @param expectStatefulSetUpdate change modifies StatefulSet (size, pod template), so reconcile is not finished until
+     *                                the updated StatefulSet is rolled out; old StatefulSet is rolled out already
+     */
+    public static ReconcileProfiler start(String namespace, ActiveMQArtemis broker, String change, boolean expectStatefulSetUpdate) {
+        ReconcileProfiler profiler = new ReconcileProfiler(namespace, broker, change, expectStatefulSetUpdate);
+        profiler.startWatches();
+        return profiler;
+    }
+
+    private void startWatches() {
+        startTimeMs = System.currentTimeMillis();
+        KubeClient kubeClient = ResourceManager.getKubeClient();
+        watches.add(ResourceManager.getArtemisClient().inNamespace(namespace).withName(brokerName).watch(watcher(this::onBroker)));
+        watches.add(kubeClient.getKubernetesClient().apps().statefulSets().inNamespace(namespace).withName(statefulSetName)
+                .watch(watcher(this::onStatefulSet)));
+        watches.add(kubeClient.getKubernetesClient().pods().inNamespace(namespace).watch(new Watcher<>() {
+            @Override
+            public void eventReceived(Action action, Pod pod) {
+                if (pod.getMetadata().getName().startsWith(statefulSetName + "-")) {
+                    onPod(action, pod);
+                }
+            }
+
+            @Override
+            public void onClose(WatcherException cause) {
+                onWatchClosed(cause);
+            }
+        }));
+        LOGGER.debug("[{}] Profiling reconcile of {} change of {} from generation {}", namespace, change, brokerName, initialGeneration);
+    }
+
+    private <T extends HasMetadata> Watcher<T> watcher(Consumer<T> handler) {
+        return new Watcher<>() {
+            @Override
+            public void eventReceived(Action action, T resource) {
+                if (action != Action.DELETED && action != Action.ERROR) {
+                    handler.accept(resource);
+                }
+            }
+
+            @Override
+            public void onClose(WatcherException cause) {
+                onWatchClosed(cause);
+            }
+        };
+    }
+
+    private void onWatchClosed(WatcherException cause) {
+        if (cause != null) {
+            LOGGER.warn("[{}] Reconcile profiler watch of {} closed: {}", namespace, brokerName, cause.getMessage());
+        }
+    }
+
+    /**
+     * Mark the start of the change, call right before the CR is updated.
+     */
+    public synchronized void changeSubmitted() {
+        submittedTimeMs = System.currentTimeMillis();
+        record(Phase.CHANGE_SUBMITTED, change, submittedTimeMs);
+        checkReconciled(submittedTimeMs);
+    }
+
+    private synchronized void onBroker(ActiveMQArtemis broker) {
+        long now = System.currentTimeMillis();
+        lastBroker = broker;
+        long generation = getGeneration(broker);
+        if (generation > initialGeneration) {
+            targetGeneration = generation;
+            recordOnce(Phase.GENERATION_BUMPED, String.valueOf(generation), now);
+        }
+        if (broker.getStatus() == null || broker.getStatus().getConditions() == null) {
+            return;
+        }
+        for (Conditions condition : broker.getStatus().getConditions()) {
+            if (targetGeneration > 0 && condition.getObservedGeneration() != null && condition.getObservedGeneration() >= targetGeneration) {
+                recordOnce(Phase.GENERATION_OBSERVED, String.valueOf(condition.getObservedGeneration()), now);
+            }
+            String state = describe(condition);
+            if (!state.equals(conditionStates.put(condition.getType(), state))) {
+                record(Phase.CONDITION, condition.getType() + "=" + state, now);
+            }
+        }
+        checkReconciled(now);
+    }
+
+    private synchronized void onStatefulSet(StatefulSet statefulSet) {
+        long now = System.currentTimeMillis();
+        lastStatefulSet = statefulSet;
+        if (getGeneration(statefulSet) > initialStatefulSetGeneration) {
+            recordOnce(Phase.STATEFULSET_UPDATED, String.valueOf(getGeneration(statefulSet)), now);
+        }
+        checkReconciled(now);
+    }
+
+    private synchronized void onPod(Watcher.Action action, Pod pod) {
+        long now = System.currentTimeMillis();
+        String name = pod.getMetadata().getName();
+        String uid = pod.getMetadata().getUid();
+        if (initialPodUids.contains(uid)) {
+            if (action == Watcher.Action.DELETED || pod.getMetadata().getDeletionTimestamp() != null) {
+                recordOnce(Phase.ROLLOUT_STARTED, name, now);
+                recordOnce(Phase.POD_DELETING, name, now);
+            }
+        } else if (action != Watcher.Action.DELETED) {
+            recordOnce(Phase.ROLLOUT_STARTED, name, now);
+            recordOnce(Phase.POD_CREATED, name, now);
+            if (isReady(pod)) {
+                recordOnce(Phase.POD_READY, name, now);
+            }
+        }
+    }
+
+    /**
+     * Ready condition is true for the new generation and StatefulSet rolled out all its replicas.
+     */
+    private void checkReconciled(long timeMs) {
+        if (submittedTimeMs < 0 || targetGeneration < 0 || lastBroker == null || lastBroker.getStatus() == null
+                || lastBroker.getStatus().getConditions() == null) {
+            return;
+        }
+        boolean ready = lastBroker.getStatus().getConditions().stream().anyMatch(condition ->
+                ArtemisConstants.CONDITION_TYPE_READY.equals(condition.getType())
+                        && ArtemisConstants.CONDITION_TRUE.equals(condition.getStatus().getValue())
+                        && condition.getObservedGeneration() != null && condition.getObservedGeneration() >= targetGeneration);
+        boolean statefulSetUpdated = !expectStatefulSetUpdate || recorded.contains(Phase.STATEFULSET_UPDATED.name());
+        if (ready && statefulSetUpdated && isRolledOut(lastStatefulSet)) {
+            recordOnce(Phase.RECONCILED, String.valueOf(targetGeneration), timeMs);
+        }
+    }
+
+    private boolean isRolledOut(StatefulSet statefulSet) {
+        if (statefulSet == null || statefulSet.getStatus() == null) {
+            return false;
+        }
+        StatefulSetStatus status = statefulSet.getStatus();
+        boolean observed = status.getObservedGeneration() != null && status.getObservedGeneration() >= getGeneration(statefulSet);
+        boolean revisionRolledOut = status.getUpdateRevision() == null || status.getUpdateRevision().equals(status.getCurrentRevision());
+        int replicas = statefulSet.getSpec().getReplicas() == null ? 1 : statefulSet.getSpec().getReplicas();
+        int readyReplicas = status.getReadyReplicas() == null ? 0 : status.getReadyReplicas();
+        int updatedReplicas = status.getUpdatedReplicas() == null ? 0 : status.getUpdatedReplicas();
+        return observed && revisionRolledOut && readyReplicas == replicas && updatedReplicas == replicas;
+    }
+
+    public synchronized boolean isReconciled() {
+        return recorded.contains(Phase.RECONCILED.name());
+    }
+
+    public Timeline awaitReconciled(long timeoutMs) {
+        TestUtils.waitFor(String.format("[%s] %s change of %s to be reconciled", namespace, change, brokerName),
+                Constants.DURATION_500_MILLISECONDS, timeoutMs, this::isReconciled);
+        Timeline timeline = getTimeline(Map.of());
+        LOGGER.info("[{}] {} of {} reconciled: generation observed after {} ms, rollout started after {} ms, reconciled after {} ms",
+                namespace, change, brokerName, timeline.getOffset(Phase.GENERATION_OBSERVED),
+                timeline.getOffset(Phase.ROLLOUT_STARTED), timeline.getOffset(Phase.RECONCILED));
+        return timeline;
+    }
+
+    public synchronized Timeline getTimeline(Map<String, String> parameters) {
+        long base = submittedTimeMs < 0 ? startTimeMs : submittedTimeMs;
+        List<Event> timelineEvents = events.stream()
+                .map(event -> new Event(event.phase(), event.detail(), event.offsetMs() - base))
+                .toList();
+        return new Timeline(change, namespace, brokerName, new TreeMap<>(parameters), base, timelineEvents);
+    }
+
+    public static void appendTimeline(String timelinesFile, Timeline timeline) {
+        ResultStore.append(timelinesFile, timeline);
+    }
+
+    @Override
+    public void close() {
+        for (Watch watch : watches) {
+            watch.close();
+        }
+        watches.clear();
+    }
+
+    // events are stored with absolute time and rebased in getTimeline, as they may come before changeSubmitted
+    private void record(Phase phase, String detail, long timeMs) {
+        LOGGER.debug("[{}] {} {} {}", namespace, brokerName, phase, detail);
+        events.add(new Event(phase, detail, timeMs));
+    }
+
+    private void recordOnce(Phase phase, String detail, long timeMs) {
+        String key = phase == Phase.POD_DELETING || phase == Phase.POD_CREATED || phase == Phase.POD_READY
+                ? phase.name() + detail : phase.name();
+        if (recorded.add(key)) {
+            record(phase, detail, timeMs);
+        }
+    }
+
+    private static String describe(Conditions condition) {
+        return condition.getStatus().getValue() + " (" + condition.getReason() + ")";
+    }
+
+    private static boolean isReady(Pod pod) {
+        return pod.getStatus() != null && pod.getStatus().getConditions() != null && pod.getStatus().getConditions().stream()
+                .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+    }
+
+    private static long getGeneration(HasMetadata resource) {
+        if (resource == null || resource.getMetadata().getGeneration() == null) {
+            return 0;
+        }
+        return resource.getMetadata().getGeneration();
+    }
+}
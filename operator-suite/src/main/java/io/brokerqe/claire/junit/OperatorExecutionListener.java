@@ -6,6 +6,7 @@ package io.brokerqe.claire.junit;
 
 import io.brokerqe.claire.ResourceManager;
 import io.brokerqe.claire.EnvironmentOperator;
+import io.brokerqe.claire.helpers.DataStorer;
 import okhttp3.OkHttpClient;
 import org.junit.platform.launcher.TestPlan;
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@ public class OperatorExecutionListener extends ClaireExecutionListener {
 
     @Override
     public void testPlanExecutionFinished(TestPlan testPlan) {
+        DataStorer.flush();
         if (testEnvironmentOperator.isTeardownEnv()) {
             LOGGER.debug("Teardown environment started");
             ResourceManager.undeployAllResources();
@@ -45,5 +47,6 @@ public class OperatorExecutionListener extends ClaireExecutionListener {
         }
         setupPerformed = false;
         LOGGER.debug("Resetting setupPerformed to 'false'");
+        super.testPlanExecutionFinished(testPlan);
     }
 }
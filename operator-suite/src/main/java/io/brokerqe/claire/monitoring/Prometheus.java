@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.util.HashMap;
@@ -108,23 +109,30 @@ public class Prometheus {
     public HashMap<String, String> getMetrics(int index, String brokerName) {
         try {
             HttpURLConnection con = (HttpURLConnection) TestUtils.makeHttpRequest(getMetricsUrl(index, brokerName), Constants.GET);
-            BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()));
-            String inputLine;
-            HashMap<String, String> result = new HashMap<>();
-            while ((inputLine = in.readLine()) != null) {
-                if (!inputLine.startsWith("#")) {
-                    String[] data = inputLine.split(" ");
-                    result.put(data[0], data[1]);
-                }
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()))) {
+                return parseMetrics(in);
             }
-            in.close();
-            return result;
         } catch (Exception e) {
             LOGGER.info("Failed to retrieve metrics from {}: {}", brokerName, e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Parse metrics in Prometheus text format to map of metric (with labels) to its value, comments are skipped.
+     */
+    public static HashMap<String, String> parseMetrics(BufferedReader in) throws IOException {
+        String inputLine;
+        HashMap<String, String> result = new HashMap<>();
+        while ((inputLine = in.readLine()) != null) {
+            if (!inputLine.startsWith("#")) {
+                String[] data = inputLine.split(" ");
+                result.put(data[0], data[1]);
+            }
+        }
+        return result;
+    }
+
     public String getMetricsUrl(String brokerName) {
         return getMetricsUrl(0, brokerName);
     }
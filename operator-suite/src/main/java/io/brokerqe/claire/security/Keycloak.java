@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -52,64 +53,50 @@ public class Keycloak implements CustomTool {
     protected Map<String, String> admin = new HashMap<>();
     protected Pod keycloakSqlPod;
     protected Pod keycloakPod;
-    protected final String kcadmCmd = "/opt/keycloak/bin/kcadm.sh";
-    public final String realmArtemisLdap = Constants.PROJECT_TEST_DIR + "/resources/keycloak/ldap_realm.json";
+    public final String realmArtemisLdap = Constants.COMMON_TEST_RESOURCES_DIR + "/keycloak/ldap_realm.json";
     protected final String adminUsernameKey = "ADMIN_USERNAME";
     protected final String adminPasswordKey = "ADMIN_PASSWORD";
     protected String deployRealmFilePath;
-    protected String realmsUrl = "http://localhost:8080/auth/admin/realms";
     protected String tokenUrlTemplate = "%s/realms/%s/protocol/openid-connect/token";
-    protected String tmpConfig = "--config /tmp/kcadm.config";
-    protected String kcadmCreateLdap = """
-            %s create %s -r API \
-            -s name="ldap-amq-broker" \
-            -s parentId=%s \
-            -s providerId=ldap \
-            -s providerType=org.keycloak.storage.UserStorageProvider \
-            -s 'config.priority=["1"]' \
-            -s 'config.fullSyncPeriod=["-1"]' \
-            -s 'config.changedSyncPeriod=["-1"]' \
-            -s 'config.cachePolicy=["DEFAULT"]' \
-            -s 'config.batchSizeForSync=["1000"]' \
-            -s 'config.editMode=["READ_ONLY"]' \
-            -s 'config.syncRegistrations=["false"]' \
-            -s 'config.vendor=["ad"]' \
-            -s 'config.usernameLDAPAttribute=["uid"]' \
-            -s 'config.rdnLDAPAttribute=["cn"]' \
-            -s 'config.uuidLDAPAttribute=["uid"]' \
-            -s 'config.userObjectClasses=["inetOrgPerson"]' \
-            -s 'config.connectionUrl=["ldap://openldap:1389"]' \
-            -s 'config.usersDn=["ou=users,dc=example,dc=org"]' \
-            -s 'config.authType=["simple"]' \
-            -s 'config.bindDn=["cn=admin,dc=example,dc=org"]' \
-            -s 'config.bindCredential=["admin"]' \
-            -s 'config.searchScope=["1"]' \
-            -s 'config.useTruststoreSpi=["ldapsOnly"]' \
-            -s 'config.connectionPooling=["true"]' \
-            -s 'config.pagination=["true"]' \
-            -s 'config.allowKerberosAuthentication=["false"]' \
-            -s 'config.debug=["true"]' \
-            -s 'config.useKerberosForPasswordAuthentication=["false"]' \
-            %s
-            """;
-    protected String kcAdmCreateLdapRoleMapper = """
-                %s create realms/%s/components -r API \
-                -s parentId=%s \
-                -s name="ldap-roles" \
-                -s providerId=role-ldap-mapper \
-                -s providerType=org.keycloak.storage.ldap.mappers.LDAPStorageMapper \
-                -s 'config."mode"=[ "READ_ONLY" ]' \
-                -s 'config."membership.attribute.type"=[ "DN" ]' \
-                -s 'config."user.roles.retrieve.strategy"=[ "LOAD_ROLES_BY_MEMBER_ATTRIBUTE" ]' \
-                -s 'config."roles.dn"=[ "ou=users,dc=example,dc=org" ]' \
-                -s 'config."membership.ldap.attribute"=[ "member" ]' \
-                -s 'config."membership.user.ldap.attribute"=[ "uid" ]' \
-                -s 'config."role.name.ldap.attribute"=[ "cn" ]' \
-                -s 'config."memberof.ldap.attribute"=[ "member" ]' \
-                -s 'config."use.realm.roles.mapping"=[ "true" ]' \
-                -s 'config."role.object.classes"=[ "groupOfNames" ]' \
-                %s
-                """;
+    protected KeycloakAdminClient adminClient;
+    protected final Map<String, String> ldapProviderConfig = Map.ofEntries(
+            Map.entry("priority", "1"),
+            Map.entry("fullSyncPeriod", "-1"),
+            Map.entry("changedSyncPeriod", "-1"),
+            Map.entry("cachePolicy", "DEFAULT"),
+            Map.entry("batchSizeForSync", "1000"),
+            Map.entry("editMode", "READ_ONLY"),
+            Map.entry("syncRegistrations", "false"),
+            Map.entry("vendor", "ad"),
+            Map.entry("usernameLDAPAttribute", "uid"),
+            Map.entry("rdnLDAPAttribute", "cn"),
+            Map.entry("uuidLDAPAttribute", "uid"),
+            Map.entry("userObjectClasses", "inetOrgPerson"),
+            Map.entry("connectionUrl", "ldap://openldap:1389"),
+            Map.entry("usersDn", "ou=users,dc=example,dc=org"),
+            Map.entry("authType", "simple"),
+            Map.entry("bindDn", "cn=admin,dc=example,dc=org"),
+            Map.entry("bindCredential", "admin"),
+            Map.entry("searchScope", "1"),
+            Map.entry("useTruststoreSpi", "ldapsOnly"),
+            Map.entry("connectionPooling", "true"),
+            Map.entry("pagination", "true"),
+            Map.entry("allowKerberosAuthentication", "false"),
+            Map.entry("debug", "true"),
+            Map.entry("useKerberosForPasswordAuthentication", "false")
+    );
+    protected final Map<String, String> ldapRoleMapperConfig = Map.of(
+            "mode", "READ_ONLY",
+            "membership.attribute.type", "DN",
+            "user.roles.retrieve.strategy", "LOAD_ROLES_BY_MEMBER_ATTRIBUTE",
+            "roles.dn", "ou=users,dc=example,dc=org",
+            "membership.ldap.attribute", "member",
+            "membership.user.ldap.attribute", "uid",
+            "role.name.ldap.attribute", "cn",
+            "memberof.ldap.attribute", "member",
+            "use.realm.roles.mapping", "true",
+            "role.object.classes", "groupOfNames"
+    );
 
     public Keycloak(EnvironmentOperator testEnvironmentOperator, KubeClient kubeClient, String namespace) {
         this.testEnvironmentOperator = testEnvironmentOperator;
@@ -263,95 +250,55 @@ public class Keycloak implements CustomTool {
         admin.put(adminPasswordKey, TestUtils.getDecodedBase64String(adminPassword.get(adminPasswordKey)));
 
         LOGGER.info("[{}] [KC] Using login credentials {}/{}", namespace, admin.get(adminUsernameKey), admin.get(adminPasswordKey));
-        String loginCommand = String.format("%s config credentials --server http://localhost:8080 --realm master --user %s --password %s %s",
-                getKcadmCmd(), admin.get(adminUsernameKey), admin.get(adminPasswordKey), tmpConfig);
         keycloakPod = kubeClient.getFirstPodByPrefixName(namespace, "keycloak-0");
-        executeKeycloakCmd(loginCommand);
+        adminClient = new KeycloakAdminClient(getAuthUri(), admin.get(adminUsernameKey), admin.get(adminPasswordKey));
     }
+
+    public KeycloakAdminClient getAdminClient() {
+        return adminClient;
+    }
+
     public void importRealm(String realmName, String realmFilePath) {
         LOGGER.debug("[{}] [KC] Importing realm {} from file {}", namespace, realmName, realmFilePath);
-        String realmPodFilePath = "/tmp/" + realmName + "_realm.json";
-        kubeClient.uploadFileToPod(namespace, keycloakPod, realmFilePath, realmPodFilePath);
-
-        String createImportRealm = String.format("%s create realms -s realm=%s -s enabled=true %s && " +
-                "%s create partialImport -r %s -s ifResourceExists=SKIP -o -f %s %s", getKcadmCmd(), realmName, tmpConfig, getKcadmCmd(), realmName, realmPodFilePath, tmpConfig);
-        executeKeycloakCmd(createImportRealm);
+        KeycloakAdminClient.PartialImportResult result = adminClient.importRealm(realmName, TestUtils.readFileContent(new File(realmFilePath)));
+        LOGGER.debug("[{}] [KC] Imported realm {}: {}", namespace, realmName, result);
     }
 
     public void setupLdapModule(String realmName) {
         LOGGER.info("[{}] [KC] Setup LDAP Modules in realm {}", namespace, realmName);
-        String kcAdmParentId = String.format("%s get realms/%s --fields id --format csv --noquotes %s", getKcadmCmd(), realmName, tmpConfig);
-        String parentId = executeKeycloakCmd(kcAdmParentId).replace("\n", "");
-
-        String result = executeKeycloakCmd(String.format(kcadmCreateLdap, getKcadmCmd(), "realms/" + realmName + "/components", parentId, tmpConfig));
-        String ldapId = result.substring(result.indexOf("'") + 1, result.lastIndexOf("'"));
+        String ldapId = adminClient.createLdapProvider(realmName, "ldap-amq-broker", ldapProviderConfig);
 
         LOGGER.info("[{}] [KC] Create LDAP role mapper into realm {}", namespace, realmName);
-        executeKeycloakCmd(String.format(kcAdmCreateLdapRoleMapper, getKcadmCmd(), realmName, ldapId, tmpConfig));
+        adminClient.createLdapMapper(realmName, ldapId, "ldap-roles", "role-ldap-mapper", ldapRoleMapperConfig);
 
         LOGGER.info("[{}] [KC] Import LDAP users into realm {}", namespace, realmName);
-        String syncUsersCmd = String.format("%s create realms/%s/user-storage/%s/sync?action=triggerFullSync %s", getKcadmCmd(), realmName, ldapId, tmpConfig);
-        executeKeycloakCmd(syncUsersCmd);
+        KeycloakAdminClient.SynchronizationResult syncResult = adminClient.triggerFullSync(realmName, ldapId);
+        LOGGER.info("[{}] [KC] LDAP users synchronized: {}", namespace, syncResult.status());
     }
 
     public void setupRedirectUris(String realm, String clientName, ActiveMQArtemis broker) {
         // Update redirectUris with current webconsole routes (ex-aao-wconsj-0-svc-rte-oauth-tests)
-        String clientId = getClientId(realm, clientName);
         LOGGER.debug("[{}] [KC] Update redirectUris in realm {} {}", namespace, realm, clientName);
         List<String> uris = kubeClient.getExternalAccessServiceUrlPrefixName(
                 namespace, broker.getMetadata().getName() + "-" + ArtemisConstants.WEBCONSOLE_URI_PREFIX + "-");
         String format = broker.getSpec().getConsole().getSslEnabled() ? "https://ROUTE/console/*" : "http://ROUTE/console/*";
 
-        StringBuilder constructRoutes = new StringBuilder();
-        for (String uri : uris) {
-            constructRoutes.append("\"").append(format.replaceAll("ROUTE", uri)).append("\", ");
-        }
-        constructRoutes.deleteCharAt(constructRoutes.lastIndexOf(","));
-
-        LOGGER.info("[{}] [KC] Constructed routes\n{}", namespace, constructRoutes);
-        String updateRedirectUris = String.format("%s update realms/%s/clients/%s/ -s 'redirectUris=[%s]' %s ", getKcadmCmd(),  realm, clientId, constructRoutes, tmpConfig);
-        executeKeycloakCmd(updateRedirectUris);
+        List<String> redirectUris = uris.stream().map(uri -> format.replaceAll("ROUTE", uri)).toList();
+        LOGGER.info("[{}] [KC] Constructed routes\n{}", namespace, redirectUris);
+        adminClient.updateRedirectUris(realm, clientName, redirectUris);
     }
 
     public String getClientSecretId(String realm, String clientName) {
         // https://www.keycloak.org/docs/16.1/securing_apps/#client-id-and-client-secret
-        String clientId = getClientId(realm, clientName);
-        String clientSecretCmd = String.format("%s get realms/%s/clients/%s/client-secret %s | grep value | tr -d ' \",' | cut -d ':' -f 2",
-                getKcadmCmd(), realm, clientId, tmpConfig);
-        String clientSecretId = executeKeycloakCmd(clientSecretCmd);
-        if (clientSecretId.equals("**********")) {
-            LOGGER.debug("[{}] [KC] Generate new {} client-secret as it is empty", namespace, clientName);
-            String clientGenerateSecretCmd = String.format("%s create realms/%s/clients/%s/client-secret %s", getKcadmCmd(), realm, clientId, tmpConfig);
-            executeKeycloakCmd(clientGenerateSecretCmd);
-            clientSecretId = executeKeycloakCmd(clientSecretCmd);
-        }
+        String clientSecretId = adminClient.getClientSecret(realm, clientName).value();
         LOGGER.debug("[{}] [KC] Using {} client-secret {}", namespace, realm, clientSecretId);
         return clientSecretId;
     }
 
-    protected String getKcadmCmd() {
-        return kcadmCmd;
-    }
-
-    private String getClientId(String realm, String clientName) {
-        String keycloakClientIdCmd = String.format("%s get realms/%s/clients?clientId=%s %s | grep '\"id\"' | tr -d ' \",' | cut -d ':' -f 2",
-                getKcadmCmd(), realm, clientName, tmpConfig);
-        String clientId = executeKeycloakCmd(keycloakClientIdCmd);
-        LOGGER.debug("[{}] [KC] Found clientId {} for realm {} ", namespace, clientId, realm);
-        return clientId;
-    }
-
     public String getAuthUri() {
         return "https://" + kubeClient.getExternalAccessServiceUrl(namespace, "keycloak");
     }
 
-    String executeKeycloakCmd(String keycloakCommand) {
-        String output = kubeClient.executeCommandInPod(keycloakPod, keycloakCommand, Constants.DURATION_10_SECONDS).strip();
-        LOGGER.debug("[KC] {}", output);
-        // if error execute login() again, due to workaround using config in tmp - possible tmp-cleanup removal
-        return output;
-    }
-
     String getJwtToken(String realm, String clientId, String username, String password) {
         try {
             String tokenUrl = String.format(tokenUrlTemplate, getAuthUri(), realm);
@@ -391,11 +338,4 @@ public class Keycloak implements CustomTool {
             throw new RuntimeException(e);
         }
     }
-
-//    protected void login() {
-//        String loginCommand = String.format("%s config credentials --server http://localhost:8080 --realm master --user %s --password %s %s",
-//                getKcadmCmd(), admin.get(adminUsernameKey), admin.get(adminPasswordKey), tmpConfig);
-//        executeKeycloakCmd(loginCommand);
-//    }
-
 }
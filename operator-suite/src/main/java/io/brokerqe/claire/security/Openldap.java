@@ -33,7 +33,7 @@ public class Openldap {
     protected final String namespace;
     protected final String podNameLabel = "openldap";
     private final String secretName = "openldap-secret";
-    private final File ldifData = new File(Constants.PROJECT_TEST_DIR + "/resources/openldap/users.ldif");
+    private final File ldifData = new File(Constants.COMMON_TEST_RESOURCES_DIR + "/openldap/users.ldif");
 
     Map<String, String> secretData = Map.of(
             "adminpassword", "admin",
@@ -17,6 +17,7 @@ import io.brokerqe.claire.clients.bundled.ArtemisCommand;
 import io.brokerqe.claire.clients.bundled.BundledArtemisClient;
 import io.brokerqe.claire.exception.ClaireNotImplementedException;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helpers.DataStorer;
 import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddress;
 import io.brokerqe.claire.junit.AbortCondition;
 import io.brokerqe.claire.junit.OperatorExecutionListener;
@@ -56,7 +57,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.regex.Matcher;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -88,6 +90,7 @@ public abstract class AbstractSystemTests implements TestSeparator {
 
     @AfterEach
     void cleanAfterTest() {
+        DataStorer.flush();
         if (TestUtils.isEmptyDirectory(CertificateManager.getCurrentTestDirectory())) {
             TestUtils.deleteFile(Path.of(CertificateManager.getCurrentTestDirectory()));
         }
@@ -288,8 +291,9 @@ public abstract class AbstractSystemTests implements TestSeparator {
     /**
      * We are looking for a log 'Drain pod my-broker-ss-1 finished.' which is present in ArtemisClusterOperator.
      * It has to be present N times (based on scaledown factor (from 3 brokers to 1 broker -> 2)
+     * @return drained pod name and time (epoch ms) when its finished drainer was first seen in the operator log
      */
-    public void waitForScaleDownDrainer(String namespace, String operatorName, String brokerName, long maxTimeout, int previousSize, int newSize) {
+    public Map<String, Long> waitForScaleDownDrainer(String namespace, String operatorName, String brokerName, long maxTimeout, int previousSize, int newSize) {
         // Drain pod my-broker-ss-1 finished.
         // Deleting drain pod my-broker-ss-1
         int expectedDrainPodsCount = previousSize - newSize;
@@ -306,30 +310,35 @@ public abstract class AbstractSystemTests implements TestSeparator {
         // ENTMQBR-9316 - unable to send msg migration events to different namespace
         Pattern pattern2 = Pattern.compile("drain Pod " + brokerName + ".* in StatefulSet " + brokerName + ".* completed successfully");
 
-        TestUtils.waitFor("Drain pod to finish", Constants.DURATION_5_SECONDS, maxTimeout, () -> {
-            String log = getClient().getLogsFromPod(operatorPod, now);
-            Matcher matcher = pattern.matcher(log);
-            Matcher matcher2 = pattern2.matcher(log);
-            if (matcher2.find() && !matcher.find()) {
-                matcher = matcher2;
-            } else {
-                LOGGER.debug("[{}] Unexpected situation while checking drain pods for {}!", namespace, brokerName);
-            }
-
-            int count = 0;
-            while (matcher.find()) {
-                for (int i = previousSize - 1; i >= newSize; i--) {
-                    if (matcher.group().contains(String.valueOf(i))) {
-                        count++;
-                        LOGGER.debug("Found drain: " + matcher.group());
-                        break;
+        Map<String, Long> drainFinishedTimes = new TreeMap<>();
+        try (LogWatcher operatorLog = getClient().watchLogsFromPod(operatorPod, now)) {
+            LogWatcher.LogEvent drainFinished = operatorLog.watch(pattern, true);
+            LogWatcher.LogEvent drainCompleted = operatorLog.watch(pattern2, true);
+            AtomicInteger reportedCount = new AtomicInteger(-1);
+            TestUtils.waitFor("Drain pod to finish", Constants.DURATION_500_MILLISECONDS, maxTimeout, () -> {
+                List<String> drainLines = drainFinished.getMatches();
+                if (!drainCompleted.getMatches().isEmpty() && drainLines.isEmpty()) {
+                    drainLines = drainCompleted.getMatches();
+                }
+                int count = 0;
+                for (String drainLine : drainLines) {
+                    for (int i = previousSize - 1; i >= newSize; i--) {
+                        if (drainLine.contains(String.valueOf(i))) {
+                            count++;
+                            drainFinishedTimes.putIfAbsent(brokerName + "-ss-" + i, System.currentTimeMillis());
+                            LOGGER.debug("Found drain: " + drainLine);
+                            break;
+                        }
                     }
                 }
-            }
-            LOGGER.info("[{}] Scaledown in progress. Finished Drainer {}/{}", namespace, count, expectedDrainPodsCount);
-            return count == expectedDrainPodsCount;
-        });
+                if (reportedCount.getAndSet(count) != count) {
+                    LOGGER.info("[{}] Scaledown in progress. Finished Drainer {}/{}", namespace, count, expectedDrainPodsCount);
+                }
+                return count == expectedDrainPodsCount;
+            });
+        }
         // Wait for drainPods to disappear
+        return drainFinishedTimes;
     }
 
     protected String maybeStripBrokerName(String testBrokerName, String testNamespace) {
@@ -0,0 +1,232 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.address;
+
+import io.amq.broker.v1beta1.ActiveMQArtemis;
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.clients.BundledClientDeployment;
+import io.brokerqe.claire.clients.bundled.ArtemisCommand;
+import io.brokerqe.claire.clients.bundled.BundledArtemisClient;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.metrics.ResultStore;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Provisions many anycast addresses (each with a queue of the same name) on a single broker pod through
+ * <ul>
+ *   <li>CR - one ActiveMQArtemisAddress CR per address, reconciled by operator</li>
+ *   <li>BROKER_PROPERTIES - addressConfigurations in broker properties of ActiveMQArtemis CR, applied on broker start</li>
+ *   <li>MANAGEMENT - bundled {@code artemis queue create --auto-create-address} executed in the broker pod</li>
+ * </ul>
+ * and measures time until all queues are visible through management, memory of broker container and how long broker
+ * restart takes until all queues are visible again. Queues are verified by a single {@code queue stat} listing all of them.
+ * Path NONE is an empty broker as a baseline. Broker properties are stored in the CR (etcd object limit ~1.5 MB) and take
+ * ~320 bytes per address, so they are measured only up to 3000 addresses; every management call starts its own CLI JVM,
+ * so it is the slowest path.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class AddressProvisioningTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddressProvisioningTests.class);
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/address_provisioning_results.jsonl";
+    private static final int MANAGEMENT_PARALLELISM = 8;
+    // generous per address budget of operator reconcile or CLI call, used only to prolong timeouts
+    private static final long PER_ADDRESS_TIMEOUT_MS = 100;
+    private final String testNamespace = getRandomNamespaceName("provisioning-tests", 3);
+
+    /**
+     * @param usableMs time from start of provisioning until all queues were visible through management
+     * @param memoryBytes memory of broker container after provisioning (cgroup)
+     * @param restartReadyMs time from broker pod deletion until new pod is ready
+     * @param restartUsableMs time from broker pod deletion until all queues are visible again
+     */
+    public record Result(String path, int addresses, long provisioningMs, long usableMs, long memoryBytes, long restartReadyMs,
+                         long restartUsableMs) { }
+
+    @BeforeAll
+    void setupClusterOperator() {
+        setupDefaultClusterOperator(testNamespace);
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @AfterAll
+    void teardownClusterOperator() {
+        teardownDefaultClusterOperator(testNamespace);
+    }
+
+    @AfterEach
+    void cleanResources() {
+        cleanResourcesAfterTest(testNamespace);
+    }
+
+    @ParameterizedTest(name = "{0} {1} addresses")
+    @CsvSource({"NONE, 0", "CR, 1000", "BROKER_PROPERTIES, 1000", "BROKER_PROPERTIES, 3000", "MANAGEMENT, 1000"})
+    void provisioningTest(String path, int count) {
+        String prefix = "prov-" + path.toLowerCase(Locale.ROOT).replace('_', '-') + "-";
+        List<String> names = IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+        long timeout = Constants.DURATION_5_MINUTES + count * PER_ADDRESS_TIMEOUT_MS;
+
+        ActiveMQArtemis broker;
+        long start = System.currentTimeMillis();
+        if (path.equals("BROKER_PROPERTIES")) {
+            List<String> brokerProperties = new ArrayList<>();
+            for (String name : names) {
+                brokerProperties.addAll(ResourceManager.createBPArtemisAddress(name, ArtemisConstants.ROUTING_TYPE_ANYCAST).getPropertiesList());
+            }
+            broker = ResourceManager.createArtemis(testNamespace, "prov-broker", 1, brokerProperties);
+        } else {
+            broker = ResourceManager.createArtemis(testNamespace, "prov-broker", 1);
+            start = System.currentTimeMillis();
+            if (path.equals("CR")) {
+                ResourceManager.createArtemisAddresses(testNamespace, names, ArtemisConstants.ROUTING_TYPE_ANYCAST);
+            } else if (path.equals("MANAGEMENT")) {
+                createQueuesByManagement(getBrokerPod(broker), names);
+            }
+        }
+        long provisioningMs = System.currentTimeMillis() - start;
+        waitForQueues(getBrokerPod(broker), prefix, count, timeout);
+        long usableMs = System.currentTimeMillis() - start;
+        Pod brokerPod = getBrokerPod(broker);
+        long memoryBytes = getContainerMemory(brokerPod);
+
+        LOGGER.info("[{}] Restarting broker with {} addresses", testNamespace, count);
+        long restartStart = System.currentTimeMillis();
+        getClient().deletePod(testNamespace, brokerPod, false);
+        TestUtils.waitFor("broker pod to be recreated and ready", Constants.DURATION_1_SECOND, timeout, () -> {
+            Pod pod = getClient().getPod(testNamespace, brokerPod.getMetadata().getName());
+            return pod != null && !pod.getMetadata().getUid().equals(brokerPod.getMetadata().getUid()) && isReady(pod);
+        });
+        long restartReadyMs = System.currentTimeMillis() - restartStart;
+        waitForQueues(getBrokerPod(broker), prefix, count, timeout);
+        long restartUsableMs = System.currentTimeMillis() - restartStart;
+
+        Map<String, Map<String, String>> queues = listQueues(getBrokerPod(broker), prefix, count);
+        List<String> inconsistent = names.stream().filter(name -> !queues.containsKey(name) || !name.equals(queues.get(name).get("address"))).toList();
+        List<String> addresses = listAddresses(getBrokerPod(broker), prefix);
+
+        Result result = new Result(path, count, provisioningMs, usableMs, memoryBytes, restartReadyMs, restartUsableMs);
+        LOGGER.info("[{}] {}", testNamespace, result);
+        ResultStore.append(RESULTS_FILE, result);
+
+        assertThat("Queues missing or bound to other address " + inconsistent.subList(0, Math.min(10, inconsistent.size())), inconsistent, empty());
+        assertThat("Unexpected number of provisioned queues", queues.size(), equalTo(count));
+        assertThat("Unexpected number of provisioned addresses", addresses.size(), equalTo(count));
+        ResourceManager.deleteArtemis(testNamespace, broker);
+    }
+
+    private Pod getBrokerPod(ActiveMQArtemis broker) {
+        return getClient().getFirstPodByPrefixName(testNamespace, broker.getMetadata().getName());
+    }
+
+    /**
+     * Every call starts the CLI in the broker pod, so a few of them run in parallel.
+     */
+    private void createQueuesByManagement(Pod brokerPod, List<String> names) {
+        ExecutorService executor = Executors.newFixedThreadPool(MANAGEMENT_PARALLELISM);
+        try {
+            List<Future<?>> creations = new ArrayList<>();
+            for (String name : names) {
+                creations.add(executor.submit(() -> new BundledArtemisClient(new BundledClientDeployment(testNamespace, brokerPod),
+                        ArtemisCommand.QUEUE_CREATE, Map.of(
+                                "name", name,
+                                "address", name,
+                                "url", "tcp://" + brokerPod.getMetadata().getName() + ":61616",
+                                ArtemisConstants.ROUTING_TYPE_ANYCAST.toLowerCase(Locale.ROOT), "",
+                                "durable", "",
+                                "preserve-on-no-consumers", "",
+                                "auto-create-address", "")).executeCommand(true)));
+            }
+            for (Future<?> creation : creations) {
+                creation.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errMsg = String.format("[%s] Interrupted while creating queues", testNamespace);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } catch (ExecutionException e) {
+            String errMsg = String.format("[%s] Unable to create queue: %s", testNamespace, e.getCause().getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForQueues(Pod brokerPod, String prefix, int count, long timeout) {
+        TestUtils.waitFor(count + " queues " + prefix + "* to be usable", Constants.DURATION_5_SECONDS, timeout,
+                () -> listQueues(brokerPod, prefix, count).size() >= count);
+    }
+
+    /**
+     * One queue stat call listing all queues containing the prefix.
+     */
+    private Map<String, Map<String, String>> listQueues(Pod brokerPod, String prefix, int count) {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "maxColumnSize", "-1",
+                "maxRows", String.valueOf(count + 100),
+                "queueName", prefix,
+                "url", "tcp://" + brokerPod.getMetadata().getName() + ":61616"));
+        BundledArtemisClient client = new BundledArtemisClient(new BundledClientDeployment(testNamespace, brokerPod), ArtemisCommand.QUEUE_STAT, options);
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, String>> queues = (Map<String, Map<String, String>>) client.executeCommand(Constants.DURATION_5_MINUTES, true);
+        queues.keySet().removeIf(name -> !name.startsWith(prefix));
+        return queues;
+    }
+
+    private List<String> listAddresses(Pod brokerPod, String prefix) {
+        BundledArtemisClient client = new BundledArtemisClient(new BundledClientDeployment(testNamespace, brokerPod), ArtemisCommand.ADDRESS_SHOW,
+                Map.of("url", "tcp://" + brokerPod.getMetadata().getName() + ":61616"));
+        @SuppressWarnings("unchecked")
+        List<String> lines = (List<String>) client.executeCommand(Constants.DURATION_5_MINUTES, true);
+        return lines.stream().map(String::strip).filter(line -> line.startsWith(prefix)).toList();
+    }
+
+    /**
+     * @return memory usage of broker container from cgroup v2 or v1, -1 if not available
+     */
+    private long getContainerMemory(Pod brokerPod) {
+        String memory = getClient().executeCommandInPod(brokerPod,
+                "cat /sys/fs/cgroup/memory.current 2>/dev/null || cat /sys/fs/cgroup/memory/memory.usage_in_bytes", Constants.DURATION_10_SECONDS).strip();
+        try {
+            return Long.parseLong(memory);
+        } catch (NumberFormatException e) {
+            LOGGER.warn("[{}] Unable to read memory of {}: {}", testNamespace, brokerPod.getMetadata().getName(), memory);
+            return -1;
+        }
+    }
+
+    private static boolean isReady(Pod pod) {
+        return pod.getStatus() != null && pod.getStatus().getConditions() != null && pod.getStatus().getConditions().stream()
+                .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+    }
+}
@@ -10,17 +10,25 @@ import io.brokerqe.claire.ArtemisVersion;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.ResourceManager;
 import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.clients.BundledClientDeployment;
 import io.brokerqe.claire.clients.ClientType;
 import io.brokerqe.claire.clients.MessagingClient;
 import io.brokerqe.claire.clients.MessagingClientException;
+import io.brokerqe.claire.clients.bundled.BundledClientOptions;
+import io.brokerqe.claire.clients.bundled.BundledCoreMessagingClient;
 import io.brokerqe.claire.junit.TestValidSince;
+import io.brokerqe.claire.metrics.MirrorLagProbe;
 import io.fabric8.kubernetes.api.model.Pod;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +36,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,6 +44,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @TestValidSince(ArtemisVersion.VERSION_2_33)
 public class MirroringUnsecuredTests extends MirroringTests {
 
+    private static final int LAG_PRODUCE_SECONDS = 60;
+    private static final String MIRROR_SNF_QUEUE = "$ACTIVEMQ_ARTEMIS_MIRROR_dr";
+
     List<Pod> prodBrokerPods;
     List<Pod> drBrokerPods;
     Pod prodBrokerPod;
@@ -363,6 +375,61 @@ public class MirroringUnsecuredTests extends MirroringTests {
         assertThat("Received different amount of messages than expected", lalaReceived, equalTo(addressAmsgs));
     }
 
+    /**
+     * Paced bundled producer sends to prod, while queue statistics of both brokers are sampled. Catch-up lag of DR
+     * (how long it takes until DR has what prod had) and backlog of mirror SNF queue are computed from the samples.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {50, 200})
+    @Tag(Constants.TAG_PERFORMANCE)
+    void mirroringLagTest(int messagesPerSecond) {
+        Pod prodBrokerPod = getClient().getFirstPodByPrefixName(prodNamespace, PROD_BROKER_NAME);
+        Pod drBrokerPod = getClient().getFirstPodByPrefixName(drNamespace, DR_BROKER_NAME);
+        int messages = messagesPerSecond * LAG_PRODUCE_SECONDS;
+        BundledClientOptions options = new BundledClientOptions()
+                .withDeployableClient(new BundledClientDeployment(prodNamespace, prodBrokerPod))
+                .withDestinationUrl(prodBrokerPod.getStatus().getPodIP())
+                .withDestinationPort(allDefaultPort)
+                .withDestinationAddress(addressA)
+                .withDestinationQueue(addressA)
+                .withMessageCount(messages)
+                .withUsername(ADMIN)
+                .withPassword(ADMIN_PASS)
+                .withSleep(1000 / messagesPerSecond)
+                .withTimeout(LAG_PRODUCE_SECONDS * 3)
+                .withDisabledOutput(true);
+        MessagingClient prodClient = new BundledCoreMessagingClient(options);
+
+        MirrorLagProbe probe = new MirrorLagProbe("Mirroring catch-up lag at " + messagesPerSecond + " msg/s");
+        probe.startSampling(Constants.DURATION_2_SECONDS, () -> {
+            Map<String, Map<String, String>> prodStats = getQueueStats(prodNamespace, prodBrokerPod,
+                    new HashMap<>(Map.of("internalQueues", "")), null, ADMIN, ADMIN_PASS);
+            Map<String, Map<String, String>> drStats = getQueueStats(drNamespace, drBrokerPod, null, addressA, ADMIN, ADMIN_PASS);
+            return MirrorLagProbe.Sample.now(Long.parseLong(prodStats.get(addressA).get("messages_added")),
+                    Long.parseLong(drStats.get(addressA).get("messages_added")),
+                    Long.parseLong(prodStats.get(MIRROR_SNF_QUEUE).get("message_count")));
+        });
+        int sent;
+        try {
+            LOGGER.info("[{}] Send {} messages to {} at {} msg/s", prodNamespace, messages, addressA, messagesPerSecond);
+            sent = prodClient.sendMessages();
+            TestUtils.waitFor("DR broker to catch up with prod broker", Constants.DURATION_5_SECONDS, Constants.DURATION_2_MINUTES,
+                    () -> getMessageCount(drNamespace, drBrokerPod, addressA, ADMIN, ADMIN_PASS) >= messages);
+            // last sample has to see DR fully caught up
+            TestUtils.threadSleep(Constants.DURATION_5_SECONDS);
+        } finally {
+            probe.stopSampling();
+        }
+        probe.computeCatchUpLags();
+        String reportPrefix = Constants.PERFORMANCE_DIR + "/mirroring_lag_" + messagesPerSecond;
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        probe.writeReport(reportPrefix + ".txt", reportPrefix + "_samples.csv");
+
+        assertThat("Sent different amount of messages than expected", sent, equalTo(messages));
+        checkMessageCount(drNamespace, drBrokerPod, addressA, messages, ADMIN, ADMIN_PASS);
+        assertThat("Mirror catch-up lag was not measured", probe.getPercentile(MirrorLagProbe.CATCH_UP_LAG, 99), greaterThanOrEqualTo(0L));
+    }
+
     @Test
     @Disabled("ENTMQBR-9474")
     void scaleUpDownTest() {
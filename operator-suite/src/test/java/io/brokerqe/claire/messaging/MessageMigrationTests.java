@@ -10,28 +10,48 @@ import io.brokerqe.claire.AbstractSystemTests;
 import io.brokerqe.claire.ArtemisConstants;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.clients.BundledClientDeployment;
 import io.brokerqe.claire.clients.ClientType;
 import io.brokerqe.claire.clients.MessagingClient;
+import io.brokerqe.claire.clients.bundled.BundledClientOptions;
+import io.brokerqe.claire.clients.bundled.BundledCoreMessagingClient;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.helpers.AddressData;
 import io.brokerqe.claire.helpers.JMXHelper;
 import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddress;
+import io.brokerqe.claire.metrics.MigrationProbe;
 import io.fabric8.kubernetes.api.model.Pod;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 public class MessageMigrationTests extends AbstractSystemTests {
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageMigrationTests.class);
+    private static final String MIGRATION_RESULTS_FILE = Constants.PERFORMANCE_DIR + "/migration_results.jsonl";
+    private static final int PRELOAD_TRANSACTION_BATCH = 1000;
+    private static final int PRELOAD_MIN_TIMEOUT_SECONDS = 90;
+    // conservative messages per second of a preloading producer, used only to prolong its timeout
+    private static final int PRELOAD_MIN_RATE = 100;
     private final String testNamespace = getRandomNamespaceName("migration-tests", 3);
 
     @BeforeAll
@@ -439,4 +459,122 @@ public class MessageMigrationTests extends AbstractSystemTests {
         assertThat("Received different amount of messages than expected", received, equalTo(100));
         ResourceManager.deleteArtemis(testNamespace, broker);
     }
+
+    /**
+     * Every pod is preloaded with {@code messagesPerQueue} messages of {@code messageSize} bytes on each of {@code queues}
+     * queues, then broker is scaled down. Drain time of each removed pod is taken from the operator log, message counts
+     * of remaining pods are read by queue stat. Results are appended to performance/migration_results.jsonl and compared
+     * to the previous result of the same scenario.
+     */
+    @ParameterizedTest(name = "{0}->{1} pods, {2} queues, {3} messages of {4} B")
+    @CsvSource({"2, 1, 1, 10000, 1024", "3, 1, 5, 5000, 1024", "3, 1, 10, 1000, 65536"})
+    @Tag(Constants.TAG_PERFORMANCE)
+    void migrationPerformanceTest(int initialSize, int targetSize, int queues, int messagesPerQueue, int messageSize) {
+        List<BPActiveMQArtemisAddress> addresses = new ArrayList<>();
+        List<String> brokerProperties = new ArrayList<>();
+        for (int i = 0; i < queues; i++) {
+            BPActiveMQArtemisAddress address = ResourceManager.createBPArtemisAddress("migration-perf-" + i, ArtemisConstants.ROUTING_TYPE_ANYCAST);
+            addresses.add(address);
+            brokerProperties.addAll(address.getPropertiesList());
+        }
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "mm-perf", initialSize, false, false, true, true, brokerProperties);
+        String brokerName = broker.getMetadata().getName();
+        List<Pod> brokerPods = getClient().listPodsByPrefixName(testNamespace, brokerName);
+        String allDefaultPort = getServicePortNumber(testNamespace, getArtemisServiceHdls(testNamespace, broker), "all");
+
+        preloadMessages(brokerPods, allDefaultPort, addresses, messagesPerQueue, messageSize);
+        long preloadedMessages = (long) initialSize * queues * messagesPerQueue;
+        long drainedMessages = (long) (initialSize - targetSize) * queues * messagesPerQueue;
+        for (int i = 0; i < initialSize; i++) {
+            Map<String, Long> podCounts = getQueueMessageCounts(getClient().getPod(testNamespace, brokerName + "-ss-" + i), addresses);
+            assertThat("Preloaded different amount of messages than expected " + podCounts, sumCounts(podCounts), equalTo((long) queues * messagesPerQueue));
+        }
+
+        MigrationProbe probe = new MigrationProbe("operator-scaledown");
+        LOGGER.info("[{}] Scaledown {} -> {} with {} stored messages to migrate", testNamespace, initialSize, targetSize, drainedMessages);
+        probe.scaledownStarted();
+        broker.getSpec().getDeploymentPlan().setSize(targetSize);
+        broker = ResourceManager.getArtemisClient().inNamespace(testNamespace).resource(broker).createOrReplace();
+        probe.drainFinished(waitForScaleDownDrainer(testNamespace, operator.getOperatorName(), brokerName,
+                (initialSize - targetSize) * Constants.DURATION_5_MINUTES, initialSize, targetSize));
+        assertThat("Broker didn't scale down to expected size", getClient().listPodsByPrefixName(testNamespace, brokerName).size(), equalTo(targetSize));
+
+        Map<String, Long> countsAfter = new TreeMap<>();
+        for (int i = 0; i < targetSize; i++) {
+            getQueueMessageCounts(getClient().getPod(testNamespace, brokerName + "-ss-" + i), addresses)
+                    .forEach((queue, count) -> countsAfter.merge(queue, count, Long::sum));
+        }
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        MigrationProbe.Result result = probe.getResult(Map.of(
+                "initialSize", String.valueOf(initialSize),
+                "targetSize", String.valueOf(targetSize),
+                "queues", String.valueOf(queues),
+                "messagesPerQueue", String.valueOf(messagesPerQueue),
+                "messageSize", String.valueOf(messageSize)), preloadedMessages, drainedMessages, countsAfter);
+        MigrationProbe.appendResult(MIGRATION_RESULTS_FILE, result);
+
+        assertThat("Drain time of some pod was not measured " + result.drainTimePerPodMs(), result.drainTimePerPodMs().size(), equalTo(initialSize - targetSize));
+        assertThat("Messages were lost during migration " + countsAfter, result.messagesAfter(), equalTo(preloadedMessages));
+        ResourceManager.deleteArtemis(testNamespace, broker);
+    }
+
+    /**
+     * Producers of all pods run in parallel (each pod has own thread), queues of a pod are filled one after another.
+     */
+    private void preloadMessages(List<Pod> brokerPods, String allDefaultPort, List<BPActiveMQArtemisAddress> addresses, int messagesPerQueue, int messageSize) {
+        LOGGER.info("[{}] Preload {} pods with {} messages of {} B on each of {} queues", testNamespace, brokerPods.size(),
+                messagesPerQueue, messageSize, addresses.size());
+        ExecutorService executor = Executors.newFixedThreadPool(brokerPods.size());
+        try {
+            List<Future<Integer>> preloads = new ArrayList<>();
+            for (Pod pod : brokerPods) {
+                preloads.add(executor.submit(() -> {
+                    int sent = 0;
+                    for (BPActiveMQArtemisAddress address : addresses) {
+                        BundledClientOptions options = new BundledClientOptions()
+                                .withDeployableClient(new BundledClientDeployment(testNamespace, pod))
+                                .withDestinationUrl(pod.getStatus().getPodIP())
+                                .withDestinationPort(allDefaultPort)
+                                .withDestinationAddress(address.getAddressName())
+                                .withDestinationQueue(address.getSingularQueueName())
+                                .withMessageCount(messagesPerQueue)
+                                .withMessageSize(messageSize)
+                                .withTransactionBatchSize(PRELOAD_TRANSACTION_BATCH)
+                                .withTimeout(Math.max(PRELOAD_MIN_TIMEOUT_SECONDS, messagesPerQueue / PRELOAD_MIN_RATE))
+                                .withDisabledOutput(true);
+                        sent += new BundledCoreMessagingClient(options).sendMessages();
+                    }
+                    return sent;
+                }));
+            }
+            for (Future<Integer> preload : preloads) {
+                assertThat("Sent different amount of messages than expected", preload.get(), equalTo(addresses.size() * messagesPerQueue));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errMsg = String.format("[%s] Interrupted while preloading messages", testNamespace);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } catch (ExecutionException e) {
+            String errMsg = String.format("[%s] Unable to preload messages: %s", testNamespace, e.getCause().getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Long> getQueueMessageCounts(Pod pod, List<BPActiveMQArtemisAddress> addresses) {
+        Map<String, Map<String, String>> queueStats = getQueueStats(testNamespace, pod, null, null);
+        Map<String, Long> counts = new TreeMap<>();
+        for (BPActiveMQArtemisAddress address : addresses) {
+            Map<String, String> stats = queueStats.get(address.getSingularQueueName());
+            counts.put(address.getSingularQueueName(), stats == null ? 0L : Long.parseLong(stats.get("message_count")));
+        }
+        return counts;
+    }
+
+    private long sumCounts(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
 }
@@ -7,18 +7,26 @@ package io.brokerqe.claire.messaging;
 import io.amq.broker.v1beta1.ActiveMQArtemis;
 import io.brokerqe.claire.AbstractSystemTests;
 import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.clients.ClientType;
 import io.brokerqe.claire.clients.MessagingClient;
 import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddress;
+import io.brokerqe.claire.metrics.RedistributionProbe;
 import io.fabric8.kubernetes.api.model.Pod;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -27,6 +35,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 public class MessageRedistributionTests extends AbstractSystemTests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageRedistributionTests.class);
+    private static final int REDISTRIBUTION_MESSAGES = 5000;
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/redistribution_results.jsonl";
     private final String testNamespace = getRandomNamespaceName("redistribution-tests", 3);
 
     @BeforeAll
@@ -66,4 +76,46 @@ public class MessageRedistributionTests extends AbstractSystemTests {
 
         ResourceManager.deleteArtemis(testNamespace, broker);
     }
+
+    /**
+     * Messages are stored on the first pod without consumers, then consumed from the second pod. Bundled clients can't
+     * stamp messages, so only drain throughput (including client start) is measured, latencies and ordering are -1.
+     * Results are stored in the same format as standalone RedistributionPerformanceTests.
+     */
+    @ParameterizedTest(name = "{0} redistribution-delay={1}")
+    @CsvSource({"ON_DEMAND, 0", "ON_DEMAND, 5000", "OFF_WITH_REDISTRIBUTION, 0", "OFF_WITH_REDISTRIBUTION, 5000"})
+    @Tag(Constants.TAG_PERFORMANCE)
+    void redistributionPerformanceTest(String loadBalancing, long redistributionDelay) {
+        BPActiveMQArtemisAddress myAddress = ResourceManager.createBPArtemisAddress(ArtemisConstants.ROUTING_TYPE_ANYCAST);
+        List<String> brokerProperties = new ArrayList<>(myAddress.getPropertiesList());
+        brokerProperties.add("clusterConfigurations.my-cluster.messageLoadBalancingType=" + loadBalancing);
+        brokerProperties.add("addressSettings." + myAddress.getAddressName() + ".redistributionDelay=" + redistributionDelay);
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "redist-broker", 2, brokerProperties);
+
+        List<Pod> brokerPods = getClient().listPodsByPrefixName(testNamespace, broker.getMetadata().getName());
+        Pod producerPod = brokerPods.get(0);
+        Pod consumerPod = brokerPods.get(1);
+        String allDefaultPort = getServicePortNumber(testNamespace, getArtemisServiceHdls(testNamespace, broker), "all");
+
+        MessagingClient producer = ResourceManager.createMessagingClient(ClientType.BUNDLED_CORE, producerPod, allDefaultPort, myAddress, REDISTRIBUTION_MESSAGES);
+        long produceStart = System.currentTimeMillis();
+        int sent = producer.sendMessages();
+        double produceRate = sent * 1000.0 / Math.max(1, System.currentTimeMillis() - produceStart);
+        checkMessageCount(testNamespace, producerPod, myAddress.getSingularQueueName(), REDISTRIBUTION_MESSAGES);
+
+        MessagingClient consumer = ResourceManager.createMessagingClient(ClientType.BUNDLED_CORE, consumerPod, allDefaultPort, myAddress, REDISTRIBUTION_MESSAGES);
+        long consumeStart = System.currentTimeMillis();
+        int received = consumer.receiveMessages();
+        double drainThroughput = received * 1000.0 / Math.max(1, System.currentTimeMillis() - consumeStart);
+
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        RedistributionProbe.appendResult(RESULTS_FILE, new RedistributionProbe.Result("operator-backlog",
+                Map.of("nodes", "2", "consumerNodes", "1", "loadBalancing", loadBalancing, "redistributionDelay", String.valueOf(redistributionDelay)),
+                sent, received, produceRate, -1, drainThroughput, -1, -1, -1, -1,
+                Map.of(consumerPod.getMetadata().getName(), (long) received)));
+
+        assertThat(sent, equalTo(REDISTRIBUTION_MESSAGES));
+        assertThat(received, equalTo(REDISTRIBUTION_MESSAGES));
+        ResourceManager.deleteArtemis(testNamespace, broker);
+    }
 }
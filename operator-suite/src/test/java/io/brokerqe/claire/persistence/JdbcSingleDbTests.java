@@ -11,6 +11,7 @@ import io.brokerqe.claire.AbstractSystemTests;
 import io.brokerqe.claire.ArtemisConstants;
 import io.brokerqe.claire.ArtemisVersion;
 import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.LogWatcher;
 import io.brokerqe.claire.ResourceManager;
 import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.clients.ClientType;
@@ -37,7 +38,6 @@ import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 
 @TestValidSince(ArtemisVersion.VERSION_2_32)
@@ -200,30 +200,20 @@ public class JdbcSingleDbTests extends AbstractSystemTests {
             return !Arrays.asList(bools).contains(false);
         });
         LOGGER.info("Deployment is successful, check JDBC locks");
-        TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
-
-        List<Pod> brokerPods = getClient().listPodsByPrefixName(testNamespace, brokerName);
-        for (Pod brokerPod : brokerPods) {
-            LOGGER.info("[{}] Check for JDBC lock in pod logs {}", testNamespace, brokerPod.getMetadata().getName());
-            if (brokerPod.getMetadata().getName().contains("0")) {
-                String brokerLogs = getClient().getLogsFromPod(brokerPod);
-                assertThat(brokerLogs, containsString(acquiredLockLog));
-            } else if (brokerPod.getMetadata().getName().contains("1")) {
-                TestUtils.waitFor(waitingForLockLog + " to show up", Constants.DURATION_2_SECONDS, Constants.DURATION_1_MINUTE, () -> {
-                    String brokerLogs = getClient().getLogsFromPod(brokerPod);
-                    return brokerLogs.contains(waitingForLockLog);
-                });
-            }
+        Pod brokerPod0 = getClient().getPod(testNamespace, brokerName + "-ss-0");
+        Pod brokerPod1 = getClient().getPod(testNamespace, brokerName + "-ss-1");
+        try (LogWatcher brokerLog0 = getClient().watchLogsFromPod(brokerPod0); LogWatcher brokerLog1 = getClient().watchLogsFromPod(brokerPod1)) {
+            LOGGER.info("[{}] Check for JDBC lock in pod logs {}", testNamespace, brokerPod0.getMetadata().getName());
+            brokerLog0.watch(acquiredLockLog).await(1, Constants.DURATION_10_SECONDS);
+            LOGGER.info("[{}] Check for JDBC lock in pod logs {}", testNamespace, brokerPod1.getMetadata().getName());
+            brokerLog1.watch(waitingForLockLog).await(1, Constants.DURATION_1_MINUTE);
+            LogWatcher.LogEvent lockAcquired = brokerLog1.watch(acquiredLockLog);
+
+            LOGGER.info("[{}] Delete pod 0 and check DB lock on pod 1", testNamespace);
+            getClient().deletePod(testNamespace, brokerPod0, false);
+            lockAcquired.await(1, Constants.DURATION_2_MINUTES);
         }
 
-        LOGGER.info("[{}] Delete pod 0 and check DB lock on pod 1", testNamespace);
-        getClient().deletePod(testNamespace, getClient().getPod(testNamespace, brokerName + "-ss-0"), false);
-        TestUtils.threadSleep(Constants.DURATION_5_SECONDS);
-        TestUtils.waitFor(acquiredLockLog + " to show up on " + brokerName + "-ss-1", Constants.DURATION_5_SECONDS, Constants.DURATION_2_MINUTES, () -> {
-            Pod brokerPod1 = getClient().getPod(testNamespace, brokerName + "-ss-1");
-            return getClient().getLogsFromPod(brokerPod1).contains(acquiredLockLog);
-        });
-
         undeployBrokerWithDB();
     }
 
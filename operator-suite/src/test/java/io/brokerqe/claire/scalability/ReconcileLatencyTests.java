@@ -0,0 +1,125 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.scalability;
+
+import io.amq.broker.v1beta1.ActiveMQArtemis;
+import io.amq.broker.v1beta1.activemqartemisspec.Env;
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.helpers.ReconcileProfiler;
+import io.brokerqe.claire.helpers.brokerproperties.BPActiveMQArtemisAddress;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Measures how long operator needs to reconcile typical ActiveMQArtemis changes, phase by phase. Timelines are appended
+ * to performance/reconcile_timelines.jsonl together with tested versions, so operator versions can be compared.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class ReconcileLatencyTests extends AbstractSystemTests {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReconcileLatencyTests.class);
+    private static final String TIMELINES_FILE = Constants.PERFORMANCE_DIR + "/reconcile_timelines.jsonl";
+    private final String testNamespace = getRandomNamespaceName("reconcile-tests", 3);
+
+    @BeforeAll
+    void setupClusterOperator() {
+        setupDefaultClusterOperator(testNamespace);
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @AfterAll
+    void teardownClusterOperator() {
+        teardownDefaultClusterOperator(testNamespace);
+    }
+
+    @AfterEach
+    void cleanResources() {
+        cleanResourcesAfterTest(testNamespace);
+    }
+
+    @Test
+    void acceptorsReconcileTest() {
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "reconcile-acceptors", 2);
+        ReconcileProfiler.Timeline timeline = profileChange(broker, "acceptors", true, changed -> {
+            changed.getSpec().setAcceptors(List.of(createAcceptor("amqp-acceptor", "amqp", 5672)));
+            return changed;
+        });
+        assertThat("Broker pods were not restarted", timeline.getOffset(ReconcileProfiler.Phase.POD_READY), greaterThanOrEqualTo(0L));
+    }
+
+    @Test
+    void envReconcileTest() {
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "reconcile-env", 2);
+        ReconcileProfiler.Timeline timeline = profileChange(broker, "env", true, changed -> {
+            Env env = new Env();
+            env.setName("RECONCILE_TEST");
+            env.setValue("changed");
+            changed.getSpec().setEnv(List.of(env));
+            return changed;
+        });
+        assertThat("Broker pods were not restarted", timeline.getOffset(ReconcileProfiler.Phase.POD_READY), greaterThanOrEqualTo(0L));
+    }
+
+    @Test
+    void brokerPropertiesReconcileTest() {
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "reconcile-bp", 2);
+        BPActiveMQArtemisAddress address = ResourceManager.createBPArtemisAddress(ArtemisConstants.ROUTING_TYPE_ANYCAST);
+        profileChange(broker, "brokerProperties", false, changed -> {
+            List<String> brokerProperties = new ArrayList<>(address.getPropertiesList());
+            if (changed.getSpec().getBrokerProperties() != null) {
+                brokerProperties.addAll(changed.getSpec().getBrokerProperties());
+            }
+            changed.getSpec().setBrokerProperties(brokerProperties);
+            return changed;
+        });
+    }
+
+    @Test
+    void sizeReconcileTest() {
+        ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, "reconcile-size", 1);
+        ReconcileProfiler.Timeline timeline = profileChange(broker, "size 1->3", true, changed -> {
+            changed.getSpec().getDeploymentPlan().setSize(3);
+            return changed;
+        });
+        assertThat("New broker pods were not created", timeline.getOffset(ReconcileProfiler.Phase.POD_CREATED), greaterThanOrEqualTo(0L));
+    }
+
+    private ReconcileProfiler.Timeline profileChange(ActiveMQArtemis broker, String change, boolean expectStatefulSetUpdate,
+                                                     UnaryOperator<ActiveMQArtemis> modification) {
+        ReconcileProfiler.Timeline timeline;
+        try (ReconcileProfiler profiler = ReconcileProfiler.start(testNamespace, broker, change, expectStatefulSetUpdate)) {
+            ActiveMQArtemis changed = modification.apply(ResourceManager.getArtemisClient().inNamespace(testNamespace).resource(broker).get());
+            profiler.changeSubmitted();
+            broker = ResourceManager.getArtemisClient().inNamespace(testNamespace).resource(changed).createOrReplace();
+            profiler.awaitReconciled(Constants.DURATION_5_MINUTES);
+            timeline = profiler.getTimeline(Map.of(
+                    "artemisVersion", String.valueOf(testEnvironmentOperator.getArtemisVersion()),
+                    "size", String.valueOf(broker.getSpec().getDeploymentPlan().getSize())));
+        }
+        ReconcileProfiler.appendTimeline(TIMELINES_FILE, timeline);
+        timeline.events().forEach(event -> LOGGER.debug("[{}] {} +{} ms {} {}", testNamespace, change, event.offsetMs(), event.phase(), event.detail()));
+
+        assertThat("Generation change was not observed by operator", timeline.getOffset(ReconcileProfiler.Phase.GENERATION_OBSERVED), greaterThanOrEqualTo(0L));
+        assertThat("Change was not reconciled", timeline.getOffset(ReconcileProfiler.Phase.RECONCILED), greaterThanOrEqualTo(0L));
+        ResourceManager.deleteArtemis(testNamespace, broker);
+        return timeline;
+    }
+}
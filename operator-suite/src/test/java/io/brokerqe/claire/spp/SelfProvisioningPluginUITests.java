@@ -47,6 +47,7 @@ public class SelfProvisioningPluginUITests extends BaseWebUITests {
     private static final Logger LOGGER = LoggerFactory.getLogger(SelfProvisioningPluginUITests.class);
     private final String testNamespace = getRandomNamespaceName("spp-tests", 2);
     private ACSelfProvisioningPlugin acSelfProvisioningPlugin;
+    private WebconsoleCommon console;
 
     @BeforeAll
     void deploySetup() {
@@ -57,6 +58,8 @@ public class SelfProvisioningPluginUITests extends BaseWebUITests {
             acSelfProvisioningPlugin = new AMQSelfProvisioningPlugin();
         }
         ResourceManager.addDeployedCustomTool(acSelfProvisioningPlugin.deploy());
+        console = new WebconsoleCommon(playwright, ResourceManager.getEnvironment().getArtemisTestVersion().getVersionNumber());
+        console.setClicker(clicker);
     }
 
     @AfterAll
@@ -111,7 +114,7 @@ public class SelfProvisioningPluginUITests extends BaseWebUITests {
         Locator menuContentLoc = workloadsMenuButton.locator("..").getByRole(AriaRole.LIST);
         List<String> menuContent = menuContentLoc.allInnerTexts();
         if (menuContent.isEmpty()) {
-            workloadsMenuButton.click(WebconsoleCommon.getClicker());
+            workloadsMenuButton.click(clicker);
             page.waitForLoadState();
             menuContent = workloadsMenuButton.locator("..").getByRole(AriaRole.LIST).allInnerTexts();
         }
@@ -120,37 +123,37 @@ public class SelfProvisioningPluginUITests extends BaseWebUITests {
             LOGGER.error("Workloads menu does not contain 'Brokers'! {}", menuContent);
             throw new ClaireRuntimeException("Workloads menu does not contain Brokers! Deployment problem?");
         }
-        page.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName("Brokers")).click(WebconsoleCommon.getClicker());
+        page.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName("Brokers")).click(clicker);
         page.waitForLoadState();
         if (brokerName != null) {
-            page.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName(brokerName)).click(WebconsoleCommon.getClicker());
+            page.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName(brokerName)).click(clicker);
         }
         page.waitForLoadState();
     }
 
     ActiveMQArtemis createBrokerSpp(Page page, String brokerName, String namespace, int initialSize, String port, boolean externalAccess) {
         LOGGER.info("[{}] Create broker {} via UI", namespace, brokerName);
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create Broker")).click(WebconsoleCommon.getClicker());
+        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create Broker")).click(clicker);
 //        TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
         page.getByText("CR Name").fill(brokerName);
         Locator plus = page.getByLabel("plus");
-        IntStream.rangeClosed(1, initialSize - 1).forEach(i -> plus.click(WebconsoleCommon.getClicker()));
+        IntStream.rangeClosed(1, initialSize - 1).forEach(i -> plus.click(clicker));
 
         LOGGER.info("[{}] set namespace {}", namespace, namespace);
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Project:")).click(WebconsoleCommon.getClicker());
-        page.getByRole(AriaRole.MENUITEM, new Page.GetByRoleOptions().setName(namespace)).click(WebconsoleCommon.getClicker());
+        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Project:")).click(clicker);
+        page.getByRole(AriaRole.MENUITEM, new Page.GetByRoleOptions().setName(namespace)).click(clicker);
 
         LOGGER.info("[{}] Add acceptor, ports & create broker", namespace);
-        page.getByText("Add an acceptor").click(WebconsoleCommon.getClicker());
+        page.getByText("Add an acceptor").click(clicker);
         page.getByText("Port").fill(port);
         page.getByRole(AriaRole.CHECKBOX, new Page.GetByRoleOptions().setName("Expose")).check();
 
         if (externalAccess) {
             String certName = "spp-test-issuer";
-            page.getByText("Apply preset").click(WebconsoleCommon.getClicker());
+            page.getByText("Apply preset").click(clicker);
             TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
-            page.locator("#selectable-first-card").click(WebconsoleCommon.getClicker());
-            page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create a new chain of trust")).click(WebconsoleCommon.getClicker());
+            page.locator("#selectable-first-card").click(clicker);
+            page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create a new chain of trust")).click(clicker);
             Locator issuerText = page.getByText(Pattern.compile("creation of 3 elements", Pattern.CASE_INSENSITIVE));
             issuerText.locator("..").getByRole(AriaRole.TEXTBOX).fill(certName); // select parent and search within
 
@@ -225,11 +228,11 @@ public class SelfProvisioningPluginUITests extends BaseWebUITests {
     void checkMessageCountInAddress(Page page, String brokerName, String addressName, int messageCount) {
         LOGGER.info("[{}] Check addresses & message count", testNamespace);
         navigateWorkloadBrokers(page, brokerName);
-        WebconsoleCommon.setMenu(page, ArtemisMenu.Pods);
+        console.setMenu(page, ArtemisMenu.Pods);
 
         Pod pod = getClient().getFirstPodByPrefixName(testNamespace, brokerName);
         page.locator("a", new Page.LocatorOptions().setHasText(pod.getMetadata().getName())).click(clicker);
-        WebconsoleCommon.setMenu(page, ArtemisMenu.Addresses);
+        console.setMenu(page, ArtemisMenu.Addresses);
         page.getByRole(AriaRole.LINK, new Page.GetByRoleOptions().setName(addressName)).click(clicker);
         page.getByPlaceholder("Search by attribute name...").fill("RoutedMessageCount");
 
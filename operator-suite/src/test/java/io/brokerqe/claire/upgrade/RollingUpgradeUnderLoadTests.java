@@ -0,0 +1,191 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.upgrade;
+
+import io.amq.broker.v1beta1.ActiveMQArtemis;
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.executor.ExecutorOperator;
+import io.brokerqe.claire.junit.DisableOnNoUpgradePlan;
+import io.brokerqe.claire.metrics.AvailabilityProbe;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Broker version hops driven by {@code spec.version} of ActiveMQArtemis under the default (file based) cluster operator
+ * on a local cluster, while bundled core producer and consumer keep running from a separate client broker pod.
+ * Every sent and received message is printed by clients ({@code --verbose}) and streamed to {@link AvailabilityProbe},
+ * client side connection failures are counted as reconnects. Report of every hop is stored to
+ * {@code upgrade_availability_results.jsonl}.
+ */
+@DisableOnNoUpgradePlan
+@Tag(Constants.TAG_UPGRADE)
+@Tag(Constants.TAG_PERFORMANCE)
+public class RollingUpgradeUnderLoadTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollingUpgradeUnderLoadTests.class);
+    private static final String LOAD_QUEUE = "upgrade-load-queue";
+    private static final String TARGET_BROKER = "upgrade-target";
+    private static final String CLIENT_BROKER = "upgrade-load-client";
+    // artemis producer/consumer --verbose lines, message text ends with its counter
+    private static final Pattern SENT_LINE = Pattern.compile("Sent: .*?(\\d+)\\s*$");
+    private static final Pattern RECEIVED_LINE = Pattern.compile("Received .*?(\\d+)\\s*$");
+    // AMQ212037 connection failure detected by core client, it reconnects afterwards (reconnectAttempts=-1)
+    private static final String CONNECTION_FAILURE = "AMQ212037";
+    private static final int LOAD_SLEEP_MS = 20;
+
+    private final String testNamespace = getRandomNamespaceName("upgrade-load-tests", 3);
+    private ActiveMQArtemis targetBroker;
+    private Pod clientPod;
+    private String previousVersion;
+
+    static Stream<? extends Arguments> getUpgradePlanArguments() {
+        ArrayList<HashMap<String, String>> mapped = new Yaml().load(ResourceManager.getEnvironment().getTestUpgradePlanContent());
+        return mapped.stream().map(line -> Arguments.of(line.get("version")));
+    }
+
+    @BeforeAll
+    void setupClusterOperator() {
+        setupDefaultClusterOperator(testNamespace);
+    }
+
+    @AfterAll
+    void teardownClusterOperator() {
+        teardownDefaultClusterOperator(testNamespace);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getUpgradePlanArguments")
+    void rollingUpgradeUnderLoadTest(ArgumentsAccessor argumentsAccessor) {
+        String version = argumentsAccessor.getString(0);
+        if (argumentsAccessor.getInvocationIndex() <= 1) {
+            LOGGER.info("[{}] [UPGRADE-UNDER-LOAD] Deploying {} version {} and client broker", testNamespace, TARGET_BROKER, version);
+            ActiveMQArtemis broker = ResourceManager.createArtemis(testNamespace, TARGET_BROKER, 1, true, true, false, false,
+                    List.of("addressConfigurations." + LOAD_QUEUE + ".routingTypes=ANYCAST",
+                            "addressConfigurations." + LOAD_QUEUE + ".queueConfigs." + LOAD_QUEUE + ".routingType=ANYCAST"));
+            broker.getSpec().setVersion(version);
+            targetBroker = updateArtemis(broker);
+            ResourceManager.createArtemis(testNamespace, CLIENT_BROKER);
+            clientPod = getClient().getFirstPodByPrefixName(testNamespace, CLIENT_BROKER);
+        } else {
+            AvailabilityProbe.Result result = upgradeUnderLoad(version);
+            Assertions.assertEquals(0, result.lost(), "Acknowledged messages lost during upgrade " + previousVersion + " -> " + version);
+        }
+        previousVersion = version;
+    }
+
+    private ActiveMQArtemis updateArtemis(ActiveMQArtemis broker) {
+        Pod brokerPod = getClient().getFirstPodByPrefixName(testNamespace, TARGET_BROKER);
+        ActiveMQArtemis updated = ResourceManager.getArtemisClient().inNamespace(testNamespace).resource(broker).createOrReplace();
+        getClient().waitForPodReload(testNamespace, brokerPod, brokerPod.getMetadata().getName(), Constants.DURATION_5_MINUTES);
+        return updated;
+    }
+
+    private AvailabilityProbe.Result upgradeUnderLoad(String version) {
+        AvailabilityProbe probe = new AvailabilityProbe("operator-file");
+        AtomicLong sent = new AtomicLong();
+        String allPort = getServicePortNumber(testNamespace, getArtemisServiceHdls(testNamespace, targetBroker), "all");
+        String url = "tcp://" + getArtemisServiceHdls(testNamespace, targetBroker).getMetadata().getName() + ":" + allPort
+                + "?reconnectAttempts=-1&retryInterval=500";
+
+        try (ExecutorOperator producer = new ExecutorOperator(clientPod);
+             ExecutorOperator consumer = new ExecutorOperator(clientPod)) {
+            probe.started(System.currentTimeMillis());
+            consumer.execBackgroundCommand(line -> recordLine(probe, line, RECEIVED_LINE, false), loadCommand("consumer", url));
+            producer.execBackgroundCommand(line -> {
+                if (recordLine(probe, line, SENT_LINE, true)) {
+                    sent.incrementAndGet();
+                }
+            }, loadCommand("producer", url));
+            TestUtils.waitFor("clients to exchange messages before upgrade", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_1_MINUTE, () -> probe.getReceived() > 0);
+            TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+
+            LOGGER.info("[{}] [UPGRADE-UNDER-LOAD] {} {} -> {}", testNamespace, TARGET_BROKER, previousVersion, version);
+            probe.upgradeStarted(System.currentTimeMillis());
+            targetBroker.getSpec().setVersion(version);
+            targetBroker = updateArtemis(targetBroker);
+            probe.upgradeFinished(System.currentTimeMillis());
+            TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+
+            stopLoad("producer");
+            probe.finished(System.currentTimeMillis());
+            // lost messages are a result of the measurement, not a failure of the test
+            long deadline = System.currentTimeMillis() + Constants.DURATION_1_MINUTE;
+            while (probe.getReceived() < sent.get() && System.currentTimeMillis() < deadline) {
+                TestUtils.threadSleep(Constants.DURATION_500_MILLISECONDS);
+            }
+            stopLoad("consumer");
+        }
+
+        AvailabilityProbe.Result result = probe.getResult(Map.of(
+                "from", String.valueOf(previousVersion),
+                "to", version,
+                "sleep", String.valueOf(LOAD_SLEEP_MS)));
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        AvailabilityProbe.appendResult(Constants.PERFORMANCE_DIR + "/upgrade_availability_results.jsonl", result);
+        return result;
+    }
+
+    /**
+     * @return true when line is a sent or received message
+     */
+    private boolean recordLine(AvailabilityProbe probe, String line, Pattern messageLine, boolean sending) {
+        long time = System.currentTimeMillis();
+        Matcher matcher = messageLine.matcher(line);
+        if (matcher.find()) {
+            long sequence = Long.parseLong(matcher.group(1));
+            if (sending) {
+                probe.acknowledged(sequence, time);
+            } else {
+                probe.received(sequence, time);
+            }
+            return true;
+        }
+        if (line.contains(CONNECTION_FAILURE)) {
+            probe.reconnected();
+        } else if (line.contains("Exception")) {
+            probe.failed(time);
+        }
+        return false;
+    }
+
+    /**
+     * Client process stores its pid, so it can be stopped without searching for it.
+     */
+    private String[] loadCommand(String client, String url) {
+        String command = String.format("echo $$ > /tmp/claire-%s.pid; exec ./amq-broker/bin/artemis %s --verbose --url '%s' "
+                        + "--user %s --password %s --destination queue://%s --message-count %d%s",
+                client, client, url, ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS, LOAD_QUEUE, Integer.MAX_VALUE,
+                client.equals("producer") ? " --sleep " + LOAD_SLEEP_MS : "");
+        return new String[] {"sh", "-c", command};
+    }
+
+    private void stopLoad(String client) {
+        getClient().executeCommandInPod(clientPod, "kill $(cat /tmp/claire-" + client + ".pid)", Constants.DURATION_30_SECONDS);
+    }
+}
@@ -38,13 +38,19 @@ public class EnvironmentStandalone extends Environment {
     private final String tmpDirLocation;
     private final boolean logContainers;
     private final boolean collectTestData;
+    private final String collectTestDataMode;
+    private final String collectTestDataSkip;
+    private final long collectTestDataTruncateSize;
     private final boolean playwrightDebug;
     private final String artemisContainerImage;
     private final String artemisContainerJavaHome;
+    private final String artemisDistributionStore;
     private final String nfsServerContainerImage;
     private final String toxiProxyContainerImage;
     private final String providedArtemisConfig;
     private final String zookeeperContainerImage;
+    private final String keycloakContainerImage;
+    private final String openldapContainerImage;
     private final String yacfgArtemisContainerImage;
     private final String imagePullPolicy;
     private final String yacfgArtemisProfile;
@@ -53,9 +59,10 @@ public class EnvironmentStandalone extends Environment {
     private final String artemisVersionStr;
     private final ArtemisVersion artemisVersion;
 
-    private String packageClassDir;
-    private String testTempDir;
-    private String testConfigDir;
+    // directories of currently executed test class, test classes running concurrently have own threads
+    private final ThreadLocal<String> packageClassDir = new ThreadLocal<>();
+    private final ThreadLocal<String> testTempDir = new ThreadLocal<>();
+    private final ThreadLocal<String> testConfigDir = new ThreadLocal<>();
 
     protected EnvironmentStandalone() {
         String initialTimestamp = TestUtils.generateTimestamp();
@@ -68,6 +75,7 @@ public class EnvironmentStandalone extends Environment {
         // Default value is in logback settings file
         logLevel = getConfigurationValue(Constants.EV_TEST_LOG_LEVEL, Constants.PROP_LOG_LEVEL, ArtemisConstants.DEFAULT_LOG_LEVEL);
         minFailedTestsAbort = Integer.parseInt(System.getenv().getOrDefault(Constants.EV_TEST_FAIL_ABORT_COUNT, "4"));
+        traceTestPhases = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_TRACE_TEST_PHASES, "true"));
 
         logsDirLocation = getConfigurationValue(Constants.EV_LOGS_LOCATION, Constants.PROP_LOG_DIR, Constants.LOGS_DEFAULT_DIR)
                 + Constants.FILE_SEPARATOR + initialTimestamp;
@@ -76,6 +84,12 @@ public class EnvironmentStandalone extends Environment {
         logContainers = Boolean.parseBoolean(getConfigurationValue(Constants.EV_LOG_CONTAINERS, Constants.PROP_LOG_CONTAINERS,
                 String.valueOf(Constants.DEFAULT_LOG_CONTAINERS)));
         collectTestData = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_COLLECT_TEST_DATA, "true"));
+        collectTestDataMode = getConfigurationValue(Constants.EV_COLLECT_TEST_DATA_MODE,
+                Constants.PROP_COLLECT_TEST_DATA_MODE, Constants.DEFAULT_COLLECT_TEST_DATA_MODE);
+        collectTestDataSkip = getConfigurationValue(Constants.EV_COLLECT_TEST_DATA_SKIP,
+                Constants.PROP_COLLECT_TEST_DATA_SKIP, "");
+        collectTestDataTruncateSize = Long.parseLong(getConfigurationValue(Constants.EV_COLLECT_TEST_DATA_TRUNCATE_SIZE,
+                Constants.PROP_COLLECT_TEST_DATA_TRUNCATE_SIZE, "-1"));
         playwrightDebug = Boolean.parseBoolean(System.getenv().getOrDefault(Constants.EV_PLAYWRIGHT_DEBUG, "false"));
         artemisContainerImage = getConfigurationValue(Constants.EV_ARTEMIS_CONTAINER_IMAGE,
                 Constants.PROP_ARTEMIS_CONTAINER_IMAGE, Constants.DEFAULT_ARTEMIS_CONTAINER_IMAGE);
@@ -84,6 +98,9 @@ public class EnvironmentStandalone extends Environment {
                 Constants.PROP_ARTEMIS_CONTAINER_JAVA_HOME,
                 Constants.DEFAULT_ARTEMIS_CONTAINER_INSTANCE_JAVA_HOME);
 
+        artemisDistributionStore = getConfigurationValue(Constants.EV_ARTEMIS_DISTRIBUTION_STORE,
+                Constants.PROP_ARTEMIS_DISTRIBUTION_STORE, Constants.DEFAULT_ARTEMIS_DISTRIBUTION_STORE);
+
         nfsServerContainerImage = getConfigurationValue(Constants.EV_NFS_SERVER_CONTAINER_IMAGE,
                 Constants.PROP_NFS_SERVER_CONTAINER_IMAGE, Constants.DEFAULT_NFS_SERVER_CONTAINER_IMAGE);
 
@@ -93,6 +110,12 @@ public class EnvironmentStandalone extends Environment {
         zookeeperContainerImage = getConfigurationValue(Constants.EV_ZOOKEEPER_CONTAINER_IMAGE,
                 Constants.PROP_ZOOKEEPER_CONTAINER_IMAGE, Constants.DEFAULT_ZOOKEEPER_CONTAINER_IMAGE);
 
+        keycloakContainerImage = getConfigurationValue(Constants.EV_KEYCLOAK_CONTAINER_IMAGE,
+                Constants.PROP_KEYCLOAK_CONTAINER_IMAGE, Constants.DEFAULT_KEYCLOAK_CONTAINER_IMAGE);
+
+        openldapContainerImage = getConfigurationValue(Constants.EV_OPENLDAP_CONTAINER_IMAGE,
+                Constants.PROP_OPENLDAP_CONTAINER_IMAGE, Constants.IMAGE_OPENLDAP);
+
         imagePullPolicy = getConfigurationValue(Constants.EV_IMAGE_PULL_POLICY, Constants.PROP_IMAGE_PULL_POLICY,
                 Constants.DEFAULT_IMAGE_PULL_POLICY);
 
@@ -140,11 +163,17 @@ public class EnvironmentStandalone extends Environment {
                 Constants.PROP_LOG_LEVEL + ": " + logLevel + Constants.LINE_SEPARATOR +
                 Constants.PROP_LOG_DIR + ": " + logsDirLocation + Constants.LINE_SEPARATOR +
                 Constants.PROP_LOG_CONTAINERS + ": " + logContainers + Constants.LINE_SEPARATOR +
+                Constants.PROP_COLLECT_TEST_DATA_MODE + ": " + collectTestDataMode + Constants.LINE_SEPARATOR +
+                Constants.PROP_COLLECT_TEST_DATA_SKIP + ": " + collectTestDataSkip + Constants.LINE_SEPARATOR +
+                Constants.PROP_COLLECT_TEST_DATA_TRUNCATE_SIZE + ": " + collectTestDataTruncateSize + Constants.LINE_SEPARATOR +
                 Constants.PROP_ARTEMIS_CONTAINER_IMAGE + ": " + artemisContainerImage + Constants.LINE_SEPARATOR +
                 Constants.PROP_ARTEMIS_CONTAINER_JAVA_HOME + ": " + artemisContainerJavaHome + Constants.LINE_SEPARATOR +
+                Constants.PROP_ARTEMIS_DISTRIBUTION_STORE + ": " + artemisDistributionStore + Constants.LINE_SEPARATOR +
                 Constants.PROP_NFS_SERVER_CONTAINER_IMAGE + ": " + nfsServerContainerImage + Constants.LINE_SEPARATOR +
                 Constants.PROP_TOXI_PROXY_CONTAINER_IMAGE + ": " + toxiProxyContainerImage + Constants.LINE_SEPARATOR +
                 Constants.PROP_ZOOKEEPER_CONTAINER_IMAGE + ": " + zookeeperContainerImage + Constants.LINE_SEPARATOR +
+                Constants.PROP_KEYCLOAK_CONTAINER_IMAGE + ": " + keycloakContainerImage + Constants.LINE_SEPARATOR +
+                Constants.PROP_OPENLDAP_CONTAINER_IMAGE + ": " + openldapContainerImage + Constants.LINE_SEPARATOR +
                 Constants.PROP_YACFG_ARTEMIS_CONTAINER_IMAGE + ": " + yacfgArtemisContainerImage + Constants.LINE_SEPARATOR +
                 Constants.PROP_YACFG_ARTEMIS_PROFILE + ": " + yacfgArtemisProfile + Constants.LINE_SEPARATOR +
                 Constants.PROP_YACFG_ARTEMIS_PROFILES_OVERRIDE_DIR + ": " + yacfgArtemisProfilesOverrideDir + Constants.LINE_SEPARATOR +
@@ -153,7 +182,8 @@ public class EnvironmentStandalone extends Environment {
                 Constants.PROP_RAPIDAST_SA_FILE + ": " + rapiDastSaFile + Constants.LINE_SEPARATOR +
                 Constants.EV_UPGRADE_PLAN + ": " + testUpgradePlan + Constants.LINE_SEPARATOR +
                 Constants.PROP_USE_EXISTING_CONFIG + ": " + providedArtemisConfig + Constants.LINE_SEPARATOR +
-                Constants.EV_TEST_FAIL_ABORT_COUNT + ": " + minFailedTestsAbort;
+                Constants.EV_TEST_FAIL_ABORT_COUNT + ": " + minFailedTestsAbort + Constants.LINE_SEPARATOR +
+                Constants.EV_TRACE_TEST_PHASES + ": " + traceTestPhases;
         LOGGER.info(envVars);
     }
 
@@ -260,6 +290,10 @@ public class EnvironmentStandalone extends Environment {
         return artemisContainerJavaHome;
     }
 
+    public String getArtemisDistributionStore() {
+        return artemisDistributionStore;
+    }
+
     public String getSystemTestClientsImage() {
         return Constants.IMAGE_SYSTEMTEST_CLIENTS;
     }
@@ -289,6 +323,14 @@ public class EnvironmentStandalone extends Environment {
         return zookeeperContainerImage;
     }
 
+    public String getKeycloakContainerImage() {
+        return keycloakContainerImage;
+    }
+
+    public String getOpenldapContainerImage() {
+        return openldapContainerImage;
+    }
+
     public String getYacfgArtemisContainerImage() {
         return yacfgArtemisContainerImage;
     }
@@ -355,6 +397,18 @@ public class EnvironmentStandalone extends Environment {
         return collectTestData;
     }
 
+    public boolean isCollectTestDataSnapshot() {
+        return Constants.COLLECT_TEST_DATA_MODE_SNAPSHOT.equalsIgnoreCase(collectTestDataMode);
+    }
+
+    public String[] getCollectTestDataSkip() {
+        return collectTestDataSkip.split(",");
+    }
+
+    public long getCollectTestDataTruncateSize() {
+        return collectTestDataTruncateSize;
+    }
+
     @Override
     public boolean isTeardownEnv() {
         // TODO
@@ -402,26 +456,26 @@ public class EnvironmentStandalone extends Environment {
     }
 
     public void setPackageClassDir(String pkgAndClass) {
-        this.packageClassDir = pkgAndClass;
+        this.packageClassDir.set(pkgAndClass);
     }
 
     public String getPackageClassDir() {
-        return packageClassDir;
+        return packageClassDir.get();
     }
 
     public void setTestTempDir(String testTempDir) {
-        this.testTempDir = testTempDir;
+        this.testTempDir.set(testTempDir);
     }
 
     public String getTestTempDir() {
-        return testTempDir;
+        return testTempDir.get();
     }
 
     public String getTestConfigDir() {
-        return testConfigDir;
+        return testConfigDir.get();
     }
 
     public void setTestConfigDir(String testConfigDir) {
-        this.testConfigDir = testConfigDir;
+        this.testConfigDir.set(testConfigDir);
     }
 }
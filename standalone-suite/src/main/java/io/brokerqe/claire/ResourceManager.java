@@ -12,13 +12,16 @@ import io.brokerqe.claire.client.container.SystemTestProtonPythonClientContainer
 import io.brokerqe.claire.client.container.SystemTestRheaClientContainer;
 import io.brokerqe.claire.container.AbstractGenericContainer;
 import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.container.KeycloakContainer;
 import io.brokerqe.claire.container.NfsServerContainer;
+import io.brokerqe.claire.container.OpenldapContainer;
 import io.brokerqe.claire.container.ToxiProxyContainer;
 import io.brokerqe.claire.container.WebDriverContainer;
 import io.brokerqe.claire.container.YacfgArtemisContainer;
 import io.brokerqe.claire.container.ZookeeperContainer;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.helper.ContainerHelper;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import jakarta.jms.ConnectionFactory;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -34,7 +37,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -45,10 +50,12 @@ public final class ResourceManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceManager.class);
 
-    private static final Map<String, AbstractGenericContainer> CONTAINERS = new LinkedHashMap<>();
+    private static final Map<String, AbstractGenericContainer> CONTAINERS = new ConcurrentHashMap<>();
+    // test classes running concurrently have own threads, so every test class stops only containers and clients it created
+    private static final ThreadLocal<List<String>> THREAD_CONTAINERS = ThreadLocal.withInitial(ArrayList::new);
     private static final ExecutorService EXECUTOR_SERVICE = new ThreadPoolExecutor(2, 10,
             Constants.DURATION_10_SECONDS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
-    private static final Map<String, JmsClient> CLIENTS = new LinkedHashMap<>();
+    private static final ThreadLocal<Map<String, JmsClient>> CLIENTS = ThreadLocal.withInitial(LinkedHashMap::new);
     private static Network defaultNetwork;
     private static EnvironmentStandalone environmentStandalone;
 
@@ -67,13 +74,19 @@ public final class ResourceManager {
         return environmentStandalone;
     }
 
+    /**
+     * Stop all remaining containers created by current thread, i.e. by currently executed test class.
+     */
     public static void stopAllContainers() {
         LOGGER.debug("Stopping all remaining containers");
-        if (CONTAINERS.size() > 0) {
-            ArrayList<AbstractGenericContainer> reverseOrderArray = new ArrayList<>(CONTAINERS.values());
+        List<String> threadContainers = THREAD_CONTAINERS.get();
+        if (threadContainers.size() > 0) {
+            ArrayList<AbstractGenericContainer> reverseOrderArray = new ArrayList<>();
+            threadContainers.forEach(name -> reverseOrderArray.add(CONTAINERS.remove(name)));
             Collections.reverse(reverseOrderArray);
-            ContainerHelper.stopContainers(reverseOrderArray.toArray(new AbstractGenericContainer[0]));
-            CONTAINERS.clear();
+            TestPhaseTracer.trace(TestPhaseTracer.Phase.TEARDOWN, "stopAllContainers",
+                    () -> ContainerHelper.stopContainers(reverseOrderArray.toArray(new AbstractGenericContainer[0])));
+            threadContainers.clear();
         }
     }
 
@@ -100,6 +113,14 @@ public final class ResourceManager {
         return getContainerInstance(ZookeeperContainer.class, name, true);
     }
 
+    public static KeycloakContainer getKeycloakContainerInstance(String name) {
+        return getContainerInstance(KeycloakContainer.class, name, true);
+    }
+
+    public static OpenldapContainer getOpenldapContainerInstance(String name) {
+        return getContainerInstance(OpenldapContainer.class, name, true);
+    }
+
     public static YacfgArtemisContainer getYacfgArtemisContainerInstance(String name) {
         return getContainerInstance(YacfgArtemisContainer.class, name, false);
     }
@@ -145,15 +166,19 @@ public final class ResourceManager {
 
     public static JmsClient getJmsClient(String id, ConnectionFactory connectionFactory) {
         JmsClient jmsClient = new JmsClient(id, connectionFactory);
-        CLIENTS.put(id, jmsClient);
+        CLIENTS.get().put(id, jmsClient);
         return jmsClient;
     }
 
+    /**
+     * Disconnect all remaining clients created by current thread, i.e. by currently executed test class.
+     */
     public static void disconnectAllClients() {
-        if (!CLIENTS.isEmpty()) {
+        Map<String, JmsClient> threadClients = CLIENTS.get();
+        if (!threadClients.isEmpty()) {
             LOGGER.info("Stopping any remaining clients");
-            CLIENTS.values().forEach(JmsClient::disconnect);
-            CLIENTS.clear();
+            threadClients.values().forEach(JmsClient::disconnect);
+            threadClients.clear();
         }
     }
 
@@ -180,12 +205,12 @@ public final class ResourceManager {
             name = name + "-" + TestUtils.generateRandomName();
         }
         LOGGER.trace("Adding container to ResourceManager map: {}", name);
-        if (CONTAINERS.containsKey(name)) {
-            throw new ClaireRuntimeException("Error: Container name already exists. Container name must be unique.");
-        }
         try {
             T newContainer = clazz.getDeclaredConstructor(String.class).newInstance(name);
-            CONTAINERS.put(name, newContainer);
+            if (CONTAINERS.putIfAbsent(name, newContainer) != null) {
+                throw new ClaireRuntimeException("Error: Container name already exists. Container name must be unique.");
+            }
+            THREAD_CONTAINERS.get().add(name);
             return newContainer;
         } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
             throw new ClaireRuntimeException(e.getMessage(), e);
@@ -7,6 +7,7 @@ package io.brokerqe.claire;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.container.ContainerType;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.ArchiveSnapshotFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +17,8 @@ public class StandaloneTestDataCollector extends TestDataCollector {
 
     private static final String CONTAINERS_STRING = "containers";
     private static final String CONTAINER_LOG_SUFFIX = "_container.log";
+    private static final String SNAPSHOT_SUFFIX = ".tar.gz";
+    private static final String DATA_DIR_GLOB = ArtemisConstants.DATA_DIR.substring(1) + "/**";
 
 
     @Override
@@ -49,9 +52,14 @@ public class StandaloneTestDataCollector extends TestDataCollector {
                 String srcTmpDir = "/tmp" + Constants.FILE_SEPARATOR + name;
                 String srcDir = ArtemisContainer.ARTEMIS_INSTANCE_DIR;
                 try {
-                    LOGGER.debug("[{}] Copy artemis folder to tmp folder and tar it, so no writes are performed during tar action.", name);
-                    container.copyWithinContainer(ArtemisContainer.ARTEMIS_INSTANCE_DIR, srcTmpDir);
-                    container.copyDirFrom(srcTmpDir, dstDir);
+                    if (EnvironmentStandalone.getInstance().isCollectTestDataSnapshot()) {
+                        LOGGER.debug("[{}] Stream artemis folder into compressed snapshot archive.", name);
+                        container.snapshotDirFrom(srcDir, dstDir + SNAPSHOT_SUFFIX, createSnapshotFilter());
+                    } else {
+                        LOGGER.debug("[{}] Copy artemis folder to tmp folder and tar it, so no writes are performed during tar action.", name);
+                        container.copyWithinContainer(ArtemisContainer.ARTEMIS_INSTANCE_DIR, srcTmpDir);
+                        container.copyDirFrom(srcTmpDir, dstDir);
+                    }
                 } catch (ClaireRuntimeException e) {
                     String errMsg = String.format("Error on copying directory %s from container %s to %s: %s",
                             srcDir, container.getName(), dstDir, e.getMessage());
@@ -61,4 +69,11 @@ public class StandaloneTestDataCollector extends TestDataCollector {
         });
     }
 
+    private ArchiveSnapshotFilter createSnapshotFilter() {
+        EnvironmentStandalone environmentStandalone = EnvironmentStandalone.getInstance();
+        return ArchiveSnapshotFilter.none()
+                .withSkip(environmentStandalone.getCollectTestDataSkip())
+                .withTruncate(environmentStandalone.getCollectTestDataTruncateSize(), DATA_DIR_GLOB);
+    }
+
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.client;
+
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.metrics.AvailabilityProbe;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.qpid.jms.JmsConnection;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.apache.qpid.jms.JmsConnectionListener;
+import org.apache.qpid.jms.message.JmsInboundMessageDispatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Producers and consumers of a queue running through a whole upgrade hop. Url is resolved by {@code urlSupplier} on
+ * every connect, as restarted broker container gets new mapped ports. Use AMQP failover url
+ * ({@link AmqpUtil#buildAmqFailoverUrl}) with limited reconnect attempts, so restart of a broker in HA pair is handled
+ * by failover transport and restart of the last reachable broker ends with error and reconnect to freshly resolved url.
+ * Every producer sends persistent messages with unique sequence at fixed rate. Acknowledged sends, errors,
+ * received messages and reconnects (of failover transport and of the generator) are recorded to {@link AvailabilityProbe}.
+ */
+public class AvailabilityLoadGenerator implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityLoadGenerator.class);
+    private static final long RECEIVE_TIMEOUT = Constants.DURATION_1_SECOND;
+
+    private final Supplier<String> urlSupplier;
+    private final String queueName;
+    private final AvailabilityProbe probe;
+    private final int rate;
+    private final int clients;
+    private final ExecutorService executorService;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private volatile boolean producing;
+    private volatile boolean consuming;
+
+    /**
+     * @param rate messages per second of each producer
+     * @param clients number of producers and of consumers
+     */
+    public AvailabilityLoadGenerator(Supplier<String> urlSupplier, String queueName, AvailabilityProbe probe, int rate, int clients) {
+        this.urlSupplier = urlSupplier;
+        this.queueName = queueName;
+        this.probe = probe;
+        this.rate = rate;
+        this.clients = clients;
+        this.executorService = Executors.newFixedThreadPool(2 * clients);
+    }
+
+    public void start() {
+        LOGGER.info("[Availability] Starting {} producers ({} msg/s each) and consumers of {}", clients, rate, queueName);
+        probe.started(System.currentTimeMillis());
+        producing = true;
+        consuming = true;
+        for (int i = 0; i < clients; i++) {
+            // sequences of producers do not overlap
+            long firstSequence = (long) i << 40;
+            futures.add(executorService.submit(this::consume));
+            futures.add(executorService.submit(() -> produce(firstSequence)));
+        }
+    }
+
+    private void produce(long firstSequence) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long sent = 0;
+        boolean reconnect = false;
+        while (producing) {
+            try (Connection connection = createConnection()) {
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                MessageProducer producer = session.createProducer(session.createQueue(queueName));
+                producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+                if (reconnect) {
+                    probe.reconnected();
+                    reconnect = false;
+                }
+                long start = System.nanoTime() - sent * intervalNanos;
+                while (producing) {
+                    // fixed schedule, sends blocked by broker restart are not caught up so recovery does not look like a burst
+                    long wait = start + sent * intervalNanos - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    } else if (wait < -intervalNanos) {
+                        start = System.nanoTime() - sent * intervalNanos;
+                    }
+                    long sequence = firstSequence + sent;
+                    Message message = session.createTextMessage("availability-" + sequence);
+                    message.setLongProperty(AvailabilityProbe.SEQUENCE_PROPERTY, sequence);
+                    // sequence of failed send is not reused, it may have reached the broker
+                    sent++;
+                    producer.send(message);
+                    probe.acknowledged(sequence, System.currentTimeMillis());
+                }
+            } catch (JMSException | RuntimeException e) {
+                // mapped port of stopped container is not available (IllegalStateException), treat it as connection error
+                reconnect = recordError("Producer", e);
+            }
+        }
+    }
+
+    private void consume() {
+        boolean reconnect = false;
+        while (consuming) {
+            try (Connection connection = createConnection()) {
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+                connection.start();
+                if (reconnect) {
+                    probe.reconnected();
+                    reconnect = false;
+                }
+                while (consuming) {
+                    Message message = consumer.receive(RECEIVE_TIMEOUT);
+                    if (message != null) {
+                        recordReceived(message);
+                    }
+                }
+            } catch (JMSException | RuntimeException e) {
+                reconnect = recordError("Consumer", e);
+            }
+        }
+    }
+
+    private boolean recordError(String client, Exception e) {
+        probe.failed(System.currentTimeMillis());
+        LOGGER.debug("[Availability] {} of {} failed, reconnecting: {}", client, queueName, e.getMessage());
+        TimeHelper.waitFor(Constants.DURATION_500_MILLISECONDS);
+        return true;
+    }
+
+    private void recordReceived(Message message) {
+        long received = System.currentTimeMillis();
+        try {
+            probe.received(message.getLongProperty(AvailabilityProbe.SEQUENCE_PROPERTY), received);
+        } catch (JMSException e) {
+            LOGGER.warn("[Availability] Unable to read sequence of received message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop producers, wait until consumers received every acknowledged message or {@code timeout} passed and stop them.
+     */
+    public void stopAndDrain(long timeout) {
+        producing = false;
+        probe.finished(System.currentTimeMillis());
+        // lost messages are a result of the measurement, not a failure of the generator
+        long deadline = System.currentTimeMillis() + timeout;
+        while (probe.getLost() > 0 && System.currentTimeMillis() < deadline) {
+            TimeHelper.waitFor(Constants.DURATION_500_MILLISECONDS);
+        }
+        consuming = false;
+        try {
+            for (Future<?> future : futures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Availability] Interrupted while stopping clients", e);
+        } catch (Exception e) {
+            String errMsg = String.format("[Availability] Client of %s did not stop: %s", queueName, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        LOGGER.info("[Availability] {} acknowledged messages were not received from {}", probe.getLost(), queueName);
+    }
+
+    @Override
+    public void close() {
+        producing = false;
+        consuming = false;
+        executorService.shutdownNow();
+    }
+
+    private Connection createConnection() throws JMSException {
+        JmsConnection connection = (JmsConnection) new JmsConnectionFactory(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS, urlSupplier.get()).createConnection();
+        connection.addConnectionListener(new ReconnectCounter());
+        return connection;
+    }
+
+    /**
+     * Counts every restored connection of failover transport as reconnect.
+     */
+    private class ReconnectCounter implements JmsConnectionListener {
+
+        @Override
+        public void onConnectionRestored(URI remoteURI) {
+            probe.reconnected();
+            LOGGER.debug("[Availability] Connection restored to {}", remoteURI);
+        }
+
+        @Override
+        public void onConnectionEstablished(URI remoteURI) {
+        }
+
+        @Override
+        public void onConnectionFailure(Throwable error) {
+        }
+
+        @Override
+        public void onConnectionInterrupted(URI remoteURI) {
+        }
+
+        @Override
+        public void onInboundMessage(JmsInboundMessageDispatch envelope) {
+        }
+
+        @Override
+        public void onSessionClosed(Session session, Throwable cause) {
+        }
+
+        @Override
+        public void onConsumerClosed(MessageConsumer consumer, Throwable cause) {
+        }
+
+        @Override
+        public void onProducerClosed(MessageProducer producer, Throwable cause) {
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.client;
+
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.metrics.FailoverProbe;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One producer and one consumer of a queue running continuously through AMQP failover url
+ * ({@link AmqpUtil#buildAmqFailoverUrl}), so they keep working while primary broker fails and backup takes over.
+ * Producer sends persistent messages with unique sequence at fixed rate, every send returns after broker acknowledged
+ * the message. Acknowledged and received messages are recorded to {@link FailoverProbe}.
+ */
+public class FailoverLoadGenerator implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailoverLoadGenerator.class);
+
+    private final String failoverUrl;
+    private final String queueName;
+    private final FailoverProbe probe;
+    private final int rate;
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private Connection consumerConnection;
+    private Future<Long> producerFuture;
+    private volatile boolean producing;
+
+    /**
+     * @param rate messages per second
+     */
+    public FailoverLoadGenerator(String failoverUrl, String queueName, FailoverProbe probe, int rate) {
+        this.failoverUrl = failoverUrl;
+        this.queueName = queueName;
+        this.probe = probe;
+        this.rate = rate;
+    }
+
+    public void start() {
+        LOGGER.info("[Failover] Starting producer ({} msg/s) and consumer of {} using {}", rate, queueName, failoverUrl);
+        try {
+            consumerConnection = createConnection();
+            Session session = consumerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            consumer.setMessageListener(this::recordReceived);
+            consumerConnection.start();
+        } catch (JMSException e) {
+            String errMsg = String.format("[Failover] Unable to start consumer of %s: %s", queueName, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        producing = true;
+        producerFuture = executorService.submit(this::produce);
+    }
+
+    private long produce() throws JMSException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long sequence = 0;
+        try (Connection connection = createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(session.createQueue(queueName));
+            producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+            long start = System.nanoTime();
+            while (producing) {
+                // fixed schedule, sends blocked by failover are not caught up, there is nothing to measure in a burst
+                long wait = start + sequence * intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (wait < -intervalNanos) {
+                    start = System.nanoTime() - sequence * intervalNanos;
+                }
+                Message message = session.createTextMessage("failover-" + sequence);
+                message.setLongProperty(FailoverProbe.SEQUENCE_PROPERTY, sequence);
+                producer.send(message);
+                probe.acknowledged(sequence, System.currentTimeMillis());
+                sequence++;
+            }
+        }
+        return sequence;
+    }
+
+    private void recordReceived(Message message) {
+        long received = System.currentTimeMillis();
+        try {
+            probe.received(message.getLongProperty(FailoverProbe.SEQUENCE_PROPERTY), received);
+        } catch (JMSException e) {
+            LOGGER.warn("[Failover] Unable to read sequence of received message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop producer and wait until consumer received every acknowledged message or {@code timeout} passed.
+     * @return number of sent messages
+     */
+    public long stopAndDrain(long timeout) {
+        producing = false;
+        long sent;
+        try {
+            sent = producerFuture.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Failover] Interrupted while stopping producer", e);
+        } catch (Exception e) {
+            String errMsg = String.format("[Failover] Producer of %s failed: %s", queueName, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        // lost messages are a result of the analysis, not a failure of the generator, so no wait exception here
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!probe.getLostSequences().isEmpty() && System.currentTimeMillis() < deadline) {
+            TimeHelper.waitFor(Constants.DURATION_500_MILLISECONDS);
+        }
+        LOGGER.info("[Failover] Sent {} messages, {} acknowledged messages were not received", sent, probe.getLostSequences().size());
+        return sent;
+    }
+
+    @Override
+    public void close() {
+        producing = false;
+        executorService.shutdownNow();
+        try {
+            if (consumerConnection != null) {
+                consumerConnection.close();
+            }
+        } catch (JMSException e) {
+            LOGGER.debug("[Failover] Unable to close consumer connection: {}", e.getMessage());
+        }
+    }
+
+    private Connection createConnection() throws JMSException {
+        return new JmsConnectionFactory(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS, failoverUrl).createConnection();
+    }
+}
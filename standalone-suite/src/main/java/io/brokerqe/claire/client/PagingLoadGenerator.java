@@ -0,0 +1,274 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.client;
+
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.metrics.PagingProbe;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.jms.BytesMessage;
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Producers and consumers of one queue with independent rates, so the queue can be driven deep into paging and then
+ * drained. Consumers may start with a delay. Messages from {@link #LARGE_MESSAGE_STREAM_SIZE} up are streamed from
+ * generated input stream and received into a counting output stream (Artemis core {@code JMS_AMQ_InputStream} and
+ * {@code JMS_AMQ_SaveStream}), so neither side holds a large message (even over 100 MB) in memory.
+ * Every sent and received message is recorded to {@link PagingProbe}.
+ */
+public class PagingLoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagingLoadGenerator.class);
+    public static final int LARGE_MESSAGE_STREAM_SIZE = 1024 * 1024;
+    private static final String INPUT_STREAM_PROPERTY = "JMS_AMQ_InputStream";
+    private static final String SAVE_STREAM_PROPERTY = "JMS_AMQ_SaveStream";
+
+    private final String brokerUrl;
+    private final PagingProbe probe;
+    private int messageSize = 1024;
+    private int producers = 1;
+    private int consumers = 1;
+    private int producerRate;
+    private int consumerRate;
+    private long consumerDelay;
+    private long idleTimeout = Constants.DURATION_30_SECONDS;
+    private volatile boolean producersFinished;
+
+    /**
+     * @param brokerUrl core url, e.g. {@code tcp://localhost:61616}
+     */
+    public PagingLoadGenerator(String brokerUrl, PagingProbe probe) {
+        this.brokerUrl = brokerUrl;
+        this.probe = probe;
+    }
+
+    public PagingLoadGenerator withMessageSize(int messageSize) {
+        this.messageSize = messageSize;
+        return this;
+    }
+
+    public PagingLoadGenerator withClients(int producers, int consumers) {
+        this.producers = producers;
+        this.consumers = consumers;
+        return this;
+    }
+
+    /**
+     * @param producerRate messages per second of every producer, 0 for as fast as possible
+     * @param consumerRate messages per second of every consumer, 0 for as fast as possible
+     */
+    public PagingLoadGenerator withRates(int producerRate, int consumerRate) {
+        this.producerRate = producerRate;
+        this.consumerRate = consumerRate;
+        return this;
+    }
+
+    /**
+     * @param consumerDelay time from start of producers to start of consumers, to let the queue grow
+     */
+    public PagingLoadGenerator withConsumerDelay(long consumerDelay) {
+        this.consumerDelay = consumerDelay;
+        return this;
+    }
+
+    /**
+     * @param idleTimeout consumers finish when producers finished and no message arrived for this time
+     */
+    public PagingLoadGenerator withIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Every producer sends {@code messagesPerProducer} persistent messages to {@code queueName}, consumers receive
+     * until all of them were delivered or queue stays idle after producers finished.
+     */
+    public void run(String queueName, int messagesPerProducer, long timeout) {
+        LOGGER.info("[Paging] {} producers x {} messages of {}B at {} msg/s, {} consumers at {} msg/s after {}ms to {}",
+                producers, messagesPerProducer, messageSize, producerRate, consumers, consumerRate, consumerDelay, queueName);
+        producersFinished = false;
+        long expected = (long) producers * messagesPerProducer;
+        ExecutorService executorService = Executors.newFixedThreadPool(producers + consumers);
+        List<Future<?>> producerFutures = new ArrayList<>();
+        List<Future<?>> consumerFutures = new ArrayList<>();
+        byte[] payload = new byte[Math.min(messageSize, LARGE_MESSAGE_STREAM_SIZE)];
+        Arrays.fill(payload, (byte) 'c');
+        try {
+            probe.started(System.currentTimeMillis());
+            for (int i = 0; i < producers; i++) {
+                producerFutures.add(executorService.submit(() -> produce(queueName, payload, messagesPerProducer)));
+            }
+            TimeHelper.waitFor(consumerDelay);
+            for (int i = 0; i < consumers; i++) {
+                consumerFutures.add(executorService.submit(() -> consume(queueName, expected)));
+            }
+            for (Future<?> future : producerFutures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            producersFinished = true;
+            for (Future<?> future : consumerFutures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            probe.finished(System.currentTimeMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Paging] Interrupted during paging load", e);
+        } catch (Exception e) {
+            String errMsg = String.format("[Paging] Paging load did not finish: %s", e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } finally {
+            producersFinished = true;
+            executorService.shutdownNow();
+        }
+    }
+
+    private Void produce(String queueName, byte[] payload, int count) throws JMSException {
+        try (Connection connection = createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(session.createQueue(queueName));
+            producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+            long intervalNanos = producerRate > 0 ? TimeUnit.SECONDS.toNanos(1) / producerRate : 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                pace(start, i, intervalNanos);
+                BytesMessage message = session.createBytesMessage();
+                if (messageSize >= LARGE_MESSAGE_STREAM_SIZE) {
+                    message.setObjectProperty(INPUT_STREAM_PROPERTY, new GeneratedInputStream(messageSize, payload));
+                } else {
+                    message.writeBytes(payload);
+                }
+                producer.send(message);
+                probe.sent(messageSize, System.currentTimeMillis());
+            }
+        }
+        return null;
+    }
+
+    private Void consume(String queueName, long expected) throws JMSException {
+        try (Connection connection = createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            connection.start();
+            long intervalNanos = consumerRate > 0 ? TimeUnit.SECONDS.toNanos(1) / consumerRate : 0;
+            long start = System.nanoTime();
+            long lastReceived = System.currentTimeMillis();
+            long received = 0;
+            while (probe.getReceived() < expected && (!producersFinished || System.currentTimeMillis() - lastReceived < idleTimeout)) {
+                pace(start, received, intervalNanos);
+                Message message = consumer.receive(Constants.DURATION_500_MILLISECONDS);
+                if (message != null) {
+                    if (messageSize >= LARGE_MESSAGE_STREAM_SIZE) {
+                        saveStream(message);
+                    }
+                    lastReceived = System.currentTimeMillis();
+                    probe.received(lastReceived);
+                    received++;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wait for the scheduled time of {@code index}-th message, no catch-up of time lost by a stalled client.
+     */
+    private static void pace(long start, long index, long intervalNanos) {
+        if (intervalNanos > 0) {
+            long wait = start + index * intervalNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private void saveStream(Message message) throws JMSException {
+        CountingOutputStream output = new CountingOutputStream();
+        // blocks until the whole body is received
+        message.setObjectProperty(SAVE_STREAM_PROPERTY, output);
+        if (output.getCount() != messageSize) {
+            String errMsg = String.format("[Paging] Large message %s has %d bytes instead of %d", message.getJMSMessageID(),
+                    output.getCount(), messageSize);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+    }
+
+    private Connection createConnection() throws JMSException {
+        return new ActiveMQConnectionFactory(brokerUrl, ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS).createConnection();
+    }
+
+    /**
+     * Large message body of {@code size} bytes generated by repeating {@code chunk}.
+     */
+    private static final class GeneratedInputStream extends InputStream {
+        private final byte[] chunk;
+        private long remaining;
+
+        private GeneratedInputStream(long size, byte[] chunk) {
+            this.remaining = size;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return chunk[(int) (remaining % chunk.length)];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = (int) Math.min(Math.min(length, chunk.length), remaining);
+            System.arraycopy(chunk, 0, buffer, offset, read);
+            remaining -= read;
+            return read;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
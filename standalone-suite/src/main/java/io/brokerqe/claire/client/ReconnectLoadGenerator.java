@@ -0,0 +1,118 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.client;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.metrics.LatencyRecorder;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens N authenticated AMQP connections to the broker at the same moment (reconnect wave), so the latency of
+ * connection establishment including broker side JAAS login can be measured under load.
+ * Every connection authenticates using one of provided credentials in round-robin manner.
+ */
+public class ReconnectLoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReconnectLoadGenerator.class);
+
+    public record Credentials(String username, String password) { }
+
+    /**
+     * @param wallTimeMs time from releasing the wave until the last client finished
+     * @param errors failure message and its count
+     */
+    public record WaveResult(String label, int clients, int failures, long wallTimeMs, Map<String, Integer> errors) { }
+
+    private final String brokerUrl;
+    private final List<Credentials> credentials;
+    private final LatencyRecorder recorder;
+
+    public ReconnectLoadGenerator(String brokerUrl, List<Credentials> credentials, LatencyRecorder recorder) {
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("At least one credentials pair is needed for reconnect load");
+        }
+        this.brokerUrl = brokerUrl;
+        this.credentials = List.copyOf(credentials);
+        this.recorder = recorder;
+    }
+
+    /**
+     * Connect {@code clients} clients in parallel, open session on each connection and close it again.
+     * Latency of every successful connection is recorded under {@code label}.
+     */
+    public WaveResult reconnectWave(String label, int clients) {
+        LOGGER.debug("[Reconnect] Starting wave {} of {} clients to {}", label, clients, brokerUrl);
+        ExecutorService executorService = Executors.newFixedThreadPool(clients);
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        Map<String, Integer> errors = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        long start;
+        try {
+            for (int i = 0; i < clients; i++) {
+                Credentials user = credentials.get(i % credentials.size());
+                futures.add(executorService.submit(() -> {
+                    JmsConnectionFactory factory = new JmsConnectionFactory(user.username(), user.password(), brokerUrl);
+                    ready.countDown();
+                    go.await();
+                    long connectStart = System.nanoTime();
+                    try (Connection connection = factory.createConnection()) {
+                        // qpid-jms connects lazily, session creation ensures broker authenticated the user
+                        connection.start();
+                        connection.createSession(false, Session.AUTO_ACKNOWLEDGE).close();
+                        recorder.record(label, (System.nanoTime() - connectStart) / 1_000_000);
+                    } catch (JMSException e) {
+                        failures.incrementAndGet();
+                        errors.merge(e.getClass().getSimpleName() + ": " + e.getMessage(), 1, Integer::sum);
+                    }
+                    return null;
+                }));
+            }
+            if (!ready.await(Constants.DURATION_1_MINUTE, TimeUnit.MILLISECONDS)) {
+                throw new ClaireRuntimeException("[Reconnect] Clients of wave " + label + " were not ready in time");
+            }
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(Constants.DURATION_2_MINUTES, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Reconnect] Interrupted during wave " + label, e);
+        } catch (Exception e) {
+            String errMsg = String.format("[Reconnect] Wave %s did not finish: %s", label, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        long wallTime = (System.nanoTime() - start) / 1_000_000;
+        WaveResult result = new WaveResult(label, clients, failures.get(), wallTime, Map.copyOf(errors));
+        LOGGER.info("[Reconnect] Wave {}: {} clients, {} failures, took {}ms (p50={}ms, p99={}ms)", label, clients, result.failures(),
+                wallTime, recorder.getPercentile(label, 50), recorder.getPercentile(label, 99));
+        if (!errors.isEmpty()) {
+            LOGGER.warn("[Reconnect] Wave {} errors: {}", label, errors);
+        }
+        return result;
+    }
+}
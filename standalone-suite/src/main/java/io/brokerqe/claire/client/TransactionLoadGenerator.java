@@ -0,0 +1,293 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.client;
+
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.metrics.TransactionProbe;
+import org.apache.activemq.artemis.core.transaction.impl.XidImpl;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.jms.client.ActiveMQXAConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import javax.jms.XAConnection;
+import javax.jms.XASession;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent transacted producers and consumers of one queue, every commit and every message is recorded to
+ * {@link TransactionProbe}. Transactions are either local (session commit) or XA two-phase (end, prepare, commit).
+ * Uses Artemis core JMS client, which supports both transaction types and transparently reconnects to restarted broker,
+ * so the load survives broker kill and failed transactions show up as in-doubt messages and rollbacks.
+ */
+public class TransactionLoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionLoadGenerator.class);
+    private static final int XID_FORMAT = 0x434c41;
+    private static final long SEQUENCE_RANGE = 1_000_000_000L;
+
+    private final String brokerUrl;
+    private final TransactionProbe probe;
+    private final AtomicLong xidCounter = new AtomicLong();
+    private boolean xa;
+    private boolean persistent = true;
+    private int batchSize = 1;
+    private int messageSize = 1024;
+    private int producers = 1;
+    private int consumers = 1;
+    private long idleTimeout = Constants.DURATION_10_SECONDS;
+    private volatile boolean producersFinished;
+
+    /**
+     * @param brokerUrl core url, e.g. {@code tcp://localhost:61616}, reconnect options are added automatically
+     */
+    public TransactionLoadGenerator(String brokerUrl, TransactionProbe probe) {
+        this.brokerUrl = brokerUrl + (brokerUrl.contains("?") ? "&" : "?") + "reconnectAttempts=-1&retryInterval=500";
+        this.probe = probe;
+    }
+
+    public TransactionLoadGenerator withXa(boolean xa) {
+        this.xa = xa;
+        return this;
+    }
+
+    public TransactionLoadGenerator withPersistent(boolean persistent) {
+        this.persistent = persistent;
+        return this;
+    }
+
+    public TransactionLoadGenerator withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public TransactionLoadGenerator withMessageSize(int messageSize) {
+        this.messageSize = messageSize;
+        return this;
+    }
+
+    public TransactionLoadGenerator withClients(int producers, int consumers) {
+        this.producers = producers;
+        this.consumers = consumers;
+        return this;
+    }
+
+    /**
+     * @param idleTimeout consumers finish when producers finished and no message arrived for this time
+     */
+    public TransactionLoadGenerator withIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Every producer sends {@code messagesPerProducer} messages to {@code queueName} in transactions of batch size,
+     * consumers receive until all committed messages were delivered or queue stays idle.
+     */
+    public void run(String queueName, int messagesPerProducer, long timeout) {
+        LOGGER.info("[Transactions] {} {} producers x {} messages, {} consumers, batch={} size={}B persistent={} to {}",
+                xa ? "XA" : "local", producers, messagesPerProducer, consumers, batchSize, messageSize, persistent, queueName);
+        producersFinished = false;
+        ExecutorService executorService = Executors.newFixedThreadPool(producers + consumers);
+        List<Future<?>> producerFutures = new ArrayList<>();
+        List<Future<?>> consumerFutures = new ArrayList<>();
+        String text = TestUtils.generateRandomText(messageSize);
+        try {
+            probe.started();
+            for (int i = 0; i < consumers; i++) {
+                consumerFutures.add(executorService.submit(() -> consume(queueName)));
+            }
+            for (int i = 0; i < producers; i++) {
+                long firstSequence = i * SEQUENCE_RANGE;
+                producerFutures.add(executorService.submit(() -> produce(queueName, text, firstSequence, messagesPerProducer)));
+            }
+            for (Future<?> future : producerFutures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            producersFinished = true;
+            for (Future<?> future : consumerFutures) {
+                future.get(timeout, TimeUnit.MILLISECONDS);
+            }
+            probe.finished();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Transactions] Interrupted during transaction load", e);
+        } catch (Exception e) {
+            String errMsg = String.format("[Transactions] Transaction load did not finish: %s", e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } finally {
+            producersFinished = true;
+            executorService.shutdownNow();
+        }
+    }
+
+    private Void produce(String queueName, String text, long firstSequence, int count) throws JMSException {
+        try (Connection connection = createConnection()) {
+            TransactedSession transactedSession = new TransactedSession(connection);
+            Session session = transactedSession.getSession();
+            MessageProducer producer = session.createProducer(session.createQueue(queueName));
+            producer.setDeliveryMode(persistent ? DeliveryMode.PERSISTENT : DeliveryMode.NON_PERSISTENT);
+            List<Long> batch = new ArrayList<>(batchSize);
+            for (long sequence = firstSequence; sequence < firstSequence + count; sequence++) {
+                try {
+                    if (batch.isEmpty()) {
+                        transactedSession.begin();
+                    }
+                    batch.add(sequence);
+                    TextMessage message = session.createTextMessage(text);
+                    message.setLongProperty(TransactionProbe.SEQUENCE_PROPERTY, sequence);
+                    producer.send(message);
+                    if (batch.size() >= batchSize || sequence == firstSequence + count - 1) {
+                        long commitStart = System.nanoTime();
+                        transactedSession.commit();
+                        probe.producerCommitted(batch, System.nanoTime() - commitStart);
+                        batch.clear();
+                    }
+                } catch (JMSException | XAException e) {
+                    LOGGER.debug("[Transactions] Producer transaction of {} messages failed: {}", batch.size(), e.getMessage());
+                    probe.producerCommitFailed(batch);
+                    batch.clear();
+                    transactedSession.rollback();
+                }
+            }
+        }
+        return null;
+    }
+
+    private Void consume(String queueName) throws JMSException {
+        try (Connection connection = createConnection()) {
+            TransactedSession transactedSession = new TransactedSession(connection);
+            Session session = transactedSession.getSession();
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            connection.start();
+            List<Long> batch = new ArrayList<>(batchSize);
+            long lastReceived = System.currentTimeMillis();
+            while (!producersFinished || System.currentTimeMillis() - lastReceived < idleTimeout) {
+                try {
+                    if (batch.isEmpty()) {
+                        transactedSession.begin();
+                    }
+                    Message message = consumer.receive(Constants.DURATION_500_MILLISECONDS);
+                    if (message != null) {
+                        lastReceived = System.currentTimeMillis();
+                        batch.add(message.getLongProperty(TransactionProbe.SEQUENCE_PROPERTY));
+                    }
+                    if (batch.size() >= batchSize || message == null && !batch.isEmpty()) {
+                        long commitStart = System.nanoTime();
+                        transactedSession.commit();
+                        probe.consumerCommitted(batch, System.nanoTime() - commitStart);
+                        batch.clear();
+                    }
+                } catch (JMSException | XAException e) {
+                    LOGGER.debug("[Transactions] Consumer transaction of {} messages failed: {}", batch.size(), e.getMessage());
+                    probe.consumerCommitFailed();
+                    batch.clear();
+                    transactedSession.rollback();
+                }
+            }
+            // close transaction started by the last loop iteration
+            transactedSession.rollback();
+        }
+        return null;
+    }
+
+    private Connection createConnection() throws JMSException {
+        if (xa) {
+            return new ActiveMQXAConnectionFactory(brokerUrl, ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS).createXAConnection();
+        }
+        return new ActiveMQConnectionFactory(brokerUrl, ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS).createConnection();
+    }
+
+    private Xid createXid() {
+        byte[] globalId = ("claire-" + xidCounter.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+        byte[] branch = ByteBuffer.allocate(Long.BYTES).putLong(Thread.currentThread().getId()).array();
+        return new XidImpl(branch, XID_FORMAT, globalId);
+    }
+
+    /**
+     * Local transacted session or XA session driven like a transaction manager with a single resource would do it.
+     */
+    private final class TransactedSession {
+        private final Session session;
+        private final XAResource xaResource;
+        private Xid xid;
+
+        private TransactedSession(Connection connection) throws JMSException {
+            if (xa) {
+                XASession xaSession = ((XAConnection) connection).createXASession();
+                session = xaSession.getSession();
+                xaResource = xaSession.getXAResource();
+            } else {
+                session = connection.createSession(true, Session.SESSION_TRANSACTED);
+                xaResource = null;
+            }
+        }
+
+        Session getSession() {
+            return session;
+        }
+
+        void begin() throws XAException {
+            if (xaResource != null && xid == null) {
+                xid = createXid();
+                xaResource.start(xid, XAResource.TMNOFLAGS);
+            }
+        }
+
+        void commit() throws JMSException, XAException {
+            if (xaResource == null) {
+                session.commit();
+                return;
+            }
+            Xid committedXid = xid;
+            xid = null;
+            xaResource.end(committedXid, XAResource.TMSUCCESS);
+            if (xaResource.prepare(committedXid) == XAResource.XA_OK) {
+                xaResource.commit(committedXid, false);
+            }
+        }
+
+        /**
+         * Failures are only logged, the broker rolls back unfinished transaction of the session anyway.
+         */
+        void rollback() {
+            try {
+                if (xaResource == null) {
+                    session.rollback();
+                } else if (xid != null) {
+                    Xid rolledBackXid = xid;
+                    xid = null;
+                    xaResource.end(rolledBackXid, XAResource.TMFAIL);
+                    xaResource.rollback(rolledBackXid);
+                }
+            } catch (JMSException | XAException e) {
+                LOGGER.debug("[Transactions] Rollback failed: {}", e.getMessage());
+            }
+        }
+    }
+}
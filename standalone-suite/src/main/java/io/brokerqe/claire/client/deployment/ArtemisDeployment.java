@@ -14,6 +14,7 @@ import io.brokerqe.claire.container.YacfgArtemisContainer;
 import io.brokerqe.claire.container.database.DatabaseContainer;
 import io.brokerqe.claire.database.Database;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.ArtemisDistributionStore;
 import io.brokerqe.claire.helper.TimeHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.TestInfo;
@@ -33,24 +34,9 @@ public class ArtemisDeployment {
     private static final Logger LOGGER = LoggerFactory.getLogger(ArtemisDeployment.class);
 
     public static String downloadPrepareArtemisInstallDir(TestInfo testInfo, String artemisZipUrl, String version, String testConfigDir) {
-        String testName = TestUtils.getClassName(testInfo) + "_" + TestUtils.getRandomString(2);
-        String filename = artemisZipUrl.substring(artemisZipUrl.lastIndexOf("/") + 1);
-        String tmpTestFile = EnvironmentStandalone.getInstance().getTmpDirLocation() + Constants.FILE_SEPARATOR + testName;
-
-
-        String tmpZipPath = Constants.TMP_DIR_SYSTEM + Constants.FILE_SEPARATOR + filename;
-        String artemisInstallDirTmp = tmpTestFile + Constants.FILE_SEPARATOR + testName;
         String installDir = testConfigDir + Constants.FILE_SEPARATOR + version + "_install";
-
-        TestUtils.createDirectory(tmpTestFile);
-        TestUtils.deleteDirectoryRecursively(Paths.get(installDir));
-        TestUtils.createDirectory(installDir);
-        TestUtils.getFileFromUrl(artemisZipUrl, tmpZipPath);
-        if (tmpZipPath.endsWith(".zip")) {
-            TestUtils.unzip(tmpZipPath, artemisInstallDirTmp);
-            List<Path> paths = TestUtils.searchForGlobFile(artemisInstallDirTmp, "glob:**/apache-artemis-*", 1);
-            TestUtils.copyDirectories(paths.get(0).toString(), installDir);
-        }
+        LOGGER.debug("[{}] Preparing artemis {} install dir {}", TestUtils.getClassName(testInfo), version, installDir);
+        ArtemisDistributionStore.getInstance().provideInstallDir(artemisZipUrl, installDir);
         return installDir;
     }
 
@@ -114,8 +100,13 @@ public class ArtemisDeployment {
         return createArtemis(instanceName, new ArtemisConfigData());
     }
 
+    /**
+     * Database of {@code artemisConfigData} takes precedence over the one configured for the whole test run. JDBC usage
+     * is verified only for started broker, caller has to do it after starting it otherwise.
+     */
     public static ArtemisContainer createArtemis(String instanceName, ArtemisConfigData artemisConfigData) {
-        Database database = EnvironmentStandalone.getInstance().getDatabase();
+        Database database = artemisConfigData.getDatabase() != null ? artemisConfigData.getDatabase()
+                : EnvironmentStandalone.getInstance().getDatabase();
         List<String> yacfgOptions = new ArrayList<>(artemisConfigData.getYacfgOptions());
         String yacfgArtemisProfile = artemisConfigData.getYacfgProfileTemplate();
         yacfgOptions.add("profile=" + yacfgArtemisProfile);
@@ -164,10 +155,10 @@ public class ArtemisDeployment {
         if (artemisConfigData.isStart()) {
             artemis.start(artemisConfigData.getStartTimeout());
             artemis.ensureBrokerStarted();
-        }
-        // === Post-start checks ===
-        if (database != null) {
-            artemis.ensureBrokerUsesJdbc(database);
+            // === Post-start checks ===
+            if (database != null) {
+                artemis.ensureBrokerUsesJdbc(database);
+            }
         }
         return artemis;
     }
@@ -5,9 +5,13 @@
 package io.brokerqe.claire.container;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.ConnectToNetworkCmd;
+import com.github.dockerjava.api.command.CopyArchiveFromContainerCmd;
+import com.github.dockerjava.api.command.DisconnectFromNetworkCmd;
 import com.github.dockerjava.api.command.InspectContainerCmd;
 import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.command.KillContainerCmd;
+import com.github.dockerjava.api.command.LogContainerCmd;
 import com.github.dockerjava.api.command.PauseContainerCmd;
 import com.github.dockerjava.api.command.UnpauseContainerCmd;
 import com.github.dockerjava.api.exception.NotFoundException;
@@ -18,29 +22,49 @@ import io.brokerqe.claire.ArtemisConstants;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.CommandResult;
 import io.brokerqe.claire.EnvironmentStandalone;
+import io.brokerqe.claire.LogWatcher;
 import io.brokerqe.claire.ResourceManager;
 import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.executor.Executor;
 import io.brokerqe.claire.executor.ExecutorStandalone;
+import io.brokerqe.claire.executor.LineConsumerOutputStream;
+import io.brokerqe.claire.helper.ArchiveSnapshotFilter;
 import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.junit.TestPhaseTracer;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
+import org.testcontainers.containers.output.FrameConsumerResultCallback;
+import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.images.ImagePullPolicy;
 import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.MountableFile;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 public abstract class AbstractGenericContainer {
 
@@ -111,7 +135,7 @@ public abstract class AbstractGenericContainer {
         withPullPolicy(ENVIRONMENT_STANDALONE.getImagePullPolicy());
         withFileSystemBind(ETC_LOCALTIME, ETC_LOCALTIME, BindMode.READ_ONLY);
         LOGGER.debug("[{}] Starting", name);
-        container.start();
+        TestPhaseTracer.trace(TestPhaseTracer.Phase.DEPLOY, "start " + name, container::start);
     }
 
     public boolean isRunning() {
@@ -120,7 +144,7 @@ public abstract class AbstractGenericContainer {
 
     public void stop() {
         LOGGER.debug("[{}] Stopping", name);
-        container.stop();
+        TestPhaseTracer.trace(TestPhaseTracer.Phase.TEARDOWN, "stop " + name, container::stop);
     }
 
     public void pause() {
@@ -145,6 +169,42 @@ public abstract class AbstractGenericContainer {
         }
     }
 
+    /**
+     * Disconnect the running container from its network, it can't reach other containers and its mapped ports are not
+     * reachable, until {@link #connectNetwork()} is called.
+     */
+    public void disconnectNetwork() {
+        LOGGER.debug("[{}] Disconnecting from network", name);
+        try (DisconnectFromNetworkCmd disconnectCmd = dockerClient.disconnectFromNetworkCmd()
+                .withNetworkId(getNetwork().getId())
+                .withContainerId(container.getContainerId())
+                .withForce(true)) {
+            disconnectCmd.exec();
+        } catch (NotFoundException e) {
+            String errMsg = String.format("error on disconnecting container from network: %s", e.getMessage());
+            LOGGER.error(errMsg, e);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    public void connectNetwork() {
+        LOGGER.debug("[{}] Connecting back to network", name);
+        try (ConnectToNetworkCmd connectCmd = dockerClient.connectToNetworkCmd()
+                .withNetworkId(getNetwork().getId())
+                .withContainerId(container.getContainerId())
+                .withContainerNetwork(new ContainerNetwork().withAliases(name))) {
+            connectCmd.exec();
+        } catch (NotFoundException e) {
+            String errMsg = String.format("error on connecting container to network: %s", e.getMessage());
+            LOGGER.error(errMsg, e);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+
+    private Network getNetwork() {
+        return container.getNetwork() == null ? ResourceManager.getDefaultNetwork() : container.getNetwork();
+    }
+
     public void kill() {
         LOGGER.debug("[{}] Killing", name);
         try (KillContainerCmd killCmd = dockerClient.killContainerCmd(container.getContainerId())) {
@@ -210,6 +270,39 @@ public abstract class AbstractGenericContainer {
         return TestUtils.getLastLines(container.getLogs(), lines).toString();
     }
 
+    public LogWatcher watchLogs() {
+        return watchLogs(null);
+    }
+
+    /**
+     * Follow stdout and stderr of running container (same stream as {@code followOutput} uses) and feed it line by line
+     * into returned watcher. Close the watcher to stop following.
+     * @param since first log time to receive, whole log when null
+     */
+    public LogWatcher watchLogs(Instant since) {
+        LOGGER.debug("[{}] Following logs since {}", name, since == null ? "start" : since);
+        LogWatcher watcher = new LogWatcher(name);
+        LineConsumerOutputStream lines = new LineConsumerOutputStream(watcher);
+        Consumer<OutputFrame> frameConsumer = frame -> {
+            byte[] bytes = frame.getBytes();
+            if (bytes != null) {
+                lines.write(bytes, 0, bytes.length);
+            }
+        };
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+        callback.addConsumer(OutputFrame.OutputType.STDOUT, frameConsumer);
+        callback.addConsumer(OutputFrame.OutputType.STDERR, frameConsumer);
+        LogContainerCmd logCmd = dockerClient.logContainerCmd(container.getContainerId())
+                .withFollowStream(true)
+                .withStdOut(true)
+                .withStdErr(true);
+        if (since != null) {
+            logCmd.withSince((int) since.getEpochSecond());
+        }
+        logCmd.exec(callback);
+        return watcher.withSource(callback).withSource(lines);
+    }
+
     private void withStdOutLog() {
         LOGGER.debug("[{}] With stdout logging", name);
         if (container.getLogConsumers().contains(logConsumer)) {
@@ -244,6 +337,14 @@ public abstract class AbstractGenericContainer {
         }
     }
 
+    /**
+     * Mount in-memory filesystem writable by any container user to {@code destination}.
+     */
+    public void withTmpFs(String destination) {
+        LOGGER.debug("[{}] With tmpfs {}", name, destination);
+        container.withTmpFs(Map.of(destination, "rw,mode=1777"));
+    }
+
     public void withEnvVar(Map<String, String> envVars) {
         container.withEnv(envVars);
     }
@@ -277,6 +378,62 @@ public abstract class AbstractGenericContainer {
         TestUtils.deleteFile(Paths.get(dstTarFile));
     }
 
+    /**
+     * Streams directory from container directly into a gzip compressed tar archive on host.
+     * Unlike {@link #copyDirFrom(String, String)} no intermediate copies are created neither in container nor on host.
+     * @param containerDir directory in container to be archived
+     * @param hostArchiveFile target {@code .tar.gz} file on host
+     * @param filter decides which files are skipped or truncated
+     */
+    public void snapshotDirFrom(String containerDir, String hostArchiveFile, ArchiveSnapshotFilter filter) {
+        LOGGER.debug("[{}] Snapshotting directory {} to host archive {}", name, containerDir, hostArchiveFile);
+        Path archivePath = Paths.get(hostArchiveFile);
+        TestUtils.createDirectory(archivePath.getParent().toString());
+        GzipParameters gzipParameters = new GzipParameters();
+        gzipParameters.setCompressionLevel(Deflater.BEST_SPEED);
+        int skipped = 0;
+        int truncated = 0;
+
+        try (CopyArchiveFromContainerCmd copyCmd = dockerClient.copyArchiveFromContainerCmd(container.getContainerId(), containerDir);
+             InputStream containerTarStream = copyCmd.exec();
+             TarArchiveInputStream tarInput = new TarArchiveInputStream(containerTarStream);
+             TarArchiveOutputStream tarOutput = new TarArchiveOutputStream(new GzipCompressorOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(archivePath)), gzipParameters))) {
+            tarOutput.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tarOutput.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+            TarArchiveEntry entry;
+            while ((entry = tarInput.getNextEntry()) != null) {
+                // docker prefixes all entries with the name of requested directory
+                String relativePath = entry.getName().contains("/") ? entry.getName().substring(entry.getName().indexOf("/") + 1) : "";
+                if (!relativePath.isEmpty() && filter.isSkipped(relativePath)) {
+                    LOGGER.trace("[{}] Skipping {}", name, entry.getName());
+                    skipped++;
+                    continue;
+                }
+                if (entry.isFile()) {
+                    long allowedSize = filter.getAllowedSize(relativePath, entry.getSize());
+                    if (allowedSize < entry.getSize()) {
+                        LOGGER.trace("[{}] Truncating {} from {} to {} bytes", name, entry.getName(), entry.getSize(), allowedSize);
+                        entry.setSize(allowedSize);
+                        truncated++;
+                    }
+                    tarOutput.putArchiveEntry(entry);
+                    IOUtils.copyLarge(tarInput, tarOutput, 0, allowedSize);
+                } else {
+                    tarOutput.putArchiveEntry(entry);
+                }
+                tarOutput.closeArchiveEntry();
+            }
+            tarOutput.finish();
+        } catch (IOException | NotFoundException e) {
+            String errMsg = String.format("Error on snapshotting directory %s from container %s: %s", containerDir, name, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        LOGGER.debug("[{}] Snapshot {} created (skipped: {}, truncated: {})", name, hostArchiveFile, skipped, truncated);
+    }
+
     public void copyWithinContainer(String containerSrcDir, String containerDestDir) {
         LOGGER.debug("[{}] [container] Copying directory {} to directory {}", name, containerSrcDir, containerDestDir);
         executeCommand("cp", "-r", containerSrcDir, containerDestDir);
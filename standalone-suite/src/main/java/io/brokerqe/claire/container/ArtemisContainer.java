@@ -22,6 +22,7 @@ import io.brokerqe.claire.database.Database;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.helper.ArtemisJmxHelper;
 import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -337,11 +338,13 @@ public final class ArtemisContainer extends AbstractGenericContainer {
     @Override
     public void stop() {
         LOGGER.debug("[{}] Stopping", name);
-        if (container.isRunning()) {
-            dockerClient.stopContainerCmd(container.getContainerId()).exec();
-            TimeHelper.waitFor(e -> !container.isRunning(), Constants.DURATION_500_MILLISECONDS, Constants.DURATION_5_SECONDS);
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.TEARDOWN, "stop " + name)) {
+            if (container.isRunning()) {
+                dockerClient.stopContainerCmd(container.getContainerId()).exec();
+                TimeHelper.waitFor(e -> !container.isRunning(), Constants.DURATION_500_MILLISECONDS, Constants.DURATION_5_SECONDS);
+            }
+            container.stop();
         }
-        container.stop();
     }
 
     public String artemisProcessController(ArtemisProcessControllerAction action) {
@@ -5,5 +5,5 @@
 package io.brokerqe.claire.container;
 
 public enum ContainerType {
-    ARTEMIS, DATABASE, NFS_SERVER, SYSTEMTEST_CLIENTS, TOXI_PROXY, WEBDRIVER, YACFG_ARTEMIS, ZOOKEEPER
+    ARTEMIS, DATABASE, KEYCLOAK, NFS_SERVER, OPENLDAP, SYSTEMTEST_CLIENTS, TOXI_PROXY, WEBDRIVER, YACFG_ARTEMIS, ZOOKEEPER
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.container;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.security.KeycloakAdminClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Map;
+
+public final class KeycloakContainer extends AbstractGenericContainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeycloakContainer.class);
+
+    public static final int HTTP_PORT = 8080;
+    public static final String ADMIN_NAME = "admin";
+    public static final String ADMIN_PASS = "admin";
+    public static final String LDAP_REALM_FILE = Constants.COMMON_TEST_RESOURCES_DIR + "/keycloak/ldap_realm.json";
+    static final String STARTED_LOG_REGEX = ".*Listening on: http.*\\n";
+
+    private KeycloakAdminClient adminClient;
+
+    public KeycloakContainer(String name) {
+        super(name, ENVIRONMENT_STANDALONE.getKeycloakContainerImage());
+        container.addExposedPorts(HTTP_PORT);
+        container.withCommand("start-dev");
+        // KEYCLOAK_ADMIN* for keycloak < 26, KC_BOOTSTRAP_ADMIN* for newer versions
+        withEnvVar(Map.of(
+                "KEYCLOAK_ADMIN", ADMIN_NAME,
+                "KEYCLOAK_ADMIN_PASSWORD", ADMIN_PASS,
+                "KC_BOOTSTRAP_ADMIN_USERNAME", ADMIN_NAME,
+                "KC_BOOTSTRAP_ADMIN_PASSWORD", ADMIN_PASS
+        ));
+        withLogWait(STARTED_LOG_REGEX);
+        container.withStartupTimeout(Duration.ofMinutes(3));
+        this.name = name;
+        this.type = ContainerType.KEYCLOAK;
+    }
+
+    public KeycloakAdminClient getAdminClient() {
+        if (adminClient == null) {
+            adminClient = new KeycloakAdminClient(Constants.HTTP + "://" + getHostAndPort(HTTP_PORT), ADMIN_NAME, ADMIN_PASS);
+        }
+        return adminClient;
+    }
+
+    /**
+     * @return keycloak url usable from other containers in the same network (e.g. as auth-server-url of broker)
+     */
+    public String getInternalUrl() {
+        return Constants.HTTP + "://" + name + ":" + HTTP_PORT;
+    }
+
+    public void importRealm(String realmName, String realmFilePath) {
+        LOGGER.debug("[{}] Importing realm {} from file {}", name, realmName, realmFilePath);
+        KeycloakAdminClient.PartialImportResult result = getAdminClient().importRealm(realmName, TestUtils.readFileContent(new File(realmFilePath)));
+        LOGGER.debug("[{}] Imported realm {}: {}", name, realmName, result);
+    }
+
+    /**
+     * Federate users of given openldap into realm, the same way as operator Keycloak deployment does it.
+     */
+    public void setupLdapModule(String realmName, OpenldapContainer openldap) {
+        LOGGER.info("[{}] Setup LDAP federation of {} in realm {}", name, openldap.getName(), realmName);
+        Map<String, String> ldapProviderConfig = Map.ofEntries(
+                Map.entry("priority", "1"),
+                Map.entry("fullSyncPeriod", "-1"),
+                Map.entry("changedSyncPeriod", "-1"),
+                Map.entry("cachePolicy", "DEFAULT"),
+                Map.entry("batchSizeForSync", "1000"),
+                Map.entry("editMode", "READ_ONLY"),
+                Map.entry("syncRegistrations", "false"),
+                Map.entry("vendor", "other"),
+                Map.entry("usernameLDAPAttribute", "uid"),
+                Map.entry("rdnLDAPAttribute", "cn"),
+                Map.entry("uuidLDAPAttribute", "uid"),
+                Map.entry("userObjectClasses", "inetOrgPerson"),
+                Map.entry("connectionUrl", openldap.getInternalLdapUrl()),
+                Map.entry("usersDn", OpenldapContainer.USERS_DN),
+                Map.entry("authType", "simple"),
+                Map.entry("bindDn", OpenldapContainer.BIND_DN),
+                Map.entry("bindCredential", OpenldapContainer.ADMIN_PASS),
+                Map.entry("searchScope", "1"),
+                Map.entry("useTruststoreSpi", "ldapsOnly"),
+                Map.entry("connectionPooling", "true"),
+                Map.entry("pagination", "true"),
+                Map.entry("allowKerberosAuthentication", "false"),
+                Map.entry("useKerberosForPasswordAuthentication", "false")
+        );
+        Map<String, String> ldapRoleMapperConfig = Map.of(
+                "mode", "READ_ONLY",
+                "membership.attribute.type", "DN",
+                "user.roles.retrieve.strategy", "LOAD_ROLES_BY_MEMBER_ATTRIBUTE",
+                "roles.dn", OpenldapContainer.USERS_DN,
+                "membership.ldap.attribute", "member",
+                "membership.user.ldap.attribute", "uid",
+                "role.name.ldap.attribute", "cn",
+                "memberof.ldap.attribute", "member",
+                "use.realm.roles.mapping", "true",
+                "role.object.classes", "groupOfNames"
+        );
+        String ldapId = getAdminClient().createLdapProvider(realmName, "ldap-amq-broker", ldapProviderConfig);
+        getAdminClient().createLdapMapper(realmName, ldapId, "ldap-roles", "role-ldap-mapper", ldapRoleMapperConfig);
+        KeycloakAdminClient.SynchronizationResult syncResult = getAdminClient().triggerFullSync(realmName, ldapId);
+        LOGGER.info("[{}] LDAP users synchronized: {}", name, syncResult.status());
+    }
+
+    public String getClientSecret(String realmName, String clientId) {
+        return getAdminClient().getClientSecret(realmName, clientId).value();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.container;
+
+import io.brokerqe.claire.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.BindMode;
+
+import java.util.Map;
+
+public final class OpenldapContainer extends AbstractGenericContainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenldapContainer.class);
+
+    public static final int LDAP_PORT = 1389;
+    public static final String ADMIN_NAME = "admin";
+    public static final String ADMIN_PASS = "admin";
+    public static final String BASE_DN = "dc=example,dc=org";
+    public static final String BIND_DN = "cn=" + ADMIN_NAME + "," + BASE_DN;
+    public static final String USERS_DN = "ou=users," + BASE_DN;
+    public static final String DEFAULT_USERS_LDIF = Constants.COMMON_TEST_RESOURCES_DIR + "/openldap/users.ldif";
+    static final String SLAPD_STARTED_LOG_REGEX = ".*slapd starting.*\\n";
+    private static final String LDIF_DIR = "/ldifs";
+
+    public OpenldapContainer(String name) {
+        super(name, ENVIRONMENT_STANDALONE.getOpenldapContainerImage());
+        container.addExposedPorts(LDAP_PORT);
+        withEnvVar(Map.of(
+                "LDAP_ADMIN_USERNAME", ADMIN_NAME,
+                "LDAP_ADMIN_PASSWORD", ADMIN_PASS,
+                "LDAP_ROOT", BASE_DN,
+                "LDAP_CUSTOM_LDIF_DIR", LDIF_DIR
+        ));
+        withLogWait(SLAPD_STARTED_LOG_REGEX);
+        this.name = name;
+        this.type = ContainerType.OPENLDAP;
+    }
+
+    public void withLdif(String ldifFile) {
+        String destination = LDIF_DIR + Constants.FILE_SEPARATOR + ldifFile.substring(ldifFile.lastIndexOf(Constants.FILE_SEPARATOR) + 1);
+        LOGGER.debug("[{}] with ldif file {} = {}", name, ldifFile, destination);
+        withFileSystemBind(ldifFile, destination, BindMode.READ_ONLY);
+    }
+
+    /**
+     * @return ldap url usable from other containers in the same network
+     */
+    public String getInternalLdapUrl() {
+        return "ldap://" + name + ":" + LDAP_PORT;
+    }
+}
@@ -4,11 +4,20 @@
  */
 package io.brokerqe.claire.container;
 
+import io.brokerqe.claire.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.shaded.com.google.common.primitives.Ints;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 public final class ZookeeperContainer extends AbstractGenericContainer {
 
@@ -23,6 +32,19 @@ public final class ZookeeperContainer extends AbstractGenericContainer {
     private static final String EV_ZOO_MY_ID = "ZOO_MY_ID";
     private static final String EV_ZOO_SERVERS = "ZOO_SERVERS";
     private static final String EV_ZOO_STANDALONE_ENABLED = "ZOO_STANDALONE_ENABLED";
+    private static final String EV_ZOO_CFG_EXTRA = "ZOO_CFG_EXTRA";
+    // the only four letter word command whitelisted by default
+    private static final String SERVER_STATUS_COMMAND = "srvr";
+    private static final String MODE_PREFIX = "Mode: ";
+
+    /**
+     * Role of the node in quorum as reported by {@code srvr} command.
+     */
+    public enum Mode {
+        LEADER, FOLLOWER, OBSERVER, STANDALONE, NOT_SERVING
+    }
+
+    private boolean observer = false;
 
     public ZookeeperContainer(String name) {
         super(name, ENVIRONMENT_STANDALONE.getZookeeperContainerImage());
@@ -46,4 +68,53 @@ public final class ZookeeperContainer extends AbstractGenericContainer {
         container.withEnv(EV_ZOO_STANDALONE_ENABLED, Boolean.toString(value));
     }
 
+    public void withObserver() {
+        LOGGER.debug("[{}] with env var {} = peerType=observer", name, EV_ZOO_CFG_EXTRA);
+        container.withEnv(EV_ZOO_CFG_EXTRA, "peerType=observer");
+        observer = true;
+    }
+
+    public boolean isObserver() {
+        return observer;
+    }
+
+    /**
+     * Send four letter word command to client port and return the whole response.
+     */
+    public String sendFourLetterWord(String command) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(getHost(), getPort(CLIENT_PORT)), (int) Constants.DURATION_2_SECONDS);
+            socket.setSoTimeout((int) Constants.DURATION_2_SECONDS);
+            OutputStream out = socket.getOutputStream();
+            out.write(command.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * @return current role of the node, {@link Mode#NOT_SERVING} when node is down, not in quorum or not answering
+     */
+    public Mode getMode() {
+        if (!isRunning()) {
+            return Mode.NOT_SERVING;
+        }
+        String status;
+        try {
+            status = sendFourLetterWord(SERVER_STATUS_COMMAND);
+        } catch (IOException e) {
+            LOGGER.trace("[{}] Unable to get server status: {}", name, e.getMessage());
+            return Mode.NOT_SERVING;
+        }
+        for (String line : status.split("\\R")) {
+            if (line.startsWith(MODE_PREFIX)) {
+                String mode = line.substring(MODE_PREFIX.length()).trim().toUpperCase(Locale.ROOT);
+                // e.g. read-only mode of partitioned node does not serve writes
+                return Arrays.stream(Mode.values()).filter(value -> value.name().equals(mode)).findFirst().orElse(Mode.NOT_SERVING);
+            }
+        }
+        return Mode.NOT_SERVING;
+    }
+
 }
@@ -4,48 +4,181 @@
  */
 package io.brokerqe.claire.container;
 
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.helper.ContainerHelper;
 import io.brokerqe.claire.ResourceManager;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Zookeeper ensemble for pluggable quorum HA tests. Cluster is considered ready only when all running nodes serve
+ * requests and exactly one of them is the leader (checked by {@code srvr} four letter word), not when containers start.
+ * Nodes can be killed to measure leader re-election, so broker failover time can be separated from quorum recovery.
+ */
 public class ZookeeperContainerCluster {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperContainerCluster.class);
 
     private static final String REPLACEMENT_NODE_NAME = "%NODE_NAME%";
     private static final String REPLACEMENT_ID = "%ID%";
+    private static final String REPLACEMENT_PEER_TYPE = "%PEER_TYPE%";
 
-    private static final String ZOO_SERVERS_PATTERN = String.format("server.%s=%s:%d:%d;%d", REPLACEMENT_ID,
+    private static final String ZOO_SERVERS_PATTERN = String.format("server.%s=%s:%d:%d%s;%d", REPLACEMENT_ID,
             REPLACEMENT_NODE_NAME, ZookeeperContainer.FOLLOWER_PORT, ZookeeperContainer.ELECTION_PORT,
-            ZookeeperContainer.CLIENT_PORT);
+            REPLACEMENT_PEER_TYPE, ZookeeperContainer.CLIENT_PORT);
+
+    /**
+     * @param recoveryTime time from killing the node until remaining nodes formed quorum with a leader again
+     */
+    public record Election(String killedNode, ZookeeperContainer.Mode killedMode, String previousLeader, String newLeader,
+                           Duration recoveryTime) { }
 
-    private final Map<String, ZookeeperContainer> nodesMap = new HashMap<>();
+    private final Map<String, ZookeeperContainer> nodesMap = new LinkedHashMap<>();
     private final List<String> zooServers = new ArrayList<>();
+    private Duration quorumFormationTime;
 
     public ZookeeperContainerCluster(int clusterSize, String nodeNamePrefix) {
-        for (int i = 1; i <= clusterSize; i++) {
-            createNode(i, nodeNamePrefix);
+        this(clusterSize, 0, nodeNamePrefix);
+    }
+
+    /**
+     * @param votingNodes nodes taking part in leader election
+     * @param observers non-voting nodes, numbered after voting nodes
+     */
+    public ZookeeperContainerCluster(int votingNodes, int observers, String nodeNamePrefix) {
+        for (int i = 1; i <= votingNodes + observers; i++) {
+            createNode(i, nodeNamePrefix, i > votingNodes);
         }
     }
 
     public void start() {
         LOGGER.debug("[Zookeeper] Creating cluster");
         nodesMap.forEach((String name, ZookeeperContainer node) -> node.withZooServers(String.join(" ", zooServers)));
+        long start = System.nanoTime();
         ContainerHelper.startContainersInParallel(nodesMap.values().toArray(new ZookeeperContainer[0]));
+        waitForQuorum();
+        quorumFormationTime = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.info("[Zookeeper] Quorum formed in {} ms with leader {}", quorumFormationTime.toMillis(), getLeader().getName());
     }
 
     public void stop() {
         ContainerHelper.stopContainers(nodesMap.values().toArray(new ZookeeperContainer[0]));
     }
 
-    private void createNode(int id, String name) {
+    public List<ZookeeperContainer> getNodes() {
+        return new ArrayList<>(nodesMap.values());
+    }
+
+    public ZookeeperContainer getNode(String name) {
+        return nodesMap.get(name);
+    }
+
+    /**
+     * @return time from starting containers until quorum was formed, null if cluster was not started yet
+     */
+    public Duration getQuorumFormationTime() {
+        return quorumFormationTime;
+    }
+
+    public Map<String, ZookeeperContainer.Mode> getNodeModes() {
+        Map<String, ZookeeperContainer.Mode> modes = new LinkedHashMap<>();
+        nodesMap.forEach((name, node) -> modes.put(name, node.getMode()));
+        return modes;
+    }
+
+    public ZookeeperContainer getLeader() {
+        List<ZookeeperContainer> leaders = getNodesInMode(ZookeeperContainer.Mode.LEADER);
+        if (leaders.size() != 1) {
+            String errMsg = String.format("[Zookeeper] Expected exactly one leader, but node modes are %s", getNodeModes());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        return leaders.get(0);
+    }
+
+    public List<ZookeeperContainer> getFollowers() {
+        return getNodesInMode(ZookeeperContainer.Mode.FOLLOWER);
+    }
+
+    public List<ZookeeperContainer> getObservers() {
+        return getNodesInMode(ZookeeperContainer.Mode.OBSERVER);
+    }
+
+    private List<ZookeeperContainer> getNodesInMode(ZookeeperContainer.Mode mode) {
+        return nodesMap.values().stream().filter(node -> node.getMode() == mode).toList();
+    }
+
+    /**
+     * Quorum is formed when every running node serves requests and exactly one of them is the leader.
+     */
+    public boolean isQuorumFormed() {
+        List<ZookeeperContainer.Mode> modes = nodesMap.values().stream()
+                .filter(ZookeeperContainer::isRunning)
+                .map(ZookeeperContainer::getMode)
+                .toList();
+        return !modes.isEmpty() && !modes.contains(ZookeeperContainer.Mode.NOT_SERVING)
+                && modes.stream().filter(mode -> mode == ZookeeperContainer.Mode.LEADER).count() == 1;
+    }
+
+    public void waitForQuorum() {
+        waitForQuorum(Constants.DURATION_2_MINUTES);
+    }
+
+    public void waitForQuorum(long maxTimeout) {
+        TestUtils.waitFor("zookeeper quorum with a leader", Constants.DURATION_100_MILLISECONDS, maxTimeout, this::isQuorumFormed);
+    }
+
+    public Election killLeader() {
+        return killNode(getLeader());
+    }
+
+    public Election killFollower() {
+        List<ZookeeperContainer> followers = getFollowers();
+        if (followers.isEmpty()) {
+            String errMsg = String.format("[Zookeeper] No follower to kill, node modes are %s", getNodeModes());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        return killNode(followers.get(0));
+    }
+
+    /**
+     * Kill the node and measure how long it takes remaining nodes to serve requests with a leader again.
+     * Killing a follower usually does not trigger election, so its recovery time is close to zero.
+     */
+    public Election killNode(ZookeeperContainer node) {
+        String previousLeader = getLeader().getName();
+        ZookeeperContainer.Mode killedMode = node.getMode();
+        LOGGER.info("[Zookeeper] Killing {} node {}", killedMode, node.getName());
+        long start = System.nanoTime();
+        node.kill();
+        waitForQuorum();
+        Duration recoveryTime = Duration.ofNanos(System.nanoTime() - start);
+        Election election = new Election(node.getName(), killedMode, previousLeader, getLeader().getName(), recoveryTime);
+        LOGGER.info("[Zookeeper] Quorum recovered in {} ms after killing {} {}, leader {} -> {}", recoveryTime.toMillis(),
+                killedMode, node.getName(), previousLeader, election.newLeader());
+        return election;
+    }
+
+    /**
+     * Start previously killed or stopped node and wait until it joins the quorum.
+     */
+    public void startNode(ZookeeperContainer node) {
+        LOGGER.info("[Zookeeper] Starting node {}", node.getName());
+        node.start();
+        waitForQuorum();
+    }
+
+    private void createNode(int id, String name, boolean observer) {
         String nodeName = name + id;
         LOGGER.trace("[Zookeeper {}] Creating node", nodeName);
         ZookeeperContainer node = ResourceManager.getZookeeperContainerInstance(nodeName);
@@ -53,8 +186,12 @@ public class ZookeeperContainerCluster {
         node.withZooMyId(id);
         node.withLogWait(ZookeeperContainer.ADMIN_SERVER_LOG_REGEX);
         node.withStandAloneEnabled(false);
+        if (observer) {
+            node.withObserver();
+        }
         String zooServerWithId = StringUtils.replace(ZOO_SERVERS_PATTERN, REPLACEMENT_ID, String.valueOf(id));
-        String zooServerWithIdAndNodeName = StringUtils.replace(zooServerWithId, REPLACEMENT_NODE_NAME, nodeName);
+        String zooServerWithPeerType = StringUtils.replace(zooServerWithId, REPLACEMENT_PEER_TYPE, observer ? ":observer" : "");
+        String zooServerWithIdAndNodeName = StringUtils.replace(zooServerWithPeerType, REPLACEMENT_NODE_NAME, nodeName);
         zooServers.add(zooServerWithIdAndNodeName);
         nodesMap.put(nodeName, node);
     }
@@ -4,25 +4,33 @@
  */
 package io.brokerqe.claire.executor;
 
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
 import io.brokerqe.claire.CommandResult;
 import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.Container;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.FrameConsumerResultCallback;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.containers.output.ToStringConsumer;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public class ExecutorStandalone implements Executor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorStandalone.class);
     private final GenericContainer container;
-    private Container.ExecResult execResult;
-    private CompletableFuture<Container.ExecResult> subscriberCompletableFuture;
+    private CommandResult execResult;
+    private CompletableFuture<CommandResult> subscriberCompletableFuture;
 
     public <T extends GenericContainer> ExecutorStandalone(T container) {
         this.container = container;
@@ -35,7 +43,7 @@ public class ExecutorStandalone implements Executor {
 
     public CommandResult executeCommand(long maxExecMs, String... command) {
         LOGGER.debug("[{}] Executing command {}", container.getContainerName(), String.join(" ", command));
-        try {
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.CLIENT, TestPhaseTracer.commandName(command))) {
             Container.ExecResult execResult = container.execInContainer(command);
             int cmdReturnCode = execResult.getExitCode();
             // TODO: Manage this method to return CommandResult obj. even if the command exec. fails, not just exception
@@ -59,7 +67,44 @@ public class ExecutorStandalone implements Executor {
         LOGGER.debug("[{}] Executing background command {}", container.getContainerName(), String.join(" ", command));
         subscriberCompletableFuture = CompletableFuture.supplyAsync(() -> {
             try {
-                return container.execInContainer(command);
+                Container.ExecResult result = container.execInContainer(command);
+                return new CommandResult(result.getExitCode(), result.getStdout(), result.getStderr());
+            } catch (IOException | InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public boolean isOutputStreamingSupported() {
+        return true;
+    }
+
+    @Override
+    public void execBackgroundCommand(Consumer<String> outputLineConsumer, String... command) {
+        LOGGER.debug("[{}] Executing streamed background command {}", container.getContainerName(), String.join(" ", command));
+        DockerClient dockerClient = container.getDockerClient();
+        ExecCreateCmdResponse execCreateCmdResponse = dockerClient.execCreateCmd(container.getContainerId())
+                .withAttachStdout(true)
+                .withAttachStderr(true)
+                .withCmd(command)
+                .exec();
+        subscriberCompletableFuture = CompletableFuture.supplyAsync(() -> {
+            ToStringConsumer stdoutConsumer = new ToStringConsumer();
+            ToStringConsumer stderrConsumer = new ToStringConsumer();
+            LineConsumerOutputStream lineStream = new LineConsumerOutputStream(outputLineConsumer);
+            try (FrameConsumerResultCallback callback = new FrameConsumerResultCallback()) {
+                callback.addConsumer(OutputFrame.OutputType.STDOUT, stdoutConsumer.andThen(frame -> {
+                    if (frame.getBytes() != null) {
+                        lineStream.write(frame.getBytes(), 0, frame.getBytes().length);
+                    }
+                }));
+                callback.addConsumer(OutputFrame.OutputType.STDERR, stderrConsumer);
+                dockerClient.execStartCmd(execCreateCmdResponse.getId()).exec(callback).awaitCompletion();
+                lineStream.close();
+                Long exitCode = dockerClient.inspectExecCmd(execCreateCmdResponse.getId()).exec().getExitCodeLong();
+                return new CommandResult(exitCode == null ? -1 : exitCode.intValue(),
+                        stdoutConsumer.toString(Charset.defaultCharset()), stderrConsumer.toString(Charset.defaultCharset()));
             } catch (IOException | InterruptedException e) {
                 throw new RuntimeException(e);
             }
@@ -89,13 +134,13 @@ public class ExecutorStandalone implements Executor {
     @Override
     public String getCommandData(long timeout) {
         String output;
-        if (execResult.getExitCode() == 0) {
-            output = execResult.getStdout();
+        if (execResult.exitCode == 0) {
+            output = execResult.stdout;
         } else {
-            output = execResult.getStderr();
+            output = execResult.stderr;
         }
-        LOGGER.debug(execResult.getStdout());
-        LOGGER.debug(execResult.getStderr());
+        LOGGER.debug(execResult.stdout);
+        LOGGER.debug(execResult.stderr);
         return output;
     }
 }
\ No newline at end of file
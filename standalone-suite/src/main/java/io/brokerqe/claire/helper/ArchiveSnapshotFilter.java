@@ -0,0 +1,65 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.helper;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides which entries of a container directory snapshot are stored on host and how many bytes of each file are kept.
+ * Patterns are glob expressions relative to the snapshot root directory, e.g. {@code data/paging/**}.
+ */
+public class ArchiveSnapshotFilter {
+
+    public static final long UNLIMITED_SIZE = -1;
+
+    private final List<PathMatcher> skipMatchers = new ArrayList<>();
+    private final List<PathMatcher> truncateMatchers = new ArrayList<>();
+    private long truncateSize = UNLIMITED_SIZE;
+
+    public static ArchiveSnapshotFilter none() {
+        return new ArchiveSnapshotFilter();
+    }
+
+    public ArchiveSnapshotFilter withSkip(String... globPatterns) {
+        Arrays.stream(globPatterns).filter(p -> !p.isBlank()).map(ArchiveSnapshotFilter::toMatcher).forEach(skipMatchers::add);
+        return this;
+    }
+
+    public ArchiveSnapshotFilter withTruncate(long maxBytes, String... globPatterns) {
+        this.truncateSize = maxBytes;
+        Arrays.stream(globPatterns).filter(p -> !p.isBlank()).map(ArchiveSnapshotFilter::toMatcher).forEach(truncateMatchers::add);
+        return this;
+    }
+
+    public boolean isSkipped(String relativePath) {
+        Path path = Path.of(relativePath);
+        return skipMatchers.stream().anyMatch(matcher -> matcher.matches(path));
+    }
+
+    /**
+     * @param relativePath path of file relative to snapshot root directory
+     * @param size original size of file
+     * @return number of bytes which should be kept from the beginning of the file
+     */
+    public long getAllowedSize(String relativePath, long size) {
+        if (truncateSize == UNLIMITED_SIZE || size <= truncateSize) {
+            return size;
+        }
+        Path path = Path.of(relativePath);
+        if (truncateMatchers.isEmpty() || truncateMatchers.stream().anyMatch(matcher -> matcher.matches(path))) {
+            return truncateSize;
+        }
+        return size;
+    }
+
+    private static PathMatcher toMatcher(String globPattern) {
+        return FileSystems.getDefault().getPathMatcher("glob:" + globPattern.trim());
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.helper;
+
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.EnvironmentStandalone;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Local store of downloaded Artemis distributions shared by all tests of the run (and by subsequent runs).
+ * <ul>
+ *     <li>each distribution url is downloaded only once, interrupted downloads are resumed and big archives are
+ *     downloaded in parallel ranges when the server supports it</li>
+ *     <li>archive is verified against published {@code .sha512} file (if available next to the archive), verified
+ *     checksum is kept in {@code .verified} marker next to the archive, so unchanged archive is not hashed again</li>
+ *     <li>archive is extracted only once per checksum, tests get a read-only hard-linked copy of it</li>
+ * </ul>
+ * Both {@code http(s)://} and {@code file://} (local mirror) urls are supported.
+ */
+public final class ArtemisDistributionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtemisDistributionStore.class);
+
+    private static final String ARCHIVES_DIR = "archives";
+    private static final String INSTALLS_DIR = "installs";
+    private static final String PART_SUFFIX = ".part";
+    private static final String SHA512_SUFFIX = ".sha512";
+    private static final String EXTRACTED_MARKER = ".extracted";
+    private static final String VERIFIED_SUFFIX = ".verified";
+    private static final String DISTRIBUTION_GLOB = "glob:**/apache-artemis-*";
+    private static final int DOWNLOAD_RANGES = 4;
+    private static final long MIN_RANGED_DOWNLOAD_SIZE = 16 * 1024 * 1024;
+    private static final int CHECKSUM_PREFIX_LENGTH = 16;
+
+    private static ArtemisDistributionStore instance;
+
+    private final Path storeDir;
+
+    private ArtemisDistributionStore(String storeDir) {
+        this.storeDir = Paths.get(storeDir).toAbsolutePath();
+        TestUtils.createDirectory(this.storeDir.resolve(ARCHIVES_DIR).toString());
+        TestUtils.createDirectory(this.storeDir.resolve(INSTALLS_DIR).toString());
+    }
+
+    public static synchronized ArtemisDistributionStore getInstance() {
+        if (instance == null) {
+            instance = new ArtemisDistributionStore(EnvironmentStandalone.getInstance().getArtemisDistributionStore());
+        }
+        return instance;
+    }
+
+    /**
+     * Provide Artemis distribution from given url into {@code installDir}.
+     * Files are hard-linked (or copied when linking is not possible) from the store and are read-only.
+     * @param distributionUrl url of Artemis zip distribution
+     * @param installDir target directory, which is recreated
+     */
+    public void provideInstallDir(String distributionUrl, String installDir) {
+        Path distributionDir = getDistribution(distributionUrl);
+        Path target = Paths.get(installDir);
+        LOGGER.debug("[DistStore] Linking {} -> {}", distributionDir, target);
+        TestUtils.deleteDirectoryRecursively(target);
+        try (Stream<Path> paths = Files.walk(distributionDir)) {
+            paths.forEach(source -> {
+                Path targetPath = target.resolve(distributionDir.relativize(source).toString());
+                try {
+                    if (Files.isDirectory(source)) {
+                        Files.createDirectories(targetPath);
+                    } else {
+                        linkOrCopy(source, targetPath);
+                    }
+                } catch (IOException e) {
+                    throw new ClaireRuntimeException("[DistStore] Unable to provide " + targetPath, e);
+                }
+            });
+        } catch (IOException e) {
+            throw new ClaireRuntimeException("[DistStore] Unable to walk " + distributionDir, e);
+        }
+    }
+
+    /**
+     * @param distributionUrl url of Artemis zip distribution
+     * @return read-only extracted distribution directory in the store
+     */
+    public synchronized Path getDistribution(String distributionUrl) {
+        Path archive = download(distributionUrl);
+        String checksum = verify(distributionUrl, archive);
+        return extract(archive, checksum);
+    }
+
+    private Path download(String distributionUrl) {
+        String filename = distributionUrl.substring(distributionUrl.lastIndexOf("/") + 1);
+        Path archive = storeDir.resolve(ARCHIVES_DIR).resolve(filename);
+        if (Files.exists(archive)) {
+            LOGGER.debug("[DistStore] Reusing already downloaded {}", archive);
+            return archive;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            if (distributionUrl.startsWith("file:")) {
+                Files.copy(Paths.get(URI.create(distributionUrl)), archive, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                downloadHttp(distributionUrl, archive);
+            }
+        } catch (IOException e) {
+            String errMsg = String.format("[DistStore] Error on downloading %s: %s", distributionUrl, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+        LOGGER.info("[DistStore] Downloaded {} in {} ms", filename, System.currentTimeMillis() - start);
+        return archive;
+    }
+
+    private void downloadHttp(String distributionUrl, Path archive) throws IOException {
+        HttpURLConnection headConnection = openConnection(distributionUrl);
+        headConnection.setRequestMethod("HEAD");
+        long contentLength = headConnection.getContentLengthLong();
+        boolean acceptsRanges = contentLength > 0 && "bytes".equalsIgnoreCase(headConnection.getHeaderField("Accept-Ranges"));
+        headConnection.disconnect();
+
+        int ranges = acceptsRanges && contentLength >= MIN_RANGED_DOWNLOAD_SIZE ? DOWNLOAD_RANGES : 1;
+        List<Path> parts = new ArrayList<>();
+        if (ranges == 1) {
+            Path part = Paths.get(archive + PART_SUFFIX + 0);
+            parts.add(part);
+            downloadRange(distributionUrl, part, 0, contentLength - 1, acceptsRanges);
+        } else {
+            LOGGER.debug("[DistStore] Downloading {} bytes in {} parallel ranges", contentLength, ranges);
+            long rangeSize = contentLength / ranges;
+            ExecutorService executorService = Executors.newFixedThreadPool(ranges);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < ranges; i++) {
+                    long rangeStart = i * rangeSize;
+                    long rangeEnd = i == ranges - 1 ? contentLength - 1 : rangeStart + rangeSize - 1;
+                    Path part = Paths.get(archive + PART_SUFFIX + i);
+                    parts.add(part);
+                    futures.add(executorService.submit(() -> {
+                        downloadRange(distributionUrl, part, rangeStart, rangeEnd, true);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IOException("Ranged download failed", e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        Path tmpArchive = Paths.get(archive + PART_SUFFIX);
+        try (OutputStream out = Files.newOutputStream(tmpArchive)) {
+            for (Path part : parts) {
+                Files.copy(part, out);
+            }
+        }
+        Files.move(tmpArchive, archive, StandardCopyOption.REPLACE_EXISTING);
+        for (Path part : parts) {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    /**
+     * Download given (inclusive) byte range into part file. Already existing part file is resumed.
+     */
+    private void downloadRange(String distributionUrl, Path part, long rangeStart, long rangeEnd, boolean acceptsRanges) throws IOException {
+        long alreadyDownloaded = Files.exists(part) ? Files.size(part) : 0;
+        if (!acceptsRanges && alreadyDownloaded > 0) {
+            LOGGER.debug("[DistStore] Server does not support ranges, unable to resume {}", part);
+            Files.delete(part);
+            alreadyDownloaded = 0;
+        }
+        if (rangeEnd >= 0 && rangeStart + alreadyDownloaded > rangeEnd) {
+            LOGGER.debug("[DistStore] {} already complete", part);
+            return;
+        }
+        HttpURLConnection connection = openConnection(distributionUrl);
+        if (acceptsRanges) {
+            if (alreadyDownloaded > 0) {
+                LOGGER.debug("[DistStore] Resuming {} from {} bytes", part, alreadyDownloaded);
+            }
+            connection.setRequestProperty("Range", "bytes=" + (rangeStart + alreadyDownloaded) + "-" + rangeEnd);
+        }
+        try (InputStream in = connection.getInputStream();
+             OutputStream out = Files.newOutputStream(part, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            IOUtils.copyLarge(in, out);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private HttpURLConnection openConnection(String url) throws IOException {
+        URLConnection connection;
+        if (url.startsWith(Constants.HTTPS)) {
+            connection = TestUtils.makeInsecureHttpsRequest(url);
+        } else {
+            connection = URI.create(url).toURL().openConnection();
+        }
+        return (HttpURLConnection) connection;
+    }
+
+    private String verify(String distributionUrl, Path archive) {
+        Path verifiedMarker = Paths.get(archive + VERIFIED_SUFFIX);
+        String archiveState = getArchiveState(archive);
+        String checksum = readVerifiedChecksum(verifiedMarker, archiveState);
+        if (checksum != null) {
+            LOGGER.debug("[DistStore] Reusing verified checksum of {}", archive.getFileName());
+            return checksum;
+        }
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(archive), MessageDigest.getInstance("SHA-512"))) {
+            IOUtils.consume(in);
+            checksum = HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ClaireRuntimeException("[DistStore] Unable to compute checksum of " + archive, e);
+        }
+        String expectedChecksum = getPublishedChecksum(distributionUrl);
+        if (expectedChecksum == null) {
+            LOGGER.warn("[DistStore] No published checksum for {}, skipping verification", distributionUrl);
+        } else if (!expectedChecksum.equalsIgnoreCase(checksum)) {
+            TestUtils.deleteFile(archive);
+            String errMsg = String.format("[DistStore] Checksum mismatch for %s! expected: %s, actual: %s", distributionUrl, expectedChecksum, checksum);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        } else {
+            LOGGER.debug("[DistStore] Checksum of {} verified", archive.getFileName());
+        }
+        writeVerifiedChecksum(verifiedMarker, checksum, archiveState);
+        return checksum;
+    }
+
+    /**
+     * @return size and modification time of archive, which have to match the ones stored in {@code .verified} marker
+     */
+    private String getArchiveState(Path archive) {
+        try {
+            return Files.size(archive) + " " + Files.getLastModifiedTime(archive).toMillis();
+        } catch (IOException e) {
+            throw new ClaireRuntimeException("[DistStore] Unable to read attributes of " + archive, e);
+        }
+    }
+
+    /**
+     * Marker content is {@code "<checksum> <size> <mtime>"}.
+     * @return checksum from marker if marker exists and archive has not changed since, otherwise {@code null}
+     */
+    private String readVerifiedChecksum(Path verifiedMarker, String archiveState) {
+        if (!Files.exists(verifiedMarker)) {
+            return null;
+        }
+        String[] content = TestUtils.readFileContent(verifiedMarker.toFile()).trim().split(" ", 2);
+        if (content.length == 2 && content[1].equals(archiveState)) {
+            return content[0];
+        }
+        LOGGER.debug("[DistStore] Archive changed since {} was written, verifying again", verifiedMarker.getFileName());
+        return null;
+    }
+
+    private void writeVerifiedChecksum(Path verifiedMarker, String checksum, String archiveState) {
+        try {
+            Files.writeString(verifiedMarker, checksum + " " + archiveState);
+        } catch (IOException e) {
+            LOGGER.debug("[DistStore] Unable to write {}: {}", verifiedMarker, e.getMessage());
+        }
+    }
+
+    private String getPublishedChecksum(String distributionUrl) {
+        String checksumUrl = distributionUrl + SHA512_SUFFIX;
+        try {
+            byte[] content;
+            if (checksumUrl.startsWith("file:")) {
+                Path checksumFile = Paths.get(URI.create(checksumUrl));
+                if (!Files.exists(checksumFile)) {
+                    return null;
+                }
+                content = Files.readAllBytes(checksumFile);
+            } else {
+                HttpURLConnection connection = openConnection(checksumUrl);
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    connection.disconnect();
+                    return null;
+                }
+                try (InputStream in = connection.getInputStream()) {
+                    content = in.readAllBytes();
+                } finally {
+                    connection.disconnect();
+                }
+            }
+            // format is either "<hash>", "<hash>  <filename>" or "<filename>: <hash in groups>"
+            String checksumContent = new String(content, StandardCharsets.UTF_8).trim();
+            if (checksumContent.contains(":")) {
+                checksumContent = checksumContent.substring(checksumContent.indexOf(":") + 1).replaceAll("\\s", "");
+            } else {
+                checksumContent = checksumContent.split("\\s+")[0];
+            }
+            return checksumContent.toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            LOGGER.debug("[DistStore] Unable to get checksum from {}: {}", checksumUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path extract(Path archive, String checksum) {
+        Path extractDir = storeDir.resolve(INSTALLS_DIR).resolve(checksum.substring(0, CHECKSUM_PREFIX_LENGTH));
+        Path marker = extractDir.resolve(EXTRACTED_MARKER);
+        if (Files.exists(marker)) {
+            Path distribution = Paths.get(TestUtils.readFileContent(marker.toFile()).trim());
+            LOGGER.debug("[DistStore] Reusing already extracted {}", distribution);
+            return distribution;
+        }
+        if (!archive.toString().endsWith(".zip")) {
+            throw new ClaireRuntimeException("[DistStore] Only zip distributions are supported: " + archive);
+        }
+        TestUtils.deleteDirectoryRecursively(extractDir);
+        TestUtils.unzip(archive.toString(), extractDir.toString());
+        Path distribution = TestUtils.searchForGlobFile(extractDir.toString(), DISTRIBUTION_GLOB, 1).get(0);
+        makeReadOnly(distribution);
+        TestUtils.createFile(marker.toString(), distribution.toString());
+        return distribution;
+    }
+
+    private void makeReadOnly(Path distribution) {
+        try (Stream<Path> paths = Files.walk(distribution)) {
+            paths.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file);
+                    permissions.removeAll(Set.of(PosixFilePermission.OWNER_WRITE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE));
+                    Files.setPosixFilePermissions(file, permissions);
+                } catch (IOException | UnsupportedOperationException e) {
+                    LOGGER.trace("[DistStore] Unable to make {} read-only: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new ClaireRuntimeException("[DistStore] Unable to walk " + distribution, e);
+        }
+    }
+
+    private void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            LOGGER.trace("[DistStore] {} already exists", target);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.trace("[DistStore] Unable to hard-link {}, copying instead: {}", source, e.getMessage());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+}
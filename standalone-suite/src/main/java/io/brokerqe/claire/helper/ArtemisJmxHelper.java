@@ -10,6 +10,7 @@ import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
 import io.brokerqe.claire.container.ArtemisContainer;
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
@@ -26,6 +27,7 @@ import javax.management.remote.JMXConnectorFactory;
 import javax.management.remote.JMXServiceURL;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.net.MalformedURLException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -94,7 +96,7 @@ public final class ArtemisJmxHelper {
         }
     }
 
-    private static ObjectName getArtemisObjectName(ArtemisContainer artemisContainer) {
+    static ObjectName getArtemisObjectName(ArtemisContainer artemisContainer) {
         ObjectName objectName;
         try {
             // Use default `artemis` name, if profile is forced
@@ -159,6 +161,81 @@ public final class ArtemisJmxHelper {
         }
     }
 
+    public static void createAddress(ArtemisContainer artemisContainer, String address, RoutingType routingType) {
+        LOGGER.debug("[{}] Creating address {} {}", artemisContainer.getName(), address, routingType);
+        executeOnBroker(artemisContainer, control -> control.createAddress(address, routingType.name()));
+    }
+
+    public static void createQueue(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType) {
+        LOGGER.debug("[{}] Creating durable queue {} on address {} {}", artemisContainer.getName(), queue, address, routingType);
+        executeOnBroker(artemisContainer, control -> {
+            control.createQueue(address, queue, true, routingType.name());
+            return null;
+        });
+    }
+
+    public static void deleteAddress(ArtemisContainer artemisContainer, String address, boolean force) {
+        LOGGER.debug("[{}] Deleting address {} (force={})", artemisContainer.getName(), address, force);
+        executeOnBroker(artemisContainer, control -> {
+            control.deleteAddress(address, force);
+            return null;
+        });
+    }
+
+    public static String sendMessage(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType,
+                                     Map<String, String> headers, String body) {
+        LOGGER.trace("[{}] Sending message to queue {}", artemisContainer.getName(), queue);
+        return executeOnQueue(artemisContainer, address, queue, routingType,
+                control -> control.sendMessage(headers, Message.TEXT_TYPE, body, true, null, null));
+    }
+
+    public static int browseMessages(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType) {
+        LOGGER.trace("[{}] Browsing messages of queue {}", artemisContainer.getName(), queue);
+        return executeOnQueue(artemisContainer, address, queue, routingType, control -> control.browse().length);
+    }
+
+    public static void clearAuthenticationCache(ArtemisContainer artemisContainer) {
+        LOGGER.debug("[{}] Clearing authentication cache", artemisContainer.getName());
+        executeOnBroker(artemisContainer, control -> {
+            control.clearAuthenticationCache();
+            return null;
+        });
+    }
+
+    public static long getAuthenticationCacheSize(ArtemisContainer artemisContainer) {
+        return executeOnBroker(artemisContainer, ActiveMQServerControl::getAuthenticationCacheSize);
+    }
+
+    /**
+     * Execute single management operation on broker control, failing with {@link ClaireRuntimeException} on any error.
+     */
+    public static <T> T executeOnBroker(ArtemisContainer artemisContainer, ThrowableFunction<ActiveMQServerControl, T> operation) {
+        return queryControl(getJmxUrl(artemisContainer), getArtemisObjectName(artemisContainer), operation,
+                ActiveMQServerControl.class, throwable -> null).orElse(null);
+    }
+
+    public static <T> T executeOnQueue(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType,
+                                       ThrowableFunction<QueueControl, T> operation) {
+        ObjectName objectName;
+        try {
+            objectName = getObjectBuilder(artemisContainer).getQueueObjectName(SimpleString.toSimpleString(address),
+                    SimpleString.toSimpleString(queue), routingType);
+        } catch (Exception e) {
+            throw new ClaireRuntimeException(e.getMessage(), e);
+        }
+        return queryControl(getJmxUrl(artemisContainer), objectName, operation, QueueControl.class, throwable -> null).orElse(null);
+    }
+
+    public static <T> T executeOnAddress(ArtemisContainer artemisContainer, String address, ThrowableFunction<AddressControl, T> operation) {
+        ObjectName objectName;
+        try {
+            objectName = getObjectBuilder(artemisContainer).getAddressObjectName(SimpleString.toSimpleString(address));
+        } catch (Exception e) {
+            throw new ClaireRuntimeException(e.getMessage(), e);
+        }
+        return queryControl(getJmxUrl(artemisContainer), objectName, operation, AddressControl.class, throwable -> null).orElse(null);
+    }
+
     private static <C, T> Optional<T> queryControl(JMXServiceURL serviceURI, ObjectName objectName,
                                                    ArtemisJmxHelper.ThrowableFunction<C, T> queryControl,
                                                    Class<C> controlClass, Function<Throwable, T> onThrowable) {
@@ -197,7 +274,7 @@ public final class ArtemisJmxHelper {
         return url;
     }
 
-    private static ObjectNameBuilder getObjectBuilder(ArtemisContainer artemisContainer) {
+    static ObjectNameBuilder getObjectBuilder(ArtemisContainer artemisContainer) {
         return ObjectNameBuilder.create(ActiveMQDefaultConfiguration.getDefaultJmxDomain(), artemisContainer.getName(),
                 true);
     }
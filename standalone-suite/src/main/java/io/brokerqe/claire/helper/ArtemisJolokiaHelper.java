@@ -0,0 +1,144 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.helper;
+
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Executes broker management operations over Jolokia REST API exposed by web console,
+ * the same way as web console does it, but without any browser involved.
+ */
+public final class ArtemisJolokiaHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtemisJolokiaHelper.class);
+    private static final String JOLOKIA_PATH = "/console/jolokia/";
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(Constants.DURATION_10_SECONDS))
+            .build();
+
+    private ArtemisJolokiaHelper() {
+        super();
+    }
+
+    public static void createAddress(ArtemisContainer artemisContainer, String address, RoutingType routingType) {
+        LOGGER.debug("[{}] [Jolokia] Creating address {} {}", artemisContainer.getName(), address, routingType);
+        execBrokerOperation(artemisContainer, "createAddress(java.lang.String,java.lang.String)", address, routingType.name());
+    }
+
+    public static void createQueue(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType) {
+        LOGGER.debug("[{}] [Jolokia] Creating durable queue {} on address {} {}", artemisContainer.getName(), queue, address, routingType);
+        execBrokerOperation(artemisContainer, "createQueue(java.lang.String,java.lang.String,boolean,java.lang.String)",
+                address, queue, true, routingType.name());
+    }
+
+    public static void deleteAddress(ArtemisContainer artemisContainer, String address, boolean force) {
+        LOGGER.debug("[{}] [Jolokia] Deleting address {} (force={})", artemisContainer.getName(), address, force);
+        execBrokerOperation(artemisContainer, "deleteAddress(java.lang.String,boolean)", address, force);
+    }
+
+    public static void sendMessage(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType,
+                                   Map<String, String> headers, String body) {
+        LOGGER.trace("[{}] [Jolokia] Sending message to queue {}", artemisContainer.getName(), queue);
+        execQueueOperation(artemisContainer, address, queue, routingType,
+                "sendMessage(java.util.Map,int,java.lang.String,boolean,java.lang.String,java.lang.String)",
+                new JSONObject(headers), Message.TEXT_TYPE, body, true, null, null);
+    }
+
+    public static int browseMessages(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType) {
+        LOGGER.trace("[{}] [Jolokia] Browsing messages of queue {}", artemisContainer.getName(), queue);
+        Object browsed = execQueueOperation(artemisContainer, address, queue, routingType, "browse()");
+        return browsed instanceof JSONArray ? ((JSONArray) browsed).length() : 0;
+    }
+
+    public static Object execBrokerOperation(ArtemisContainer artemisContainer, String operation, Object... arguments) {
+        String mbean = ArtemisJmxHelper.getArtemisObjectName(artemisContainer).getCanonicalName();
+        return exec(artemisContainer, mbean, operation, arguments);
+    }
+
+    public static Object execQueueOperation(ArtemisContainer artemisContainer, String address, String queue, RoutingType routingType,
+                                            String operation, Object... arguments) {
+        String mbean;
+        try {
+            mbean = ArtemisJmxHelper.getObjectBuilder(artemisContainer).getQueueObjectName(SimpleString.toSimpleString(address),
+                    SimpleString.toSimpleString(queue), routingType).getCanonicalName();
+        } catch (Exception e) {
+            throw new ClaireRuntimeException(e.getMessage(), e);
+        }
+        return exec(artemisContainer, mbean, operation, arguments);
+    }
+
+    private static Object exec(ArtemisContainer artemisContainer, String mbean, String operation, Object... arguments) {
+        JSONArray jsonArguments = new JSONArray();
+        for (Object argument : arguments) {
+            jsonArguments.put(argument == null ? JSONObject.NULL : argument);
+        }
+        JSONObject request = new JSONObject()
+                .put("type", "exec")
+                .put("mbean", mbean)
+                .put("operation", operation)
+                .put("arguments", jsonArguments);
+        return post(artemisContainer, request);
+    }
+
+    private static Object post(ArtemisContainer artemisContainer, JSONObject jolokiaRequest) {
+        String url = Constants.HTTP + "://" + artemisContainer.getHostAndPort(ArtemisConstants.DEFAULT_WEB_CONSOLE_PORT) + JOLOKIA_PATH;
+        String userPass = ArtemisConstants.ADMIN_NAME + ":" + ArtemisConstants.ADMIN_PASS;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Origin", ArtemisConstants.JOLOKIA_ORIGIN_HEADER)
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMillis(Constants.DURATION_30_SECONDS))
+                .POST(HttpRequest.BodyPublishers.ofString(jolokiaRequest.toString()))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            String errMsg = String.format("[Jolokia] Error on calling %s: %s", url, e.getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("[Jolokia] Interrupted while calling " + url, e);
+        }
+
+        try {
+            // jolokia reports operation errors inside of body with http status 200
+            JSONObject body = new JSONObject(response.body());
+            if (response.statusCode() != 200 || body.optInt("status") != 200) {
+                String errMsg = String.format("[Jolokia] %s failed with status %d: %s", jolokiaRequest.getString("operation"),
+                        body.optInt("status", response.statusCode()), body.optString("error", response.body()));
+                LOGGER.error(errMsg);
+                throw new ClaireRuntimeException(errMsg);
+            }
+            return body.opt("value");
+        } catch (JSONException e) {
+            String errMsg = String.format("[Jolokia] Unexpected response (status %d): %s", response.statusCode(), response.body());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        }
+    }
+}
@@ -5,20 +5,61 @@
 package io.brokerqe.claire.helper;
 
 import io.brokerqe.claire.container.AbstractGenericContainer;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ContainerHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ContainerHelper.class);
 
+    /**
+     * Start every container in its own thread and wait for all of them. Common fork-join pool is not used,
+     * as its size depends on CPU count and blocking container starts would be serialized on small machines.
+     */
     public static void startContainersInParallel(AbstractGenericContainer... containers) {
         List<String> containerNames = Arrays.stream(containers).map(AbstractGenericContainer::getName).toList();
         LOGGER.debug(String.format("Starting multiple containers at same time: %s", containerNames));
-        Arrays.stream(containers).parallel().forEach(AbstractGenericContainer::start);
+        if (containers.length == 0) {
+            return;
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(containers.length, runnable -> {
+            Thread thread = new Thread(runnable, "claire-container-start-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> starts = new ArrayList<>();
+            for (AbstractGenericContainer container : containers) {
+                starts.add(executor.submit(container::start));
+            }
+            for (int i = 0; i < starts.size(); i++) {
+                try {
+                    starts.get(i).get();
+                } catch (ExecutionException e) {
+                    String errMsg = String.format("Unable to start container %s: %s", containerNames.get(i), e.getCause().getMessage());
+                    LOGGER.error(errMsg);
+                    throw new ClaireRuntimeException(errMsg, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String errMsg = String.format("Interrupted while starting containers %s", containerNames);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     public static void stopContainers(AbstractGenericContainer... containers) {
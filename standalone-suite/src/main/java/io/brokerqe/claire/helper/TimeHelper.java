@@ -5,6 +5,7 @@
 package io.brokerqe.claire.helper;
 
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.junit.TestPhaseTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +20,12 @@ public final class TimeHelper {
     }
 
     public static <R> R retry(ThrowableFunction<R> func, R expectedReturn, long retries, long pollMs) {
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.WAIT, "retry " + TestPhaseTracer.callerName(TimeHelper.class))) {
+            return retryUntil(func, expectedReturn, retries, pollMs);
+        }
+    }
+
+    private static <R> R retryUntil(ThrowableFunction<R> func, R expectedReturn, long retries, long pollMs) {
         long currentRetry = 1;
         LOGGER.debug("Retrying for {} times with polls of {} ms", retries, pollMs);
         R returnedValue = null;
@@ -49,6 +56,12 @@ public final class TimeHelper {
     }
 
     public static void waitFor(ThrowablePredicate<Boolean> predicate, long pollMs, long timeoutInMs) {
+        try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.WAIT, "waitFor " + TestPhaseTracer.callerName(TimeHelper.class))) {
+            waitUntil(predicate, pollMs, timeoutInMs);
+        }
+    }
+
+    private static void waitUntil(ThrowablePredicate<Boolean> predicate, long pollMs, long timeoutInMs) {
         long realTimeout = System.currentTimeMillis() + timeoutInMs;
         LOGGER.debug("Waiting for {} ms with polls of {} ms", timeoutInMs, pollMs);
         while (System.currentTimeMillis() < realTimeout) {
@@ -78,7 +91,7 @@ public final class TimeHelper {
 
     public static void waitFor(long delay)  {
         if (delay > 0) {
-            try {
+            try (TestPhaseTracer.Span ignored = TestPhaseTracer.start(TestPhaseTracer.Phase.WAIT, "sleep " + TestPhaseTracer.callerName(TimeHelper.class))) {
                 LOGGER.debug("Sleeping for {} ms", delay);
                 TimeUnit.MILLISECONDS.sleep(delay);
             } catch (InterruptedException e) {
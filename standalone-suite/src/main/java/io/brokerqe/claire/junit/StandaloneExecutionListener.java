@@ -5,6 +5,8 @@
 package io.brokerqe.claire.junit;
 
 import io.brokerqe.claire.EnvironmentStandalone;
+import io.brokerqe.claire.webconsole.BrowserPool;
+import org.junit.platform.launcher.TestPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,4 +23,10 @@ public class StandaloneExecutionListener extends ClaireExecutionListener {
         }
         LOGGER.debug("Setup environment finished");
     }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        super.testPlanExecutionFinished(testPlan);
+        BrowserPool.getInstance().closeAll();
+    }
 }
@@ -4,6 +4,8 @@
  */
 package io.brokerqe.claire;
 
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.FailoverLoadGenerator;
 import io.brokerqe.claire.client.deployment.StJavaClientDeployment;
 import io.brokerqe.claire.clients.DeployableClient;
 import io.brokerqe.claire.clients.MessagingClient;
@@ -16,9 +18,11 @@ import io.brokerqe.claire.clients.bundled.BundledCoreMessagingClient;
 import io.brokerqe.claire.clients.container.AmqpQpidClient;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.TimeHelper;
 import io.brokerqe.claire.junit.AbortCondition;
 import io.brokerqe.claire.junit.StandaloneExecutionListener;
 import io.brokerqe.claire.junit.TestSeparator;
+import io.brokerqe.claire.metrics.FailoverProbe;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 import jakarta.jms.TextMessage;
@@ -39,6 +43,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -55,6 +60,14 @@ public class AbstractSystemTests implements TestSeparator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSystemTests.class);
     protected static final String DEFAULT_ALL_PORT = String.valueOf(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT);
     protected static final String DEFAULT_AMQP_PORT = String.valueOf(ArtemisConstants.DEFAULT_AMQP_PORT);
+    private static final int FAILOVER_RATE = 100;
+    // live or active depending on broker version, AMQ221010 is logged by older backups
+    private static final String BACKUP_ACTIVE_LOG_REGEX = "AMQ221007|AMQ221010";
+
+    public enum FailoverFailure {
+        KILL, PAUSE, NETWORK_PARTITION
+    }
+
     protected TestInfo testInfo;
 
     @BeforeAll
@@ -375,6 +388,73 @@ public class AbstractSystemTests implements TestSeparator {
         artemisPrimary.ensureQueueCount(addressName, addressName, RoutingType.ANYCAST, 0);
     }
 
+    /**
+     * Producer and consumer run through failover url while {@code failure} hits the primary broker. Gaps between
+     * failure, backup activation and first send/receive on backup, lost and duplicate messages are appended to
+     * performance/failover_results.jsonl. Primary is restored (failback) afterwards.
+     */
+    public FailoverProbe.Result analyzeFailover(String topology, FailoverFailure failure, ArtemisContainer artemisPrimary,
+                                                ArtemisContainer artemisBackup) {
+        String queueName = "failover-" + failure.name().toLowerCase(Locale.ROOT).replace('_', '-') + "-" + TestUtils.getRandomString(4);
+        String url = AmqpUtil.buildAmqFailoverUrl("failover.amqpOpenServerListAction=IGNORE",
+                artemisPrimary.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT),
+                artemisBackup.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT));
+        FailoverProbe probe = new FailoverProbe(topology);
+        try (FailoverLoadGenerator generator = new FailoverLoadGenerator(url, queueName, probe, FAILOVER_RATE);
+             LogWatcher backupLog = artemisBackup.watchLogs(Instant.now())) {
+            LogWatcher.LogEvent backupActive = backupLog.watch(BACKUP_ACTIVE_LOG_REGEX);
+            generator.start();
+            TestUtils.waitFor("clients to exchange messages before failure", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_1_MINUTE, () -> probe.getReceived() >= FAILOVER_RATE * 5L);
+
+            LOGGER.info("[{}] Injecting {} of primary {}", topology, failure, artemisPrimary.getName());
+            probe.failureInjected(System.currentTimeMillis());
+            switch (failure) {
+                case KILL -> artemisPrimary.artemisProcessController(ArtemisContainer.ArtemisProcessControllerAction.FORCE_STOP);
+                case PAUSE -> artemisPrimary.pause();
+                case NETWORK_PARTITION -> artemisPrimary.disconnectNetwork();
+                default -> throw new IllegalArgumentException("Unknown failure " + failure);
+            }
+            backupActive.await(1, Constants.DURATION_3_MINUTES);
+            probe.backupActivated(System.currentTimeMillis());
+            TestUtils.waitFor("clients to exchange messages on backup", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_2_MINUTES, () -> probe.getFirstReceiveAfter() >= 0);
+            TimeHelper.waitFor(Constants.DURATION_5_SECONDS);
+            generator.stopAndDrain(Constants.DURATION_1_MINUTE);
+        } finally {
+            restorePrimary(failure, artemisPrimary, artemisBackup);
+        }
+
+        FailoverProbe.Result result = probe.getResult(Map.of(
+                "topology", topology,
+                "failure", failure.name(),
+                "rate", String.valueOf(FAILOVER_RATE)));
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        FailoverProbe.appendResult(Constants.PERFORMANCE_DIR + "/failover_results.jsonl", result);
+        return result;
+    }
+
+    /**
+     * Paused or partitioned primary might still run, it is stopped first, so it starts again as primary and fails back.
+     */
+    private void restorePrimary(FailoverFailure failure, ArtemisContainer artemisPrimary, ArtemisContainer artemisBackup) {
+        if (failure == FailoverFailure.PAUSE) {
+            artemisPrimary.unpause();
+        } else if (failure == FailoverFailure.NETWORK_PARTITION) {
+            artemisPrimary.connectNetwork();
+        }
+        if (failure != FailoverFailure.KILL) {
+            try {
+                artemisPrimary.artemisProcessController(ArtemisContainer.ArtemisProcessControllerAction.FORCE_STOP);
+            } catch (ClaireRuntimeException e) {
+                LOGGER.debug("[{}] Primary already stopped itself: {}", artemisPrimary.getName(), e.getMessage());
+            }
+        }
+        artemisPrimary.artemisProcessController(ArtemisContainer.ArtemisProcessControllerAction.START);
+        artemisPrimary.ensureBrokerIsActive();
+        artemisBackup.ensureBrokerIsBackup();
+    }
+
     public Duration calculateArtemisStartupTimeout(int size, String unit, int messageCount) {
         int seconds = messageCount;
         if (size != 0) {
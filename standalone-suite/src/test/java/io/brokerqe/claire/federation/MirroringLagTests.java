@@ -0,0 +1,181 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.federation;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.LogWatcher;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.MirrorLagProbe;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Two standalone brokers connected by AMQP broker connection with mirror element (prod -> dr). Messages are stamped
+ * and sent to prod at configured rate, consumed on dr and end-to-end mirroring lag is measured together with backlog
+ * of mirror store-and-forward queue on prod.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class MirroringLagTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MirroringLagTests.class);
+
+    private static final String MIRROR_NAME = "dr";
+    private static final String SNF_QUEUE = "$ACTIVEMQ_ARTEMIS_MIRROR_" + MIRROR_NAME;
+    private static final long PRODUCE_DURATION_SECONDS = 30;
+    private static final long SAMPLE_PERIOD = Constants.DURATION_500_MILLISECONDS;
+    // both brokers run on the same host, so mirror is expected to keep up with tested rates within seconds
+    private static final long MAX_P99_LAG = Constants.DURATION_5_SECONDS;
+
+    private ArtemisContainer prodArtemis;
+    private ArtemisContainer drArtemis;
+
+    @BeforeAll
+    void setupEnv() {
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        drArtemis = ArtemisDeployment.createArtemis("dr-artemis");
+
+        String brokerProperties = getTestTempDir() + Constants.FILE_SEPARATOR + "prod-broker.properties";
+        TestUtils.createFile(brokerProperties, String.format("""
+                AMQPConnections.%1$s.uri=tcp://%2$s:%3$d
+                AMQPConnections.%1$s.retryInterval=1000
+                AMQPConnections.%1$s.user=%4$s
+                AMQPConnections.%1$s.password=%5$s
+                AMQPConnections.%1$s.connectionElements.mirror.type=MIRROR
+                AMQPConnections.%1$s.connectionElements.mirror.messageAcknowledgements=true
+                AMQPConnections.%1$s.connectionElements.mirror.queueCreation=true
+                AMQPConnections.%1$s.connectionElements.mirror.queueRemoval=true
+                """, MIRROR_NAME, drArtemis.getName(), ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT,
+                ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS));
+        prodArtemis = ArtemisDeployment.createArtemis("prod-artemis", new ArtemisConfigData().withStart(false));
+        prodArtemis.withConfigFile(brokerProperties, "broker.properties");
+        prodArtemis.start();
+        prodArtemis.ensureBrokerStarted();
+        // AMQ111003 - broker connection successfully established
+        try (LogWatcher prodLog = prodArtemis.watchLogs()) {
+            prodLog.watch("AMQ111003").await(1, Constants.DURATION_1_MINUTE);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1000})
+    void mirroringLagTest(int messagesPerSecond) throws JMSException {
+        String queueName = "mirror-lag-" + messagesPerSecond;
+        long messageCount = messagesPerSecond * PRODUCE_DURATION_SECONDS;
+        ArtemisJmxHelper.createAddress(prodArtemis, queueName, RoutingType.ANYCAST);
+        ArtemisJmxHelper.createQueue(prodArtemis, queueName, queueName, RoutingType.ANYCAST);
+        TestUtils.waitFor("queue " + queueName + " to be mirrored to " + drArtemis.getName(), Constants.DURATION_1_SECOND,
+                Constants.DURATION_30_SECONDS, () -> Arrays.asList(ArtemisJmxHelper.executeOnBroker(drArtemis,
+                        ActiveMQServerControl::getQueueNames)).contains(queueName));
+
+        MirrorLagProbe probe = new MirrorLagProbe("Mirroring lag at " + messagesPerSecond + " msg/s");
+        AtomicLong produced = new AtomicLong();
+        AtomicLong mirrored = new AtomicLong();
+
+        JmsConnectionFactory drFactory = new JmsConnectionFactory(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS,
+                AmqpUtil.buildAmqpUrl(drArtemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT)));
+        JmsConnectionFactory prodFactory = new JmsConnectionFactory(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS,
+                AmqpUtil.buildAmqpUrl(prodArtemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT)));
+        try (Connection drConnection = drFactory.createConnection(); Connection prodConnection = prodFactory.createConnection()) {
+            Session drSession = drConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = drSession.createConsumer(drSession.createQueue(queueName));
+            consumer.setMessageListener(message -> {
+                long received = System.currentTimeMillis();
+                try {
+                    probe.recordMessageLag(message.getLongProperty(MirrorLagProbe.SENT_TIME_PROPERTY), received);
+                } catch (JMSException e) {
+                    LOGGER.warn("[{}] Unable to read sent time of mirrored message: {}", drArtemis.getName(), e.getMessage());
+                }
+                mirrored.incrementAndGet();
+            });
+            drConnection.start();
+
+            probe.startSampling(SAMPLE_PERIOD, () -> MirrorLagProbe.Sample.now(produced.get(), mirrored.get(), getSnfBacklog()));
+            Session prodSession = prodConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Queue queue = prodSession.createQueue(queueName);
+            MessageProducer producer = prodSession.createProducer(queue);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+            long start = System.nanoTime();
+            for (long i = 0; i < messageCount; i++) {
+                // fixed schedule instead of fixed sleep, so slow sends are caught up and the rate holds
+                long sendAt = start + i * intervalNanos;
+                long wait = sendAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Message message = prodSession.createTextMessage("mirror-lag-" + i);
+                message.setLongProperty(MirrorLagProbe.SENT_TIME_PROPERTY, System.currentTimeMillis());
+                producer.send(message);
+                produced.incrementAndGet();
+            }
+            double achievedRate = messageCount * 1_000_000_000.0 / (System.nanoTime() - start);
+            LOGGER.info("[{}] Sent {} messages at {} msg/s (requested {} msg/s)", prodArtemis.getName(), messageCount,
+                    String.format("%.1f", achievedRate), messagesPerSecond);
+
+            TestUtils.waitFor("all messages to be mirrored and consumed on " + drArtemis.getName(), Constants.DURATION_1_SECOND,
+                    Constants.DURATION_2_MINUTES, () -> mirrored.get() >= messageCount);
+            TestUtils.waitFor("mirror SNF queue to be drained on " + prodArtemis.getName(), Constants.DURATION_1_SECOND,
+                    Constants.DURATION_1_MINUTE, () -> getSnfBacklog() == 0);
+        } finally {
+            probe.stopSampling();
+        }
+        probe.addSample(MirrorLagProbe.Sample.now(produced.get(), mirrored.get(), getSnfBacklog()));
+        probe.computeCatchUpLags();
+        String reportPrefix = Constants.PERFORMANCE_DIR + "/mirroring_lag_" + messagesPerSecond;
+        probe.writeReport(reportPrefix + ".txt", reportPrefix + "_samples.csv");
+        ArtemisJmxHelper.deleteAddress(prodArtemis, queueName, true);
+
+        assertThat("Not all messages were mirrored", mirrored.get(), equalTo(messageCount));
+        assertThat("Mirror SNF queue was not sampled", probe.getMaxSnfBacklog(), greaterThanOrEqualTo(0L));
+        assertThat("Mirroring lag was not recorded for every message", probe.getRecordedCount(MirrorLagProbe.E2E_LAG), equalTo(messageCount));
+        assertThat("Catch-up lag was not recorded", probe.getRecordedCount(MirrorLagProbe.CATCH_UP_LAG), greaterThan(0L));
+        assertThat("p99 of mirroring lag is too high", probe.getPercentile(MirrorLagProbe.E2E_LAG, 99), lessThan(MAX_P99_LAG));
+        assertThat("p99 of catch-up lag is too high", probe.getPercentile(MirrorLagProbe.CATCH_UP_LAG, 99), lessThan(MAX_P99_LAG));
+    }
+
+    private long getSnfBacklog() {
+        Long count = ArtemisJmxHelper.executeOnQueue(prodArtemis, SNF_QUEUE, SNF_QUEUE, RoutingType.ANYCAST, QueueControl::getMessageCount);
+        if (count == null) {
+            String errMsg = String.format("[%s] Unable to get message count of mirror queue %s", prodArtemis.getName(), SNF_QUEUE);
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg);
+        }
+        return count;
+    }
+}
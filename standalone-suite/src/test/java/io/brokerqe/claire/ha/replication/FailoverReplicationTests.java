@@ -13,6 +13,7 @@ import io.brokerqe.claire.client.AmqpUtil;
 import io.brokerqe.claire.client.deployment.ArtemisDeployment;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.container.ZookeeperContainerCluster;
+import io.brokerqe.claire.metrics.FailoverProbe;
 import jakarta.jms.Message;
 import jakarta.jms.Queue;
 import org.apache.activemq.artemis.api.core.RoutingType;
@@ -20,22 +21,30 @@ import org.apache.qpid.jms.JmsConnectionFactory;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class FailoverReplicationTests extends AbstractSystemTests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FailoverReplicationTests.class);
+    private static final long ZOOKEEPER_SESSION_MS = 18000;
     private ArtemisContainer artemisPrimary;
     private ArtemisContainer artemisBackup;
+    private ZookeeperContainerCluster zkCluster;
 
     @BeforeAll
     void setupEnv() {
         // create a Zookeeper cluster of 3 nodes
-        ZookeeperContainerCluster zkCluster = new ZookeeperContainerCluster(3, "zk");
+        zkCluster = new ZookeeperContainerCluster(3, "zk");
         zkCluster.start();
 
         String artemisPrimaryName = "artemisPrimary";
@@ -99,4 +108,34 @@ public class FailoverReplicationTests extends AbstractSystemTests {
         artemisPrimary.ensureQueueCount(addressName, queueName, RoutingType.ANYCAST, 0);
         artemisBackup.ensureBrokerIsBackup();
     }
+
+    /**
+     * Quorum loss must not cause failover when zookeeper recovers within session timeout (session-ms in primary tune).
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void zookeeperNodeKillDoesNotFailover(boolean killLeader) {
+        ZookeeperContainerCluster.Election election = killLeader ? zkCluster.killLeader() : zkCluster.killFollower();
+        LOGGER.info("[Zookeeper] Quorum recovery after killing {} {} took {} ms", election.killedMode(), election.killedNode(),
+                election.recoveryTime().toMillis());
+        assertThat(election.recoveryTime()).isLessThan(Duration.ofMillis(ZOOKEEPER_SESSION_MS));
+        if (killLeader) {
+            assertThat(election.newLeader()).isNotEqualTo(election.previousLeader());
+        }
+        artemisPrimary.ensureBrokerIsActive();
+        artemisBackup.ensureBrokerIsBackup();
+        artemisBackup.ensureBrokerReplicaIsInSync();
+
+        zkCluster.startNode(zkCluster.getNode(election.killedNode()));
+    }
+
+    @ParameterizedTest(name = "{index} => failure=''{0}''")
+    @EnumSource(FailoverFailure.class)
+    @Tag(Constants.TAG_PERFORMANCE)
+    void failoverAnalysisTest(FailoverFailure failure) {
+        artemisBackup.ensureBrokerReplicaIsInSync();
+        FailoverProbe.Result result = analyzeFailover("replication-zookeeper", failure, artemisPrimary, artemisBackup);
+        assertThat(result.backupActivationMs()).isGreaterThanOrEqualTo(0);
+        assertThat(result.lost()).as("Acknowledged messages lost during failover: %s", result.lostSequences()).isZero();
+    }
 }
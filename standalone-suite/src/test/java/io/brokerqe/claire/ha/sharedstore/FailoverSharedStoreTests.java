@@ -5,16 +5,21 @@
 package io.brokerqe.claire.ha.sharedstore;
 
 import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.client.deployment.ArtemisConfigData;
 import io.brokerqe.claire.client.deployment.ArtemisDeployment;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.helper.ToolDeployer;
+import io.brokerqe.claire.metrics.FailoverProbe;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class FailoverSharedStoreTests extends AbstractSystemTests {
 
     private ArtemisContainer artemisPrimary;
@@ -40,4 +45,17 @@ public class FailoverSharedStoreTests extends AbstractSystemTests {
     void testProduceAndConsumeOnPrimaryAndOnBackupTest(ArtemisContainer.ArtemisProcessControllerAction stopAction) {
         produceAndConsumeOnPrimaryAndOnBackupTest(stopAction, artemisPrimary, artemisBackup);
     }
+
+    /**
+     * Paused primary is not covered, NFS client of the kernel keeps renewing the lock lease of frozen broker,
+     * so backup never activates.
+     */
+    @ParameterizedTest(name = "{index} => failure=''{0}''")
+    @EnumSource(value = FailoverFailure.class, names = {"KILL", "NETWORK_PARTITION"})
+    @Tag(Constants.TAG_PERFORMANCE)
+    void failoverAnalysisTest(FailoverFailure failure) {
+        FailoverProbe.Result result = analyzeFailover("shared-store-nfs", failure, artemisPrimary, artemisBackup);
+        assertThat(result.backupActivationMs()).isGreaterThanOrEqualTo(0);
+        assertThat(result.lost()).as("Acknowledged messages lost during failover: %s", result.lostSequences()).isZero();
+    }
 }
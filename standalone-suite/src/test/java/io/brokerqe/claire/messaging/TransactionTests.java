@@ -84,12 +84,7 @@ public class TransactionTests extends AbstractSystemTests {
 
     public void checkQueueMessageCount(String queueName, int expMessagesAdded, int expMessageCount, int expConsumerCount) {
         LOGGER.info("[{}] Checking {} queue message stats.", artemis.getName(), queueName);
-        Map<String, String> commandOptions = Map.of(
-                "maxColumnSize", "-1",
-                "maxRows", "1000"
-        );
-        BundledArtemisClient bac = new BundledArtemisClient(new BundledClientDeployment(), ArtemisCommand.QUEUE_STAT, commandOptions);
-        Map<String, Map<String, String>> queueStats = (Map<String, Map<String, String>>) bac.executeCommand();
+        Map<String, Map<String, String>> queueStats = getQueueStats();
         assertEquals(String.valueOf(expMessageCount), queueStats.get(queueName).get("message_count"));
         assertEquals(String.valueOf(expMessagesAdded), queueStats.get(queueName).get("messages_added"));
         if (expConsumerCount != -1) {
@@ -97,6 +92,20 @@ public class TransactionTests extends AbstractSystemTests {
         }
     }
 
+    private Map<String, Map<String, String>> getQueueStats() {
+        Map<String, String> commandOptions = Map.of(
+                "maxColumnSize", "-1",
+                "maxRows", "1000"
+        );
+        BundledArtemisClient bac = new BundledArtemisClient(new BundledClientDeployment(), ArtemisCommand.QUEUE_STAT, commandOptions);
+        return (Map<String, Map<String, String>>) bac.executeCommand();
+    }
+
+    private boolean hasQueueConsumers(String queueName, int expConsumerCount) {
+        Map<String, String> queueStat = getQueueStats().get(queueName);
+        return queueStat != null && Integer.parseInt(queueStat.get("consumer_count")) >= expConsumerCount;
+    }
+
     private void doCleanQueue(String address) {
         LOGGER.info("[{}] Cleaning queue {}", artemis.getName(), address);
         MessagingClient consumer = new AmqpQpidClient(deployableClient, artemis.getBrokerUri(Protocol.AMQP), DEFAULT_ALL_PORT, address, address, 0, username, password);
@@ -456,8 +465,8 @@ public class TransactionTests extends AbstractSystemTests {
         LOGGER.info("[{}] Subscribe 2 receivers to {}.", artemis.getName(), addressName);
         MessagingClient client1 = new AmqpQpidClient(deployableClient, brokerUri, senderOptions, receiverOptions);
         MessagingClient subscriber2 = new AmqpQpidClient(deployableClient, brokerUri, senderOptions, receiverOptions); //null senderOpts
-        client1.subscribe();
-        subscriber2.subscribe();
+        client1.subscribe(() -> hasQueueConsumers(queueName, 1));
+        subscriber2.subscribe(() -> hasQueueConsumers(queueName, 2));
 
         checkQueueMessageCount(queueName, 0, 0, 2);
 
@@ -0,0 +1,202 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.perf;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.client.deployment.BundledClientDeployment;
+import io.brokerqe.claire.clients.bundled.ArtemisCommand;
+import io.brokerqe.claire.clients.bundled.BundledArtemisClient;
+import io.brokerqe.claire.container.AbstractGenericContainer;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.container.database.DatabaseContainer;
+import io.brokerqe.claire.container.database.MariadbContainer;
+import io.brokerqe.claire.container.database.MssqlContainer;
+import io.brokerqe.claire.container.database.MysqlContainer;
+import io.brokerqe.claire.container.database.PostgresqlContainer;
+import io.brokerqe.claire.database.Database;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.JournalProbe;
+import io.brokerqe.claire.metrics.ResultStore;
+import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Identical {@code artemis perf client} workloads against standalone brokers with NIO, ASYNCIO, MAPPED and JDBC journals,
+ * JDBC backed by PostgreSQL, MySQL, MariaDB and MSSQL containers started by this class. Perf client runs in a separate
+ * broker container, so its cpu is not accounted to the measured broker. Throughput, latency percentiles, cpu time and
+ * bytes written by broker and database containers are stored to {@code journal_comparison_results.jsonl} and compared in
+ * {@code journal_comparison_report.md}.
+ * ASYNCIO is skipped when libaio is not available in the container and broker falls back to NIO.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class JournalComparisonTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalComparisonTests.class);
+
+    private static final List<String> FILE_JOURNALS = List.of("NIO", "ASYNCIO", "MAPPED");
+    private static final List<String> DATABASES = List.of(Database.POSTGRESQL, Database.MYSQL, Database.MARIADB, Database.MSSQL);
+    private static final String JDBC = "JDBC";
+    // workload, producers, consumers, message size, max pending sends
+    private static final List<List<Object>> WORKLOADS = List.of(
+            List.of("sync-send", 1, 1, 1024, 1),
+            List.of("windowed-send", 4, 4, 1024, 100),
+            List.of("windowed-send-10k", 1, 1, 10240, 100));
+    private static final int DURATION_SECONDS = 60;
+    private static final int WARMUP_SECONDS = 10;
+    private static final String QUEUE_PREFIX = "journal-perf-";
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/journal_comparison_results.jsonl";
+    private static final String REPORT_FILE = Constants.PERFORMANCE_DIR + "/journal_comparison_report.md";
+
+    private final Map<String, ArtemisContainer> brokers = new HashMap<>();
+    private final Map<String, DatabaseContainer> databases = new HashMap<>();
+    private ArtemisContainer client;
+
+    @BeforeAll
+    void setupEnv() {
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        client = ArtemisDeployment.createArtemis("journal-client");
+    }
+
+    @AfterAll
+    void stopBrokers() {
+        if (Files.exists(Path.of(RESULTS_FILE))) {
+            JournalProbe.writeReport(ResultStore.read(RESULTS_FILE, JournalProbe.Result.class), REPORT_FILE);
+        }
+        brokers.values().forEach(ArtemisContainer::stop);
+        databases.values().forEach(DatabaseContainer::stop);
+        if (client != null) {
+            client.stop();
+        }
+    }
+
+    static Stream<Arguments> journalArguments() {
+        List<List<String>> journals = Stream.concat(FILE_JOURNALS.stream().map(journal -> List.of(journal, "")),
+                DATABASES.stream().map(database -> List.of(JDBC, database))).toList();
+        // workloads in the outer loop, so journals of one workload are measured close in time
+        return WORKLOADS.stream().flatMap(workload -> journals.stream().map(journal -> Arguments.of(journal.get(0),
+                journal.get(1), workload.get(0), workload.get(1), workload.get(2), workload.get(3), workload.get(4))));
+    }
+
+    @ParameterizedTest(name = "{2} {0} {1}")
+    @MethodSource("journalArguments")
+    void journalComparisonTest(String journal, String database, String workload, int producers, int consumers, int messageSize,
+                               int maxPending) {
+        ArtemisContainer artemis = getBroker(journal, database);
+        DatabaseContainer databaseContainer = databases.get(database);
+        // journal type stays set to a file journal when JDBC store is used, JDBC usage is checked on broker start
+        String journalActual = databaseContainer != null ? JDBC
+                : ArtemisJmxHelper.executeOnBroker(artemis, ActiveMQServerControl::getJournalType);
+        Assumptions.assumeTrue(journalActual.equals(journal),
+                journal + " journal is not supported by " + artemis.getName() + ", broker uses " + journalActual);
+
+        Map<String, String> parameters = Map.of(
+                "producers", String.valueOf(producers),
+                "consumers", String.valueOf(consumers),
+                "message-size", String.valueOf(messageSize),
+                "max-pending", String.valueOf(maxPending),
+                "duration", String.valueOf(DURATION_SECONDS),
+                "warmup", String.valueOf(WARMUP_SECONDS));
+        Map<String, String> perfOptions = new HashMap<>(parameters);
+        perfOptions.putAll(Map.of(
+                "threads", String.valueOf(Math.max(producers, consumers)),
+                "protocol", "core",
+                "persistent", "",
+                "show-latency", "",
+                "url", Constants.TCP_URL_PREFIX.toLowerCase(Locale.ROOT) + artemis.getName() + ":"
+                        + ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT));
+        BundledClientDeployment deployableClient = new BundledClientDeployment();
+        deployableClient.setContainer(client.getGenericContainer());
+        BundledArtemisClient perfClient = new BundledArtemisClient(deployableClient, ArtemisCommand.PERF_CLIENT, perfOptions,
+                "queue://" + QUEUE_PREFIX + workload);
+
+        JournalProbe probe = new JournalProbe(journal, workload, database.isEmpty() ? null : database);
+        probe.started(getCgroupStats(artemis), getCgroupStats(databaseContainer));
+        @SuppressWarnings("unchecked")
+        Map<String, String> perfOutput = (Map<String, String>) perfClient.executeCommand(Constants.DURATION_5_MINUTES);
+        probe.finished(getCgroupStats(artemis), getCgroupStats(databaseContainer));
+        JournalProbe.Result result = probe.getResult(journalActual, parameters, perfOutput);
+        JournalProbe.appendResult(RESULTS_FILE, result);
+
+        assertThat("performance test ended successfully", perfOutput.get("result"), equalTo("success"));
+        assertThat("No message was received", result.received(), greaterThan(0L));
+    }
+
+    /**
+     * Output of {@link JournalProbe#CGROUP_STATS_COMMAND}, {@code null} without container.
+     */
+    private String getCgroupStats(AbstractGenericContainer container) {
+        if (container == null) {
+            return null;
+        }
+        return container.executeCommand("sh", "-c", JournalProbe.CGROUP_STATS_COMMAND).stdout;
+    }
+
+    /**
+     * File journals are set by broker properties, JDBC broker gets its own database container configured by yacfg tune
+     * file of the database.
+     */
+    private ArtemisContainer getBroker(String journal, String database) {
+        String key = journal + database;
+        return brokers.computeIfAbsent(key, k -> {
+            String name = "journal-" + journal.toLowerCase(Locale.ROOT);
+            ArtemisConfigData artemisConfigData = new ArtemisConfigData().withStart(false);
+            DatabaseContainer databaseContainer = null;
+            if (journal.equals(JDBC)) {
+                databaseContainer = createDatabase(database);
+                databases.put(database, databaseContainer);
+                artemisConfigData.withDatabase(databaseContainer);
+            }
+            ArtemisContainer artemis = ArtemisDeployment.createArtemis(name, artemisConfigData);
+            if (databaseContainer == null) {
+                String brokerPropertiesFile = getTestTempDir() + Constants.FILE_SEPARATOR + name + "-broker.properties";
+                TestUtils.createFile(brokerPropertiesFile, "journalType=" + journal);
+                artemis.withConfigFile(brokerPropertiesFile, "broker.properties");
+            }
+            artemis.start(artemisConfigData.getStartTimeout());
+            artemis.ensureBrokerStarted(false);
+            if (databaseContainer != null) {
+                artemis.ensureBrokerUsesJdbc(databaseContainer);
+            }
+            LOGGER.info("[{}] Started with {} journal {}", artemis.getName(), journal, database);
+            return artemis;
+        });
+    }
+
+    private DatabaseContainer createDatabase(String database) {
+        String name = database + "-journal-" + TestUtils.generateRandomName();
+        return switch (database) {
+            case Database.POSTGRESQL -> new PostgresqlContainer(name);
+            case Database.MYSQL -> new MysqlContainer(name);
+            case Database.MARIADB -> new MariadbContainer(name);
+            default -> new MssqlContainer(name);
+        };
+    }
+}
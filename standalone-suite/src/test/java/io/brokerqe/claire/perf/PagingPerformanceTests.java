@@ -0,0 +1,189 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.perf;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.PagingLoadGenerator;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.PagingProbe;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Queues driven deep into paging on a standalone broker with journal, paging and large messages directories on tmpfs or
+ * on disk. Scenarios vary message size (including streamed messages over 100 MB), producer and consumer rates and
+ * consumer start delay. Broker is sampled every second over JMX for queue depth, page files, address size and global
+ * memory usage. Page count, page file creation rate, memory watermarks, consumer catch-up time and throughput collapses
+ * are stored to {@code paging_results.jsonl}.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class PagingPerformanceTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagingPerformanceTests.class);
+
+    private static final List<String> STORAGES = List.of("TMPFS", "DISK");
+    private static final String TMPFS_DIR = "/tmp/claire-tmpfs";
+    private static final String QUEUE_PREFIX = "paging-stress-";
+    private static final long GLOBAL_MAX_SIZE = 64L * 1024 * 1024;
+    private static final long ADDRESS_MAX_SIZE = 2L * 1024 * 1024;
+    private static final long PAGE_SIZE = 1024 * 1024;
+    private static final int LARGE_MESSAGE_SIZE = 100 * 1024 * 1024 + 1;
+    // scenario, message size, messages per producer, producers, consumers, producer rate, consumer rate, consumer delay
+    private static final List<List<Object>> SCENARIOS = List.of(
+            List.of("deep-paging", 1024, 20_000, 4, 2, 0, 0, Constants.DURATION_30_SECONDS),
+            List.of("deep-paging-10k", 10240, 5000, 4, 2, 0, 0, Constants.DURATION_30_SECONDS),
+            List.of("slow-consumer", 1024, 10_000, 2, 1, 500, 200, 0L),
+            List.of("large-streamed", LARGE_MESSAGE_SIZE, 5, 1, 1, 0, 0, Constants.DURATION_10_SECONDS));
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/paging_results.jsonl";
+
+    private final Map<String, ArtemisContainer> brokers = new HashMap<>();
+
+    @BeforeAll
+    void setupEnv() {
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @AfterAll
+    void stopBrokers() {
+        brokers.values().forEach(ArtemisContainer::stop);
+    }
+
+    static Stream<Arguments> pagingArguments() {
+        return STORAGES.stream().flatMap(storage -> SCENARIOS.stream().map(scenario -> {
+            Object[] arguments = new Object[scenario.size() + 1];
+            arguments[0] = storage;
+            for (int i = 0; i < scenario.size(); i++) {
+                arguments[i + 1] = scenario.get(i);
+            }
+            return Arguments.of(arguments);
+        }));
+    }
+
+    @ParameterizedTest(name = "{0} {1} size={2} messages={3} producers={4} consumers={5} rates={6}/{7} delay={8}")
+    @MethodSource("pagingArguments")
+    void pagingStressTest(String storage, String scenario, int messageSize, int messagesPerProducer, int producers, int consumers,
+                          int producerRate, int consumerRate, long consumerDelay) {
+        ArtemisContainer artemis = getBroker(storage);
+        String queueName = QUEUE_PREFIX + scenario + "-" + TestUtils.getRandomString(4);
+        ArtemisJmxHelper.createAddress(artemis, queueName, RoutingType.ANYCAST);
+        ArtemisJmxHelper.createQueue(artemis, queueName, queueName, RoutingType.ANYCAST);
+
+        PagingProbe probe = new PagingProbe(scenario);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> sample(artemis, queueName, probe), 0, Constants.DURATION_1_SECOND, TimeUnit.MILLISECONDS);
+        try {
+            new PagingLoadGenerator(getCoreUrl(artemis), probe)
+                    .withMessageSize(messageSize)
+                    .withClients(producers, consumers)
+                    .withRates(producerRate, consumerRate)
+                    .withConsumerDelay(consumerDelay)
+                    .withIdleTimeout(Constants.DURATION_30_SECONDS)
+                    .run(queueName, messagesPerProducer, Constants.DURATION_10_MINUTES);
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        PagingProbe.Result result = probe.getResult(Map.of(
+                "storage", storage,
+                "messageSize", String.valueOf(messageSize),
+                "producers", String.valueOf(producers),
+                "consumers", String.valueOf(consumers),
+                "producerRate", String.valueOf(producerRate),
+                "consumerRate", String.valueOf(consumerRate),
+                "consumerDelay", String.valueOf(consumerDelay),
+                "addressMaxSize", String.valueOf(ADDRESS_MAX_SIZE),
+                "globalMaxSize", String.valueOf(GLOBAL_MAX_SIZE)));
+        PagingProbe.appendResult(RESULTS_FILE, result);
+        ArtemisJmxHelper.deleteAddress(artemis, queueName, true);
+
+        long expected = (long) producers * messagesPerProducer;
+        assertThat("Not all messages were sent", result.sent(), equalTo(expected));
+        assertThat("Not all messages were received", result.received(), equalTo(expected));
+        if (messageSize < PagingLoadGenerator.LARGE_MESSAGE_STREAM_SIZE) {
+            // only references of large messages are paged, so paging is not guaranteed for them
+            assertThat("Address did not page", result.maxPages(), greaterThan(0L));
+        }
+        // collapses are a result of the measurement, they are only reported
+    }
+
+    /**
+     * Failed sample (e.g. JMX busy under load) is skipped, the next one is taken a second later.
+     */
+    private void sample(ArtemisContainer artemis, String queueName, PagingProbe probe) {
+        try {
+            long time = System.currentTimeMillis();
+            long messageCount = ArtemisJmxHelper.executeOnQueue(artemis, queueName, queueName, RoutingType.ANYCAST,
+                    QueueControl::getMessageCount);
+            long[] address = ArtemisJmxHelper.executeOnAddress(artemis, queueName,
+                    control -> new long[] {control.getNumberOfPages(), control.getAddressSize()});
+            long[] global = ArtemisJmxHelper.executeOnBroker(artemis,
+                    control -> new long[] {control.getAddressMemoryUsage(), control.getGlobalMaxSize()});
+            probe.sample(new PagingProbe.Sample(time, messageCount, address[0], address[1], global[0], global[1]));
+        } catch (RuntimeException e) {
+            LOGGER.debug("[{}] Unable to sample paging of {}: {}", artemis.getName(), queueName, e.getMessage());
+        }
+    }
+
+    /**
+     * Paging is limited for {@link #QUEUE_PREFIX} addresses only, tmpfs broker keeps all its data directories in memory.
+     */
+    private ArtemisContainer getBroker(String storage) {
+        return brokers.computeIfAbsent(storage, key -> {
+            String name = "paging-" + storage.toLowerCase(Locale.ROOT);
+            ArtemisContainer artemis = ArtemisDeployment.createArtemis(name, new ArtemisConfigData().withStart(false));
+            String addressSettings = "addressSettings." + QUEUE_PREFIX + "#.";
+            StringBuilder properties = new StringBuilder()
+                    .append("globalMaxSize=").append(GLOBAL_MAX_SIZE).append(System.lineSeparator())
+                    .append(addressSettings).append("maxSizeBytes=").append(ADDRESS_MAX_SIZE).append(System.lineSeparator())
+                    .append(addressSettings).append("pageSizeBytes=").append(PAGE_SIZE).append(System.lineSeparator())
+                    .append(addressSettings).append("addressFullMessagePolicy=PAGE").append(System.lineSeparator());
+            if (storage.equals("TMPFS")) {
+                artemis.withTmpFs(TMPFS_DIR);
+                for (String directory : List.of("journal", "paging", "bindings", "largeMessages")) {
+                    properties.append(directory).append("Directory=").append(TMPFS_DIR).append("/").append(directory)
+                            .append(System.lineSeparator());
+                }
+            }
+            String brokerPropertiesFile = getTestTempDir() + Constants.FILE_SEPARATOR + name + "-broker.properties";
+            TestUtils.createFile(brokerPropertiesFile, properties.toString());
+            artemis.withConfigFile(brokerPropertiesFile, "broker.properties");
+            artemis.start();
+            artemis.ensureBrokerStarted(false);
+            return artemis;
+        });
+    }
+
+    private String getCoreUrl(ArtemisContainer artemis) {
+        return Constants.TCP_URL_PREFIX.toLowerCase(Locale.ROOT) + artemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT);
+    }
+}
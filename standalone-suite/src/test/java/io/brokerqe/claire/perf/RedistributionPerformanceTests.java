@@ -0,0 +1,213 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.perf;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.RedistributionProbe;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Cluster of standalone brokers (discovery over broadcast group), messages are produced to the first node and consumed
+ * from all the other nodes. Each scenario measures two phases
+ * <ul>
+ *   <li>backlog - messages are stored on producer node without any consumer, then consumers attach to other nodes</li>
+ *   <li>live - messages are produced at fixed rate while consumers are attached to other nodes</li>
+ * </ul>
+ * Load balancing type of cluster connection and redistribution delay of address are set by broker properties.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class RedistributionPerformanceTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedistributionPerformanceTests.class);
+
+    private static final int CLUSTER_SIZE = 3;
+    private static final String CLUSTER_CONNECTION = "artemis-cluster";
+    private static final String QUEUE_PREFIX = "redistribution-";
+    private static final List<Long> REDISTRIBUTION_DELAYS = List.of(0L, 1000L);
+    private static final int PRODUCE_RATE = 500;
+    private static final int BACKLOG_MESSAGES = 5000;
+    private static final int LIVE_SECONDS = 30;
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/redistribution_results.jsonl";
+
+    private final List<ArtemisContainer> nodes = new ArrayList<>();
+    private String clusterLoadBalancing;
+
+    @BeforeAll
+    void setupEnv() {
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @ParameterizedTest(name = "{0} redistribution-delay={1}")
+    @CsvSource({"ON_DEMAND, 0", "ON_DEMAND, 1000", "OFF_WITH_REDISTRIBUTION, 0", "OFF_WITH_REDISTRIBUTION, 1000"})
+    void redistributionTest(String loadBalancing, long redistributionDelay) throws JMSException {
+        List<ArtemisContainer> cluster = getCluster(loadBalancing);
+        String queueName = QUEUE_PREFIX + redistributionDelay;
+        for (ArtemisContainer node : cluster) {
+            ArtemisJmxHelper.createAddress(node, queueName, RoutingType.ANYCAST);
+            ArtemisJmxHelper.createQueue(node, queueName, queueName, RoutingType.ANYCAST);
+        }
+        ArtemisContainer producerNode = cluster.get(0);
+        List<ArtemisContainer> consumerNodes = cluster.subList(1, cluster.size());
+        Map<String, String> parameters = Map.of(
+                "nodes", String.valueOf(cluster.size()),
+                "consumerNodes", String.valueOf(consumerNodes.size()),
+                "loadBalancing", loadBalancing,
+                "redistributionDelay", String.valueOf(redistributionDelay),
+                "rate", String.valueOf(PRODUCE_RATE));
+
+        RedistributionProbe backlogProbe = new RedistributionProbe("backlog");
+        RedistributionProbe liveProbe = new RedistributionProbe("live");
+        AtomicReference<RedistributionProbe> probe = new AtomicReference<>(backlogProbe);
+        List<Connection> consumerConnections = new ArrayList<>();
+        try (Connection producerConnection = createConnection(producerNode)) {
+            Session producerSession = producerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = producerSession.createProducer(producerSession.createQueue(queueName));
+
+            LOGGER.info("[{}] Storing {} messages to {} without consumers", producerNode.getName(), BACKLOG_MESSAGES, queueName);
+            double backlogRate = sendMessages(producerSession, producer, 0, BACKLOG_MESSAGES, 0);
+            producerNode.ensureQueueCount(queueName, queueName, RoutingType.ANYCAST, BACKLOG_MESSAGES);
+
+            backlogProbe.consumersAttached();
+            for (ArtemisContainer consumerNode : consumerNodes) {
+                Connection connection = createConnection(consumerNode);
+                consumerConnections.add(connection);
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+                consumer.setMessageListener(message -> recordReceived(probe.get(), consumerNode.getName(), message));
+                connection.start();
+            }
+            TestUtils.waitFor("backlog of " + queueName + " to be redistributed", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_2_MINUTES, () -> backlogProbe.getReceived() >= BACKLOG_MESSAGES);
+            RedistributionProbe.appendResult(RESULTS_FILE, backlogProbe.getResult(parameters, BACKLOG_MESSAGES, backlogRate));
+
+            probe.set(liveProbe);
+            int liveMessages = PRODUCE_RATE * LIVE_SECONDS;
+            LOGGER.info("[{}] Sending {} messages to {} at {} msg/s", producerNode.getName(), liveMessages, queueName, PRODUCE_RATE);
+            liveProbe.consumersAttached();
+            double liveRate = sendMessages(producerSession, producer, BACKLOG_MESSAGES, liveMessages, PRODUCE_RATE);
+            TestUtils.waitFor("all live messages of " + queueName + " to be consumed", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_2_MINUTES, () -> liveProbe.getReceived() >= liveMessages);
+            RedistributionProbe.appendResult(RESULTS_FILE, liveProbe.getResult(parameters, liveMessages, liveRate));
+        } finally {
+            for (Connection connection : consumerConnections) {
+                connection.close();
+            }
+        }
+        for (ArtemisContainer node : cluster) {
+            ArtemisJmxHelper.deleteAddress(node, queueName, true);
+        }
+
+        assertThat("Not all stored messages were redistributed", backlogProbe.getReceived(), equalTo((long) BACKLOG_MESSAGES));
+        assertThat("Not all live messages were consumed", liveProbe.getReceived(), equalTo((long) PRODUCE_RATE * LIVE_SECONDS));
+        assertThat("Redistribution delay was not measured", backlogProbe.getFirstMessageDelay(), greaterThanOrEqualTo(0L));
+        assertThat("Messages were redistributed out of order", backlogProbe.getOutOfOrder() + liveProbe.getOutOfOrder(), equalTo(0L));
+    }
+
+    /**
+     * Cluster connection can't be changed at runtime, so the cluster is recreated whenever load balancing type changes.
+     */
+    private List<ArtemisContainer> getCluster(String loadBalancing) {
+        if (loadBalancing.equals(clusterLoadBalancing)) {
+            return nodes;
+        }
+        nodes.forEach(ArtemisContainer::stop);
+        nodes.clear();
+        String namePrefix = "redist-" + loadBalancing.toLowerCase(Locale.ROOT).replace('_', '-');
+        StringBuilder brokerProperties = new StringBuilder(String.format("clusterConfigurations.%s.messageLoadBalancingType=%s",
+                CLUSTER_CONNECTION, loadBalancing));
+        REDISTRIBUTION_DELAYS.forEach(delay -> brokerProperties.append(String.format("%naddressSettings.%s%d.redistributionDelay=%d",
+                QUEUE_PREFIX, delay, delay)));
+        String brokerPropertiesFile = getTestTempDir() + Constants.FILE_SEPARATOR + namePrefix + "-broker.properties";
+        TestUtils.createFile(brokerPropertiesFile, brokerProperties.toString());
+
+        for (int i = 0; i < CLUSTER_SIZE; i++) {
+            ArtemisContainer node = ArtemisDeployment.createArtemis(namePrefix + "-" + i,
+                    new ArtemisConfigData().withTuneFile("tune.yaml.jinja2").withStart(false));
+            node.withConfigFile(brokerPropertiesFile, "broker.properties");
+            node.start();
+            node.ensureBrokerStarted();
+            nodes.add(node);
+        }
+        for (ArtemisContainer node : nodes) {
+            TestUtils.waitFor("cluster topology of " + node.getName() + " to contain " + CLUSTER_SIZE + " nodes",
+                    Constants.DURATION_1_SECOND, Constants.DURATION_1_MINUTE, () -> StringUtils.countMatches(
+                            ArtemisJmxHelper.executeOnBroker(node, ActiveMQServerControl::listNetworkTopology), "nodeID") >= CLUSTER_SIZE);
+        }
+        clusterLoadBalancing = loadBalancing;
+        return nodes;
+    }
+
+    private Connection createConnection(ArtemisContainer node) throws JMSException {
+        return new JmsConnectionFactory(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS,
+                AmqpUtil.buildAmqpUrl(node.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT))).createConnection();
+    }
+
+    /**
+     * @param rate messages per second, 0 sends as fast as possible
+     * @return achieved rate
+     */
+    private double sendMessages(Session session, MessageProducer producer, long firstSequence, int count, int rate) throws JMSException {
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            // fixed schedule instead of fixed sleep, so slow sends are caught up and the rate holds
+            long wait = start + i * intervalNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Message message = session.createTextMessage("redistribution-" + (firstSequence + i));
+            message.setLongProperty(RedistributionProbe.SEQUENCE_PROPERTY, firstSequence + i);
+            message.setLongProperty(RedistributionProbe.SENT_TIME_PROPERTY, System.currentTimeMillis());
+            producer.send(message);
+        }
+        return count * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+
+    private void recordReceived(RedistributionProbe probe, String consumer, Message message) {
+        long received = System.currentTimeMillis();
+        try {
+            probe.recordReceived(consumer, message.getLongProperty(RedistributionProbe.SEQUENCE_PROPERTY),
+                    message.getLongProperty(RedistributionProbe.SENT_TIME_PROPERTY), received);
+        } catch (JMSException e) {
+            LOGGER.warn("[{}] Unable to read properties of received message: {}", consumer, e.getMessage());
+        }
+    }
+}
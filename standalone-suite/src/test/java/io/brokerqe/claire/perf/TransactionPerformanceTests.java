@@ -0,0 +1,213 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.perf;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.EnvironmentStandalone;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.TransactionLoadGenerator;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.exception.ClaireRuntimeException;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.helper.TimeHelper;
+import io.brokerqe.claire.metrics.TransactionProbe;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.management.ActiveMQServerControl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Throughput and commit latency of transacted clients on a standalone broker with NIO, ASYNCIO or JDBC journal.
+ * Sweep covers batch size (messages per transaction), message size, persistence, local vs XA transactions and number of
+ * concurrent producers and consumers. Fault injection kills the broker in the middle of transactional load and counts
+ * lost and duplicate messages after restart.
+ * JDBC runs only when database is configured, as then every broker uses it; NIO and ASYNCIO run only without it.
+ * ASYNCIO falls back to NIO when libaio is not available in the container, the actual journal type is part of results.
+ */
+@Tag(Constants.TAG_PERFORMANCE)
+public class TransactionPerformanceTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionPerformanceTests.class);
+
+    private static final List<String> JOURNALS = List.of("NIO", "ASYNCIO", "JDBC");
+    // xa, persistent, batch size, message size, producers, consumers
+    private static final List<List<Object>> SCENARIOS = List.of(
+            List.of(false, true, 1, 1024, 1, 1),
+            List.of(false, true, 10, 1024, 1, 1),
+            List.of(false, true, 100, 1024, 1, 1),
+            List.of(false, true, 10, 10240, 1, 1),
+            List.of(false, false, 10, 1024, 1, 1),
+            List.of(true, true, 1, 1024, 1, 1),
+            List.of(true, true, 10, 1024, 1, 1),
+            List.of(false, true, 10, 1024, 4, 4),
+            List.of(true, true, 10, 1024, 4, 4));
+    private static final int MESSAGES_PER_PRODUCER = 2000;
+    private static final String QUEUE_PREFIX = "tx-perf-";
+    private static final String RESULTS_FILE = Constants.PERFORMANCE_DIR + "/transaction_results.jsonl";
+
+    private final Map<String, ArtemisContainer> brokers = new HashMap<>();
+
+    @BeforeAll
+    void setupEnv() {
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @AfterAll
+    void stopBrokers() {
+        brokers.values().forEach(ArtemisContainer::stop);
+    }
+
+    static Stream<Arguments> sweepArguments() {
+        return JOURNALS.stream().flatMap(journal -> SCENARIOS.stream().map(scenario -> {
+            Object[] arguments = new Object[scenario.size() + 1];
+            arguments[0] = journal;
+            for (int i = 0; i < scenario.size(); i++) {
+                arguments[i + 1] = scenario.get(i);
+            }
+            return Arguments.of(arguments);
+        }));
+    }
+
+    @ParameterizedTest(name = "{0} xa={1} persistent={2} batch={3} size={4} producers={5} consumers={6}")
+    @MethodSource("sweepArguments")
+    void transactionThroughputTest(String journal, boolean xa, boolean persistent, int batchSize, int messageSize,
+                                   int producers, int consumers) {
+        ArtemisContainer artemis = getBroker(journal);
+        String queueName = createQueue(artemis, "sweep");
+        TransactionProbe probe = new TransactionProbe("sweep");
+        new TransactionLoadGenerator(getCoreUrl(artemis), probe)
+                .withXa(xa)
+                .withPersistent(persistent)
+                .withBatchSize(batchSize)
+                .withMessageSize(messageSize)
+                .withClients(producers, consumers)
+                .withIdleTimeout(Constants.DURATION_5_SECONDS)
+                .run(queueName, MESSAGES_PER_PRODUCER, Constants.DURATION_10_MINUTES);
+
+        TransactionProbe.Result result = probe.getResult(getParameters(artemis, journal, xa, persistent, batchSize, messageSize,
+                producers, consumers));
+        TransactionProbe.appendResult(RESULTS_FILE, result);
+        ArtemisJmxHelper.deleteAddress(artemis, queueName, true);
+
+        assertThat("Not all messages were committed", result.committed(), equalTo((long) producers * MESSAGES_PER_PRODUCER));
+        assertThat("Committed messages were lost", result.lost(), equalTo(0L));
+        assertThat("Messages were delivered more than once", result.duplicates(), equalTo(0L));
+    }
+
+    @ParameterizedTest(name = "{0} xa={1}")
+    @CsvSource({"NIO, false", "NIO, true", "ASYNCIO, false", "ASYNCIO, true", "JDBC, false", "JDBC, true"})
+    void brokerKillDuringTransactionsTest(String journal, boolean xa) {
+        ArtemisContainer artemis = getBroker(journal);
+        String queueName = createQueue(artemis, "kill");
+        int producers = 2;
+        int consumers = 2;
+        int batchSize = 10;
+        TransactionProbe probe = new TransactionProbe("broker-kill");
+        TransactionLoadGenerator generator = new TransactionLoadGenerator(getCoreUrl(artemis), probe)
+                .withXa(xa)
+                .withBatchSize(batchSize)
+                .withClients(producers, consumers)
+                .withIdleTimeout(Constants.DURATION_30_SECONDS);
+        CompletableFuture<Void> load = CompletableFuture.runAsync(() -> generator.run(queueName, MESSAGES_PER_PRODUCER * 2,
+                Constants.DURATION_10_MINUTES));
+
+        TestUtils.waitFor("part of messages to be committed", Constants.DURATION_100_MILLISECONDS, Constants.DURATION_2_MINUTES,
+                () -> probe.getCommitted() >= MESSAGES_PER_PRODUCER || load.isDone());
+        LOGGER.info("[{}] Killing broker after {} committed messages", artemis.getName(), probe.getCommitted());
+        artemis.artemisProcessController(ArtemisContainer.ArtemisProcessControllerAction.FORCE_STOP);
+        TimeHelper.waitFor(Constants.DURATION_2_SECONDS);
+        artemis.artemisProcessController(ArtemisContainer.ArtemisProcessControllerAction.START);
+        artemis.ensureBrokerStarted(false);
+        try {
+            load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaireRuntimeException("Interrupted while waiting for transaction load", e);
+        } catch (ExecutionException e) {
+            String errMsg = String.format("[%s] Transaction load failed: %s", artemis.getName(), e.getCause().getMessage());
+            LOGGER.error(errMsg);
+            throw new ClaireRuntimeException(errMsg, e.getCause());
+        }
+
+        TransactionProbe.Result result = probe.getResult(getParameters(artemis, journal, xa, true, batchSize, 1024, producers, consumers));
+        TransactionProbe.appendResult(RESULTS_FILE, result);
+        ArtemisJmxHelper.deleteAddress(artemis, queueName, true);
+
+        assertThat("Broker kill did not interrupt any transaction", result.rollbacks(), greaterThan(0L));
+        assertThat("Committed messages were lost after broker kill", result.lost(), equalTo(0L));
+        // duplicates are legal when consumer commit succeeded on broker but the response was lost, they are only reported
+        LOGGER.info("[{}] {} duplicates after broker kill", artemis.getName(), result.duplicates());
+    }
+
+    /**
+     * Database is used by every broker when configured, so JDBC is tested only then and file journals only without it.
+     */
+    private ArtemisContainer getBroker(String journal) {
+        boolean databaseConfigured = EnvironmentStandalone.getInstance().getDatabase() != null;
+        Assumptions.assumeTrue(journal.equals("JDBC") == databaseConfigured,
+                journal + " journal is not tested " + (databaseConfigured ? "with" : "without") + " configured database");
+        return brokers.computeIfAbsent(journal, key -> {
+            String name = "tx-" + journal.toLowerCase(Locale.ROOT);
+            ArtemisContainer artemis = ArtemisDeployment.createArtemis(name, new ArtemisConfigData().withStart(false));
+            if (!journal.equals("JDBC")) {
+                String brokerPropertiesFile = getTestTempDir() + Constants.FILE_SEPARATOR + name + "-broker.properties";
+                TestUtils.createFile(brokerPropertiesFile, "journalType=" + journal);
+                artemis.withConfigFile(brokerPropertiesFile, "broker.properties");
+            }
+            artemis.start();
+            artemis.ensureBrokerStarted(false);
+            return artemis;
+        });
+    }
+
+    private String createQueue(ArtemisContainer artemis, String prefix) {
+        String queueName = QUEUE_PREFIX + prefix + "-" + TestUtils.getRandomString(4);
+        ArtemisJmxHelper.createAddress(artemis, queueName, RoutingType.ANYCAST);
+        ArtemisJmxHelper.createQueue(artemis, queueName, queueName, RoutingType.ANYCAST);
+        return queueName;
+    }
+
+    private String getCoreUrl(ArtemisContainer artemis) {
+        return Constants.TCP_URL_PREFIX.toLowerCase(Locale.ROOT) + artemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT);
+    }
+
+    private Map<String, String> getParameters(ArtemisContainer artemis, String journal, boolean xa, boolean persistent, int batchSize,
+                                              int messageSize, int producers, int consumers) {
+        return Map.of(
+                "journal", journal,
+                "journalActual", ArtemisJmxHelper.executeOnBroker(artemis, ActiveMQServerControl::getJournalType),
+                "transaction", xa ? "XA" : "local",
+                "persistent", String.valueOf(persistent),
+                "batchSize", String.valueOf(batchSize),
+                "messageSize", String.valueOf(messageSize),
+                "producers", String.valueOf(producers),
+                "consumers", String.valueOf(consumers));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.security;
+
+import io.brokerqe.claire.AbstractSystemTests;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.ReconnectLoadGenerator;
+import io.brokerqe.claire.client.deployment.ArtemisConfigData;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.container.KeycloakContainer;
+import io.brokerqe.claire.container.OpenldapContainer;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.LatencyRecorder;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Reconnect waves of authenticated AMQP clients against broker secured by LDAP or OIDC (Keycloak federating the same
+ * LDAP users) JAAS login module. Measures connection establishment latency percentiles with cold (cleared) and warm
+ * broker authentication cache. Keycloak, OpenLDAP and Artemis all run locally as containers.
+ */
+@Tag(Constants.TAG_JAAS)
+@Tag(Constants.TAG_PERFORMANCE)
+public class AuthReconnectLoadTests extends AbstractSystemTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthReconnectLoadTests.class);
+
+    private static final int WAVE_CLIENTS = 50;
+    private static final int WAVES = 3;
+    private static final String REALM = "amq-broker-ldap";
+    private static final String REALM_CLIENT = "amq-broker";
+    // users from openldap/users.ldif
+    private static final List<ReconnectLoadGenerator.Credentials> LDAP_USERS = List.of(
+            new ReconnectLoadGenerator.Credentials("user01", "password01"),
+            new ReconnectLoadGenerator.Credentials("user02", "password02"),
+            new ReconnectLoadGenerator.Credentials(ArtemisConstants.ALICE_NAME, ArtemisConstants.ALICE_PASS),
+            new ReconnectLoadGenerator.Credentials(ArtemisConstants.BOB_NAME, ArtemisConstants.BOB_PASS),
+            new ReconnectLoadGenerator.Credentials(ArtemisConstants.CHARLIE_NAME, ArtemisConstants.CHARLIE_PASS)
+    );
+
+    private OpenldapContainer openldap;
+    private KeycloakContainer keycloak;
+
+    enum JaasBackend {
+        LDAP, OIDC
+    }
+
+    @BeforeAll
+    void setupEnv() {
+        openldap = ResourceManager.getOpenldapContainerInstance("openldap");
+        openldap.withLdif(OpenldapContainer.DEFAULT_USERS_LDIF);
+        openldap.start();
+        TestUtils.createDirectory(getTestTempDir());
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @ParameterizedTest
+    @EnumSource(JaasBackend.class)
+    void authenticatedReconnectWavesTest(JaasBackend backend) {
+        String backendName = backend.name().toLowerCase(Locale.ROOT);
+        ArtemisContainer artemis = ArtemisDeployment.createArtemis("artemis-" + backendName, new ArtemisConfigData().withStart(false));
+        String loginConfig;
+        if (backend == JaasBackend.OIDC) {
+            Assumptions.assumeTrue(isKeycloakAdapterAvailable(artemis),
+                    "Keycloak JAAS adapter is not part of used broker distribution " + artemis.getInstallDir());
+            artemis.withConfigFile(createKeycloakDirectAccessConfig(), "_keycloak-direct-access.json");
+            loginConfig = """
+                    activemq {
+                        org.keycloak.adapters.jaas.DirectAccessGrantsLoginModule required
+                            keycloak-config-file="${artemis.instance}/etc/_keycloak-direct-access.json"
+                            role-principal-class=org.apache.activemq.artemis.spi.core.security.jaas.RolePrincipal;
+
+                        org.apache.activemq.artemis.spi.core.security.jaas.PrincipalConversionLoginModule required
+                            principalClassList=org.keycloak.KeycloakPrincipal;
+                    };
+                    """;
+        } else {
+            loginConfig = String.format("""
+                    activemq {
+                        org.apache.activemq.artemis.spi.core.security.jaas.LDAPLoginModule required
+                            debug=false
+                            initialContextFactory=com.sun.jndi.ldap.LdapCtxFactory
+                            connectionURL="%s"
+                            connectionUsername="%s"
+                            connectionPassword=%s
+                            connectionProtocol=s
+                            authentication=simple
+                            userBase="%s"
+                            userSearchMatching="(cn={0})"
+                            userSearchSubtree=false
+                            roleBase="%s"
+                            roleName=cn
+                            roleSearchMatching="(member=cn={1},%s)"
+                            roleSearchSubtree=false
+                            ;
+                    };
+                    """, openldap.getInternalLdapUrl(), OpenldapContainer.BIND_DN, OpenldapContainer.ADMIN_PASS,
+                    OpenldapContainer.USERS_DN, OpenldapContainer.USERS_DN, OpenldapContainer.USERS_DN);
+        }
+        String loginConfigFile = getTestTempDir() + Constants.FILE_SEPARATOR + backendName + "-login.config";
+        TestUtils.createFile(loginConfigFile, loginConfig);
+        artemis.withConfigFile(loginConfigFile, ArtemisConstants.LOGIN_CONFIG_CONFIG_KEY);
+        artemis.start();
+        artemis.ensureBrokerStarted();
+
+        LatencyRecorder recorder = new LatencyRecorder("Authenticated connection latencies (" + backend + ")");
+        String brokerUrl = AmqpUtil.buildAmqpUrl(artemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT));
+        ReconnectLoadGenerator generator = new ReconnectLoadGenerator(brokerUrl, LDAP_USERS, recorder);
+        String coldLabel = backendName + ":cold-cache";
+        String warmLabel = backendName + ":warm-cache";
+        List<ReconnectLoadGenerator.WaveResult> results = new ArrayList<>();
+        long cacheSize = 0;
+        for (int wave = 0; wave < WAVES; wave++) {
+            ArtemisJmxHelper.clearAuthenticationCache(artemis);
+            results.add(generator.reconnectWave(coldLabel, WAVE_CLIENTS));
+            results.add(generator.reconnectWave(warmLabel, WAVE_CLIENTS));
+            cacheSize = ArtemisJmxHelper.getAuthenticationCacheSize(artemis);
+        }
+
+        String summary = String.format("%s%nauthentication cache size %d, cache hit speedup p50 %dms -> %dms, p99 %dms -> %dms",
+                recorder.getSummary(), cacheSize, recorder.getPercentile(coldLabel, 50), recorder.getPercentile(warmLabel, 50),
+                recorder.getPercentile(coldLabel, 99), recorder.getPercentile(warmLabel, 99));
+        LOGGER.info("[{}] {}", artemis.getName(), summary);
+        TestUtils.createFile(Constants.PERFORMANCE_DIR + "/auth_reconnect_" + backendName + ".txt", summary);
+        artemis.stop();
+
+        for (ReconnectLoadGenerator.WaveResult result : results) {
+            assertThat("Failed authenticated connections in wave " + result.label() + ": " + result.errors(), result.failures(), equalTo(0));
+        }
+        assertThat("Broker authentication cache was not used", cacheSize, greaterThan(0L));
+        assertThat("Broker authentication cache holds more entries than used users", cacheSize, lessThanOrEqualTo((long) LDAP_USERS.size()));
+    }
+
+    private String createKeycloakDirectAccessConfig() {
+        if (keycloak == null) {
+            keycloak = ResourceManager.getKeycloakContainerInstance("keycloak");
+            keycloak.start();
+            keycloak.importRealm(REALM, KeycloakContainer.LDAP_REALM_FILE);
+            keycloak.setupLdapModule(REALM, openldap);
+        }
+        String configFile = getTestTempDir() + Constants.FILE_SEPARATOR + "_keycloak-direct-access.json";
+        TestUtils.createFile(configFile, String.format("""
+                {
+                    "realm": "%s",
+                    "resource": "%s",
+                    "auth-server-url": "%s",
+                    "principal-attribute": "preferred_username",
+                    "use-resource-role-mappings": false,
+                    "ssl-required": "none",
+                    "credentials": {
+                        "secret": "%s"
+                    }
+                }
+                """, REALM, REALM_CLIENT, keycloak.getInternalUrl(), keycloak.getClientSecret(REALM, REALM_CLIENT)));
+        return configFile;
+    }
+
+    private boolean isKeycloakAdapterAvailable(ArtemisContainer artemis) {
+        String[] libs = new File(artemis.getInstallDir() + ArtemisConstants.LIB_DIR).list();
+        return libs != null && Arrays.stream(libs).anyMatch(lib -> lib.startsWith("keycloak-"));
+    }
+}
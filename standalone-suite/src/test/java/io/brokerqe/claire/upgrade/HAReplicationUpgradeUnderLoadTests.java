@@ -0,0 +1,21 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.upgrade;
+
+import io.brokerqe.claire.Constants;
+import org.junit.jupiter.api.Tag;
+
+/**
+ * {@link HAReplicationUpgradeTests} with producers and consumers running through every version hop.
+ */
+@Tag(Constants.TAG_UPGRADE)
+@Tag(Constants.TAG_PERFORMANCE)
+public class HAReplicationUpgradeUnderLoadTests extends HAReplicationUpgradeTests {
+
+    @Override
+    boolean isUpgradeUnderLoad() {
+        return true;
+    }
+}
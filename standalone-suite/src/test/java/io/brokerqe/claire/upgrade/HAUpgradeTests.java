@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Tag(Constants.TAG_UPGRADE)
@@ -54,23 +55,15 @@ public abstract class HAUpgradeTests extends UpgradeTests {
             getLogger().info("[UPGRADE] Deploying initial broker pair(s)");
             initialDeployment(artemisConfigDataVersioned, artemisVersion, haPairs);
             ArtemisContainer primary0 = artemises.get(PRIMARY).get(0);
+            createUpgradeLoadQueue(primary0);
             preUpgradeProcedure(primary0);
 
         } else if (argumentsAccessor.getInvocationIndex() > 1) {
-            // if is replication scenario -> upgrade backup, then primary
-            for (int i = 0; i < haPairs; i++) {
-                ArtemisContainer upgradeBackup = artemises.get(BACKUP).get(i);
-                ArtemisContainer upgradePrimary = artemises.get(PRIMARY).get(i);
-                getLogger().info("[UPGRADE -> {}] Going to upgrade pair #{}", version, i + 1);
-                upgradeBackup = performUpgradeProcedure(upgradeBackup, installDir, true);
-                assertVersionLogs(upgradeBackup, version, artemisVersion);
-
-                upgradePrimary = performUpgradeProcedure(upgradePrimary, installDir, true);
-                assertVersionLogs(upgradePrimary, version, artemisVersion);
-
-                TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
-                upgradeBackup.ensureBrokerIsBackup();
-                upgradePrimary.ensureBrokerIsActive();
+            if (isUpgradeUnderLoad()) {
+                upgradeUnderLoad(getClass().getSimpleName(), version, List.of(artemises.get(PRIMARY).get(0), artemises.get(BACKUP).get(0)),
+                        () -> upgradePairs(version, artemisVersion, installDir, haPairs));
+            } else {
+                upgradePairs(version, artemisVersion, installDir, haPairs);
             }
 
             int haCounter = argumentsAccessor.getInvocationIndex() % haPairs;
@@ -88,6 +81,25 @@ public abstract class HAUpgradeTests extends UpgradeTests {
         BundledArtemisClient artemisClient = new BundledArtemisClient(artemises.get(PRIMARY).get(0).getDeployableClient(), ArtemisCommand.QUEUE_STAT, artemisQueueStatOptions);
 //        BundledArtemisClient artemisBackupClient = new BundledArtemisClient(artemises.get(backup).get(0).getDeployableClient(), ArtemisCommand.QUEUE_STAT, artemisQueueStatOptions);
         artemisClient.executeCommand();
+        previousVersion = version;
+    }
+
+    void upgradePairs(String version, String artemisVersion, String installDir, int haPairs) {
+        // if is replication scenario -> upgrade backup, then primary
+        for (int i = 0; i < haPairs; i++) {
+            ArtemisContainer upgradeBackup = artemises.get(BACKUP).get(i);
+            ArtemisContainer upgradePrimary = artemises.get(PRIMARY).get(i);
+            getLogger().info("[UPGRADE -> {}] Going to upgrade pair #{}", version, i + 1);
+            upgradeBackup = performUpgradeProcedure(upgradeBackup, installDir, true);
+            assertVersionLogs(upgradeBackup, version, artemisVersion);
+
+            upgradePrimary = performUpgradeProcedure(upgradePrimary, installDir, true);
+            assertVersionLogs(upgradePrimary, version, artemisVersion);
+
+            TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+            upgradeBackup.ensureBrokerIsBackup();
+            upgradePrimary.ensureBrokerIsActive();
+        }
     }
 
     void postUpgradeProcedureTest(ArtemisContainer artemisPrimary, ArtemisContainer artemisBackup) {
@@ -19,6 +19,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 @Tag(Constants.TAG_UPGRADE)
 public class SingleUpgradeTests extends UpgradeTests {
 
@@ -44,7 +46,11 @@ public class SingleUpgradeTests extends UpgradeTests {
 
         if (argumentsAccessor.getInvocationIndex() > 1) {
             LOGGER.info("[UPGRADE] Receive partial durable messages {}", messagesReceivePartial);
-            artemisUpgraded = performUpgradeProcedure(artemisUpgraded, installDir);
+            if (isUpgradeUnderLoad()) {
+                upgradeUnderLoad("single", version, List.of(artemisUpgraded), () -> performUpgradeProcedure(artemisUpgraded, installDir));
+            } else {
+                artemisUpgraded = performUpgradeProcedure(artemisUpgraded, installDir);
+            }
             BundledClientOptions durableReceiverOptions = new BundledClientOptions()
                     .withDeployableClient(artemisUpgraded.getDeployableClient())
                     .withDestinationAddress(upgradeQueueName)
@@ -67,6 +73,7 @@ public class SingleUpgradeTests extends UpgradeTests {
             LOGGER.info("[UPGRADE] Deploying initial broker {}", artemisUpgradedName);
             artemisUpgradedData.withArtemisVersionString(artemisVersion);
             artemisUpgraded = ArtemisDeployment.createArtemis(artemisUpgradedName, artemisUpgradedData);
+            createUpgradeLoadQueue(artemisUpgraded);
 
             LOGGER.info("[UPGRADE] Sending initial messages {}", messagesSentInitials);
             BundledClientOptions initialSenderOptions = new BundledClientOptions()
@@ -107,6 +114,7 @@ public class SingleUpgradeTests extends UpgradeTests {
 
         LOGGER.info("[UPGRADE] Stopping versioned broker {}", artemisVersionedName);
         artemisVersioned.stop();
+        previousVersion = version;
     }
 
 }
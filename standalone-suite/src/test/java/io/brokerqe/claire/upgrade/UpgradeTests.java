@@ -6,10 +6,17 @@ package io.brokerqe.claire.upgrade;
 
 import io.brokerqe.claire.AbstractSystemTests;
 import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.LogWatcher;
 import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.AvailabilityLoadGenerator;
 import io.brokerqe.claire.clients.Protocol;
 import io.brokerqe.claire.clients.bundled.BundledClientOptions;
 import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.metrics.AvailabilityProbe;
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.provider.Arguments;
@@ -18,9 +25,13 @@ import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public abstract class UpgradeTests extends AbstractSystemTests {
@@ -31,11 +42,21 @@ public abstract class UpgradeTests extends AbstractSystemTests {
     protected static int messagesReceivePartial;
     protected static int messagesReceivedTotal = 0;
     protected static int upgradeCount;
+    protected static String previousVersion;
     protected String upgradeQueueName = "upgrade-queue";
 
     private static final String VERSION = "version";
     private static final String ARTEMIS_VERSION = "artemisVersion";
     private static final String ARTEMIS_ZIP_URL = "artemisZipUrl";
+    // AMQ221001 started broker, AMQ221109 started backup waiting for primary
+    private static final String BROKER_STARTED_LOG_REGEX = "AMQ221001|AMQ221109";
+
+    protected static final String UPGRADE_LOAD_QUEUE = "upgrade-load-queue";
+    private static final int UPGRADE_LOAD_RATE = 50;
+    private static final int UPGRADE_LOAD_CLIENTS = 2;
+    // give up failover after ~5s, so restarted container is reached again on its new mapped port
+    private static final String UPGRADE_LOAD_FAILOVER_OPTIONS = "failover.amqpOpenServerListAction=IGNORE"
+            + "&failover.maxReconnectAttempts=10&failover.useReconnectBackOff=false&failover.reconnectDelay=500";
 
     protected Map<String, String> artemisQueueStatOptions = new HashMap<>(Map.of(
             "maxColumnSize", "-1",
@@ -51,6 +72,15 @@ public abstract class UpgradeTests extends AbstractSystemTests {
         messagesReceivedTotal = 0;
         messagesReceivePartial = 0;
         upgradeCount = 0;
+        previousVersion = null;
+    }
+
+    /**
+     * Upgrade-under-load mode keeps producers and consumers of {@link #UPGRADE_LOAD_QUEUE} running through every
+     * version hop and reports its availability, see {@link #upgradeUnderLoad}.
+     */
+    boolean isUpgradeUnderLoad() {
+        return false;
     }
 
     Stream<? extends Arguments> getUpgradePlanArguments() {
@@ -74,12 +104,72 @@ public abstract class UpgradeTests extends AbstractSystemTests {
         TestUtils.executeLocalCommand(createCmd);
         artemisUpgraded.withInstallDir(upgradeInstallDir, true);
         artemisUpgraded.setInstallDir(upgradeInstallDir);
+        Instant restart = Instant.now();
         artemisUpgraded.restartWithStop(Duration.ofSeconds(45));
-        // TODO implement waitFor() some message in artemis
+        try (LogWatcher brokerLog = artemisUpgraded.watchLogs(restart)) {
+            brokerLog.watch(Pattern.compile(BROKER_STARTED_LOG_REGEX), true).await(1, Constants.DURATION_2_MINUTES);
+        }
         artemisUpgraded.ensureBrokerStarted(checkHaStatus);
         return artemisUpgraded;
     }
 
+    void createUpgradeLoadQueue(ArtemisContainer artemis) {
+        if (isUpgradeUnderLoad()) {
+            // durable queue is not auto-deleted while clients are disconnected by restart
+            ArtemisJmxHelper.createQueue(artemis, UPGRADE_LOAD_QUEUE, UPGRADE_LOAD_QUEUE, RoutingType.ANYCAST);
+        }
+    }
+
+    /**
+     * Run {@code upgrade} of one version hop while producers and consumers keep running against {@code brokers}.
+     * Load runs for a baseline period before upgrade and a recovery period after it, then error windows, throughput
+     * dips, reconnects and availability of the hop are stored to {@code upgrade_availability_results.jsonl}.
+     * Every acknowledged message has to be received.
+     */
+    AvailabilityProbe.Result upgradeUnderLoad(String topology, String version, List<ArtemisContainer> brokers, Runnable upgrade) {
+        AvailabilityProbe probe = new AvailabilityProbe(topology);
+        Supplier<String> urlSupplier = () -> AmqpUtil.buildAmqFailoverUrl(UPGRADE_LOAD_FAILOVER_OPTIONS, getRunningHostAndPorts(brokers));
+        try (AvailabilityLoadGenerator generator = new AvailabilityLoadGenerator(urlSupplier, UPGRADE_LOAD_QUEUE, probe,
+                UPGRADE_LOAD_RATE, UPGRADE_LOAD_CLIENTS)) {
+            generator.start();
+            TestUtils.waitFor("clients to exchange messages before upgrade", Constants.DURATION_500_MILLISECONDS,
+                    Constants.DURATION_1_MINUTE, () -> probe.getReceived() > 0);
+            TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+
+            LOGGER.info("[UPGRADE-UNDER-LOAD] {} {} -> {}", topology, previousVersion, version);
+            probe.upgradeStarted(System.currentTimeMillis());
+            upgrade.run();
+            probe.upgradeFinished(System.currentTimeMillis());
+            TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+            generator.stopAndDrain(Constants.DURATION_1_MINUTE);
+        }
+
+        AvailabilityProbe.Result result = probe.getResult(Map.of(
+                "from", String.valueOf(previousVersion),
+                "to", version,
+                "rate", String.valueOf(UPGRADE_LOAD_RATE),
+                "clients", String.valueOf(UPGRADE_LOAD_CLIENTS)));
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+        AvailabilityProbe.appendResult(Constants.PERFORMANCE_DIR + "/upgrade_availability_results.jsonl", result);
+        Assertions.assertEquals(0, result.lost(), "Acknowledged messages lost during upgrade " + previousVersion + " -> " + version);
+        return result;
+    }
+
+    /**
+     * Mapped port of a container is not available while it is restarted, such broker is left out of failover url.
+     */
+    private static String[] getRunningHostAndPorts(List<ArtemisContainer> brokers) {
+        List<String> hostAndPorts = new ArrayList<>();
+        for (ArtemisContainer broker : brokers) {
+            try {
+                hostAndPorts.add(broker.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT));
+            } catch (IllegalStateException e) {
+                LOGGER.debug("[UPGRADE-UNDER-LOAD] {} is not running: {}", broker.getName(), e.getMessage());
+            }
+        }
+        return hostAndPorts.toArray(String[]::new);
+    }
+
     void preUpgradeProcedure(ArtemisContainer artemis) {
         LOGGER.info("[UPGRADE] Sending initial messages {}", messagesSentInitials);
         BundledClientOptions initialSenderOptions = new BundledClientOptions()
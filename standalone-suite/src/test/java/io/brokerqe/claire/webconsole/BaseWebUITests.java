@@ -6,47 +6,46 @@ package io.brokerqe.claire.webconsole;
 
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserContext;
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.options.AriaRole;
 import com.microsoft.playwright.TimeoutError;
 import io.brokerqe.claire.AbstractSystemTests;
 import io.brokerqe.claire.ArtemisConstants;
 import io.brokerqe.claire.ArtemisVersion;
 import io.brokerqe.claire.CommandResult;
-import io.brokerqe.claire.Constants;
 import io.brokerqe.claire.EnvironmentStandalone;
 import io.brokerqe.claire.ResourceManager;
-import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.junit.TestValidSince;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 @TestValidSince(ArtemisVersion.VERSION_2_39)
 public class BaseWebUITests extends AbstractSystemTests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseWebUITests.class);
+    // authentication state (cookies, local storage) after login, shared by test classes to skip the login flow
+    private static final Map<String, String> LOGIN_STATES = new ConcurrentHashMap<>();
 
-    static Playwright playwright;
-    static Browser browser;
-    static BrowserContext context;
-    static Page artemisPage;
+    BrowserContext context;
+    Page artemisPage;
+    WebconsoleCommon console;
 
     protected ArtemisContainer artemisContainer;
 
     @AfterAll
-    static void closeBrowser() {
-        context.close();
-        browser.close();
-        playwright.close();
+    void logLatencies() {
+        WebconsoleCommon.getLatencyRecorder().logSummary();
     }
 
     public ArtemisContainer getArtemisContainer() {
@@ -57,26 +56,26 @@ public class BaseWebUITests extends AbstractSystemTests {
         artemisContainer = artemis;
     }
 
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
-                .setHeadless(true);
-        if (ResourceManager.getEnvironment().isPlaywrightDebug()) {
-            options = new BrowserType.LaunchOptions()
-                    .setHeadless(false)
-                    .setDownloadsPath(Paths.get(ResourceManager.getEnvironment().getTmpDirLocation()));
-        }
-        browser = playwright.chromium().launch(options);
-        Locator.ClickOptions clicker = new Locator.ClickOptions().setTimeout(5000);
-        Locator.FillOptions filler = new Locator.FillOptions().setTimeout(5000);
-        WebconsoleCommon.setPlaywright(playwright);
-        WebconsoleCommon.setClicker(clicker);
-        WebconsoleCommon.setFiller(filler);
-        WebconsoleCommon.setArtemisVersion(ResourceManager.getEnvironment().getArtemisTestVersion().getVersionNumber());
+    /**
+     * Every test gets its own browser context (cookies, storage, pages) from browser shared by {@link BrowserPool}.
+     * If console of {@link #artemisContainer} was logged into before, stored authentication state is reused.
+     */
+    @BeforeEach
+    void openConsole() {
         createContextAndPage();
+        if (artemisContainer != null) {
+            openConsole(artemisContainer.getHttpConsoleUrl(true, false), ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS);
+        }
     }
 
-    static void createContextAndPage() {
+    @AfterEach
+    void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    void createContextAndPage() {
         Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
                 .setHttpCredentials(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS)
                 .setIgnoreHTTPSErrors(true);
@@ -85,9 +84,38 @@ public class BaseWebUITests extends AbstractSystemTests {
             LOGGER.info("[TEST] Storing web ui testing video into {}", EnvironmentStandalone.get().getLogsDirLocation() + "/playwright-videos/");
             contextOptions.setRecordVideoDir(Paths.get(EnvironmentStandalone.get().getLogsDirLocation() + "/playwright-videos/"));
         }
-        context = browser.newContext(contextOptions);
+        String stateKey = artemisContainer == null ? null : getLoginStateKey(artemisContainer.getHttpConsoleUrl(true, false), ArtemisConstants.ADMIN_NAME);
+        if (stateKey != null && LOGIN_STATES.containsKey(stateKey)) {
+            contextOptions.setStorageState(LOGIN_STATES.get(stateKey));
+        }
+        context = BrowserPool.getInstance().getBrowser().newContext(contextOptions);
         context.grantPermissions(Arrays.asList("clipboard-read", "clipboard-write"));
         artemisPage = context.newPage();
+        console = new WebconsoleCommon(BrowserPool.getInstance().getPlaywright(), ResourceManager.getEnvironment().getArtemisTestVersion().getVersionNumber());
+    }
+
+    private static String getLoginStateKey(String loginUrl, String username) {
+        return username + "@" + loginUrl;
+    }
+
+    /**
+     * Open console with stored authentication state, or log in and store the state for following tests.
+     */
+    void openConsole(String loginUrl, String username, String password) {
+        String stateKey = getLoginStateKey(loginUrl, username);
+        if (LOGIN_STATES.containsKey(stateKey)) {
+            LOGGER.info("Opening {} with stored login state", loginUrl);
+            artemisPage.navigate(loginUrl);
+            try {
+                WebconsoleCommon.waitForLoggedIn(artemisPage);
+                return;
+            } catch (TimeoutError e) {
+                LOGGER.info("Stored login state for {} is not valid anymore", loginUrl);
+                LOGIN_STATES.remove(stateKey);
+            }
+        }
+        loginToArtemis(loginUrl, username, password);
+        LOGIN_STATES.put(stateKey, context.storageState());
     }
 
     void loginToArtemis(String loginUrl, String username, String password) {
@@ -95,10 +123,9 @@ public class BaseWebUITests extends AbstractSystemTests {
         artemisPage.navigate(loginUrl);
         artemisPage.getByText("Username", new Page.GetByTextOptions().setExact(true)).fill(username);
         artemisPage.getByText("Password").fill(password);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Log in")).click(WebconsoleCommon.getClicker());
+        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Log in")).click(console.getClicker());
         LOGGER.info("Logging into artemis broker");
-        artemisPage.waitForLoadState();
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
+        WebconsoleCommon.getLatencyRecorder().measure("login", () -> WebconsoleCommon.waitForLoggedIn(artemisPage));
     }
 
     /**
@@ -110,25 +137,24 @@ public class BaseWebUITests extends AbstractSystemTests {
         initialPage.navigate(loginUrl);
 
         LOGGER.info("Create new remote connection");
-        initialPage.getByText("Add connection").click(WebconsoleCommon.getClicker());
+        initialPage.getByText("Add connection").click(console.getClicker());
 
         initialPage.getByText("Name").fill(artemisContainer.getName());
-        initialPage.getByText("HTTPS").click(WebconsoleCommon.getClicker());
+        initialPage.getByText("HTTPS").click(console.getClicker());
         initialPage.getByText("Port").fill(String.valueOf(webPort));
         initialPage.getByText("Path").fill("/console/jolokia");
-        initialPage.getByText("Test connection").click(WebconsoleCommon.getClicker());
-        initialPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add").setExact(true)).click(WebconsoleCommon.getClicker());
+        initialPage.getByText("Test connection").click(console.getClicker());
+        initialPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add").setExact(true)).click(console.getClicker());
 
         // Get page after a specific action (e.g. clicking a link)
         artemisPage = context.waitForPage(() -> {
-            initialPage.locator("[rowId='connection " + artemisContainer.getName() + "']").getByText("Connect").click(WebconsoleCommon.getClicker());
+            initialPage.locator("[rowId='connection " + artemisContainer.getName() + "']").getByText("Connect").click(console.getClicker());
         });
         artemisPage.getByText("Username").fill(username);
         artemisPage.getByText("Password").fill(password);
-        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Log in")).click(WebconsoleCommon.getClicker());
+        artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Log in")).click(console.getClicker());
         LOGGER.info("Logging into artemis broker");
-        artemisPage.waitForLoadState();
-        TestUtils.threadSleep(Constants.DURATION_10_SECONDS);
+        WebconsoleCommon.getLatencyRecorder().measure("login", () -> WebconsoleCommon.waitForLoggedIn(artemisPage));
         return artemisPage;
     }
 
@@ -145,10 +171,10 @@ public class BaseWebUITests extends AbstractSystemTests {
 
     protected String getJolokiaUrlCommand(Page artemisPage, String operationText) {
         artemisPage.getByRole(AriaRole.LISTITEM).filter(new Locator.FilterOptions().setHasText(operationText))
-                .getByLabel("", new Locator.GetByLabelOptions().setExact(true)).click(WebconsoleCommon.getClicker());
+                .getByLabel("", new Locator.GetByLabelOptions().setExact(true)).click(console.getClicker());
         Locator listItem = artemisPage.locator("li:has-text('" + operationText + "')");
-        listItem.locator("button.pf-v5-c-menu-toggle.pf-m-plain").click(WebconsoleCommon.getClicker());
-        listItem.getByText("Copy Jolokia URL").click(WebconsoleCommon.getClicker());
+        listItem.locator("button.pf-v5-c-menu-toggle.pf-m-plain").click(console.getClicker());
+        listItem.getByText("Copy Jolokia URL").click(console.getClicker());
         String jolokiaUrlCommand;
         try {
             jolokiaUrlCommand = (String) artemisPage.evaluate("() => navigator.clipboard.readText()");
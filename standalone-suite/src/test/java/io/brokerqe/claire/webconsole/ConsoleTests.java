@@ -12,21 +12,27 @@ import io.brokerqe.claire.container.ArtemisContainer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@Execution(ExecutionMode.CONCURRENT)
+// lock of own broker keeps tests of the class in single thread, while other concurrent classes run in parallel
+@ResourceLock(ConsoleTests.ARTEMIS_NAME)
 public class ConsoleTests extends AbstractSystemTests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConsoleTests.class);
+    static final String ARTEMIS_NAME = "artemis-console";
 
     private ArtemisContainer artemisInstance;
 
     @BeforeAll
     void setupEnv() {
-        String artemisName = "artemis";
-        LOGGER.info("Creating artemis instance: " + artemisName);
-        artemisInstance = ArtemisDeployment.createArtemis(artemisName);
+        LOGGER.info("Creating artemis instance: " + ARTEMIS_NAME);
+        artemisInstance = ArtemisDeployment.createArtemis(ARTEMIS_NAME);
     }
 
     @Test
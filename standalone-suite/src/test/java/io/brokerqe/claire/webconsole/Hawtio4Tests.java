@@ -11,16 +11,17 @@ import com.microsoft.playwright.options.AriaRole;
 import io.brokerqe.claire.ArtemisConstants;
 import io.brokerqe.claire.ArtemisVersion;
 import io.brokerqe.claire.Constants;
-import io.brokerqe.claire.TestUtils;
 import io.brokerqe.claire.client.deployment.ArtemisConfigData;
 import io.brokerqe.claire.client.deployment.ArtemisDeployment;
 import io.brokerqe.claire.clients.Protocol;
 import io.brokerqe.claire.container.ArtemisContainer;
 import io.brokerqe.claire.junit.TestValidSince;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,44 +36,41 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 
 @TestValidSince(ArtemisVersion.VERSION_2_40)
+@Execution(ExecutionMode.CONCURRENT)
+// lock of own broker keeps tests of the class in single thread, while other concurrent classes run in parallel
+@ResourceLock(Hawtio4Tests.ARTEMIS_NAME)
 public class Hawtio4Tests extends BaseWebUITests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Hawtio4Tests.class);
+    static final String ARTEMIS_NAME = "artemis-hawtio4";
     protected ArtemisContainer artemisInstance;
 
     @BeforeAll
     void setupEnv() {
-        String artemisName = "artemis";
-        LOGGER.info("Creating artemis instance: " + artemisName);
+        LOGGER.info("Creating artemis instance: " + ARTEMIS_NAME);
         ArtemisConfigData artemisConfigData = new ArtemisConfigData().withTuneFile("tune.yaml.jinja2");
         artemisConfigData.withDebugLogs(true);
-        artemisInstance = ArtemisDeployment.createArtemis(artemisName, artemisConfigData);
-        launchBrowser();
+        artemisInstance = ArtemisDeployment.createArtemis(ARTEMIS_NAME, artemisConfigData);
+        // every test opens console in its own browser context (see BaseWebUITests.openConsole)
         setArtemisContainer(artemisInstance);
-        loginToArtemis(artemisInstance.getHttpConsoleUrl(true, false), ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS);
         // TMP MODE: make sure connector is started
 //        artemisPage = loginToArtemisConnector(artemisInstance, "http://localhost:8080/console/connect/remote", webPort, ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS);
     }
 
-    @BeforeEach
-    void beforeEach() {
-        WebconsoleCommon.navigateHome(artemisPage);
-    }
-
     @Test
     @Tag(Constants.TAG_WEBCONSOLE)
     void addressQueueStatsTest() {
         int addressCount = 10;
         String prefix = "lala";
-        WebconsoleCommon.checkVersions(artemisPage);
-        WebconsoleCommon.createOperationMany(artemisPage, getArtemisContainer().getName(), prefix, prefix, addressCount);
+        console.checkVersions(artemisPage);
+        console.createOperationMany(artemisPage, getArtemisContainer().getName(), prefix, prefix, addressCount);
 
         testSimpleSendReceive(artemisInstance, null, artemisInstance.getBrokerUri(Protocol.AMQP) + ":" + DEFAULT_AMQP_PORT,
                 "lala0", ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS, false);
         sendReceiveMessagesNoCheck(artemisInstance, "lala1", 100, 50);
 
-        WebconsoleCommon.checkAddressesPresence(artemisPage, addressCount, prefix);
-        WebconsoleCommon.checkQueuesPresence(artemisPage, addressCount, prefix);
+        console.checkAddressesPresence(artemisPage, addressCount, prefix);
+        console.checkQueuesPresence(artemisPage, addressCount, prefix);
 
         Map<String, String> expectedMapLala0 = Map.of(
             "Address", "lala0",
@@ -81,7 +79,7 @@ public class Hawtio4Tests extends BaseWebUITests {
             "Total Messages Acked", "1",
             "Message Count", "0"
         );
-        WebconsoleCommon.checkQueueStats(artemisPage, "lala0", expectedMapLala0);
+        console.checkQueueStats(artemisPage, "lala0", expectedMapLala0);
 
         Map<String, String> expectedMapLala1 = Map.of(
             "Address", "lala1",
@@ -90,9 +88,9 @@ public class Hawtio4Tests extends BaseWebUITests {
             "Total Messages Acked", "50",
             "Message Count", "50"
         );
-        WebconsoleCommon.checkQueueStats(artemisPage, "lala1", expectedMapLala1);
-        WebconsoleCommon.deleteAddressOperationMany(artemisPage, getArtemisContainer().getName(), prefix, addressCount);
-        WebconsoleCommon.checkAddressesPresence(artemisPage, 0, "lala");
+        console.checkQueueStats(artemisPage, "lala1", expectedMapLala1);
+        console.deleteAddressOperationMany(artemisPage, getArtemisContainer().getName(), prefix, addressCount);
+        console.checkAddressesPresence(artemisPage, 0, "lala");
     }
 
     @Test
@@ -100,8 +98,8 @@ public class Hawtio4Tests extends BaseWebUITests {
     void createDeleteAddressQueueTest() {
         int addressCount = 5;
         String prefix = "tralala";
-        WebconsoleCommon.createAddressQueue(artemisPage, prefix, prefix, addressCount);
-        WebconsoleCommon.deleteAddressQueue(artemisPage, prefix, prefix, addressCount);
+        console.createAddressQueue(artemisPage, prefix, prefix, addressCount);
+        console.deleteAddressQueue(artemisPage, prefix, prefix, addressCount);
     }
 
     @Test
@@ -110,7 +108,7 @@ public class Hawtio4Tests extends BaseWebUITests {
         context.grantPermissions(Arrays.asList("clipboard-read", "clipboard-write"));
         String addressName = "jolokia-address";
         String queueName = "jolokia-queue";
-        WebconsoleCommon.clickBrokerJMXOperations(artemisPage, getArtemisContainer().getName());
+        console.clickBrokerJMXOperations(artemisPage, getArtemisContainer().getName());
 
         LOGGER.info("Create Address using Jolokia URL");
         String jolokiaUrlCommand = getJolokiaUrlCommand(artemisPage, "createAddress(String,");
@@ -119,56 +117,54 @@ public class Hawtio4Tests extends BaseWebUITests {
         LOGGER.info("Create Queue using Jolokia URL");
         jolokiaUrlCommand = getJolokiaUrlCommand(artemisPage, "createQueue(String, String, boolean)");
         executeJolokiaCommandLocally(artemisInstance, jolokiaUrlCommand, String.format("%s/%s/true", addressName, queueName));
-        WebconsoleCommon.navigateHome(artemisPage);
+        console.navigateHome(artemisPage);
 
         LOGGER.info("Send messages using Jolokia URL");
         int msgCount = 20;
-        WebconsoleCommon.sendMessageQueue(artemisPage, queueName, "This is a test message content #", msgCount);
-        WebconsoleCommon.navigateHome(artemisPage);
+        console.sendMessageQueue(artemisPage, queueName, "This is a test message content #", msgCount);
+        console.navigateHome(artemisPage);
 
         LOGGER.info("Browse message using Jolokia URL");
-        WebconsoleCommon.browseMessages(artemisPage, queueName, "This is a test message content #",
+        console.browseMessages(artemisPage, queueName, "This is a test message content #",
                 Map.of("address", "jolokia-address::jolokia-queue"),
                 Map.of("header-option-1", String.valueOf(msgCount - 1)));
-        WebconsoleCommon.navigateHome(artemisPage);
+        console.navigateHome(artemisPage);
 
-        WebconsoleCommon.clickBrokerJMXOperations(artemisPage, getArtemisContainer().getName());
+        console.clickBrokerJMXOperations(artemisPage, getArtemisContainer().getName());
         LOGGER.info("Delete forcefully address using Jolokia URL");
         jolokiaUrlCommand = getJolokiaUrlCommand(artemisPage, "deleteAddress(String, boolean)");
         executeJolokiaCommandLocally(artemisInstance, jolokiaUrlCommand, String.format("%s/true", addressName));
-        WebconsoleCommon.checkAddressesPresence(artemisPage, 0, addressName);
+        console.checkAddressesPresence(artemisPage, 0, addressName);
     }
 
     @Test
     @Tag(Constants.TAG_WEBCONSOLE)
     public void tesDeployedQueues() {
         LOGGER.info("Check deployed 500 broker addresses & queues");
-        WebconsoleCommon.setTab(artemisPage, ArtemisTabs.Addresses);
+        console.setTab(artemisPage, ArtemisTabs.Addresses);
         checkDestinations(artemisPage, "my_test_\\d+", 500);
 
-        WebconsoleCommon.setTab(artemisPage, ArtemisTabs.Queues);
+        console.setTab(artemisPage, ArtemisTabs.Queues);
         checkDestinations(artemisPage, "my_test_\\d+", 500);
     }
 
     private void checkDestinations(Page artemisPage, String destinationPattern, int destinationCount) {
         try {
             // 7.13.0
-            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName(Pattern.compile(".* of .* items"))).click(WebconsoleCommon.getClicker());
+            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName(Pattern.compile(".* of .* items"))).click(console.getClicker());
         } catch (TimeoutError e) {
             // 7.13.1+
-            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName(Pattern.compile(".* of .*"))).click(WebconsoleCommon.getClicker());
+            artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName(Pattern.compile(".* of .*"))).click(console.getClicker());
         }
-        artemisPage.getByText("100 per page").click(WebconsoleCommon.getClicker());
-        TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
-        WebconsoleCommon.filterBy(artemisPage, "Name", OperationFilter.Contains, "my_test_", "Name");
+        console.clickAndWaitForJolokiaExec(artemisPage, artemisPage.getByText("100 per page"), console.getListOperation());
+        console.filterBy(artemisPage, "Name", OperationFilter.Contains, "my_test_", "Name");
 
         Locator buttonNext = artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("next"));
         Locator buttonPrev = artemisPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("previous"));
 
         List<Map<String, String>> addressesData = new ArrayList<>(WebconsoleCommon.getTableData(artemisPage));
         do {
-            buttonNext.click(WebconsoleCommon.getClicker());
-            TestUtils.threadSleep(Constants.DURATION_2_SECONDS);
+            console.clickAndWaitForJolokiaExec(artemisPage, buttonNext, console.getListOperation());
             addressesData.addAll(WebconsoleCommon.getTableData(artemisPage));
         } while (buttonNext.isEnabled());
         for (Map<String, String> addressData : addressesData) {
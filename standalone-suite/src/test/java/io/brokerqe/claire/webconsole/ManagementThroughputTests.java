@@ -0,0 +1,208 @@
+/*
+ * Copyright Broker QE authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.brokerqe.claire.webconsole;
+
+import com.microsoft.playwright.Request;
+import io.brokerqe.claire.ArtemisConstants;
+import io.brokerqe.claire.ArtemisVersion;
+import io.brokerqe.claire.Constants;
+import io.brokerqe.claire.ResourceManager;
+import io.brokerqe.claire.TestUtils;
+import io.brokerqe.claire.client.AmqpUtil;
+import io.brokerqe.claire.client.JmsClient;
+import io.brokerqe.claire.client.deployment.ArtemisDeployment;
+import io.brokerqe.claire.container.ArtemisContainer;
+import io.brokerqe.claire.helper.ArtemisJmxHelper;
+import io.brokerqe.claire.helper.ArtemisJolokiaHelper;
+import io.brokerqe.claire.junit.TestValidSince;
+import io.brokerqe.claire.metrics.LatencyRecorder;
+import jakarta.jms.Queue;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Runs the same address/queue workload through web console UI, raw Jolokia and JMX and compares latencies of each
+ * operation. Also checks whether Jolokia polling of opened web console degrades messaging throughput of the broker.
+ * Everything runs locally against {@link ArtemisContainer} with headless Chromium.
+ */
+@TestValidSince(ArtemisVersion.VERSION_2_40)
+public class ManagementThroughputTests extends BaseWebUITests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagementThroughputTests.class);
+
+    // 100 sends per channel give real p95/p99 of sendMessage, other actions report only p50 and max (see getSummary)
+    private static final int WORKLOAD_QUEUES = 5;
+    private static final int WORKLOAD_MESSAGES = 20;
+    private static final int THROUGHPUT_MESSAGES = 5000;
+    // how much slower can messaging be, while web console is opened
+    private static final double MAX_THROUGHPUT_DEGRADATION = 0.5;
+
+    private final LatencyRecorder recorder = new LatencyRecorder("Management operation latencies");
+    private ArtemisContainer artemis;
+
+    enum ManagementChannel {
+        CONSOLE, JOLOKIA, JMX
+    }
+
+    @BeforeAll
+    void setupEnv() {
+        String artemisName = "artemis";
+        LOGGER.info("Creating artemis instance: " + artemisName);
+        artemis = ArtemisDeployment.createArtemis(artemisName);
+        setArtemisContainer(artemis);
+        TestUtils.createDirectory(Constants.PERFORMANCE_DIR);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ManagementChannel.class)
+    @Tag(Constants.TAG_WEBCONSOLE)
+    @Tag(Constants.TAG_PERFORMANCE)
+    void managementWorkloadLatencyTest(ManagementChannel channel) {
+        String channelName = channel.name().toLowerCase(Locale.ROOT);
+        String prefix = "mgmt-" + channelName + "-";
+        LOGGER.info("[{}] Running management workload over {}", artemis.getName(), channel);
+
+        for (int i = 0; i < WORKLOAD_QUEUES; i++) {
+            String name = prefix + i;
+            recorder.measure(channelName + ":createAddressQueue", () -> createAddressQueue(channel, name));
+            for (int msg = 0; msg < WORKLOAD_MESSAGES; msg++) {
+                String body = "Management workload message #" + msg;
+                recorder.measure(channelName + ":sendMessage", () -> sendMessage(channel, name, body));
+            }
+            int browsed = recorder.measure(channelName + ":browseMessages", () -> browseMessages(channel, name));
+            assertThat(String.format("[%s] browsed messages of %s", channel, name), browsed, equalTo(WORKLOAD_MESSAGES));
+            recorder.measure(channelName + ":deleteAddress", () -> deleteAddress(channel, name));
+        }
+
+        recorder.logSummary();
+        TestUtils.createFile(Constants.PERFORMANCE_DIR + "/management_latencies.txt", recorder.getSummary());
+    }
+
+    @Test
+    @Tag(Constants.TAG_WEBCONSOLE)
+    @Tag(Constants.TAG_PERFORMANCE)
+    void consolePollingThroughputImpactTest() {
+        String queueName = "console-polling-throughput";
+        ArtemisJmxHelper.createAddress(artemis, queueName, RoutingType.ANYCAST);
+        ArtemisJmxHelper.createQueue(artemis, queueName, queueName, RoutingType.ANYCAST);
+
+        String url = AmqpUtil.buildAmqpUrl(artemis.getHostAndPort(ArtemisConstants.DEFAULT_ALL_PROTOCOLS_PORT));
+        JmsClient client = ResourceManager.getJmsClient("throughput-client", new JmsConnectionFactory(url))
+                .withCredentials(ArtemisConstants.ADMIN_NAME, ArtemisConstants.ADMIN_PASS)
+                .withDestination(Queue.class, queueName)
+                .connect();
+
+        // console must not poll the broker during baseline
+        artemisPage.navigate("about:blank");
+        measureThroughput(client, THROUGHPUT_MESSAGES / 5);
+        double baseline = measureThroughput(client, THROUGHPUT_MESSAGES);
+
+        AtomicInteger jolokiaRequests = new AtomicInteger();
+        Consumer<Request> requestCounter = request -> {
+            if (request.url().contains("/jolokia")) {
+                jolokiaRequests.incrementAndGet();
+            }
+        };
+        artemisPage.onRequest(requestCounter);
+        artemisPage.navigate(artemis.getHttpConsoleUrl(true, false));
+        WebconsoleCommon.waitForLoggedIn(artemisPage);
+        console.setMenu(artemisPage, ArtemisMenu.Artemis);
+        console.setTab(artemisPage, ArtemisTabs.Queues);
+
+        long start = System.nanoTime();
+        double withConsole = measureThroughput(client, THROUGHPUT_MESSAGES);
+        double jolokiaRate = jolokiaRequests.get() / ((System.nanoTime() - start) / 1_000_000_000.0);
+        artemisPage.offRequest(requestCounter);
+        client.disconnect();
+        ArtemisJmxHelper.deleteAddress(artemis, queueName, true);
+
+        double degradation = 1 - withConsole / baseline;
+        String result = String.format("Messaging throughput without console %.0f msg/s, with opened console %.0f msg/s "
+                + "(degradation %.1f%%, console Jolokia requests %.1f/s)", baseline, withConsole, degradation * 100, jolokiaRate);
+        LOGGER.info("[{}] {}", artemis.getName(), result);
+        TestUtils.createFile(Constants.PERFORMANCE_DIR + "/console_polling_throughput.txt", result);
+
+        assertThat("Opened console did not poll broker over Jolokia", jolokiaRequests.get(), greaterThan(0));
+        assertThat("Console Jolokia polling degrades broker throughput: " + result, withConsole,
+                greaterThanOrEqualTo(baseline * (1 - MAX_THROUGHPUT_DEGRADATION)));
+    }
+
+    /**
+     * Produce and then consume {@code messages} messages.
+     * @return messages per second
+     */
+    private double measureThroughput(JmsClient client, int messages) {
+        long start = System.nanoTime();
+        client.produce(messages, true);
+        client.consume(messages, null, Constants.DURATION_30_SECONDS, true);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        assertThat("Produced messages", client.getProducedMsgs().size(), equalTo(messages));
+        assertThat("Consumed messages", client.getConsumedMsgs().size(), equalTo(messages));
+        client.clearProducedMsgs();
+        client.clearConsumedMsgs();
+        return 2 * messages / seconds;
+    }
+
+    private void createAddressQueue(ManagementChannel channel, String name) {
+        switch (channel) {
+            case CONSOLE -> console.createAddressQueueOperation(artemisPage, name, name);
+            case JOLOKIA -> {
+                ArtemisJolokiaHelper.createAddress(artemis, name, RoutingType.ANYCAST);
+                ArtemisJolokiaHelper.createQueue(artemis, name, name, RoutingType.ANYCAST);
+            }
+            case JMX -> {
+                ArtemisJmxHelper.createAddress(artemis, name, RoutingType.ANYCAST);
+                ArtemisJmxHelper.createQueue(artemis, name, name, RoutingType.ANYCAST);
+            }
+            default -> throw new IllegalArgumentException("Unknown management channel " + channel);
+        }
+    }
+
+    private void sendMessage(ManagementChannel channel, String name, String body) {
+        switch (channel) {
+            case CONSOLE -> console.sendMessageQueue(artemisPage, name, body, 1);
+            case JOLOKIA -> ArtemisJolokiaHelper.sendMessage(artemis, name, name, RoutingType.ANYCAST, Map.of(), body);
+            case JMX -> ArtemisJmxHelper.sendMessage(artemis, name, name, RoutingType.ANYCAST, Map.of(), body);
+            default -> throw new IllegalArgumentException("Unknown management channel " + channel);
+        }
+    }
+
+    private int browseMessages(ManagementChannel channel, String name) {
+        return switch (channel) {
+            case CONSOLE -> console.browseMessages(artemisPage, name).size();
+            case JOLOKIA -> ArtemisJolokiaHelper.browseMessages(artemis, name, name, RoutingType.ANYCAST);
+            case JMX -> ArtemisJmxHelper.browseMessages(artemis, name, name, RoutingType.ANYCAST);
+        };
+    }
+
+    private void deleteAddress(ManagementChannel channel, String name) {
+        switch (channel) {
+            case CONSOLE -> {
+                console.deleteQueueOperation(artemisPage, name, name);
+                console.deleteAddressOperation(artemisPage, name);
+            }
+            case JOLOKIA -> ArtemisJolokiaHelper.deleteAddress(artemis, name, true);
+            case JMX -> ArtemisJmxHelper.deleteAddress(artemis, name, true);
+            default -> throw new IllegalArgumentException("Unknown management channel " + channel);
+        }
+    }
+}
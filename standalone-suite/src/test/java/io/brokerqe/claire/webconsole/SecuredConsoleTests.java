@@ -19,6 +19,9 @@ import io.brokerqe.claire.security.KeyStoreData;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,16 +30,19 @@ import org.testcontainers.containers.BindMode;
 import java.util.Map;
 
 @TestValidSince(ArtemisVersion.VERSION_2_28)
+@Execution(ExecutionMode.CONCURRENT)
+// lock of own broker keeps tests of the class in single thread, while other concurrent classes run in parallel
+@ResourceLock(SecuredConsoleTests.ARTEMIS_NAME)
 public class SecuredConsoleTests extends AbstractSystemTests {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecuredConsoleTests.class);
+    static final String ARTEMIS_NAME = "artemis-secured-console";
 
     private ArtemisContainer artemis;
 
     @BeforeAll
     void setupEnv() {
-        String artemisName = "artemis";
-        LOGGER.info("Generating certificates: " + artemisName);
+        LOGGER.info("Generating certificates: " + ARTEMIS_NAME);
         CertificateData rootCACertData = new CertificateData("rootca", "C=CZ, L=Brno, O=ArtemisCloud, OU=CertificateAuthority, CN=rootca", null);
         CertificateData myCACertData = new CertificateData("myca", "C=CZ, L=Brno, O=ArtemisCloud, OU=tls-tests, CN=myca", rootCACertData);
 
@@ -55,14 +61,14 @@ public class SecuredConsoleTests extends AbstractSystemTests {
         String keyStoreContainerPath = ArtemisContainer.ARTEMIS_INSTANCE_DIR + "/" + keystoreBrokerData.getKeyStorePathFileName();
         String trustStoreContainerPath = ArtemisContainer.ARTEMIS_INSTANCE_DIR + "/" + truststoreBrokerData.getKeyStorePathFileName();
 
-        LOGGER.info("Creating custom tune file: " + artemisName);
+        LOGGER.info("Creating custom tune file: " + ARTEMIS_NAME);
         TestUtils.createDirectory(getTestTempDir());
         String tuneFileName = getTestTempDir() + Constants.FILE_SEPARATOR + "https_console_tune.yaml";
         String tuneFileContent = String.format(getSecuredConsoleTemplate(), keyStoreContainerPath,  trustStoreContainerPath);
         TestUtils.createFile(tuneFileName, tuneFileContent);
 
-        LOGGER.info("Creating artemis instance: " + artemisName);
-        artemis = ArtemisDeployment.createArtemis("artemis-secured", new ArtemisConfigData().withCustomTuneFile(tuneFileName).withStart(false));
+        LOGGER.info("Creating artemis instance: " + ARTEMIS_NAME);
+        artemis = ArtemisDeployment.createArtemis(ARTEMIS_NAME, new ArtemisConfigData().withCustomTuneFile(tuneFileName).withStart(false));
         artemis.withFileSystemBind(keystoreBrokerData.getKeyStorePath(), keyStoreContainerPath, BindMode.READ_WRITE);
         artemis.withFileSystemBind(truststoreBrokerData.getKeyStorePath(), trustStoreContainerPath, BindMode.READ_WRITE);
         artemis.start();